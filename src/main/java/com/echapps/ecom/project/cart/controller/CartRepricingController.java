@@ -0,0 +1,40 @@
+package com.echapps.ecom.project.cart.controller;
+
+import com.echapps.ecom.project.cart.dto.response.CartRepricingJobResponse;
+import com.echapps.ecom.project.cart.service.CartRepricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+public class CartRepricingController {
+
+    private final CartRepricingService cartRepricingService;
+
+    public CartRepricingController(CartRepricingService cartRepricingService) {
+        this.cartRepricingService = cartRepricingService;
+    }
+
+    @GetMapping("/admin/products/{productId}/cart-repricing")
+    @Operation(summary = "Get cart repricing progress", description = "Retrieve the progress of the background job that propagates the latest price of a product to the carts holding it.")
+    @Tag(name = "Cart APIs", description = "APIs for managing shopping cart")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the repricing job"),
+            @ApiResponse(responseCode = "404", description = "No repricing job for the product", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<CartRepricingJobResponse> getCartRepricingJob(@Parameter(description = "Id of the repriced product") @PathVariable Long productId) {
+        CartRepricingJobResponse job = cartRepricingService.getRepricingJob(productId);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+}
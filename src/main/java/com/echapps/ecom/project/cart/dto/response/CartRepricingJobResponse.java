@@ -0,0 +1,40 @@
+package com.echapps.ecom.project.cart.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CartRepricingJobResponse {
+
+    public enum Status { PENDING, RUNNING, COMPLETED, SUPERSEDED, FAILED }
+
+    @Schema(description = "Id of the product whose price is propagated to carts", example = "1")
+    private Long productId;
+
+    @Schema(description = "Price written to the cart items", example = "899.99")
+    private Double price;
+
+    @Schema(description = "Current state of the repricing job", example = "RUNNING")
+    private Status status;
+
+    @Schema(description = "Number of cart items holding the product when the job started", example = "50000")
+    private Long totalItems;
+
+    @Schema(description = "Number of cart items repriced so far", example = "12000")
+    private Long processedItems;
+
+    @Schema(description = "When the job was scheduled")
+    private Instant scheduledAt;
+
+    @Schema(description = "When the job finished, failed or was superseded")
+    private Instant finishedAt;
+
+    @Schema(description = "Failure reason, if the job failed")
+    private String error;
+}
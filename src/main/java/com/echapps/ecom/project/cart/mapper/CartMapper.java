@@ -0,0 +1,41 @@
+package com.echapps.ecom.project.cart.mapper;
+
+import com.echapps.ecom.project.cart.dto.request.CartDTO;
+import com.echapps.ecom.project.cart.model.Cart;
+import com.echapps.ecom.project.cart.model.CartItem;
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.mapper.ProductMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class CartMapper {
+
+    private final ProductMapper productMapper;
+
+    public CartMapper(ProductMapper productMapper) {
+        this.productMapper = productMapper;
+    }
+
+    public CartDTO toCartDTO(Cart cart) {
+        if (cart == null) {
+            return null;
+        }
+
+        List<ProductRequest> products = cart.getCartItems().stream()
+                .map(this::toProductRequest)
+                .toList();
+
+        return new CartDTO(cart.getCartId(), cart.getTotalPrice(), products);
+    }
+
+    // The quantity on a cart line is the quantity in the cart, not the stock level of the product
+    public ProductRequest toProductRequest(CartItem cartItem) {
+        ProductRequest productRequest = productMapper.toProductRequest(cartItem.getProduct());
+        if (productRequest != null) {
+            productRequest.setQuantity(cartItem.getQuantity());
+        }
+        return productRequest;
+    }
+}
@@ -7,7 +7,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +19,11 @@ import java.util.List;
 @Table(name = "carts")
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(
+        name = "Cart.cartItems.product",
+        attributeNodes = @NamedAttributeNode(value = "cartItems", subgraph = "cartItems.product"),
+        subgraphs = @NamedSubgraph(name = "cartItems.product", attributeNodes = @NamedAttributeNode("product"))
+)
 public class Cart {
 
     @Id
@@ -31,5 +39,27 @@ public class Cart {
     @JsonManagedReference("cart-cartItems")
     private List<CartItem> cartItems = new ArrayList<>();
 
-    private Double totalPrice = 0.0;
+    // Optimistic lock: concurrent updates of the same cart (double-clicks, multiple tabs) fail instead of losing a write
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    public Cart(Long cartId, User user, List<CartItem> cartItems) {
+        this.cartId = cartId;
+        this.user = user;
+        this.cartItems = cartItems;
+    }
+
+    // Derived from the cart lines instead of being stored and patched with floating-point deltas.
+    // Summed in BigDecimal and rounded to cents, so the total is exact for the prices held on the items.
+    public Double getTotalPrice() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItem cartItem : cartItems) {
+            if (cartItem.getProductPrice() != null && cartItem.getQuantity() != null) {
+                total = total.add(BigDecimal.valueOf(cartItem.getProductPrice())
+                        .multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+            }
+        }
+        return total.setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
 }
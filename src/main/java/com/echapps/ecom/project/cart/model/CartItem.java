@@ -7,6 +7,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data
@@ -31,4 +32,19 @@ public class CartItem {
     private Integer quantity;
     private Double discount;
     private Double productPrice;
+
+    // Optimistic lock: item writes no longer touch the cart row, so concurrent quantity changes on the same
+    // line are detected here instead of one of them being silently lost
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    public CartItem(Long cartItemId, Cart cart, Product product, Integer quantity, Double discount, Double productPrice) {
+        this.cartItemId = cartItemId;
+        this.cart = cart;
+        this.product = product;
+        this.quantity = quantity;
+        this.discount = discount;
+        this.productPrice = productPrice;
+    }
 }
@@ -1,17 +1,37 @@
 package com.echapps.ecom.project.cart.repository;
 
 import com.echapps.ecom.project.cart.model.CartItem;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     @Query("SELECT ci FROM CartItem ci WHERE ci.cart.id = ?1 AND ci.product.id = ?2")
     CartItem findCartItemByProductIdAndCartId(Long cartId, Long productId);
 
+    // Empties the cart at checkout; clears the persistence context so the cart read afterwards is empty
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.cartId = ?1")
+    int deleteAllByCartId(Long cartId);
+
+    @Query("SELECT COUNT(ci) FROM CartItem ci WHERE ci.product.productId = ?1")
+    long countByProductId(Long productId);
+
+    // Keyset chunking for bulk jobs: the next ids after the given one, in id order
+    @Query("SELECT ci.cartItemId FROM CartItem ci WHERE ci.product.productId = ?1 AND ci.cartItemId > ?2 ORDER BY ci.cartItemId")
+    List<Long> findCartItemIdsByProductIdAfter(Long productId, Long afterCartItemId, Limit limit);
+
+    // Bumps the version so a quantity update that read the line before repricing fails and retries
+    @Modifying
+    @Query("UPDATE CartItem ci SET ci.productPrice = ?2, ci.version = ci.version + 1 WHERE ci.product.productId = ?1 AND ci.cartItemId BETWEEN ?3 AND ?4")
+    int updateProductPriceInRange(Long productId, Double productPrice, Long fromCartItemId, Long toCartItemId);
+
     @Modifying
-    @Query("DELETE FROM CartItem ci WHERE ci.cart.id = ?1 AND ci.product.id = ?2")
-    void deleteCartItemByProductIdAndCartId(Long cartId, Long productId);
+    @Query("DELETE FROM CartItem ci WHERE ci.product.productId = ?1 AND ci.cartItemId BETWEEN ?2 AND ?3")
+    int deleteByProductIdInRange(Long productId, Long fromCartItemId, Long toCartItemId);
 }
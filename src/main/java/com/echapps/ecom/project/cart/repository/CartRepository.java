@@ -1,6 +1,7 @@
 package com.echapps.ecom.project.cart.repository;
 
 import com.echapps.ecom.project.cart.model.Cart;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -9,12 +10,19 @@ import java.util.List;
 
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
+
+    // Cart view / checkout: the cart, its items and each item's product in a single query
+    String CART_ITEMS_PRODUCT_GRAPH = "Cart.cartItems.product";
+
+    @EntityGraph(CART_ITEMS_PRODUCT_GRAPH)
     @Query("SELECT c FROM Cart c WHERE c.user.email = ?1")
     Cart findCartByEmail(String email);
 
+    @EntityGraph(CART_ITEMS_PRODUCT_GRAPH)
     @Query("SELECT c FROM Cart c WHERE c.user.email = ?1 AND c.cartId = ?2")
     Cart findCartByEmailAndCartId(String emailId, Long cartId);
 
-    @Query("SELECT c FROM Cart c JOIN FETCH c.cartItems ci JOIN FETCH ci.product p WHERE p.id = ?1")
-    List<Cart> findCartsByProductId(Long productId);
+    @Override
+    @EntityGraph(CART_ITEMS_PRODUCT_GRAPH)
+    List<Cart> findAll();
 }
@@ -0,0 +1,9 @@
+package com.echapps.ecom.project.cart.service;
+
+import com.echapps.ecom.project.cart.dto.response.CartRepricingJobResponse;
+
+public interface CartRepricingService {
+    CartRepricingJobResponse scheduleRepricing(Long productId, Double price);
+
+    CartRepricingJobResponse getRepricingJob(Long productId);
+}
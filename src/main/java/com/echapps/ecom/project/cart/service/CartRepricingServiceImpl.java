@@ -0,0 +1,200 @@
+package com.echapps.ecom.project.cart.service;
+
+import com.echapps.ecom.project.cart.dto.response.CartRepricingJobResponse;
+import com.echapps.ecom.project.cart.dto.response.CartRepricingJobResponse.Status;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Propagates a product's new price to every cart item holding it, in the background.
+ * The cart items are repriced with set-based UPDATEs over keyset chunks of cart item ids,
+ * each chunk in its own short transaction, so repricing a product that sits in many carts
+ * neither holds long row locks nor blocks the admin request. Cart totals are derived from
+ * the items, so there is nothing else to recompute. Finished jobs can be polled for
+ * jobRetentionSeconds, after which they are forgotten.
+ */
+@Service
+public class CartRepricingServiceImpl implements CartRepricingService {
+    private static final Logger logger = LoggerFactory.getLogger(CartRepricingServiceImpl.class);
+
+    private final CartItemRepository cartItemRepository;
+    private final TransactionOperations transactionOperations;
+    private final Executor executor;
+    private final int chunkSize;
+    private final Duration jobRetention;
+    private final Clock clock;
+
+    // Latest job per product; a newer job for the same product supersedes a running one.
+    // Finished jobs are dropped once they are older than jobRetention, so the map only holds recent products.
+    private final Map<Long, RepricingJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CartRepricingServiceImpl(CartItemRepository cartItemRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${spring.app.cartRepricing.chunkSize:1000}") int chunkSize,
+                                    @Value("${spring.app.cartRepricing.queueCapacity:100}") int queueCapacity,
+                                    @Value("${spring.app.cartRepricing.jobRetentionSeconds:3600}") long jobRetentionSeconds) {
+        this(cartItemRepository, new TransactionTemplate(transactionManager), newExecutor(queueCapacity), chunkSize,
+                Duration.ofSeconds(jobRetentionSeconds), Clock.systemUTC());
+    }
+
+    CartRepricingServiceImpl(CartItemRepository cartItemRepository, TransactionOperations transactionOperations,
+                             Executor executor, int chunkSize, Duration jobRetention, Clock clock) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.cartItemRepository = cartItemRepository;
+        this.transactionOperations = transactionOperations;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.jobRetention = jobRetention;
+        this.clock = clock;
+    }
+
+    // Single worker: jobs are I/O bound on the same table and a bounded queue rejects runaway scheduling
+    private static ExecutorService newExecutor(int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cart-repricing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules the repricing and returns immediately. Call it after the product update has
+     * committed, so the job cannot run ahead of the new price.
+     */
+    @Override
+    public CartRepricingJobResponse scheduleRepricing(Long productId, Double price) {
+        pruneFinishedJobs();
+        RepricingJob job = new RepricingJob(productId, price, clock.instant());
+        jobs.put(productId, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            job.finish(Status.FAILED, "Repricing queue is full", clock.instant());
+            logger.error("Cart repricing for product {} rejected: queue is full", productId);
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public CartRepricingJobResponse getRepricingJob(Long productId) {
+        pruneFinishedJobs();
+        RepricingJob job = jobs.get(productId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Cart repricing job", "productId", productId);
+        }
+        return job.toResponse();
+    }
+
+    // Only drops the exact finished job it saw, never a newer one scheduled for the same product meanwhile
+    private void pruneFinishedJobs() {
+        Instant cutoff = clock.instant().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void run(RepricingJob job) {
+        Long productId = job.productId;
+        try {
+            job.start(cartItemRepository.countByProductId(productId));
+            long lastCartItemId = 0L;
+            while (true) {
+                if (jobs.get(productId) != job) {
+                    job.finish(Status.SUPERSEDED, null, clock.instant());
+                    logger.debug("Cart repricing for product {} superseded after {} items", productId, job.processedItems.get());
+                    return;
+                }
+
+                long afterCartItemId = lastCartItemId;
+                Long chunkEnd = transactionOperations.execute(status -> {
+                    List<Long> ids = cartItemRepository.findCartItemIdsByProductIdAfter(productId, afterCartItemId, Limit.of(chunkSize));
+                    if (ids.isEmpty()) {
+                        return null;
+                    }
+                    Long last = ids.getLast();
+                    job.processedItems.addAndGet(cartItemRepository.updateProductPriceInRange(productId, job.price, ids.getFirst(), last));
+                    return last;
+                });
+                if (chunkEnd == null) {
+                    break;
+                }
+                lastCartItemId = chunkEnd;
+                logger.debug("Cart repricing for product {}: {}/{} items", productId, job.processedItems.get(), job.totalItems);
+            }
+            job.finish(Status.COMPLETED, null, clock.instant());
+            logger.debug("Cart repricing for product {} completed: {} items", productId, job.processedItems.get());
+        } catch (RuntimeException e) {
+            job.finish(Status.FAILED, e.getMessage(), clock.instant());
+            logger.error("Cart repricing for product {} failed: {}", productId, e.getMessage());
+        }
+    }
+
+    private static final class RepricingJob {
+        private final Long productId;
+        private final Double price;
+        private final Instant scheduledAt;
+        private final AtomicLong processedItems = new AtomicLong();
+        private volatile Status status = Status.PENDING;
+        private volatile Long totalItems;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private RepricingJob(Long productId, Double price, Instant scheduledAt) {
+            this.productId = productId;
+            this.price = price;
+            this.scheduledAt = scheduledAt;
+        }
+
+        private void start(long totalItems) {
+            this.totalItems = totalItems;
+            this.status = Status.RUNNING;
+        }
+
+        private void finish(Status status, String error, Instant finishedAt) {
+            this.error = error;
+            this.finishedAt = finishedAt;
+            this.status = status;
+        }
+
+        private CartRepricingJobResponse toResponse() {
+            return new CartRepricingJobResponse(productId, price, status, totalItems, processedItems.get(),
+                    scheduledAt, finishedAt, error);
+        }
+    }
+}
@@ -17,5 +17,5 @@ public interface CartService {
 
     String deleteProductFromCart(Long cartId, Long productId);
 
-    void updateProductInCarts(Long cartId, Long productId);
+    int deleteProductFromAllCarts(Long productId);
 }
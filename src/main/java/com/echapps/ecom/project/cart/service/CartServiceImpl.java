@@ -1,22 +1,26 @@
 package com.echapps.ecom.project.cart.service;
 
 import com.echapps.ecom.project.cart.dto.request.CartDTO;
+import com.echapps.ecom.project.cart.mapper.CartMapper;
 import com.echapps.ecom.project.cart.model.Cart;
 import com.echapps.ecom.project.cart.model.CartItem;
 import com.echapps.ecom.project.cart.repository.CartItemRepository;
 import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.config.RetryOnOptimisticLock;
 import com.echapps.ecom.project.exceptions.APIException;
 import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
-import com.echapps.ecom.project.product.dto.request.ProductRequest;
-import com.echapps.ecom.project.product.model.Product;
 import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.repository.ProductSummary;
+import com.echapps.ecom.project.product.service.cache.ProductCache;
 import com.echapps.ecom.project.utils.AuthUtil;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import tools.jackson.databind.ObjectMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-import java.util.stream.Stream;
 
 @Service
 public class CartServiceImpl implements CartService {
@@ -25,69 +29,63 @@ public class CartServiceImpl implements CartService {
     private final AuthUtil authUtil;
     private final ProductRepository productRepository;
     private final CartItemRepository cartItemRepository;
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final CartMapper cartMapper;
+    private final ProductCache productCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int bulkChunkSize;
 
-    public CartServiceImpl(CartRepository cartRepository, AuthUtil authUtil, ProductRepository productRepository, CartItemRepository cartItemRepository) {
+    public CartServiceImpl(CartRepository cartRepository, AuthUtil authUtil, ProductRepository productRepository, CartItemRepository cartItemRepository, CartMapper cartMapper,
+                           ProductCache productCache, PlatformTransactionManager transactionManager, @Value("${spring.app.cartItems.bulkChunkSize:1000}") int bulkChunkSize) {
         this.cartRepository = cartRepository;
         this.authUtil = authUtil;
         this.productRepository = productRepository;
         this.cartItemRepository = cartItemRepository;
+        this.cartMapper = cartMapper;
+        this.productCache = productCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bulkChunkSize = bulkChunkSize;
     }
 
+    @Transactional
+    @RetryOnOptimisticLock
     @Override
     public CartDTO addProductToCart(Long productId, Integer quantity) {
         // 1. Find existing cart for the user (or create a new one if it doesn't exist)
         Cart cart = createCart();
 
-        // 2. Fetch product details using productId
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        // 2. Fetch product details using productId (name and prices from the product cache, stock from the database)
+        ProductSummary product = productCache.getProduct(productId);
+        int stock = findStock(productId);
 
         // 3. Perform validations (e.g., check if product exists, check stock availability)
         CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cart.getCartId(), productId);
 
         if (cartItem != null) {
-            throw new APIException(product.getProductName() + " is already in the cart. Please update the quantity instead.");
+            throw new APIException(product.productName() + " is already in the cart. Please update the quantity instead.");
         }
 
-        if (product.getQuantity() == 0) {
-            throw new APIException(product.getProductName() + " is out of stock.");
+        if (stock == 0) {
+            throw new APIException(product.productName() + " is out of stock.");
         }
 
-        if (product.getQuantity() < quantity) {
-            throw new APIException("Not enough stock for " + product.getProductName() + ". Available quantity: " + product.getQuantity());
+        if (stock < quantity) {
+            throw new APIException("Not enough stock for " + product.productName() + ". Available quantity: " + stock);
         }
 
-        // 4. Create CartItem
+        // 4. Create CartItem (the product is attached by reference, without loading it)
         CartItem newCartItem = new CartItem();
         newCartItem.setCart(cart);
-        newCartItem.setProduct(product);
+        newCartItem.setProduct(productRepository.getReferenceById(productId));
         newCartItem.setQuantity(quantity);
-        newCartItem.setDiscount(product.getDiscount());
-        newCartItem.setProductPrice(product.getSpecialPrice());
+        newCartItem.setDiscount(product.discount());
+        newCartItem.setProductPrice(product.specialPrice());
 
-        // 5. Save CartItem
+        // 5. Save CartItem (the cart total is derived from its items, so the cart row is not rewritten)
         cartItemRepository.save(newCartItem);
-
-        product.setQuantity(product.getQuantity());
-
-        cart.setTotalPrice(cart.getTotalPrice() + (product.getSpecialPrice() * quantity));
         cart.getCartItems().add(newCartItem);
-        cartRepository.save(cart);
 
         // 6. Return updated cart
-        CartDTO cartDTO = mapper.convertValue(cart, CartDTO.class);
-
-        List<CartItem> cartItems = cart.getCartItems();
-
-        Stream<ProductRequest> productRequestStream = cartItems.stream().map(ci -> {
-            ProductRequest request = mapper.convertValue(ci.getProduct(), ProductRequest.class);
-            request.setQuantity(ci.getQuantity());
-            return request;
-        });
-
-        cartDTO.setProducts(productRequestStream.toList());
-        return cartDTO;
+        return cartMapper.toCartDTO(cart);
 
     }
 
@@ -100,18 +98,8 @@ public class CartServiceImpl implements CartService {
         }
 
         return carts.stream()
-                .map(cart -> {
-                    CartDTO cartDTO = mapper.convertValue(cart, CartDTO.class);
-
-                    List<ProductRequest> products = cart.getCartItems().stream().map(cartItem -> {
-                        ProductRequest productRequest = mapper.convertValue(cartItem.getProduct(), ProductRequest.class);
-                        productRequest.setQuantity(cartItem.getQuantity());
-                        return productRequest;
-                    }).toList();
-
-                    cartDTO.setProducts(products);
-                    return cartDTO;
-                }).toList();
+                .map(cartMapper::toCartDTO)
+                .toList();
     }
 
     @Override
@@ -121,17 +109,11 @@ public class CartServiceImpl implements CartService {
             throw new ResourceNotFoundException("Cart", "cartId", cartId);
         }
 
-        CartDTO cartDTO = mapper.convertValue(cart, CartDTO.class);
-        cart.getCartItems().forEach(ci -> ci.getProduct().setQuantity(ci.getQuantity()));
-        List<ProductRequest> products = cart.getCartItems().stream()
-                .map(product -> mapper.convertValue(product.getProduct(), ProductRequest.class))
-                .toList();
-
-        cartDTO.setProducts(products);
-        return cartDTO;
+        return cartMapper.toCartDTO(cart);
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     @Override
     public CartDTO updateProductQuantityInCart(Long productId, Integer quantity) {
         String userEmail = authUtil.getLoggedInUserEmail();
@@ -141,21 +123,21 @@ public class CartServiceImpl implements CartService {
         Cart cartToUpdate = cartRepository.findById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        ProductSummary product = productCache.getProduct(productId);
+        int stock = findStock(productId);
 
-        if (product.getQuantity() == 0) {
-            throw new APIException(product.getProductName() + " is out of stock.");
+        if (stock == 0) {
+            throw new APIException(product.productName() + " is out of stock.");
         }
 
-        if (product.getQuantity() < quantity) {
-            throw new APIException("Not enough stock for " + product.getProductName() + ". Available quantity: " + product.getQuantity());
+        if (stock < quantity) {
+            throw new APIException("Not enough stock for " + product.productName() + ". Available quantity: " + stock);
         }
 
         CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
 
         if (cartItem == null) {
-            throw new APIException("Product " + product.getProductName() + " is not in the cart. Please add it to the cart first.");
+            throw new APIException("Product " + product.productName() + " is not in the cart. Please add it to the cart first.");
         }
 
         // Calculate new quantity, validate it, and delete the cart item if the new quantity is zero or negative
@@ -166,35 +148,20 @@ public class CartServiceImpl implements CartService {
         }
 
         if (newQuantity == 0) {
-            deleteProductFromCart(cartId, productId);
+            // orphanRemoval deletes the cart item row
+            cartToUpdate.getCartItems().remove(cartItem);
         } else {
-            cartItem.setProductPrice(product.getSpecialPrice());
-            cartItem.setQuantity(cartItem.getQuantity() + quantity);
-            cartItem.setDiscount(product.getDiscount());
-            cartToUpdate.setTotalPrice(cartToUpdate.getTotalPrice() + (cartItem.getProductPrice() * quantity));
-            cartRepository.save(cartToUpdate);
+            cartItem.setProductPrice(product.specialPrice());
+            cartItem.setQuantity(newQuantity);
+            cartItem.setDiscount(product.discount());
+            cartItemRepository.save(cartItem);
         }
 
-        CartItem updatedCartItem = cartItemRepository.save(cartItem);
-        if (updatedCartItem.getQuantity() == 0) {
-            cartItemRepository.deleteById(updatedCartItem.getCartItemId());
-        }
-
-        CartDTO cartDTO = mapper.convertValue(cartToUpdate, CartDTO.class);
-
-        List<CartItem> cartItems = cartToUpdate.getCartItems();
-
-        Stream<ProductRequest> productStream = cartItems.stream().map(ci -> {
-            ProductRequest request = mapper.convertValue(ci.getProduct(), ProductRequest.class);
-            request.setQuantity(ci.getQuantity());
-            return request;
-        });
-
-        cartDTO.setProducts(productStream.toList());
-        return cartDTO;
+        return cartMapper.toCartDTO(cartToUpdate);
     }
 
     @Transactional
+    @RetryOnOptimisticLock
     @Override
     public String deleteProductFromCart(Long cartId, Long productId) {
         Cart cartToDeleteProduct = cartRepository.findById(cartId)
@@ -206,35 +173,38 @@ public class CartServiceImpl implements CartService {
             throw new ResourceNotFoundException("Product", "productIdf", productId);
         }
 
-        cartToDeleteProduct.setTotalPrice(cartToDeleteProduct.getTotalPrice() - (cartItem.getProductPrice() * cartItem.getQuantity()));
-        cartItemRepository.deleteCartItemByProductIdAndCartId(cartId, productId);
+        // orphanRemoval deletes the cart item row; the derived cart total follows automatically
+        cartToDeleteProduct.getCartItems().remove(cartItem);
 
         return "Product " + cartItem.getProduct().getProductName() + " has been removed from the cart.";
     }
 
+    // Product delete: removes the product from every cart with one DELETE per keyset chunk of cart item ids.
+    // Each chunk commits on its own so row locks stay short on large tables; cart totals are derived from the
+    // remaining items, so no cart row is touched.
     @Override
-    public void updateProductInCarts(Long cartId, Long productId) {
-        // validations
-            // 1. Check if the cart & product exists in cart
-        Cart cartToUpdate = cartRepository.findById(cartId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
-
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
-
-        if (cartItem == null) {
-            throw new APIException("Product " + product.getProductName() + " is not in the cart.");
+    public int deleteProductFromAllCarts(Long productId) {
+        int deleted = 0;
+        Long lastCartItemId = 0L;
+        while (true) {
+            Long afterCartItemId = lastCartItemId;
+            List<Long> ids = transactionTemplate.execute(status ->
+                    cartItemRepository.findCartItemIdsByProductIdAfter(productId, afterCartItemId, Limit.of(bulkChunkSize)));
+            if (ids == null || ids.isEmpty()) {
+                return deleted;
+            }
+            lastCartItemId = ids.getLast();
+            Long first = ids.getFirst();
+            Long last = lastCartItemId;
+            Integer chunkDeleted = transactionTemplate.execute(status ->
+                    cartItemRepository.deleteByProductIdInRange(productId, first, last));
+            deleted += chunkDeleted == null ? 0 : chunkDeleted;
         }
+    }
 
-        // 2. Update the product details in the cart item
-        double cartPrice = cartToUpdate.getTotalPrice() - (cartItem.getProductPrice() * cartItem.getQuantity());
-        cartItem.setProductPrice(product.getSpecialPrice());
-
-        cartToUpdate.setTotalPrice(cartPrice + (cartItem.getProductPrice() * cartItem.getQuantity()));
-        cartItemRepository.save(cartItem);
-
+    private int findStock(Long productId) {
+        return productRepository.findQuantityByProductId(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
     }
 
     private Cart createCart() {
@@ -244,8 +214,7 @@ public class CartServiceImpl implements CartService {
         }
 
         Cart cart = new Cart();
-        cart.setTotalPrice(0.0);
-        cart.setUser(authUtil.getLoggedInUser());
+        cart.setUser(authUtil.getLoggedInUserReference());
         return cartRepository.save(cart);
     }
 }
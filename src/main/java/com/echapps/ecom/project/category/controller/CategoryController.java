@@ -4,6 +4,7 @@ import com.echapps.ecom.project.category.dto.request.CategoryRequest;
 import com.echapps.ecom.project.category.dto.response.CategoryResponse;
 import com.echapps.ecom.project.category.service.CategoryService;
 import com.echapps.ecom.project.config.AppConstants;
+import com.echapps.ecom.project.utils.CatalogResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +15,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController()
 @RequestMapping("/api/v1")
@@ -30,16 +32,29 @@ public class CategoryController {
     @Operation(summary = "Get all categories with pagination and sorting", description = "Retrieve a paginated and sorted list of all categories. You can specify the page number, page size, sorting field, and sorting order.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved categories"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<CategoryResponse> getAllCategories(
+            @Parameter(description = "Cursor (nextCursor of the previous response; empty for the first page). Switches to keyset pagination: pageNumber is ignored and no totals are returned")
+            @RequestParam(name = "after", required = false) String after,
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER_0, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE_50, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_BY_CATEGORY_ID, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.ASC_SORT_DIRECTION, required = false) String sortOrder) {
-        CategoryResponse categoryResponse = categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(categoryResponse, HttpStatus.OK);
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.ASC_SORT_DIRECTION, required = false) String sortOrder,
+            WebRequest webRequest) {
+        // Read before the page: if the catalog changes in between, the ETag is the older one and the
+        // client's next conditional request simply fetches the page again
+        String eTag = CatalogResponses.eTag(categoryService.getCategoriesVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return CatalogResponses.notModified(eTag);
+        }
+
+        CategoryResponse categoryResponse = after == null
+                ? categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder)
+                : categoryService.scrollAllCategories(after, pageSize, sortBy, sortOrder);
+        return CatalogResponses.withETag(HttpStatus.OK, eTag, categoryResponse);
     }
 
     @PostMapping("/public/categories")
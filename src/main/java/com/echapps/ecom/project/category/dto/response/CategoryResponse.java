@@ -31,4 +31,12 @@ public class CategoryResponse {
     @Schema(description = "Indicates if this is the last page of results", example = "true")
     private Boolean lastPage;
 
+    @Schema(description = "Opaque cursor for the next page when paginating with 'after'; null on the last page or in page-number mode",
+            example = "cHJvZHVjdElkPTUw")
+    private String nextCursor;
+
+    // Page-number responses, kept for existing callers
+    public CategoryResponse(List<CategoryRequest> content, Integer pageNumber, Integer pageSize, Long totalElements, Integer totalPages, Boolean lastPage) {
+        this(content, pageNumber, pageSize, totalElements, totalPages, lastPage, null);
+    }
 }
@@ -0,0 +1,28 @@
+package com.echapps.ecom.project.category.mapper;
+
+import com.echapps.ecom.project.category.dto.request.CategoryRequest;
+import com.echapps.ecom.project.category.model.Category;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryMapper {
+
+    public CategoryRequest toCategoryRequest(Category category) {
+        if (category == null) {
+            return null;
+        }
+
+        return new CategoryRequest(category.getCategoryId(), category.getCategoryName());
+    }
+
+    public Category toCategory(CategoryRequest categoryRequest) {
+        if (categoryRequest == null) {
+            return null;
+        }
+
+        Category category = new Category();
+        category.setCategoryId(categoryRequest.getCategoryId());
+        category.setCategoryName(categoryRequest.getCategoryName());
+        return category;
+    }
+}
@@ -5,15 +5,18 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
+import java.util.Locale;
 
 @Entity(name = "categories")
 @NoArgsConstructor
-@AllArgsConstructor
 @Data
 public class Category {
 
@@ -25,8 +28,31 @@ public class Category {
     @Size(min = 4, message = "Category name must be at least 4 characters")
     private String categoryName;
 
+    // Lower-cased name, unique so that names differing only in case are rejected by the database on every instance
+    @Column(unique = true)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String categoryNameKey;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
     @JsonManagedReference("category-products")
     private List<Product> products;
 
+    public Category(Long categoryId, String categoryName, List<Product> products) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.products = products;
+    }
+
+    public static String nameKey(String categoryName) {
+        return categoryName == null ? null : categoryName.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        categoryNameKey = nameKey(categoryName);
+    }
+
 }
@@ -1,6 +1,10 @@
 package com.echapps.ecom.project.category.repository;
 
 import com.echapps.ecom.project.category.model.Category;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,4 +12,7 @@ import org.springframework.stereotype.Repository;
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Category findByCategoryName(String categoryName);
+
+    // Keyset (cursor) listing: seeks past the given position instead of using an OFFSET, without a count query
+    Window<Category> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
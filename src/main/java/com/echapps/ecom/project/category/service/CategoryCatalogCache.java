@@ -0,0 +1,113 @@
+package com.echapps.ecom.project.category.service;
+
+import com.echapps.ecom.project.category.dto.request.CategoryRequest;
+import com.echapps.ecom.project.category.mapper.CategoryMapper;
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.exceptions.APIException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All categories held in memory as one immutable snapshot, pre-sorted by every supported sort key, so
+ * category pages and name lookups need no query. The category service rebuilds the snapshot after each
+ * create, update or delete and swaps it in atomically. The version is a hash of the content, so every
+ * instance reports the same version for the same categories.
+ */
+@Component
+public class CategoryCatalogCache {
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCatalogCache.class);
+
+    private static final Comparator<CategoryRequest> BY_ID = Comparator.comparing(CategoryRequest::getCategoryId);
+    private static final Comparator<CategoryRequest> BY_NAME = Comparator
+            .comparing(CategoryRequest::getCategoryName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(BY_ID);
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+
+    private volatile Snapshot snapshot;
+
+    public CategoryCatalogCache(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+        this.categoryRepository = categoryRepository;
+        this.categoryMapper = categoryMapper;
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    // Serialized, so a reload that started after a write can never be replaced by one that started before it
+    public synchronized void refresh() {
+        List<CategoryRequest> byId = categoryRepository.findAll().stream()
+                .map(categoryMapper::toCategoryRequest)
+                .sorted(BY_ID)
+                .toList();
+        List<CategoryRequest> byName = byId.stream().sorted(BY_NAME).toList();
+
+        Map<String, CategoryRequest> byNameKey = new HashMap<>();
+        for (CategoryRequest category : byId) {
+            if (category.getCategoryName() != null) {
+                byNameKey.putIfAbsent(Category.nameKey(category.getCategoryName()), category);
+            }
+        }
+
+        snapshot = new Snapshot(contentVersion(byId), byId, byName, Collections.unmodifiableMap(byNameKey));
+        logger.debug("Rebuilt category catalog: {} categories, version {}", byId.size(), Long.toHexString(snapshot.version()));
+    }
+
+    // First 64 bits of a SHA-256 over the ids and names in id order
+    private static long contentVersion(List<CategoryRequest> categories) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (CategoryRequest category : categories) {
+                digest.update((category.getCategoryId() + "\t" + category.getCategoryName() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * One immutable version of the catalog. The lists are shared between requests and must be treated as
+     * read-only, including the category DTOs in them.
+     */
+    public record Snapshot(long version, List<CategoryRequest> byId, List<CategoryRequest> byName,
+                           Map<String, CategoryRequest> byNameKey) {
+
+        public List<CategoryRequest> sortedBy(String sortBy, boolean descending) {
+            List<CategoryRequest> sorted = switch (sortBy) {
+                case "categoryId" -> byId;
+                case "categoryName" -> byName;
+                default -> throw new APIException("Sorting by " + sortBy + " is not supported. Supported fields: [categoryId, categoryName]");
+            };
+            return descending ? sorted.reversed() : sorted;
+        }
+
+        // Case-insensitive, like the unique name key in the database
+        public boolean containsName(String categoryName) {
+            return categoryName != null && byNameKey.containsKey(Category.nameKey(categoryName));
+        }
+    }
+}
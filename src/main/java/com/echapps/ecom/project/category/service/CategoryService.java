@@ -6,6 +6,8 @@ import com.echapps.ecom.project.category.dto.response.CategoryResponse;
 public interface CategoryService {
 
     CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    CategoryResponse scrollAllCategories(String after, Integer pageSize, String sortBy, String sortOrder);
+    long getCategoriesVersion();
     CategoryRequest createCategory(CategoryRequest categoryRequest);
     CategoryRequest deleteCategory(Long id);
     CategoryRequest updateCategory(CategoryRequest categoryRequest, Long categoryId);
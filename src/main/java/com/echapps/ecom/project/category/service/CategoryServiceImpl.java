@@ -2,47 +2,63 @@ package com.echapps.ecom.project.category.service;
 
 import com.echapps.ecom.project.category.dto.request.CategoryRequest;
 import com.echapps.ecom.project.category.dto.response.CategoryResponse;
+import com.echapps.ecom.project.category.mapper.CategoryMapper;
 import com.echapps.ecom.project.category.model.Category;
 import com.echapps.ecom.project.category.repository.CategoryRepository;
 import com.echapps.ecom.project.exceptions.APIException;
 import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.service.ProductService;
+import com.echapps.ecom.project.utils.KeysetCursor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
-import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
+    // Properties a cursor listing can be sorted by, with the parser that reads their values back from a cursor
+    private static final Map<String, Function<String, Object>> CATEGORY_SORT_KEYS = Map.of(
+            "categoryId", Long::valueOf,
+            "categoryName", value -> value);
+
     private final CategoryRepository categoryRepository;
-    private final ObjectMapper mapper;
+    private final CategoryMapper categoryMapper;
+    private final CategoryCatalogCache categoryCatalogCache;
+    private final ProductService productService;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, ObjectMapper mapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper, CategoryCatalogCache categoryCatalogCache, ProductService productService) {
         this.categoryRepository = categoryRepository;
-        this.mapper = mapper;
+        this.categoryMapper = categoryMapper;
+        this.categoryCatalogCache = categoryCatalogCache;
+        this.productService = productService;
     }
 
+    // Pages are cut from the cached, pre-sorted catalog: no page query and no count query
     @Override
     public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize);
+        List<CategoryRequest> sortedCategories = categoryCatalogCache.getSnapshot()
+                .sortedBy(sortBy, !sortOrder.equalsIgnoreCase("asc"));
 
-        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Category> categoryPage = categoryRepository.findAll(pageDetails);
-        List<Category> categories = categoryPage.getContent();
+        int fromIndex = (int) Math.min(pageDetails.getOffset(), sortedCategories.size());
+        int toIndex = Math.min(fromIndex + pageSize, sortedCategories.size());
+        Page<CategoryRequest> categoryPage = new PageImpl<>(List.copyOf(sortedCategories.subList(fromIndex, toIndex)), pageDetails, sortedCategories.size());
 
-        if (categories.isEmpty()) {
+        if (categoryPage.isEmpty()) {
             throw new APIException("No categories found!");
         }
 
-        List<CategoryRequest> categoryRequest = categories.stream()
-                .map(category -> mapper.convertValue(category, CategoryRequest.class))
-                .toList();
-
         CategoryResponse categoryResponse = new CategoryResponse();
-        categoryResponse.setContent(categoryRequest);
+        categoryResponse.setContent(categoryPage.getContent());
         categoryResponse.setPageNumber(categoryPage.getNumber());
         categoryResponse.setPageSize(categoryPage.getSize());
         categoryResponse.setTotalElements(categoryPage.getTotalElements());
@@ -51,15 +67,45 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryResponse;
     }
 
+    @Override
+    public CategoryResponse scrollAllCategories(String after, Integer pageSize, String sortBy, String sortOrder) {
+        Sort sort = KeysetCursor.sort(sortBy, sortOrder, "categoryId", CATEGORY_SORT_KEYS);
+        Window<Category> categoryWindow = categoryRepository.findAllBy(KeysetCursor.decode(after, sort, CATEGORY_SORT_KEYS), sort, Limit.of(pageSize));
+
+        if (categoryWindow.isEmpty() && KeysetCursor.isFirstPage(after)) {
+            throw new APIException("No categories found!");
+        }
+
+        CategoryResponse categoryResponse = new CategoryResponse();
+        categoryResponse.setContent(categoryWindow.stream().map(categoryMapper::toCategoryRequest).toList());
+        categoryResponse.setPageSize(pageSize);
+        categoryResponse.setLastPage(!categoryWindow.hasNext());
+        if (categoryWindow.hasNext()) {
+            categoryResponse.setNextCursor(KeysetCursor.encode(categoryWindow.positionAt(categoryWindow.size() - 1)));
+        }
+        return categoryResponse;
+    }
+
+    @Override
+    public long getCategoriesVersion() {
+        return categoryCatalogCache.getSnapshot().version();
+    }
+
     @Override
     public CategoryRequest createCategory(CategoryRequest categoryRequest) {
-        Category category = mapper.convertValue(categoryRequest, Category.class);
-        Category savedCategory = categoryRepository.findByCategoryName(category.getCategoryName());
-        if (savedCategory != null) {
-            throw new APIException("Category with name " + categoryRequest.getCategoryName() + " already exists!");
+        Category category = categoryMapper.toCategory(categoryRequest);
+        if (categoryCatalogCache.getSnapshot().containsName(category.getCategoryName())) {
+            throw duplicateName(categoryRequest.getCategoryName());
         }
-        Category newCategory = categoryRepository.save(category);
-        return mapper.convertValue(newCategory, CategoryRequest.class);
+        // The snapshot can miss a category just created on another instance; the unique name key cannot
+        Category newCategory;
+        try {
+            newCategory = categoryRepository.save(category);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateName(categoryRequest.getCategoryName());
+        }
+        categoryCatalogCache.refresh();
+        return categoryMapper.toCategoryRequest(newCategory);
     }
 
     @Override
@@ -67,8 +113,10 @@ public class CategoryServiceImpl implements CategoryService {
        Category category = categoryRepository.findById(id)
                .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", id));
 
+       productService.deleteProductsByCategory(id);
        categoryRepository.delete(category);
-       return mapper.convertValue(category, CategoryRequest.class);
+       categoryCatalogCache.refresh();
+       return categoryMapper.toCategoryRequest(category);
     }
 
     @Override
@@ -76,10 +124,19 @@ public class CategoryServiceImpl implements CategoryService {
         Category updatedCategory = categoryRepository.findById(categoryId)
                     .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
 
-        Category category = mapper.convertValue(categoryRequest, Category.class);
+        Category category = categoryMapper.toCategory(categoryRequest);
         category.setCategoryId(categoryId);
-        categoryRepository.save(category);
-        return mapper.convertValue(updatedCategory, CategoryRequest.class);
+        try {
+            categoryRepository.save(category);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateName(categoryRequest.getCategoryName());
+        }
+        categoryCatalogCache.refresh();
+        return categoryMapper.toCategoryRequest(updatedCategory);
+    }
+
+    private static APIException duplicateName(String categoryName) {
+        return new APIException("Category with name " + categoryName + " already exists!");
     }
 
 }
@@ -3,7 +3,10 @@ package com.echapps.ecom.project.config;
 public class AppConstants {
     public static final String PAGE_NUMBER_0 = "0";
     public static final String PAGE_SIZE_50 = "50";
+    public static final String SUGGESTION_LIMIT_10 = "10";
     public static final String SORT_BY_CATEGORY_ID = "categoryId";
     public static final String SORT_BY_PRODUCT_ID = "productId";
+    public static final String SORT_BY_RELEVANCE = "relevance";
     public static final String ASC_SORT_DIRECTION = "asc";
+    public static final String IMAGE_URL_PREFIX = "/images/";
 }
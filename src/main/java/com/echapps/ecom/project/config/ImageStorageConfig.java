@@ -0,0 +1,47 @@
+package com.echapps.ecom.project.config;
+
+import com.echapps.ecom.project.product.service.file.storage.DirectoryImageStorage;
+import com.echapps.ecom.project.product.service.file.storage.ImageStorageFactory;
+import com.echapps.ecom.project.product.service.file.storage.PackFileImageStorage;
+import com.echapps.ecom.project.product.service.file.storage.S3ImageStorage;
+import com.echapps.ecom.project.product.service.file.storage.S3RequestSigner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+
+// Selects where images are stored: "flat" (default, one directory), "sharded" (hashed subdirectories),
+// "pack" (small images packed into one file, larger ones sharded) or "s3" (an S3-compatible bucket).
+@Configuration
+public class ImageStorageConfig {
+    private static final int SHARD_LEVELS = 2;
+
+    @Bean
+    public ImageStorageFactory imageStorageFactory(@Value("${spring.app.imageStorage.backend:flat}") String backend,
+                                                   @Value("${spring.app.imageStorage.pack.maxImageBytes:65536}") long packMaxImageBytes,
+                                                   @Value("${spring.app.imageStorage.s3.endpoint:}") String s3Endpoint,
+                                                   @Value("${spring.app.imageStorage.s3.region:us-east-1}") String s3Region,
+                                                   @Value("${spring.app.imageStorage.s3.bucket:}") String s3Bucket,
+                                                   @Value("${spring.app.imageStorage.s3.prefix:images/}") String s3Prefix,
+                                                   @Value("${spring.app.imageStorage.s3.accessKey:}") String s3AccessKey,
+                                                   @Value("${spring.app.imageStorage.s3.secretKey:}") String s3SecretKey) {
+        return switch (backend) {
+            case "flat" -> root -> new DirectoryImageStorage(root, 0);
+            case "sharded" -> root -> new DirectoryImageStorage(root, SHARD_LEVELS);
+            case "pack" -> root -> new PackFileImageStorage(root, packMaxImageBytes, new DirectoryImageStorage(root, SHARD_LEVELS));
+            case "s3" -> {
+                if (s3Endpoint.isBlank() || s3Bucket.isBlank()) {
+                    throw new IllegalStateException("spring.app.imageStorage.s3.endpoint and spring.app.imageStorage.s3.bucket are required for the s3 backend");
+                }
+                HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+                S3RequestSigner signer = new S3RequestSigner(s3Region, s3AccessKey, s3SecretKey, Clock.systemUTC());
+                yield root -> new S3ImageStorage(httpClient, URI.create(s3Endpoint), s3Bucket, s3Prefix, signer);
+            }
+            default -> throw new IllegalStateException("Unknown spring.app.imageStorage.backend: " + backend + " (expected flat, sharded, pack or s3)");
+        };
+    }
+}
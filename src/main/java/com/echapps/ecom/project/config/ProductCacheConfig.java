@@ -0,0 +1,28 @@
+package com.echapps.ecom.project.config;
+
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.service.cache.InMemoryProductCache;
+import com.echapps.ecom.project.product.service.cache.JpaSecondLevelProductCache;
+import com.echapps.ecom.project.product.service.cache.ProductCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Selects the product cache backend: "memory" (default, bounded LRU with TTL) or "jpa" (Hibernate second-level cache).
+@Configuration
+public class ProductCacheConfig {
+
+    @Bean
+    public ProductCache productCache(@Value("${spring.app.productCache.backend:memory}") String backend,
+                                     @Value("${spring.app.productCache.maxSize:10000}") int maxSize,
+                                     @Value("${spring.app.productCache.ttlSeconds:60}") long ttlSeconds,
+                                     ProductRepository productRepository,
+                                     EntityManagerFactory entityManagerFactory) {
+        return switch (backend) {
+            case "memory" -> new InMemoryProductCache(productRepository, maxSize, ttlSeconds);
+            case "jpa" -> new JpaSecondLevelProductCache(productRepository, entityManagerFactory);
+            default -> throw new IllegalStateException("Unknown spring.app.productCache.backend: " + backend + " (expected memory or jpa)");
+        };
+    }
+}
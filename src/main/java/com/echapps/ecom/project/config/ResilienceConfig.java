@@ -0,0 +1,11 @@
+package com.echapps.ecom.project.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.resilience.annotation.EnableResilientMethods;
+
+// Enables @Retryable on service methods (@RetryOnOptimisticLock on cart and checkout mutations).
+// Each retry re-enters the method through its proxy, so every attempt runs in a fresh transaction.
+@Configuration
+@EnableResilientMethods
+public class ResilienceConfig {
+}
@@ -0,0 +1,24 @@
+package com.echapps.ecom.project.config;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.resilience.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retries a transactional service method when a concurrent writer bumped a @Version it read:
+ * up to 3 retries with jittered exponential backoff (50 ms doubling, capped at 500 ms). Put it
+ * next to @Transactional; every attempt re-enters through the proxy and runs in a new transaction.
+ * Once the retries are used up the OptimisticLockingFailureException reaches
+ * GlobalExceptionHandler and the client gets a 409.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(includes = OptimisticLockingFailureException.class, maxRetries = 3, delay = 50, multiplier = 2, maxDelay = 500, jitter = 10)
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,10 @@
+package com.echapps.ecom.project.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background refreshes (approximate product counts).
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,6 +1,7 @@
 package com.echapps.ecom.project.exceptions;
 
 import com.echapps.ecom.project.category.dto.response.APIResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -32,6 +33,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(exception, HttpStatus.NOT_FOUND);
     }
 
+    // Raised once the optimistic-lock retries are exhausted: the resource kept changing underneath the request
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<APIResponse> optimisticLockingFailureException(OptimisticLockingFailureException e) {
+        APIResponse exception = new APIResponse("The resource was modified concurrently. Please retry the request.", false);
+        return new ResponseEntity<>(exception, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(APIException.class)
     public ResponseEntity<APIResponse> apiException(APIException e) {
         String message = e.getMessage();
@@ -0,0 +1,72 @@
+package com.echapps.ecom.project.order.mapper;
+
+import com.echapps.ecom.project.order.dto.request.OrderDTO;
+import com.echapps.ecom.project.order.dto.request.OrderItemDTO;
+import com.echapps.ecom.project.order.model.Order;
+import com.echapps.ecom.project.order.model.OrderItem;
+import com.echapps.ecom.project.payment.dto.request.PaymentDTO;
+import com.echapps.ecom.project.payment.model.Payment;
+import com.echapps.ecom.project.product.mapper.ProductMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class OrderMapper {
+
+    private final ProductMapper productMapper;
+
+    public OrderMapper(ProductMapper productMapper) {
+        this.productMapper = productMapper;
+    }
+
+    public OrderDTO toOrderDTO(Order order) {
+        if (order == null) {
+            return null;
+        }
+
+        return toOrderDTO(order, order.getOrderItems());
+    }
+
+    public OrderDTO toOrderDTO(Order order, List<OrderItem> orderItems) {
+        List<OrderItemDTO> orderItemDTOs = new ArrayList<>(orderItems.size());
+        orderItems.forEach(orderItem -> orderItemDTOs.add(toOrderItemDTO(orderItem)));
+
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setOrderId(order.getOrderId());
+        orderDTO.setEmail(order.getEmail());
+        orderDTO.setOrderItems(orderItemDTOs);
+        orderDTO.setOrderDate(order.getOrderDate());
+        orderDTO.setPayment(toPaymentDTO(order.getPayment()));
+        orderDTO.setTotalAmount(order.getTotalAmount());
+        orderDTO.setOrderStatus(order.getOrderStatus());
+        orderDTO.setAddressId(order.getAddress() != null ? order.getAddress().getAddressId() : null);
+        return orderDTO;
+    }
+
+    public OrderItemDTO toOrderItemDTO(OrderItem orderItem) {
+        return new OrderItemDTO(
+                orderItem.getOrderItemId(),
+                productMapper.toProductRequest(orderItem.getProduct()),
+                orderItem.getQuantity(),
+                orderItem.getDiscount(),
+                orderItem.getOrderedProductPrice()
+        );
+    }
+
+    public PaymentDTO toPaymentDTO(Payment payment) {
+        if (payment == null) {
+            return null;
+        }
+
+        PaymentDTO paymentDTO = new PaymentDTO();
+        paymentDTO.setPaymentId(payment.getPaymentId());
+        paymentDTO.setPaymentMethod(payment.getPaymentMethod());
+        paymentDTO.setPgName(payment.getPgName());
+        paymentDTO.setPgPaymentId(payment.getPgPaymentId());
+        paymentDTO.setPgStatus(payment.getPgStatus());
+        paymentDTO.setPgResponseMessage(payment.getPgResponseMessage());
+        return paymentDTO;
+    }
+}
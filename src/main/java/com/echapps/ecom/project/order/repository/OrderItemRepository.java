@@ -2,8 +2,23 @@ package com.echapps.ecom.project.order.repository;
 
 import com.echapps.ecom.project.order.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    // Checkout: copy every cart line into the order in one INSERT ... SELECT, whatever the cart size
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO order_items (product_id, order_id, quantity, discount, ordered_product_price) "
+            + "SELECT ci.product_id, ?1, ci.quantity, ci.discount, ci.product_price "
+            + "FROM cart_items ci WHERE ci.cart_id = ?2",
+            nativeQuery = true)
+    int insertOrderItemsFromCart(Long orderId, Long cartId);
+
+    @Query("SELECT oi FROM OrderItem oi JOIN FETCH oi.product WHERE oi.order.orderId = ?1")
+    List<OrderItem> findOrderItemsWithProductByOrderId(Long orderId);
 }
@@ -1,13 +1,13 @@
 package com.echapps.ecom.project.order.service;
 
 import com.echapps.ecom.project.cart.model.Cart;
-import com.echapps.ecom.project.cart.model.CartItem;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
 import com.echapps.ecom.project.cart.repository.CartRepository;
-import com.echapps.ecom.project.cart.service.CartService;
+import com.echapps.ecom.project.config.RetryOnOptimisticLock;
 import com.echapps.ecom.project.exceptions.APIException;
 import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
 import com.echapps.ecom.project.order.dto.request.OrderDTO;
-import com.echapps.ecom.project.order.dto.request.OrderItemDTO;
+import com.echapps.ecom.project.order.mapper.OrderMapper;
 import com.echapps.ecom.project.order.model.Order;
 import com.echapps.ecom.project.order.model.OrderItem;
 import com.echapps.ecom.project.order.model.OrderStatus;
@@ -15,16 +15,14 @@ import com.echapps.ecom.project.order.repository.OrderItemRepository;
 import com.echapps.ecom.project.order.repository.OrderRepository;
 import com.echapps.ecom.project.payment.model.Payment;
 import com.echapps.ecom.project.payment.repository.PaymentRepository;
-import com.echapps.ecom.project.product.model.Product;
 import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.service.ProductCatalogVersion;
 import com.echapps.ecom.project.user.model.Address;
 import com.echapps.ecom.project.user.repository.AddressRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
-import tools.jackson.databind.ObjectMapper;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -36,22 +34,25 @@ public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
-    private final CartService cartService;
-    private final ObjectMapper mapper;
+    private final CartItemRepository cartItemRepository;
+    private final OrderMapper orderMapper;
+    private final ProductCatalogVersion productCatalogVersion;
 
-    public OrderServiceImpl(CartRepository cartRepository, AddressRepository addressRepository, PaymentRepository paymentRepository, OrderRepository orderRepository, OrderItemRepository orderItemRepository, ProductRepository productRepository, CartService cartService, ObjectMapper mapper) {
+    public OrderServiceImpl(CartRepository cartRepository, AddressRepository addressRepository, PaymentRepository paymentRepository, OrderRepository orderRepository, OrderItemRepository orderItemRepository, ProductRepository productRepository, CartItemRepository cartItemRepository, OrderMapper orderMapper, ProductCatalogVersion productCatalogVersion) {
         this.cartRepository = cartRepository;
         this.addressRepository = addressRepository;
         this.paymentRepository = paymentRepository;
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.productRepository = productRepository;
-        this.cartService = cartService;
-        this.mapper = mapper;
+        this.cartItemRepository = cartItemRepository;
+        this.orderMapper = orderMapper;
+        this.productCatalogVersion = productCatalogVersion;
     }
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public OrderDTO placeOrder(String emailId,
                                Long addressId,
                                String paymentMethod,
@@ -66,10 +67,22 @@ public class OrderServiceImpl implements OrderService {
             throw new ResourceNotFoundException("Cart", "email", emailId);
         }
 
+        if (userCart.getCartItems().isEmpty()) {
+            throw new APIException("Cart is empty");
+        }
+
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address", "addressId", addressId));
 
-        // 2. Create order with payment info
+        // 2. Reserve stock first so a sold-out checkout fails before anything else is written.
+        //    The conditional update skips products without enough stock; any skipped line rolls the order back.
+        Long cartId = userCart.getCartId();
+        int reservedLines = productRepository.decrementStockForCart(cartId);
+        if (reservedLines < userCart.getCartItems().size()) {
+            throw new APIException("Not enough stock to place the order. One or more products in the cart are sold out or below the requested quantity.");
+        }
+
+        // 3. Create order with payment info
         Order order = new Order();
         order.setEmail(emailId);
         order.setOrderDate(LocalDate.now());
@@ -84,45 +97,17 @@ public class OrderServiceImpl implements OrderService {
 
         Order savedOrder = orderRepository.save(order);
 
-        // 3. Get items from card into order items
-        List<CartItem> cartItems = userCart.getCartItems();
-        if (cartItems.isEmpty()) {
-            throw new APIException("Cart is empty");
-        }
-
-        List<OrderItem> orderItems = new ArrayList<>();
-        for (CartItem cartItem : cartItems) {
-            OrderItem orderItem = new OrderItem();
-            orderItem.setProduct(cartItem.getProduct());
-            orderItem.setQuantity(cartItem.getQuantity());
-            orderItem.setDiscount(cartItem.getDiscount());
-            orderItem.setOrderedProductPrice(cartItem.getProductPrice());
-            orderItem.setOrder(savedOrder);
-            orderItems.add(orderItem);
-        }
-
-        orderItems = orderItemRepository.saveAll(orderItems);
-
-        // 4. Update product stock
-        userCart.getCartItems().forEach(item -> {
-            int quantity = item.getQuantity();
-            Product product = item.getProduct();
-            product.setQuantity(product.getQuantity() - quantity);
-            productRepository.save(product);
-
-            // 5. Clear user cart
-            cartService.deleteProductFromCart(userCart.getCartId(), item.getProduct().getProductId());
-        });
-
+        // 4. Copy cart items into order items and 5. clear the user cart.
+        //    Each step is a single set-based statement, so checkout cost does not grow with cart size.
+        orderItemRepository.insertOrderItemsFromCart(savedOrder.getOrderId(), cartId);
+        cartItemRepository.deleteAllByCartId(cartId);
+        // Stock levels are part of the product listings. Last write of the checkout, so the shared version row
+        // stays locked only until the commit.
+        productCatalogVersion.changed();
 
         // 6. Send order summary
-        OrderDTO orderDTO = mapper.convertValue(savedOrder, OrderDTO.class);
-        orderItems.forEach(orderItem -> {
-            orderDTO.getOrderItems().add(mapper.convertValue(orderItem, OrderItemDTO.class));
-        });
-
-        orderDTO.setAddressId(addressId);
-        return orderDTO;
+        List<OrderItem> orderItems = orderItemRepository.findOrderItemsWithProductByOrderId(savedOrder.getOrderId());
+        return orderMapper.toOrderDTO(savedOrder, orderItems);
     }
 
     @Override
@@ -146,16 +131,9 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private List<OrderDTO> mapToOrderDTO(List<Order> orders) {
-        return orders.stream().map(order -> {
-            OrderDTO orderDTO = mapper.convertValue(order, OrderDTO.class);
-
-            List<OrderItemDTO> orderItemDTOs = order.getOrderItems().stream()
-                    .map(orderItem -> mapper.convertValue(orderItem, OrderItemDTO.class))
-                    .toList();
-            orderDTO.setOrderItems(orderItemDTOs);
-            orderDTO.setAddressId(order.getAddress().getAddressId());
-            return orderDTO;
-        }).toList();
+        return orders.stream()
+                .map(orderMapper::toOrderDTO)
+                .toList();
     }
 
 
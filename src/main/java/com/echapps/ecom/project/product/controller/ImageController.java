@@ -0,0 +1,41 @@
+package com.echapps.ecom.project.product.controller;
+
+import com.echapps.ecom.project.product.service.file.ImageServingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+public class ImageController {
+
+    private final ImageServingService imageServingService;
+
+    public ImageController(ImageServingService imageServingService) {
+        this.imageServingService = imageServingService;
+    }
+
+    @GetMapping("/images/{fileName}")
+    @Operation(summary = "Get a product image", description = "Serve a stored product image or rendition. Supports If-None-Match and single byte Range requests; content-addressed images are cacheable forever.")
+    @Tag(name = "Product APIs", description = "APIs for managing products")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Image content"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range of the image"),
+            @ApiResponse(responseCode = "304", description = "Image not modified", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Image not found", content = @Content),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable", content = @Content)
+    })
+    public void getImage(@Parameter(description = "File name of the image") @PathVariable String fileName,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        imageServingService.serveImage(fileName, request, response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.echapps.ecom.project.product.controller;
+
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
+import com.echapps.ecom.project.product.service.file.ImageUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+public class ImageUploadController {
+
+    private final ImageUploadService imageUploadService;
+
+    public ImageUploadController(ImageUploadService imageUploadService) {
+        this.imageUploadService = imageUploadService;
+    }
+
+    @GetMapping("/admin/products/{productId}/image-upload")
+    @Operation(summary = "Get product image upload progress", description = "Retrieve the state of the latest image upload for a product, and the stored image once processing has completed.")
+    @Tag(name = "Product APIs", description = "APIs for managing products")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the upload job"),
+            @ApiResponse(responseCode = "404", description = "No image upload for the product", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<ImageUploadJobResponse> getImageUploadJob(@Parameter(description = "Id of the product the image was uploaded for") @PathVariable Long productId) {
+        ImageUploadJobResponse job = imageUploadService.getImageUploadJob(productId);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+}
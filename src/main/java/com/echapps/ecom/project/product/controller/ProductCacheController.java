@@ -0,0 +1,36 @@
+package com.echapps.ecom.project.product.controller;
+
+import com.echapps.ecom.project.product.dto.response.ProductCacheStats;
+import com.echapps.ecom.project.product.service.cache.ProductCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+public class ProductCacheController {
+
+    private final ProductCache productCache;
+
+    public ProductCacheController(ProductCache productCache) {
+        this.productCache = productCache;
+    }
+
+    @GetMapping("/admin/products/cache-stats")
+    @Operation(summary = "Get product cache statistics", description = "Retrieve the hit, miss and eviction counts and the hit ratio of the product cache used by the cart paths.")
+    @Tag(name = "Product APIs", description = "APIs for managing products")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the cache statistics"),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<ProductCacheStats> getProductCacheStats() {
+        return new ResponseEntity<>(productCache.getStats(), HttpStatus.OK);
+    }
+}
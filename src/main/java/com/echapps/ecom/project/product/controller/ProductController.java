@@ -2,9 +2,13 @@ package com.echapps.ecom.project.product.controller;
 
 
 import com.echapps.ecom.project.config.AppConstants;
+import com.echapps.ecom.project.product.dto.request.CountMode;
 import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
 import com.echapps.ecom.project.product.dto.response.ProductResponse;
+import com.echapps.ecom.project.product.dto.response.ProductSuggestion;
 import com.echapps.ecom.project.product.service.ProductService;
+import com.echapps.ecom.project.utils.CatalogResponses;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,9 +19,11 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -49,17 +55,36 @@ public class ProductController {
     @Tag(name = "Product APIs", description = "APIs for managing products")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved products"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<ProductResponse> getAllProducts(
+            @Parameter(description = "Cursor (nextCursor of the previous response; empty for the first page). Switches to keyset pagination: pageNumber is ignored and no totals are returned")
+            @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "How totals are reported: EXACT (default, count query per page), NONE (no count) or APPROXIMATE (cached per-category counts)")
+            @RequestParam(name = "count", required = false) CountMode count,
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER_0, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE_50, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_BY_PRODUCT_ID, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.ASC_SORT_DIRECTION, required = false) String sortOrder) {
-
-        ProductResponse productResponse = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(productResponse, HttpStatus.OK);
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.ASC_SORT_DIRECTION, required = false) String sortOrder,
+            WebRequest webRequest) {
+        // Read before the page: if the catalog changes in between, the ETag is the older one and the
+        // client's next conditional request simply fetches the page again
+        String eTag = CatalogResponses.eTag(productService.getCatalogVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return CatalogResponses.notModified(eTag);
+        }
+
+        ProductResponse productResponse;
+        if (after != null) {
+            productResponse = productService.scrollAllProducts(after, pageSize, sortBy, sortOrder);
+        } else if (count != null) {
+            productResponse = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder, count);
+        } else {
+            productResponse = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder);
+        }
+        return CatalogResponses.withETag(HttpStatus.OK, eTag, productResponse);
 
     }
 
@@ -68,19 +93,38 @@ public class ProductController {
     @Tag(name = "Product APIs", description = "APIs for managing products")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Successfully retrieved products for the category"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid request parameters", content = @Content),
             @ApiResponse(responseCode = "404", description = "Category not found", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<ProductResponse> getProductsByCategory(
             @Parameter(description = "Id of category to get products from") @PathVariable Long categoryId,
+            @Parameter(description = "Cursor (nextCursor of the previous response; empty for the first page). Switches to keyset pagination: pageNumber is ignored and no totals are returned")
+            @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "How totals are reported: EXACT (default, count query per page), NONE (no count) or APPROXIMATE (cached per-category counts)")
+            @RequestParam(name = "count", required = false) CountMode count,
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER_0, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE_50, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_BY_PRODUCT_ID, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.ASC_SORT_DIRECTION, required = false) String sortOrder) {
-
-        ProductResponse productResponse = productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(productResponse, HttpStatus.OK);
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.ASC_SORT_DIRECTION, required = false) String sortOrder,
+            WebRequest webRequest) {
+        // Read before the page: if the catalog changes in between, the ETag is the older one and the
+        // client's next conditional request simply fetches the page again
+        String eTag = CatalogResponses.eTag(productService.getCatalogVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return CatalogResponses.notModified(eTag);
+        }
+
+        ProductResponse productResponse;
+        if (after != null) {
+            productResponse = productService.scrollByCategory(categoryId, after, pageSize, sortBy, sortOrder);
+        } else if (count != null) {
+            productResponse = productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder, count);
+        } else {
+            productResponse = productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
+        }
+        return CatalogResponses.withETag(HttpStatus.OK, eTag, productResponse);
     }
 
     @GetMapping("/public/products/keyword/{keyword}")
@@ -88,17 +132,51 @@ public class ProductController {
     @Tag(name = "Product APIs", description = "APIs for managing products")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Products found matching the keyword"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match", content = @Content),
             @ApiResponse(responseCode = "404", description = "No products found matching the keyword", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
     public ResponseEntity<ProductResponse> searchProductsByKeyword(
             @Parameter(description = "Keyword to search for products") @PathVariable String keyword,
+            @Parameter(description = "Cursor (nextCursor of the previous response; empty for the first page). Switches to keyset pagination: pageNumber is ignored and no totals are returned")
+            @RequestParam(name = "after", required = false) String after,
+            @Parameter(description = "How totals are reported: EXACT (default, count query per page), NONE (no count) or APPROXIMATE (cached per-category counts)")
+            @RequestParam(name = "count", required = false) CountMode count,
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER_0, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE_50, required = false) Integer pageSize,
+            @Parameter(description = "Product field to sort by, or relevance to rank the best matches first (sortOrder does not apply to relevance)")
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_BY_PRODUCT_ID, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.ASC_SORT_DIRECTION, required = false) String sortOrder) {
-        ProductResponse productResponse = productService.searchProductsByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(productResponse, HttpStatus.FOUND);
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.ASC_SORT_DIRECTION, required = false) String sortOrder,
+            WebRequest webRequest) {
+        // Read before the page: if the catalog changes in between, the ETag is the older one and the
+        // client's next conditional request simply fetches the page again
+        String eTag = CatalogResponses.eTag(productService.getCatalogVersion());
+        if (webRequest.checkNotModified(eTag)) {
+            return CatalogResponses.notModified(eTag);
+        }
+        ProductResponse productResponse;
+        if (after != null) {
+            productResponse = productService.scrollProductsByKeyword(keyword, after, pageSize, sortBy, sortOrder);
+        } else if (count != null) {
+            productResponse = productService.searchProductsByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder, count);
+        } else {
+            productResponse = productService.searchProductsByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder);
+        }
+        return CatalogResponses.withETag(HttpStatus.FOUND, eTag, productResponse);
+    }
+
+    @GetMapping("/public/products/suggestions")
+    @Operation(summary = "Suggest product names for a search prefix", description = "Autocomplete for the search box: returns up to limit (max 20) product ids and names that start with the prefix, or that have a word starting with it. Served from memory without a database query.")
+    @Tag(name = "Product APIs", description = "APIs for managing products")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Suggestions returned (possibly none)"),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<List<ProductSuggestion>> suggestProductNames(
+            @Parameter(description = "Text typed so far") @RequestParam(name = "q") String prefix,
+            @RequestParam(name = "limit", defaultValue = AppConstants.SUGGESTION_LIMIT_10, required = false) Integer limit) {
+        List<ProductSuggestion> suggestions = productService.suggestProductNames(prefix, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
     }
 
     @PutMapping("/admin/products/{productId}")
@@ -130,17 +208,17 @@ public class ProductController {
     }
 
     @PutMapping("/admin/products/{productId}/image")
-    @Operation(summary = "Update product image", description = "Update the image of an existing product by providing its ID in the path variable and the new image file in the request parameter.")
+    @Operation(summary = "Update product image", description = "Upload a new image (JPEG, PNG or GIF) for an existing product. The image is processed in the background and the product is updated once processing completes; poll the returned upload job for the outcome.")
     @Tag(name = "Product APIs", description = "APIs for managing products")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Product image updated successfully"),
+            @ApiResponse(responseCode = "202", description = "Image accepted for processing"),
             @ApiResponse(responseCode = "400", description = "Invalid image file", content = @Content),
             @ApiResponse(responseCode = "404", description = "Product not found", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
     })
-    public ResponseEntity<ProductRequest> updateProductImage(@Parameter(description = "Id of product to update image") @PathVariable Long productId,
-                                                             @RequestParam("image") MultipartFile image) throws IOException {
-        ProductRequest updatedProduct = productService.updateProductImage(productId, image);
-        return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
+    public ResponseEntity<ImageUploadJobResponse> updateProductImage(@Parameter(description = "Id of product to update image") @PathVariable Long productId,
+                                                                     @RequestParam("image") MultipartFile image) throws IOException {
+        ImageUploadJobResponse uploadJob = productService.updateProductImage(productId, image);
+        return new ResponseEntity<>(uploadJob, HttpStatus.ACCEPTED);
     }
 }
@@ -0,0 +1,47 @@
+package com.echapps.ecom.project.product.controller;
+
+import com.echapps.ecom.project.product.dto.response.ProductImportResponse;
+import com.echapps.ecom.project.product.service.importer.ProductImportFormat;
+import com.echapps.ecom.project.product.service.importer.ProductImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1")
+public class ProductImportController {
+
+    private final ProductImportService productImportService;
+
+    public ProductImportController(ProductImportService productImportService) {
+        this.productImportService = productImportService;
+    }
+
+    // The body is read as a stream rather than bound, so an import of any size is never held in memory
+    @PostMapping("/admin/products/import")
+    @Operation(summary = "Import products in bulk", description = "Create products from a CSV (text/csv, with a header row) or NDJSON (application/x-ndjson) body. "
+            + "Each row needs categoryId, productName, description, quantity, price and discount. Valid rows are imported; rejected rows are listed with the reason.")
+    @Tag(name = "Product APIs", description = "APIs for managing products")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import finished; see importedCount and errors"),
+            @ApiResponse(responseCode = "400", description = "Unsupported content type or CSV header without the required columns", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<ProductImportResponse> importProducts(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                                InputStream body) throws IOException {
+        ProductImportResponse response = productImportService.importProducts(body, ProductImportFormat.fromContentType(contentType));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,11 @@
+package com.echapps.ecom.project.product.dto.request;
+
+// How a paginated product listing reports its totals
+public enum CountMode {
+    // count(*) over the filtered products on every page
+    EXACT,
+    // no count query: totalElements and totalPages are left empty, lastPage still comes from the page itself
+    NONE,
+    // totals from the cached per-category product counts, refreshed in the background
+    APPROXIMATE
+}
@@ -1,5 +1,7 @@
 package com.echapps.ecom.project.product.dto.request;
 
+import com.echapps.ecom.project.product.dto.response.ProductImageUrls;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -34,6 +36,13 @@ public class ProductRequest {
     @Schema(description = "Special price of the product after applying discount", example = "449.99")
     private Double specialPrice;
 
+    // Derived from the image name rather than stored, so projections built by JPQL constructor expressions carry it too
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "URLs of the original image and its renditions", accessMode = Schema.AccessMode.READ_ONLY)
+    public ProductImageUrls getImages() {
+        return ProductImageUrls.of(image);
+    }
+
     // Ignored to prevent circular reference serialization with Category entity
     //@JsonIgnore
     //@Schema(description = "Category to which the product belongs")
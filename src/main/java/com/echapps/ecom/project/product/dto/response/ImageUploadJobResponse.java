@@ -0,0 +1,34 @@
+package com.echapps.ecom.project.product.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageUploadJobResponse {
+
+    public enum Status { PENDING, PROCESSING, COMPLETED, SUPERSEDED, FAILED }
+
+    @Schema(description = "Id of the product the image is uploaded for", example = "1")
+    private Long productId;
+
+    @Schema(description = "Current state of the upload", example = "PROCESSING")
+    private Status status;
+
+    @Schema(description = "Stored file name, once the image has been processed", example = "3f1c2a9e-5b7d-4c1e-9a0f-2d6e8b4c7a11.png")
+    private String image;
+
+    @Schema(description = "When the upload was received")
+    private Instant submittedAt;
+
+    @Schema(description = "When processing finished, failed or was superseded")
+    private Instant finishedAt;
+
+    @Schema(description = "Failure reason, if processing failed")
+    private String error;
+}
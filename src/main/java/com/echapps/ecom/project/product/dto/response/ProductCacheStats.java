@@ -0,0 +1,30 @@
+package com.echapps.ecom.project.product.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCacheStats {
+
+    @Schema(description = "Cache backend in use (memory or jpa)", example = "memory")
+    private String backend;
+
+    @Schema(description = "Number of cached products, if the backend reports it", example = "1200")
+    private Long size;
+
+    @Schema(description = "Lookups served from the cache", example = "9500")
+    private long hitCount;
+
+    @Schema(description = "Lookups that had to load the product", example = "500")
+    private long missCount;
+
+    @Schema(description = "Entries dropped because they expired or the cache was full", example = "40")
+    private long evictionCount;
+
+    @Schema(description = "hitCount / (hitCount + missCount)", example = "0.95")
+    private double hitRatio;
+}
@@ -0,0 +1,29 @@
+package com.echapps.ecom.project.product.dto.response;
+
+import com.echapps.ecom.project.config.AppConstants;
+import com.echapps.ecom.project.product.service.file.ImageRendition;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ProductImageUrls(
+        @Schema(description = "URL of the original image", example = "/images/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08.png")
+        String original,
+        @Schema(description = "URL of the medium rendition, at most 640 pixels on its longest side", example = "/images/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08_medium.jpg")
+        String medium,
+        @Schema(description = "URL of the thumbnail rendition, at most 200 pixels on its longest side", example = "/images/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08_thumb.jpg")
+        String thumbnail) {
+
+    // Images stored before renditions were generated have none, so every URL points at the original
+    public static ProductImageUrls of(String image) {
+        if (image == null) {
+            return null;
+        }
+        String original = AppConstants.IMAGE_URL_PREFIX + image;
+        String contentHash = ImageRendition.contentHash(image);
+        if (contentHash == null) {
+            return new ProductImageUrls(original, original, original);
+        }
+        return new ProductImageUrls(original,
+                AppConstants.IMAGE_URL_PREFIX + ImageRendition.MEDIUM.fileName(contentHash),
+                AppConstants.IMAGE_URL_PREFIX + ImageRendition.THUMBNAIL.fileName(contentHash));
+    }
+}
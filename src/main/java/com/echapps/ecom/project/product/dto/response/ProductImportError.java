@@ -0,0 +1,21 @@
+package com.echapps.ecom.project.product.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportError {
+
+    @Schema(description = "1-based position of the row among the data rows of the import (header and blank lines not counted)", example = "42")
+    private long rowNumber;
+
+    @Schema(description = "Product name given in the row, if it could be read", example = "Smartphone")
+    private String productName;
+
+    @Schema(description = "Why the row was not imported", example = "Product with name Smartphone already exists in category 3")
+    private String message;
+}
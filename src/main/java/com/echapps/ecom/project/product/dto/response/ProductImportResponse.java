@@ -0,0 +1,29 @@
+package com.echapps.ecom.project.product.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportResponse {
+
+    @Schema(description = "Data rows read from the import", example = "100000")
+    private long totalRows;
+
+    @Schema(description = "Products created", example = "99998")
+    private long importedCount;
+
+    @Schema(description = "Rows rejected; each one is listed in errors up to the error limit", example = "2")
+    private long failedCount;
+
+    @Schema(description = "Rejected rows with the reason")
+    private List<ProductImportError> errors;
+
+    @Schema(description = "True when more rows failed than are listed in errors", example = "false")
+    private boolean errorsTruncated;
+}
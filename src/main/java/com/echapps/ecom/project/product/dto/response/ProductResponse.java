@@ -22,13 +22,21 @@ public class ProductResponse {
     @Schema(description = "Number of products per page", example = "10")
     private Integer pageSize;
 
-    @Schema(description = "Total number of products across all pages", example = "100")
+    @Schema(description = "Total number of products across all pages (estimated with count=APPROXIMATE, empty with count=NONE or a cursor)", example = "100")
     private Long totalElements;
 
-    @Schema(description = "Total number of pages available", example = "10")
+    @Schema(description = "Total number of pages available (estimated with count=APPROXIMATE, empty with count=NONE or a cursor)", example = "10")
     private Integer totalPages;
 
     @Schema(description = "Indicates if this is the last page of results", example = "true")
     private Boolean lastPage;
 
+    @Schema(description = "Opaque cursor for the next page when paginating with 'after'; null on the last page or in page-number mode",
+            example = "cHJvZHVjdElkPTUw")
+    private String nextCursor;
+
+    // Page-number responses, kept for existing callers
+    public ProductResponse(List<ProductRequest> content, Integer pageNumber, Integer pageSize, Long totalElements, Integer totalPages, Boolean lastPage) {
+        this(content, pageNumber, pageSize, totalElements, totalPages, lastPage, null);
+    }
 }
@@ -0,0 +1,18 @@
+package com.echapps.ecom.project.product.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSuggestion {
+
+    @Schema(description = "Unique identifier for the product", example = "1")
+    private Long productId;
+
+    @Schema(description = "Name of the product", example = "Wireless Mouse")
+    private String productName;
+}
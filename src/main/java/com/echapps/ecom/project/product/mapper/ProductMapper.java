@@ -0,0 +1,43 @@
+package com.echapps.ecom.project.product.mapper;
+
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.model.Product;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductMapper {
+
+    public ProductRequest toProductRequest(Product product) {
+        if (product == null) {
+            return null;
+        }
+
+        return new ProductRequest(
+                product.getProductId(),
+                product.getProductName(),
+                product.getImage(),
+                product.getDescription(),
+                product.getQuantity(),
+                product.getPrice(),
+                product.getDiscount(),
+                product.getSpecialPrice()
+        );
+    }
+
+    public Product toProduct(ProductRequest productRequest) {
+        if (productRequest == null) {
+            return null;
+        }
+
+        Product product = new Product();
+        product.setProductId(productRequest.getProductId());
+        product.setProductName(productRequest.getProductName());
+        product.setImage(productRequest.getImage());
+        product.setDescription(productRequest.getDescription());
+        product.setQuantity(productRequest.getQuantity());
+        product.setPrice(productRequest.getPrice());
+        product.setDiscount(productRequest.getDiscount());
+        product.setSpecialPrice(productRequest.getSpecialPrice());
+        return product;
+    }
+}
@@ -0,0 +1,21 @@
+package com.echapps.ecom.project.product.repository;
+
+import com.echapps.ecom.project.product.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+
+    // Primary key lookup of the version alone, read on every conditional catalog GET
+    @Query("SELECT c.version FROM CatalogVersion c WHERE c.catalogName = :catalogName")
+    Optional<Long> findVersion(@Param("catalogName") String catalogName);
+
+    // Runs in the transaction of the catalog write, so the new version commits together with the new rows
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.version = c.version + 1 WHERE c.catalogName = :catalogName")
+    int increment(@Param("catalogName") String catalogName);
+}
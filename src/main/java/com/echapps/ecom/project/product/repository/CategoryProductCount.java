@@ -0,0 +1,5 @@
+package com.echapps.ecom.project.product.repository;
+
+// Number of products in a category (categoryId is null for products without a category)
+public record CategoryProductCount(Long categoryId, Long productCount) {
+}
@@ -1,15 +1,102 @@
 package com.echapps.ecom.project.product.repository;
 
 import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
 import com.echapps.ecom.project.product.model.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductScrollRepository {
+
+    // Constructor expression used by the catalog projections below: selects only the product columns,
+    // so no Product entities (and none of their cart items) are loaded into the persistence context.
+    String PRODUCT_REQUEST_SELECT = "SELECT new com.echapps.ecom.project.product.dto.request.ProductRequest("
+            + "p.productId, p.productName, p.image, p.description, p.quantity, p.price, p.discount, p.specialPrice) "
+            + "FROM Product p";
+
+    // Checkout: decrement the stock of every product in the cart by its cart quantity in one statement.
+    // Conditional and atomic: a row is only updated while it still has enough stock (checked under the row lock),
+    // so the returned count is lower than the number of cart lines when any product would be oversold.
+    // Clears the persistence context, so products read afterwards (the order summary) show the new stock.
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Product p SET p.version = p.version + 1, p.quantity = p.quantity - "
+            + "(SELECT ci.quantity FROM CartItem ci WHERE ci.cart.cartId = :cartId AND ci.product.productId = p.productId) "
+            + "WHERE p.productId IN (SELECT ci.product.productId FROM CartItem ci WHERE ci.cart.cartId = :cartId) "
+            + "AND p.quantity >= "
+            + "(SELECT ci.quantity FROM CartItem ci WHERE ci.cart.cartId = :cartId AND ci.product.productId = p.productId)")
+    int decrementStockForCart(@Param("cartId") Long cartId);
+
+    // Points the product at a new image without loading the entity; bumps the version like any other product write
+    @Modifying
+    @Query("UPDATE Product p SET p.version = p.version + 1, p.image = :image WHERE p.productId = :productId")
+    int updateImage(@Param("productId") Long productId, @Param("image") String image);
+
     Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
 
     Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+
+    @Query(value = PRODUCT_REQUEST_SELECT,
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductRequest> findAllProductRequests(Pageable pageDetails);
+
+    @Query(value = PRODUCT_REQUEST_SELECT + " WHERE p.category = :category ORDER BY p.price ASC",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category = :category")
+    Page<ProductRequest> findProductRequestsByCategory(@Param("category") Category category, Pageable pageDetails);
+
+    @Query(value = PRODUCT_REQUEST_SELECT + " WHERE LOWER(p.productName) LIKE LOWER(:keyword)",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE LOWER(p.productName) LIKE LOWER(:keyword)")
+    Page<ProductRequest> findProductRequestsByProductNameLikeIgnoreCase(@Param("keyword") String keyword, Pageable pageDetails);
+
+    // Slice variants of the projections above: read pageSize + 1 rows to detect a next page, no count query
+    @Query(PRODUCT_REQUEST_SELECT)
+    Slice<ProductRequest> findAllProductRequestSlice(Pageable pageDetails);
+
+    @Query(PRODUCT_REQUEST_SELECT + " WHERE p.category = :category ORDER BY p.price ASC")
+    Slice<ProductRequest> findProductRequestSliceByCategory(@Param("category") Category category, Pageable pageDetails);
+
+    @Query(PRODUCT_REQUEST_SELECT + " WHERE LOWER(p.productName) LIKE LOWER(:keyword)")
+    Slice<ProductRequest> findProductRequestSliceByProductNameLikeIgnoreCase(@Param("keyword") String keyword, Pageable pageDetails);
+
+    // Search index rebuild: keyset batches of projections in id order
+    @Query(PRODUCT_REQUEST_SELECT + " WHERE p.productId > :afterProductId ORDER BY p.productId")
+    List<ProductRequest> findProductRequestsAfter(@Param("afterProductId") Long afterProductId, Limit limit);
+
+    // Search results: the page of ids ranked or ordered by the search index
+    @Query(PRODUCT_REQUEST_SELECT + " WHERE p.productId IN :productIds")
+    List<ProductRequest> findProductRequestsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    // Product cache loads: the read-mostly columns only, without the stock level
+    @Query("SELECT new com.echapps.ecom.project.product.repository.ProductSummary("
+            + "p.productId, p.productName, p.image, p.price, p.discount, p.specialPrice) "
+            + "FROM Product p WHERE p.productId = :productId")
+    Optional<ProductSummary> findSummaryByProductId(@Param("productId") Long productId);
+
+    // Bulk import: the names already taken in a category, read once per category instead of per row
+    @Query("SELECT p.productName FROM Product p WHERE p.category.categoryId = :categoryId")
+    List<String> findProductNamesByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Category deletes: the products to delete through the product delete path first
+    @Query("SELECT p.productId FROM Product p WHERE p.category.categoryId = :categoryId ORDER BY p.productId")
+    List<Long> findProductIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Cart stock checks: stock is always read from the database, never from the product cache
+    @Query("SELECT p.quantity FROM Product p WHERE p.productId = :productId")
+    Optional<Integer> findQuantityByProductId(@Param("productId") Long productId);
+
+    // Source of the approximate per-category counts (ProductCountCache)
+    @Query("SELECT new com.echapps.ecom.project.product.repository.CategoryProductCount(c.categoryId, COUNT(p)) "
+            + "FROM Product p LEFT JOIN p.category c GROUP BY c.categoryId")
+    List<CategoryProductCount> countProductsByCategory();
 }
@@ -0,0 +1,23 @@
+package com.echapps.ecom.project.product.repository;
+
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+/**
+ * Keyset (cursor) listings of catalog projections. A seek predicate on the sort key values of the given position
+ * replaces the OFFSET, and limit + 1 rows are read to tell whether a next page exists, so no count query is issued.
+ * Products without a value for the sort property come last in either direction and are seeked with IS NULL,
+ * so a page ending on such a product still has a next page.
+ */
+public interface ProductScrollRepository {
+
+    Window<ProductRequest> scrollProductRequests(KeysetScrollPosition position, Sort sort, Limit limit);
+
+    Window<ProductRequest> scrollProductRequestsByCategory(Category category, KeysetScrollPosition position, Sort sort, Limit limit);
+
+    Window<ProductRequest> scrollProductRequestsByProductNameLikeIgnoreCase(String keyword, KeysetScrollPosition position, Sort sort, Limit limit);
+}
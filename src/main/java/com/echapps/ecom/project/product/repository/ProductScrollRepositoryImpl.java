@@ -0,0 +1,137 @@
+package com.echapps.ecom.project.product.repository;
+
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Criteria queries instead of derived Window queries: the derived seek predicate compares with = and >,
+// which never matches a NULL sort key, so a page ending on a product without a price stopped the listing.
+class ProductScrollRepositoryImpl implements ProductScrollRepository {
+
+    private static final String ID_PROPERTY = "productId";
+
+    // Sort key values of a projected row, used to build the position after it
+    private static final Map<String, Function<ProductRequest, Object>> KEY_VALUES = Map.of(
+            "productId", ProductRequest::getProductId,
+            "productName", ProductRequest::getProductName,
+            "quantity", ProductRequest::getQuantity,
+            "price", ProductRequest::getPrice,
+            "discount", ProductRequest::getDiscount,
+            "specialPrice", ProductRequest::getSpecialPrice);
+
+    private final EntityManager entityManager;
+
+    ProductScrollRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Window<ProductRequest> scrollProductRequests(KeysetScrollPosition position, Sort sort, Limit limit) {
+        return scroll((cb, product) -> null, position, sort, limit);
+    }
+
+    @Override
+    public Window<ProductRequest> scrollProductRequestsByCategory(Category category, KeysetScrollPosition position, Sort sort, Limit limit) {
+        return scroll((cb, product) -> cb.equal(product.get("category"), category), position, sort, limit);
+    }
+
+    @Override
+    public Window<ProductRequest> scrollProductRequestsByProductNameLikeIgnoreCase(String keyword, KeysetScrollPosition position, Sort sort, Limit limit) {
+        return scroll((cb, product) -> cb.like(cb.lower(product.get("productName")), keyword.toLowerCase()), position, sort, limit);
+    }
+
+    private Window<ProductRequest> scroll(BiFunction<CriteriaBuilder, Root<Product>, Predicate> filter,
+                                          KeysetScrollPosition position, Sort sort, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductRequest> query = cb.createQuery(ProductRequest.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.construct(ProductRequest.class,
+                product.get("productId"), product.get("productName"), product.get("image"), product.get("description"),
+                product.get("quantity"), product.get("price"), product.get("discount"), product.get("specialPrice")));
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate filterPredicate = filter.apply(cb, product);
+        if (filterPredicate != null) {
+            where.add(filterPredicate);
+        }
+        if (!position.isInitial()) {
+            where.add(seek(cb, product, sort, position.getKeys()));
+        }
+        query.where(where.toArray(Predicate[]::new));
+        query.orderBy(orderBy(cb, product, sort));
+
+        int pageSize = limit.max();
+        List<ProductRequest> rows = entityManager.createQuery(query).setMaxResults(pageSize + 1).getResultList();
+        boolean hasNext = rows.size() > pageSize;
+        List<ProductRequest> content = hasNext ? rows.subList(0, pageSize) : rows;
+        return Window.from(content, index -> positionAfter(content.get(index), sort), hasNext);
+    }
+
+    // Nulls last in both directions: a NULL flag first, then the value itself
+    private static List<Order> orderBy(CriteriaBuilder cb, Root<Product> product, Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<?> value = product.get(order.getProperty());
+            if (!order.getProperty().equals(ID_PROPERTY)) {
+                orders.add(cb.asc(cb.<Integer>selectCase().when(cb.isNull(value), 1).otherwise(0)));
+            }
+            orders.add(order.isAscending() ? cb.asc(value) : cb.desc(value));
+        }
+        return orders;
+    }
+
+    // Rows after the position in the order above: for each sort key, equal on the keys before it and past it on
+    // that key. Past a NULL there is nothing left on that key; past a value come the greater (or smaller) values
+    // and then the NULLs.
+    @SuppressWarnings("unchecked")
+    private static Predicate seek(CriteriaBuilder cb, Root<Product> product, Sort sort, Map<String, Object> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalSoFar = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<Comparable<Object>> value = product.get(order.getProperty());
+            Comparable<Object> key = (Comparable<Object>) keys.get(order.getProperty());
+            if (key != null) {
+                Predicate past = order.isAscending() ? cb.greaterThan(value, key) : cb.lessThan(value, key);
+                if (!order.getProperty().equals(ID_PROPERTY)) {
+                    past = cb.or(past, cb.isNull(value));
+                }
+                List<Predicate> alternative = new ArrayList<>(equalSoFar);
+                alternative.add(past);
+                alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            }
+            equalSoFar.add(key == null ? cb.isNull(value) : cb.equal(value, key));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private static ScrollPosition positionAfter(ProductRequest row, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            Function<ProductRequest, Object> keyValue = KEY_VALUES.get(order.getProperty());
+            if (keyValue == null) {
+                throw new IllegalArgumentException("Unsupported sort property for product scrolling: " + order.getProperty());
+            }
+            keys.put(order.getProperty(), keyValue.apply(row));
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,5 @@
+package com.echapps.ecom.project.product.repository;
+
+// The read-mostly columns of a product (no stock level), as served by the product cache
+public record ProductSummary(Long productId, String productName, String image, Double price, Double discount, Double specialPrice) {
+}
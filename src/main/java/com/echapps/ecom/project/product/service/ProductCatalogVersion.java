@@ -0,0 +1,63 @@
+package com.echapps.ecom.project.product.service;
+
+import com.echapps.ecom.project.product.model.CatalogVersion;
+import com.echapps.ecom.project.product.repository.CatalogVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Version of the product catalog, the ETag source for the public product listings. It is a counter
+ * row in the database, shared by every instance: each write to product rows calls {@link #changed()}
+ * inside its own transaction (or in a new one when there is none), so the new version commits
+ * together with the new rows and reading it is a primary key lookup. Writes made outside the
+ * application must increment the row as well, or clients keep their cached listings.
+ */
+@Component
+public class ProductCatalogVersion {
+
+    static final String PRODUCTS = "products";
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final TransactionOperations transactionOperations;
+
+    @Autowired
+    public ProductCatalogVersion(CatalogVersionRepository catalogVersionRepository, PlatformTransactionManager transactionManager) {
+        this(catalogVersionRepository, new TransactionTemplate(transactionManager));
+    }
+
+    ProductCatalogVersion(CatalogVersionRepository catalogVersionRepository, TransactionOperations transactionOperations) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.transactionOperations = transactionOperations;
+    }
+
+    // Another instance starting at the same time may insert the row first
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIfMissing() {
+        if (catalogVersionRepository.existsById(PRODUCTS)) {
+            return;
+        }
+        try {
+            catalogVersionRepository.saveAndFlush(new CatalogVersion(PRODUCTS, 0L));
+        } catch (DataIntegrityViolationException e) {
+            // Inserted by the other instance
+        }
+    }
+
+    public long get() {
+        return catalogVersionRepository.findVersion(PRODUCTS).orElse(0L);
+    }
+
+    public void changed() {
+        transactionOperations.executeWithoutResult(status -> {
+            if (catalogVersionRepository.increment(PRODUCTS) == 0) {
+                catalogVersionRepository.save(new CatalogVersion(PRODUCTS, 1L));
+            }
+        });
+    }
+}
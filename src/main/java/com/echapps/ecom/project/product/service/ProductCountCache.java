@@ -0,0 +1,69 @@
+package com.echapps.ecom.project.product.service;
+
+import com.echapps.ecom.project.product.repository.CategoryProductCount;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Approximate product counts per category, used by listings that ask for {@code count=APPROXIMATE}
+ * instead of running a count(*) per page. The counts are read with a single GROUP BY query and
+ * replaced as one immutable snapshot on a fixed delay, so they may lag recent adds and deletes.
+ */
+@Component
+public class ProductCountCache {
+    private static final Logger logger = LoggerFactory.getLogger(ProductCountCache.class);
+
+    private final ProductRepository productRepository;
+
+    private volatile Snapshot snapshot;
+
+    public ProductCountCache(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public long getTotalCount() {
+        return currentSnapshot().totalCount();
+    }
+
+    public long getCategoryCount(Long categoryId) {
+        return currentSnapshot().categoryCounts().getOrDefault(categoryId, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.app.productCountCache.refreshMs:60000}",
+            initialDelayString = "${spring.app.productCountCache.refreshMs:60000}")
+    public void refresh() {
+        Map<Long, Long> categoryCounts = new HashMap<>();
+        long totalCount = 0;
+        for (CategoryProductCount count : productRepository.countProductsByCategory()) {
+            if (count.categoryId() != null) {
+                categoryCounts.put(count.categoryId(), count.productCount());
+            }
+            totalCount += count.productCount();
+        }
+        snapshot = new Snapshot(Map.copyOf(categoryCounts), totalCount);
+        logger.debug("Refreshed product counts: {} products in {} categories", totalCount, categoryCounts.size());
+    }
+
+    // The first caller loads the counts instead of waiting for the first scheduled refresh
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<Long, Long> categoryCounts, long totalCount) {
+    }
+}
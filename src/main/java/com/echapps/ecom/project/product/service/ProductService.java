@@ -1,23 +1,45 @@
 package com.echapps.ecom.project.product.service;
 
+import com.echapps.ecom.project.product.dto.request.CountMode;
 import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
 import com.echapps.ecom.project.product.dto.response.ProductResponse;
+import com.echapps.ecom.project.product.dto.response.ProductSuggestion;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 public interface ProductService {
     ProductRequest addProduct(ProductRequest product, Long categoryId);
 
     ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
+    ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, CountMode countMode);
+
     ProductRequest deleteProduct(Long productId);
 
+    void deleteProductsByCategory(Long categoryId);
+
     ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
+    ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, CountMode countMode);
+
     ProductResponse searchProductsByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
+    ProductResponse searchProductsByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, CountMode countMode);
+
+    ProductResponse scrollAllProducts(String after, Integer pageSize, String sortBy, String sortOrder);
+
+    ProductResponse scrollByCategory(Long categoryId, String after, Integer pageSize, String sortBy, String sortOrder);
+
+    ProductResponse scrollProductsByKeyword(String keyword, String after, Integer pageSize, String sortBy, String sortOrder);
+
+    List<ProductSuggestion> suggestProductNames(String prefix, Integer limit);
+
+    long getCatalogVersion();
+
     ProductRequest updateProduct(ProductRequest product, Long productId);
 
-    ProductRequest updateProductImage(Long productId, MultipartFile image) throws IOException;
+    ImageUploadJobResponse updateProductImage(Long productId, MultipartFile image) throws IOException;
 }
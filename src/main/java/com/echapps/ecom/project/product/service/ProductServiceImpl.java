@@ -1,49 +1,79 @@
 package com.echapps.ecom.project.product.service;
 
-import com.echapps.ecom.project.cart.dto.request.CartDTO;
-import com.echapps.ecom.project.cart.model.Cart;
-import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.cart.service.CartRepricingService;
 import com.echapps.ecom.project.cart.service.CartService;
 import com.echapps.ecom.project.category.model.Category;
 import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.config.AppConstants;
 import com.echapps.ecom.project.exceptions.APIException;
 import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.dto.request.CountMode;
 import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
 import com.echapps.ecom.project.product.dto.response.ProductResponse;
+import com.echapps.ecom.project.product.dto.response.ProductSuggestion;
+import com.echapps.ecom.project.product.mapper.ProductMapper;
 import com.echapps.ecom.project.product.model.Product;
 import com.echapps.ecom.project.product.repository.ProductRepository;
-import com.echapps.ecom.project.product.service.file.FileService;
-import org.springframework.beans.factory.annotation.Value;
+import com.echapps.ecom.project.product.service.cache.ProductCache;
+import com.echapps.ecom.project.product.service.file.ImageUploadService;
+import com.echapps.ecom.project.product.service.search.ProductNameSuggester;
+import com.echapps.ecom.project.product.service.search.ProductSearchIndex;
+import com.echapps.ecom.project.utils.KeysetCursor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import tools.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductServiceImpl implements ProductService {
+    // Properties a cursor listing can be sorted by, with the parser that reads their values back from a cursor
+    private static final Map<String, Function<String, Object>> PRODUCT_SORT_KEYS = Map.of(
+            "productId", Long::valueOf,
+            "productName", value -> value,
+            "quantity", Integer::valueOf,
+            "price", Double::valueOf,
+            "discount", Double::valueOf,
+            "specialPrice", Double::valueOf);
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
-    private final FileService fileService;
-    private final ObjectMapper objectMapper;
-    private final CartRepository cartRepository;
+    private final ImageUploadService imageUploadService;
+    private final ProductMapper productMapper;
     private final CartService cartService;
-
-    @Value("${project.image}")
-    private String path;
-
-    public ProductServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository, FileService fileService, ObjectMapper objectMapper, CartRepository cartRepository, CartService cartService) {
+    private final CartRepricingService cartRepricingService;
+    private final ProductCountCache productCountCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductNameSuggester productNameSuggester;
+    private final ProductCache productCache;
+    private final ProductCatalogVersion productCatalogVersion;
+
+    public ProductServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository, ImageUploadService imageUploadService, ProductMapper productMapper, CartService cartService, CartRepricingService cartRepricingService, ProductCountCache productCountCache, ProductSearchIndex productSearchIndex, ProductNameSuggester productNameSuggester, ProductCache productCache, ProductCatalogVersion productCatalogVersion) {
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
-        this.fileService = fileService;
-        this.objectMapper = objectMapper;
-        this.cartRepository = cartRepository;
+        this.imageUploadService = imageUploadService;
+        this.productMapper = productMapper;
         this.cartService = cartService;
+        this.cartRepricingService = cartRepricingService;
+        this.productCountCache = productCountCache;
+        this.productSearchIndex = productSearchIndex;
+        this.productNameSuggester = productNameSuggester;
+        this.productCache = productCache;
+        this.productCatalogVersion = productCatalogVersion;
     }
 
     @Override
@@ -63,13 +93,17 @@ public class ProductServiceImpl implements ProductService {
         }
 
         if (!isProductPresent) {
-            Product product = objectMapper.convertValue(productRequest, Product.class);
+            Product product = productMapper.toProduct(productRequest);
             product.setImage("default.png");
             product.setCategory(category);
             double specialPrice = calculateSpecialPrice(product.getPrice(), product.getDiscount());
             product.setSpecialPrice(specialPrice);
             Product savedProduct = productRepository.save(product);
-            return objectMapper.convertValue(savedProduct, ProductRequest.class);
+            productCatalogVersion.changed();
+            ProductRequest savedProductRequest = productMapper.toProductRequest(savedProduct);
+            productSearchIndex.index(savedProductRequest);
+            productNameSuggester.index(savedProductRequest);
+            return savedProductRequest;
         } else {
             throw new APIException("Product with name " + productRequest.getProductName() + " already exists in category " + category.getCategoryName());
         }
@@ -79,23 +113,18 @@ public class ProductServiceImpl implements ProductService {
     public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findAll(pageDetails);
-        List<Product> products = productPage.getContent();
-
-        List<ProductRequest> productRequest = products.stream()
-                .map(product -> objectMapper.convertValue(product, ProductRequest.class))
-                .toList();
+        Page<ProductRequest> productPage = productRepository.findAllProductRequests(pageDetails);
 
-        if (products.isEmpty()) {
+        if (productPage.isEmpty()) {
             throw new APIException("No products found!");
         }
 
-        return createProductResponseForPagination(productPage, productRequest);
+        return createProductResponseForPagination(productPage);
     }
 
-    private ProductResponse createProductResponseForPagination(Page<Product> productPage, List<ProductRequest> productRequest) {
+    private ProductResponse createProductResponseForPagination(Page<ProductRequest> productPage) {
         ProductResponse productResponse = new ProductResponse();
-        productResponse.setContent(productRequest);
+        productResponse.setContent(productPage.getContent());
         productResponse.setPageNumber(productPage.getNumber());
         productResponse.setPageSize(productPage.getSize());
         productResponse.setTotalElements(productPage.getTotalElements());
@@ -104,17 +133,197 @@ public class ProductServiceImpl implements ProductService {
         return productResponse;
     }
 
+    // Slice pages skip the count query; totals are only filled in from an approximate count when one is given
+    private ProductResponse createProductResponseForSlice(Slice<ProductRequest> productSlice, Long approximateTotal) {
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(productSlice.getContent());
+        productResponse.setPageNumber(productSlice.getNumber());
+        productResponse.setPageSize(productSlice.getSize());
+        productResponse.setLastPage(productSlice.isLast());
+        if (approximateTotal != null) {
+            productResponse.setTotalElements(approximateTotal);
+            productResponse.setTotalPages((int) Math.ceil((double) approximateTotal / productSlice.getSize()));
+        }
+        return productResponse;
+    }
+
+    @Override
+    public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return getAllProducts(pageNumber, pageSize, sortBy, sortOrder);
+        }
+
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+        Slice<ProductRequest> productSlice = productRepository.findAllProductRequestSlice(pageDetails);
+
+        if (productSlice.isEmpty()) {
+            throw new APIException("No products found!");
+        }
+
+        Long approximateTotal = countMode == CountMode.APPROXIMATE ? productCountCache.getTotalCount() : null;
+        return createProductResponseForSlice(productSlice, approximateTotal);
+    }
+
+    @Override
+    public ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
+        }
+
+        Category category = categoryRepository
+                .findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
+
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+        Slice<ProductRequest> productSlice = productRepository.findProductRequestSliceByCategory(category, pageDetails);
+
+        if (productSlice.isEmpty()) {
+            throw new APIException("No products found in " + category.getCategoryName() + " category!");
+        }
+
+        Long approximateTotal = countMode == CountMode.APPROXIMATE ? productCountCache.getCategoryCount(categoryId) : null;
+        return createProductResponseForSlice(productSlice, approximateTotal);
+    }
+
+    // The search index counts hits for free, so every mode uses it when it serves the search. Otherwise
+    // no cached count exists for arbitrary keywords and APPROXIMATE behaves like NONE.
+    @Override
+    public ProductResponse searchProductsByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, CountMode countMode) {
+        if (countMode == CountMode.EXACT || searchIndexServes(sortBy)) {
+            return searchProductsByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder);
+        }
+
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, keywordSort(sortBy, sortOrder));
+        Slice<ProductRequest> productSlice = productRepository.findProductRequestSliceByProductNameLikeIgnoreCase('%' + keyword + '%', pageDetails);
+
+        if (productSlice.isEmpty()) {
+            throw new APIException("No products found with keyword: " + keyword);
+        }
+
+        return createProductResponseForSlice(productSlice, null);
+    }
+
+    // Before the search index is ready there is no relevance to sort by, so the id order stands in for it
+    private static Sort keywordSort(String sortBy, String sortOrder) {
+        String property = sortBy.equals(AppConstants.SORT_BY_RELEVANCE) ? AppConstants.SORT_BY_PRODUCT_ID : sortBy;
+        return sortOrder.equalsIgnoreCase("asc") ? Sort.by(property).ascending() : Sort.by(property).descending();
+    }
+
+    // Whether the search index can serve the keyword search: it ranks by relevance and orders by the columns it keeps
+    private boolean searchIndexServes(String sortBy) {
+        return productSearchIndex.isReady()
+                && (sortBy.equals(AppConstants.SORT_BY_RELEVANCE) || ProductSearchIndex.isSortKey(sortBy));
+    }
+
+    // The index ranks or orders the matches and cuts the page, so the database only gets that page's ids
+    private ProductResponse searchProductIndex(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        ProductSearchIndex.SearchHits hits = sortBy.equals(AppConstants.SORT_BY_RELEVANCE)
+                ? productSearchIndex.search(keyword, pageNumber * pageSize, pageSize)
+                : productSearchIndex.searchSorted(keyword, sortBy, sortOrder.equalsIgnoreCase("asc"), pageNumber * pageSize, pageSize);
+
+        if (hits.totalHits() == 0) {
+            throw new APIException("No products found with keyword: " + keyword);
+        }
+
+        Map<Long, ProductRequest> productsById = productRepository.findProductRequestsByProductIdIn(hits.productIds()).stream()
+                .collect(Collectors.toMap(ProductRequest::getProductId, Function.identity()));
+
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(hits.productIds().stream().map(productsById::get).filter(Objects::nonNull).toList());
+        productResponse.setPageNumber(pageNumber);
+        productResponse.setPageSize(pageSize);
+        productResponse.setTotalElements(hits.totalHits());
+        productResponse.setTotalPages((int) Math.ceil((double) hits.totalHits() / pageSize));
+        productResponse.setLastPage((long) (pageNumber + 1) * pageSize >= hits.totalHits());
+        return productResponse;
+    }
+
+    private ProductResponse createProductResponseForWindow(Window<ProductRequest> productWindow, Integer pageSize) {
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(productWindow.getContent());
+        productResponse.setPageSize(pageSize);
+        productResponse.setLastPage(!productWindow.hasNext());
+        if (productWindow.hasNext()) {
+            productResponse.setNextCursor(KeysetCursor.encode(productWindow.positionAt(productWindow.size() - 1)));
+        }
+        return productResponse;
+    }
+
+    @Override
+    public ProductResponse scrollAllProducts(String after, Integer pageSize, String sortBy, String sortOrder) {
+        Sort sort = KeysetCursor.sort(sortBy, sortOrder, "productId", PRODUCT_SORT_KEYS);
+        Window<ProductRequest> productWindow = productRepository.scrollProductRequests(KeysetCursor.decode(after, sort, PRODUCT_SORT_KEYS), sort, Limit.of(pageSize));
+
+        if (productWindow.isEmpty() && KeysetCursor.isFirstPage(after)) {
+            throw new APIException("No products found!");
+        }
+
+        return createProductResponseForWindow(productWindow, pageSize);
+    }
+
+    @Override
+    public ProductResponse scrollByCategory(Long categoryId, String after, Integer pageSize, String sortBy, String sortOrder) {
+        Category category = categoryRepository
+                .findById(categoryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
+
+        Sort sort = KeysetCursor.sort(sortBy, sortOrder, "productId", PRODUCT_SORT_KEYS);
+        Window<ProductRequest> productWindow = productRepository.scrollProductRequestsByCategory(category, KeysetCursor.decode(after, sort, PRODUCT_SORT_KEYS), sort, Limit.of(pageSize));
+
+        if (productWindow.isEmpty() && KeysetCursor.isFirstPage(after)) {
+            throw new APIException("No products found in " + category.getCategoryName() + " category!");
+        }
+
+        return createProductResponseForWindow(productWindow, pageSize);
+    }
+
+    @Override
+    public ProductResponse scrollProductsByKeyword(String keyword, String after, Integer pageSize, String sortBy, String sortOrder) {
+        Sort sort = KeysetCursor.sort(sortBy, sortOrder, "productId", PRODUCT_SORT_KEYS);
+        Window<ProductRequest> productWindow = productRepository.scrollProductRequestsByProductNameLikeIgnoreCase('%' + keyword + '%', KeysetCursor.decode(after, sort, PRODUCT_SORT_KEYS), sort, Limit.of(pageSize));
+
+        if (productWindow.isEmpty() && KeysetCursor.isFirstPage(after)) {
+            throw new APIException("No products found with keyword: " + keyword);
+        }
+
+        return createProductResponseForWindow(productWindow, pageSize);
+    }
+
     @Override
     public ProductRequest deleteProduct(Long productId) {
         Product productToDelete = productRepository
                 .findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
-        List<Cart> carts = cartRepository.findCartsByProductId(productId);
-        carts.forEach(cart -> cartService.deleteProductFromCart(cart.getCartId(), productId));
+        delete(productToDelete);
+        return productMapper.toProductRequest(productToDelete);
+    }
+
+    // A category delete would cascade to its products, leaving them in carts, the search index, the suggester
+    // and the product cache, so they go through the product delete path first; one deleted meanwhile is skipped
+    @Override
+    public void deleteProductsByCategory(Long categoryId) {
+        for (Long productId : productRepository.findProductIdsByCategoryId(categoryId)) {
+            productRepository.findById(productId).ifPresent(this::delete);
+        }
+    }
 
-        productRepository.deleteById(productId);
-        return objectMapper.convertValue(productToDelete, ProductRequest.class);
+    private void delete(Product product) {
+        Long productId = product.getProductId();
+        cartService.deleteProductFromAllCarts(productId);
+        try {
+            productRepository.deleteById(productId);
+        } catch (DataIntegrityViolationException e) {
+            // An item added to a cart between the purge and the delete still references the product
+            cartService.deleteProductFromAllCarts(productId);
+            productRepository.deleteById(productId);
+        }
+        productCatalogVersion.changed();
+        productCache.invalidate(productId);
+        productSearchIndex.remove(productId);
+        productNameSuggester.remove(productId);
     }
 
     @Override
@@ -125,37 +334,47 @@ public class ProductServiceImpl implements ProductService {
 
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByCategoryOrderByPriceAsc(category, pageDetails);
-        List<Product> products = productPage.getContent();
+        Page<ProductRequest> productPage = productRepository.findProductRequestsByCategory(category, pageDetails);
 
-        if (products.isEmpty()) {
+        if (productPage.isEmpty()) {
             throw new APIException("No products found in " + category.getCategoryName() + " category!");
         }
 
-        List<ProductRequest> productRequest = products.stream()
-                .map(product -> objectMapper.convertValue(product, ProductRequest.class))
-                .toList();
-
-        return createProductResponseForPagination(productPage, productRequest);
-
+        return createProductResponseForPagination(productPage);
     }
 
+    // Once the search index is built: search over names and descriptions with the exact hit count from the index
+    // and no count query. sortBy=relevance ranks best match first (sortOrder does not apply); the other product
+    // columns the index keeps order the matches. Until then, and for quantity, whose stock changes at checkout
+    // without the index, LIKE on names; relevance then falls back to the id order.
     @Override
     public ProductResponse searchProductsByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> productPage = productRepository.findByProductNameLikeIgnoreCase('%' + keyword + '%', pageDetails);
-        List<Product> products = productPage.getContent();
+        if (searchIndexServes(sortBy)) {
+            return searchProductIndex(keyword, pageNumber, pageSize, sortBy, sortOrder);
+        }
 
-        List<ProductRequest> productRequest = products.stream()
-                .map(product -> objectMapper.convertValue(product, ProductRequest.class))
-                .toList();
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, keywordSort(sortBy, sortOrder));
+        Page<ProductRequest> productPage = productRepository.findProductRequestsByProductNameLikeIgnoreCase('%' + keyword + '%', pageDetails);
 
-        if (products.isEmpty()) {
+        if (productPage.isEmpty()) {
             throw new APIException("No products found with keyword: " + keyword);
         }
 
-        return createProductResponseForPagination(productPage, productRequest);
+        return createProductResponseForPagination(productPage);
+    }
+
+    // Served from memory for search-as-you-type; an empty list rather than an exception when nothing matches
+    @Override
+    public List<ProductSuggestion> suggestProductNames(String prefix, Integer limit) {
+        return productNameSuggester.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    // Listings and searches are derived from the product rows only, and every product write bumps the shared
+    // version row, so a primary key lookup stands for the whole catalog. Keyword results also depend on whether
+    // this instance's search index serves them.
+    @Override
+    public long getCatalogVersion() {
+        return productCatalogVersion.get() * 0x9E3779B97F4A7C15L + (productSearchIndex.isReady() ? 1 : 0);
     }
 
     @Override
@@ -169,42 +388,33 @@ public class ProductServiceImpl implements ProductService {
             throw new APIException("Product with name " + productRequest.getProductName() + " already exists!");
         }
 
-        Product product = objectMapper.convertValue(productRequest, Product.class);
-        productToUpdate.setProductName(product.getProductName());
-        productToUpdate.setDescription(product.getDescription());
-        productToUpdate.setQuantity(product.getQuantity());
-        productToUpdate.setPrice(product.getPrice());
-        productToUpdate.setDiscount(product.getDiscount());
-        productToUpdate.setSpecialPrice(calculateSpecialPrice(product.getPrice(), product.getDiscount()));
+        productToUpdate.setProductName(productRequest.getProductName());
+        productToUpdate.setDescription(productRequest.getDescription());
+        productToUpdate.setQuantity(productRequest.getQuantity());
+        productToUpdate.setPrice(productRequest.getPrice());
+        productToUpdate.setDiscount(productRequest.getDiscount());
+        productToUpdate.setSpecialPrice(calculateSpecialPrice(productRequest.getPrice(), productRequest.getDiscount()));
 
         Product updatedProduct = productRepository.save(productToUpdate);
+        productCatalogVersion.changed();
+        productCache.invalidate(productId);
 
-        List<Cart> carts = cartRepository.findCartsByProductId(productId);
-
-        List<CartDTO> cartDTOS = carts.stream().map(cart -> {
-            CartDTO cartDTO = objectMapper.convertValue(cart, CartDTO.class);
-            List<ProductRequest> products = cart.getCartItems().stream()
-                    .map(p -> objectMapper.convertValue(p.getProduct(), ProductRequest.class)).toList();
-            cartDTO.setProducts(products);
-            return cartDTO;
-        }).toList();
-
-        cartDTOS.forEach(cart -> cartService.updateProductInCarts(cart.getCartId(), productId));
+        // The save above has committed; carts holding the product are repriced in the background
+        cartRepricingService.scheduleRepricing(productId, updatedProduct.getSpecialPrice());
 
-        return objectMapper.convertValue(updatedProduct, ProductRequest.class);
+        ProductRequest updatedProductRequest = productMapper.toProductRequest(updatedProduct);
+        productSearchIndex.index(updatedProductRequest);
+        productNameSuggester.index(updatedProductRequest);
+        return updatedProductRequest;
     }
 
     @Override
-    public ProductRequest updateProductImage(Long productId, MultipartFile image) throws IOException {
-        Product productToUpdate = productRepository
-                .findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
-
-        String fileName = fileService.uploadImage(path, image);
-        productToUpdate.setImage(fileName);
-
-        Product updatedProduct = productRepository.save(productToUpdate);
-        return objectMapper.convertValue(updatedProduct, ProductRequest.class);
+    public ImageUploadJobResponse updateProductImage(Long productId, MultipartFile image) throws IOException {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "productId", productId);
+        }
+        // The product row is updated, and the product cache invalidated, once the image has been processed
+        return imageUploadService.submitImage(productId, image);
     }
 
     private double calculateSpecialPrice(Double price, Double discount) {
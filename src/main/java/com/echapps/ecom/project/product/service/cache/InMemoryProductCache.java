@@ -0,0 +1,111 @@
+package com.echapps.ecom.project.product.service.cache;
+
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.dto.response.ProductCacheStats;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.repository.ProductSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-evicting in-process product cache (the default backend). A miss loads the product's
+ * read-mostly columns with one projection query. Entries are dropped when they expire, when the cache
+ * is full (least recently used first) or when the product is updated or deleted. The TTL also bounds
+ * how long a lookup racing with an update can keep serving the old values.
+ */
+public class InMemoryProductCache implements ProductCache {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryProductCache.class);
+
+    private final ProductRepository productRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Access-ordered so the eldest entry is always the least recently used one
+    private final LinkedHashMap<Long, CachedProduct> entries;
+
+    public InMemoryProductCache(ProductRepository productRepository, int maxSize, long ttlSeconds) {
+        this(productRepository, maxSize, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    InMemoryProductCache(ProductRepository productRepository, int maxSize, long ttlNanos, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.productRepository = productRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedProduct> eldest) {
+                boolean full = size() > InMemoryProductCache.this.maxSize;
+                if (full) {
+                    evictions.increment();
+                }
+                return full;
+            }
+        };
+    }
+
+    // The database is queried outside the cache lock
+    @Override
+    public ProductSummary getProduct(Long productId) {
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            CachedProduct cached = entries.get(productId);
+            if (cached != null) {
+                if (now - cached.loadedAt() < ttlNanos) {
+                    hits.increment();
+                    return cached.product();
+                }
+                entries.remove(productId);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        ProductSummary product = productRepository.findSummaryByProductId(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        synchronized (entries) {
+            entries.put(productId, new CachedProduct(product, now));
+        }
+        logger.debug("Product cache miss for productId: {}", productId);
+        return product;
+    }
+
+    @Override
+    public void invalidate(Long productId) {
+        synchronized (entries) {
+            entries.remove(productId);
+        }
+    }
+
+    @Override
+    public ProductCacheStats getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new ProductCacheStats("memory", (long) size(), hitCount, missCount, evictions.sum(),
+                total == 0 ? 0.0 : (double) hitCount / total);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record CachedProduct(ProductSummary product, long loadedAt) {
+    }
+}
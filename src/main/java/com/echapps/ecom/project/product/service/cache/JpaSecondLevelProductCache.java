@@ -0,0 +1,51 @@
+package com.echapps.ecom.project.product.service.cache;
+
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.dto.response.ProductCacheStats;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.repository.ProductSummary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Product cache backed by the Hibernate second-level cache (backend {@code jpa}). Lookups go through
+ * {@code findById}, which Hibernate serves from its entity cache once a cache provider is configured;
+ * without one, every lookup reads the database. Hibernate keeps the cached entity consistent with
+ * entity updates and bulk statements on products. Statistics are only collected when
+ * {@code hibernate.generate_statistics} is enabled.
+ */
+public class JpaSecondLevelProductCache implements ProductCache {
+
+    private final ProductRepository productRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public JpaSecondLevelProductCache(ProductRepository productRepository, EntityManagerFactory entityManagerFactory) {
+        this.productRepository = productRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public ProductSummary getProduct(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        return new ProductSummary(product.getProductId(), product.getProductName(), product.getImage(),
+                product.getPrice(), product.getDiscount(), product.getSpecialPrice());
+    }
+
+    @Override
+    public void invalidate(Long productId) {
+        entityManagerFactory.getCache().evict(Product.class, productId);
+    }
+
+    @Override
+    public ProductCacheStats getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long hitCount = statistics.getSecondLevelCacheHitCount();
+        long missCount = statistics.getSecondLevelCacheMissCount();
+        long total = hitCount + missCount;
+        return new ProductCacheStats("jpa", null, hitCount, missCount, 0L,
+                total == 0 ? 0.0 : (double) hitCount / total);
+    }
+}
@@ -0,0 +1,19 @@
+package com.echapps.ecom.project.product.service.cache;
+
+import com.echapps.ecom.project.product.dto.response.ProductCacheStats;
+import com.echapps.ecom.project.product.repository.ProductSummary;
+
+/**
+ * Product-by-id lookups for the cart paths, which only need a product's name and prices. Stock is not
+ * part of the cached view and must always be read from the database. The product service invalidates
+ * an entry whenever it updates or deletes the product.
+ */
+public interface ProductCache {
+
+    // Throws ResourceNotFoundException when the product does not exist
+    ProductSummary getProduct(Long productId);
+
+    void invalidate(Long productId);
+
+    ProductCacheStats getStats();
+}
@@ -1,9 +1,19 @@
 package com.echapps.ecom.project.product.service.file;
 
+import com.echapps.ecom.project.product.service.file.storage.StoredImage;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 public interface FileService {
-    String uploadImage(String path, MultipartFile file) throws IOException;
+    Path stageUpload(String path, MultipartFile file, long maxBytes) throws IOException;
+
+    Path createStagedFile(String path) throws IOException;
+
+    boolean storeUpload(String path, Path stagedFile, String fileName) throws IOException;
+
+    boolean exists(String path, String fileName) throws IOException;
+
+    StoredImage open(String path, String fileName) throws IOException;
 }
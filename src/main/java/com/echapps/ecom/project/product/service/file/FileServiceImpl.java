@@ -1,30 +1,137 @@
 package com.echapps.ecom.project.product.service.file;
 
+import com.echapps.ecom.project.exceptions.APIException;
+import com.echapps.ecom.project.product.service.file.storage.DirectoryImageStorage;
+import com.echapps.ecom.project.product.service.file.storage.ImageStorage;
+import com.echapps.ecom.project.product.service.file.storage.ImageStorageFactory;
+import com.echapps.ecom.project.product.service.file.storage.StoredImage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Stages uploaded files on local disk and hands them to the configured {@link ImageStorage}. An upload
+ * is first streamed into a temp file in the target directory with a FileChannel transfer, then stored
+ * under its final name, so the final name never points at a partially written file.
+ */
 @Service
 public class FileServiceImpl implements FileService {
+    private static final long TRANSFER_CHUNK_BYTES = 1024 * 1024;
+
+    private final ImageStorageFactory imageStorageFactory;
+
+    // Directories already created, so uploads do not hit the filesystem to check for them every time
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+    private final Map<Path, ImageStorage> storages = new ConcurrentHashMap<>();
+
+    // Plain files in the directory, the layout used before storage backends were configurable
+    public FileServiceImpl() {
+        this(root -> new DirectoryImageStorage(root, 0));
+    }
+
+    @Autowired
+    public FileServiceImpl(ImageStorageFactory imageStorageFactory) {
+        this.imageStorageFactory = imageStorageFactory;
+    }
+
+    /**
+     * Streams the upload into a temp file in the directory, failing with an APIException as soon as
+     * more than maxBytes have been read. The caller owns the returned file until it is stored.
+     */
+    @Override
+    public Path stageUpload(String path, MultipartFile file, long maxBytes) throws IOException {
+        try (ReadableByteChannel source = Channels.newChannel(file.getInputStream())) {
+            Path stagedFile = createStagedFile(path);
+            try (FileChannel target = FileChannel.open(stagedFile, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                // Reads at most one byte past the limit, which is enough to tell the upload is too large
+                while ((transferred = target.transferFrom(source, position, chunkSize(maxBytes - position))) > 0) {
+                    position += transferred;
+                    if (position > maxBytes) {
+                        throw new APIException("File exceeds the maximum size of " + maxBytes + " bytes");
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(stagedFile);
+                throw e;
+            }
+            return stagedFile;
+        }
+    }
+
+    // An empty temp file in the directory, for content written by the caller before it is stored
+    @Override
+    public Path createStagedFile(String path) throws IOException {
+        return Files.createTempFile(directory(path), ".upload-", ".tmp");
+    }
+
+    /**
+     * Stores a staged file under its final name. Returns false, and drops the staged file, when a file with
+     * that name is already stored: callers naming files by content hash get deduplication for free.
+     */
+    @Override
+    public boolean storeUpload(String path, Path stagedFile, String fileName) throws IOException {
+        return storage(path).store(fileName, stagedFile);
+    }
 
     @Override
-    public String uploadImage(String path, MultipartFile file) throws IOException {
-        String originalFileName = file.getOriginalFilename();
-        String randomId = UUID.randomUUID().toString();
-        String fileName = randomId.concat(originalFileName.substring(originalFileName.lastIndexOf('.')));
-        String filePath = path + File.separator + fileName;
-
-        File folder = new File(path);
-        if (!folder.exists()) {
-            folder.mkdir();
+    public boolean exists(String path, String fileName) throws IOException {
+        return storage(path).exists(fileName);
+    }
+
+    @Override
+    public StoredImage open(String path, String fileName) throws IOException {
+        return storage(path).open(fileName);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        for (ImageStorage storage : storages.values()) {
+            storage.close();
         }
+        storages.clear();
+    }
+
+    private static long chunkSize(long remainingBytes) {
+        return remainingBytes < TRANSFER_CHUNK_BYTES ? remainingBytes + 1 : TRANSFER_CHUNK_BYTES;
+    }
 
-        Files.copy(file.getInputStream(), Paths.get(filePath));
-        return fileName;
+    // One storage per directory, created on first use
+    private ImageStorage storage(String path) throws IOException {
+        Path root = Paths.get(path);
+        ImageStorage storage = storages.get(root);
+        if (storage == null) {
+            synchronized (storages) {
+                storage = storages.get(root);
+                if (storage == null) {
+                    storage = imageStorageFactory.create(root);
+                    storages.put(root, storage);
+                }
+            }
+        }
+        return storage;
+    }
+
+    private Path directory(String path) throws IOException {
+        Path directory = Paths.get(path);
+        if (!createdDirectories.contains(directory)) {
+            Files.createDirectories(directory);
+            createdDirectories.add(directory);
+        }
+        return directory;
     }
 }
@@ -0,0 +1,97 @@
+package com.echapps.ecom.project.product.service.file;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory LRU of the bytes of small, frequently served images, bounded by their total size.
+ * Only content-addressed files are cached: they never change, so an entry cannot go stale and
+ * needs no expiry. Larger files are always streamed from disk.
+ */
+@Component
+public class ImageBytesCache {
+
+    private final long maxBytes;
+    private final int maxEntryBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Access-ordered so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    @Autowired
+    public ImageBytesCache(@Value("${spring.app.imageCache.maxBytes:33554432}") long maxBytes,
+                           @Value("${spring.app.imageCache.maxEntryBytes:65536}") int maxEntryBytes) {
+        if (maxBytes < 0 || maxEntryBytes < 0) {
+            throw new IllegalArgumentException("maxBytes and maxEntryBytes must not be negative");
+        }
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    public boolean accepts(long size) {
+        return size <= maxEntryBytes && size <= maxBytes;
+    }
+
+    public byte[] get(String fileName) {
+        byte[] content;
+        synchronized (entries) {
+            content = entries.get(fileName);
+        }
+        if (content == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return content;
+    }
+
+    public void put(String fileName, byte[] content) {
+        if (!accepts(content.length)) {
+            return;
+        }
+        synchronized (entries) {
+            byte[] previous = entries.put(fileName, content);
+            totalBytes += content.length - (previous == null ? 0 : previous.length);
+            Iterator<Map.Entry<String, byte[]>> leastRecentlyUsed = entries.entrySet().iterator();
+            while (totalBytes > maxBytes) {
+                totalBytes -= leastRecentlyUsed.next().getValue().length;
+                leastRecentlyUsed.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+}
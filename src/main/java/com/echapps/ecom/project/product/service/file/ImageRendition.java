@@ -0,0 +1,46 @@
+package com.echapps.ecom.project.product.service.file;
+
+import java.util.regex.Pattern;
+
+/**
+ * Fixed-size JPEG renditions generated for every uploaded product image. Uploaded originals are named
+ * after the SHA-256 of their content, and each rendition after the same hash, so the rendition names
+ * of an image follow from its name and identical uploads share one set of files.
+ */
+public enum ImageRendition {
+    THUMBNAIL("thumb", 200),
+    MEDIUM("medium", 640);
+
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z]+");
+    private static final Pattern CONTENT_ADDRESSED_FILE = Pattern.compile("[0-9a-f]{64}(_[a-z]+)?\\.[a-z]+");
+
+    private final String suffix;
+    private final int maxSize;
+
+    ImageRendition(String suffix, int maxSize) {
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+    }
+
+    // Longest side of the rendition in pixels; smaller images are not upscaled
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String fileName(String contentHash) {
+        return contentHash + "_" + suffix + ".jpg";
+    }
+
+    // The content hash an image name starts with, or null for images stored before renditions existed
+    public static String contentHash(String image) {
+        if (image == null || !CONTENT_ADDRESSED_NAME.matcher(image).matches()) {
+            return null;
+        }
+        return image.substring(0, image.indexOf('.'));
+    }
+
+    // Originals and renditions named by content hash never change, so they can be cached forever
+    public static boolean isContentAddressed(String fileName) {
+        return fileName != null && CONTENT_ADDRESSED_FILE.matcher(fileName).matches();
+    }
+}
@@ -0,0 +1,10 @@
+package com.echapps.ecom.project.product.service.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+public interface ImageServingService {
+    void serveImage(String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
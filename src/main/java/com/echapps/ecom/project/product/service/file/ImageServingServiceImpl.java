@@ -0,0 +1,184 @@
+package com.echapps.ecom.project.product.service.file;
+
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.service.file.storage.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the files written by the image upload pipeline from the configured image storage.
+ * Large files kept on local disk go out through the container's sendfile support when it has one
+ * (Tomcat's NIO connector does), so their bytes never pass through the JVM heap; small
+ * content-addressed files are answered from an in-memory LRU. Supports conditional requests and
+ * single byte ranges.
+ */
+@Service
+public class ImageServingServiceImpl implements ImageServingService {
+    // Request attributes Tomcat reads after the servlet returns to send a file with sendfile(2)
+    static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    // Names the upload pipeline writes; anything else, including paths, is not an image
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+\\.[A-Za-z0-9]+");
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+    private static final Map<String, MediaType> MEDIA_TYPES = Map.of(
+            "jpg", MediaType.IMAGE_JPEG,
+            "jpeg", MediaType.IMAGE_JPEG,
+            "png", MediaType.IMAGE_PNG,
+            "gif", MediaType.IMAGE_GIF);
+    private static final String IMMUTABLE_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+    private static final String REVALIDATE_CACHE_CONTROL = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private final String path;
+    private final FileService fileService;
+    private final ImageBytesCache imageBytesCache;
+
+    public ImageServingServiceImpl(@Value("${project.image}") String path, FileService fileService, ImageBytesCache imageBytesCache) {
+        this.path = path;
+        this.fileService = fileService;
+        this.imageBytesCache = imageBytesCache;
+    }
+
+    @Override
+    public void serveImage(String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            throw new ResourceNotFoundException("Image", "fileName", fileName);
+        }
+        boolean immutable = ImageRendition.isContentAddressed(fileName);
+
+        byte[] cached = immutable ? imageBytesCache.get(fileName) : null;
+        StoredImage image = null;
+        long length;
+        String eTag;
+        if (cached != null) {
+            length = cached.length;
+            eTag = contentAddressedETag(fileName);
+        } else {
+            image = fileService.open(path, fileName);
+            if (image == null) {
+                throw new ResourceNotFoundException("Image", "fileName", fileName);
+            }
+            length = image.size();
+            eTag = immutable ? contentAddressedETag(fileName)
+                    : "\"" + Long.toHexString(length) + "-" + Long.toHexString(image.lastModified()) + "\"";
+        }
+
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentType(mediaType(fileName).toString());
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (cached == null && immutable && imageBytesCache.accepts(length)) {
+            cached = image.readAllBytes();
+            imageBytesCache.put(fileName, cached);
+        }
+        if (cached != null) {
+            response.getOutputStream().write(cached, (int) start, (int) (end - start));
+        } else if (image.file() != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            // Packed images share a file with others, so the range is shifted by where the image starts
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, image.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, image.offset() + start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, image.offset() + end);
+        } else {
+            image.transferTo(start, end, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * Bounds of a single "bytes=" range as {start, end exclusive}; an empty array when the header
+     * should be ignored (malformed or multiple ranges, so the whole file is sent) and null when the
+     * range is not satisfiable.
+     */
+    static long[] parseRange(String header, long length) {
+        Matcher matcher = BYTE_RANGE.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (matcher.group(1).isEmpty()) {
+                long suffixLength = Long.parseLong(matcher.group(2));
+                if (suffixLength == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffixLength);
+                end = length;
+            } else {
+                start = Long.parseLong(matcher.group(1));
+                end = matcher.group(2).isEmpty() ? length : Math.min(length, Long.parseLong(matcher.group(2)) + 1);
+                if (end <= start) {
+                    return start >= length ? null : new long[0];
+                }
+            }
+            return start < length ? new long[]{start, end} : null;
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag) || trimmed.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The content hash already identifies the bytes
+    private static String contentAddressedETag(String fileName) {
+        return "\"" + fileName.substring(0, fileName.indexOf('.')) + "\"";
+    }
+
+    private static MediaType mediaType(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return MEDIA_TYPES.getOrDefault(extension, MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
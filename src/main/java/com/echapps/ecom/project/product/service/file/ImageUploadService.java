@@ -0,0 +1,12 @@
+package com.echapps.ecom.project.product.service.file;
+
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface ImageUploadService {
+    ImageUploadJobResponse submitImage(Long productId, MultipartFile image) throws IOException;
+
+    ImageUploadJobResponse getImageUploadJob(Long productId);
+}
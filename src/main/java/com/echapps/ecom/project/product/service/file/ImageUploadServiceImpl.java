@@ -0,0 +1,420 @@
+package com.echapps.ecom.project.product.service.file;
+
+import com.echapps.ecom.project.exceptions.APIException;
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse.Status;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.service.ProductCatalogVersion;
+import com.echapps.ecom.project.product.service.cache.ProductCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Product image upload pipeline. The request thread only checks the size, streams the upload into
+ * a staged temp file and checks its signature. A bounded pool of workers decodes the image, renders
+ * its thumbnail and medium renditions, stores everything under the content hash of the original and
+ * points the product at it; the caller polls the job for the outcome. Finished jobs can be polled
+ * for jobRetentionSeconds, after which they are forgotten.
+ */
+@Service
+public class ImageUploadServiceImpl implements ImageUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageUploadServiceImpl.class);
+
+    // Images above this many pixels are rejected from their header, before their pixels are allocated
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+    // Each rendition is scaled down from the next larger one rather than from the original
+    private static final List<ImageRendition> RENDITIONS_LARGEST_FIRST = Arrays.stream(ImageRendition.values())
+            .sorted(Comparator.comparingInt(ImageRendition::getMaxSize).reversed())
+            .toList();
+
+    private final FileService fileService;
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductCatalogVersion productCatalogVersion;
+    private final TransactionOperations transactionOperations;
+    private final Executor executor;
+    private final String path;
+    private final long maxBytes;
+    private final Duration jobRetention;
+    private final Clock clock;
+
+    // Latest upload per product; a newer upload for the same product supersedes one still in progress.
+    // Finished jobs are dropped once they are older than jobRetention, so the map only holds recent products.
+    private final Map<Long, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ImageUploadServiceImpl(FileService fileService,
+                                  ProductRepository productRepository,
+                                  ProductCache productCache,
+                                  ProductCatalogVersion productCatalogVersion,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${project.image}") String path,
+                                  @Value("${spring.app.imageUpload.maxBytes:5242880}") long maxBytes,
+                                  @Value("${spring.app.imageUpload.workers:2}") int workers,
+                                  @Value("${spring.app.imageUpload.queueCapacity:50}") int queueCapacity,
+                                  @Value("${spring.app.imageUpload.jobRetentionSeconds:3600}") long jobRetentionSeconds) {
+        this(fileService, productRepository, productCache, productCatalogVersion, new TransactionTemplate(transactionManager),
+                newExecutor(workers, queueCapacity), path, maxBytes, Duration.ofSeconds(jobRetentionSeconds), Clock.systemUTC());
+    }
+
+    ImageUploadServiceImpl(FileService fileService, ProductRepository productRepository, ProductCache productCache,
+                           ProductCatalogVersion productCatalogVersion, TransactionOperations transactionOperations,
+                           Executor executor, String path, long maxBytes, Duration jobRetention, Clock clock) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.fileService = fileService;
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.productCatalogVersion = productCatalogVersion;
+        this.transactionOperations = transactionOperations;
+        this.executor = executor;
+        this.path = path;
+        this.maxBytes = maxBytes;
+        this.jobRetention = jobRetention;
+        this.clock = clock;
+    }
+
+    // Decoding is CPU and memory heavy: a few workers bound both, and a bounded queue rejects upload floods
+    private static ExecutorService newExecutor(int workers, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Stages the upload and returns a pending job. The multipart data only lives as long as the request,
+     * so it is copied here; everything else runs on a worker.
+     */
+    @Override
+    public ImageUploadJobResponse submitImage(Long productId, MultipartFile image) throws IOException {
+        if (image.isEmpty()) {
+            throw new APIException("Image file is empty");
+        }
+        if (image.getSize() > maxBytes) {
+            throw new APIException("Image exceeds the maximum size of " + maxBytes + " bytes");
+        }
+
+        Path stagedFile = fileService.stageUpload(path, image, maxBytes);
+        ImageFormat format;
+        try {
+            format = ImageFormat.detect(stagedFile);
+        } catch (IOException e) {
+            Files.deleteIfExists(stagedFile);
+            throw e;
+        }
+        if (format == null) {
+            Files.deleteIfExists(stagedFile);
+            throw new APIException("Unsupported image type. Supported types: " + Arrays.toString(ImageFormat.values()));
+        }
+
+        pruneFinishedJobs();
+        // The new job shares the write lock of the one it supersedes, see pointProductAt
+        UploadJob job = jobs.compute(productId, (id, previous) ->
+                new UploadJob(id, stagedFile, format, previous == null ? new Object() : previous.writeLock, clock.instant()));
+        try {
+            executor.execute(() -> process(job));
+        } catch (RejectedExecutionException e) {
+            discard(stagedFile);
+            job.finish(Status.FAILED, "Image processing queue is full", clock.instant());
+            logger.error("Image upload for product {} rejected: queue is full", productId);
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public ImageUploadJobResponse getImageUploadJob(Long productId) {
+        pruneFinishedJobs();
+        UploadJob job = jobs.get(productId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Image upload", "productId", productId);
+        }
+        return job.toResponse();
+    }
+
+    // Only drops the exact finished job it saw, never a newer one submitted for the same product meanwhile
+    private void pruneFinishedJobs() {
+        Instant cutoff = clock.instant().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void process(UploadJob job) {
+        Long productId = job.productId;
+        try {
+            if (jobs.get(productId) != job) {
+                discard(job.stagedFile);
+                job.finish(Status.SUPERSEDED, null, clock.instant());
+                return;
+            }
+            job.status = Status.PROCESSING;
+            String contentHash = contentHash(job.stagedFile);
+            String fileName = contentHash + job.format.extension;
+            // A byte-identical upload was processed before: it decoded fine and its renditions are stored
+            if (!isStored(contentHash, fileName)) {
+                BufferedImage rendition = decode(job.stagedFile);
+                for (ImageRendition size : RENDITIONS_LARGEST_FIRST) {
+                    rendition = scaleToFit(rendition, size.getMaxSize());
+                    storeRendition(rendition, size.fileName(contentHash));
+                }
+            }
+            fileService.storeUpload(path, job.stagedFile, fileName);
+
+            // Stored files are left in place whatever the outcome: other products may share them
+            Status outcome = pointProductAt(job, fileName);
+            if (outcome != Status.COMPLETED) {
+                job.finish(outcome, outcome == Status.FAILED ? "Product was deleted during the upload" : null, clock.instant());
+                return;
+            }
+            productCache.invalidate(productId);
+            job.image = fileName;
+            job.finish(Status.COMPLETED, null, clock.instant());
+            logger.debug("Image upload for product {} completed: {}", productId, fileName);
+        } catch (IOException | RuntimeException e) {
+            discard(job.stagedFile);
+            job.finish(Status.FAILED, e.getMessage(), clock.instant());
+            logger.error("Image upload for product {} failed: {}", productId, e.getMessage());
+        }
+    }
+
+    private boolean isStored(String contentHash, String fileName) throws IOException {
+        if (!fileService.exists(path, fileName)) {
+            return false;
+        }
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (!fileService.exists(path, rendition.fileName(contentHash))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void storeRendition(BufferedImage rendition, String fileName) throws IOException {
+        Path stagedFile = fileService.createStagedFile(path);
+        try {
+            writeJpeg(rendition, stagedFile);
+            fileService.storeUpload(path, stagedFile, fileName);
+        } catch (IOException | RuntimeException e) {
+            discard(stagedFile);
+            throw e;
+        }
+    }
+
+    // Jobs of the same product share one write lock: a newer upload only updates the row after an older one that
+    // already passed the check has committed, so the older image never overwrites the newer one. Submitting and
+    // polling never wait for the lock.
+    private Status pointProductAt(UploadJob job, String fileName) {
+        synchronized (job.writeLock) {
+            if (jobs.get(job.productId) != job) {
+                return Status.SUPERSEDED;
+            }
+            Boolean updated = transactionOperations.execute(status -> {
+                if (productRepository.updateImage(job.productId, fileName) == 0) {
+                    return false;
+                }
+                productCatalogVersion.changed();
+                return true;
+            });
+            return Boolean.TRUE.equals(updated) ? Status.COMPLETED : Status.FAILED;
+        }
+    }
+
+    // Reads the dimensions from the header first, then decodes the pixels to make sure the file is a whole image
+    private static BufferedImage decode(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new APIException("File is not a readable image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new APIException("Image exceeds the maximum of " + MAX_PIXELS + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String contentHash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Scales the image to fit a square of the given size, flattening any transparency onto white.
+     * Large reductions are done in halving steps, which keeps bilinear filtering from skipping pixels.
+     */
+    static BufferedImage scaleToFit(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static void discard(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    // The stored extension comes from the file signature, never from the client's file name
+    private enum ImageFormat {
+        JPEG(".jpg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}),
+        PNG(".png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+        GIF(".gif", new byte[]{'G', 'I', 'F', '8'});
+
+        private static final int SIGNATURE_BYTES = 8;
+
+        private final String extension;
+        private final byte[] signature;
+
+        ImageFormat(String extension, byte[] signature) {
+            this.extension = extension;
+            this.signature = signature;
+        }
+
+        private static ImageFormat detect(Path file) throws IOException {
+            byte[] header;
+            try (InputStream input = Files.newInputStream(file)) {
+                header = input.readNBytes(SIGNATURE_BYTES);
+            }
+            for (ImageFormat format : values()) {
+                if (header.length >= format.signature.length
+                        && Arrays.equals(header, 0, format.signature.length, format.signature, 0, format.signature.length)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class UploadJob {
+        private final Long productId;
+        private final Path stagedFile;
+        private final ImageFormat format;
+        private final Object writeLock;
+        private final Instant submittedAt;
+        private volatile Status status = Status.PENDING;
+        private volatile String image;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private UploadJob(Long productId, Path stagedFile, ImageFormat format, Object writeLock, Instant submittedAt) {
+            this.productId = productId;
+            this.stagedFile = stagedFile;
+            this.format = format;
+            this.writeLock = writeLock;
+            this.submittedAt = submittedAt;
+        }
+
+        private void finish(Status status, String error, Instant finishedAt) {
+            this.error = error;
+            this.finishedAt = finishedAt;
+            this.status = status;
+        }
+
+        private ImageUploadJobResponse toResponse() {
+            return new ImageUploadJobResponse(productId, status, image, submittedAt, finishedAt, error);
+        }
+    }
+}
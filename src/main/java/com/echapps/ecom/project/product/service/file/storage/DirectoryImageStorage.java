@@ -0,0 +1,93 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Stores every image as its own file under the root directory. With shard levels, files are spread
+ * over nested two-hex-digit directories picked from a hash of the name (root/3f/a9/name for two
+ * levels), so no directory grows past a few thousand entries; files written before sharding was
+ * turned on are still found in the root.
+ */
+public class DirectoryImageStorage implements ImageStorage {
+
+    private final Path root;
+    private final int shardLevels;
+    // Shard directories already known to exist, so createDirectories runs once per directory
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
+    public DirectoryImageStorage(Path root, int shardLevels) throws IOException {
+        if (shardLevels < 0 || shardLevels > 4) {
+            throw new IllegalArgumentException("shardLevels must be between 0 and 4");
+        }
+        this.root = root;
+        this.shardLevels = shardLevels;
+        Files.createDirectories(root);
+        createdDirectories.add(root);
+    }
+
+    @Override
+    public boolean store(String fileName, Path stagedFile) throws IOException {
+        Path target = shardedPath(fileName);
+        if (exists(fileName)) {
+            Files.deleteIfExists(stagedFile);
+            return false;
+        }
+        Path directory = target.getParent();
+        if (!createdDirectories.contains(directory)) {
+            Files.createDirectories(directory);
+            createdDirectories.add(directory);
+        }
+        try {
+            Files.move(stagedFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(stagedFile, target);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean exists(String fileName) {
+        return Files.exists(shardedPath(fileName)) || (shardLevels > 0 && Files.exists(root.resolve(fileName)));
+    }
+
+    @Override
+    public StoredImage open(String fileName) throws IOException {
+        StoredImage image = read(shardedPath(fileName));
+        if (image == null && shardLevels > 0) {
+            image = read(root.resolve(fileName));
+        }
+        return image;
+    }
+
+    Path shardedPath(String fileName) {
+        Path directory = root;
+        if (shardLevels > 0) {
+            CRC32C crc = new CRC32C();
+            crc.update(fileName.getBytes(StandardCharsets.UTF_8));
+            String hash = String.format("%08x", crc.getValue());
+            for (int level = 0; level < shardLevels; level++) {
+                directory = directory.resolve(hash.substring(level * 2, level * 2 + 2));
+            }
+        }
+        return directory.resolve(fileName);
+    }
+
+    private static StoredImage read(Path file) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new LocalFileImage(file, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Backend holding stored images by file name. Files are staged on local disk first and handed over
+ * under their final name; a stored name is never overwritten, so every stored file is immutable.
+ */
+public interface ImageStorage extends Closeable {
+
+    // Takes ownership of the staged file; returns false, and drops it, when the name is already stored
+    boolean store(String fileName, Path stagedFile) throws IOException;
+
+    boolean exists(String fileName) throws IOException;
+
+    // Null when nothing is stored under the name
+    StoredImage open(String fileName) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
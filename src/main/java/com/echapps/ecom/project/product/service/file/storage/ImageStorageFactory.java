@@ -0,0 +1,10 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Creates the configured storage backend for an image directory; called once per directory
+@FunctionalInterface
+public interface ImageStorageFactory {
+    ImageStorage create(Path root) throws IOException;
+}
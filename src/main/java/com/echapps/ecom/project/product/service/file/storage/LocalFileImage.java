@@ -0,0 +1,33 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+// An image stored as a whole local file
+record LocalFileImage(Path file, long size, long lastModified) implements StoredImage {
+
+    @Override
+    public long offset() {
+        return 0;
+    }
+
+    @Override
+    public void transferTo(long start, long end, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            transfer(channel, start, end, target);
+        }
+    }
+
+    static void transfer(FileChannel channel, long start, long end, WritableByteChannel target) throws IOException {
+        long position = start;
+        while (position < end) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                throw new IOException("Stored image is shorter than expected");
+            }
+            position += transferred;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Packs small images back to back into one append-only file instead of one file each, which keeps
+ * thumbnails from costing an inode and a directory entry apiece. Where each image sits is recorded in
+ * a memory-mapped index of fixed-size records, loaded into memory at startup. Images larger than
+ * maxPackedBytes go to the loose storage. A packed image is served straight from the pack file, so
+ * sendfile still works: it is handed the pack file with the image's offset.
+ *
+ * The index header holds the record count and is updated after the record, and the pack data is
+ * forced to disk before either, so a crash can at worst lose the last image.
+ */
+public class PackFileImageStorage implements ImageStorage {
+    public static final String PACK_FILE = "images.pack";
+    public static final String INDEX_FILE = "images.idx";
+
+    // Header: magic, version, record count
+    private static final int MAGIC = 0x494d4758;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int COUNT_POSITION = 8;
+    // Record: name length, name, padding, offset, length, stored at
+    static final int MAX_NAME_BYTES = 100;
+    private static final int RECORD_BYTES = 128;
+    private static final int OFFSET_POSITION = 104;
+    private static final int LENGTH_POSITION = 112;
+    private static final int STORED_AT_POSITION = 120;
+    private static final int INITIAL_RECORDS = 1024;
+
+    private final Path packFile;
+    private final long maxPackedBytes;
+    private final ImageStorage looseStorage;
+    private final FileChannel pack;
+    private final FileChannel indexChannel;
+    private final Map<String, PackedImage> entries = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private MappedByteBuffer index;
+    private int recordCount;
+    private long packSize;
+
+    public PackFileImageStorage(Path root, long maxPackedBytes, ImageStorage looseStorage) throws IOException {
+        this(root, maxPackedBytes, looseStorage, INITIAL_RECORDS);
+    }
+
+    PackFileImageStorage(Path root, long maxPackedBytes, ImageStorage looseStorage, int initialRecords) throws IOException {
+        Files.createDirectories(root);
+        this.packFile = root.resolve(PACK_FILE);
+        this.maxPackedBytes = maxPackedBytes;
+        this.looseStorage = looseStorage;
+        this.pack = FileChannel.open(packFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexChannel = FileChannel.open(root.resolve(INDEX_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            packSize = pack.size();
+            boolean created = indexChannel.size() == 0;
+            index = map(Math.max(indexChannel.size(), capacity(initialRecords)));
+            if (created) {
+                index.putInt(0, MAGIC);
+                index.putInt(4, VERSION);
+                index.putLong(COUNT_POSITION, 0);
+                index.force();
+            } else if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+                throw new IOException("Not an image pack index: " + root.resolve(INDEX_FILE));
+            }
+            load();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean store(String fileName, Path stagedFile) throws IOException {
+        byte[] name = fileName.getBytes(StandardCharsets.UTF_8);
+        if (Files.size(stagedFile) > maxPackedBytes || name.length > MAX_NAME_BYTES) {
+            return looseStorage.store(fileName, stagedFile);
+        }
+        synchronized (this) {
+            if (entries.containsKey(fileName) || looseStorage.exists(fileName)) {
+                Files.deleteIfExists(stagedFile);
+                return false;
+            }
+            long offset = packSize;
+            long length;
+            try (FileChannel source = FileChannel.open(stagedFile)) {
+                length = source.size();
+                long position = 0;
+                while (position < length) {
+                    long transferred = pack.transferFrom(source, offset + position, length - position);
+                    if (transferred <= 0) {
+                        throw new IOException("Staged image is shorter than expected");
+                    }
+                    position += transferred;
+                }
+            }
+            pack.force(false);
+            long storedAt = System.currentTimeMillis();
+            appendRecord(name, offset, length, storedAt);
+            packSize = offset + length;
+            entries.put(fileName, new PackedImage(packFile, pack, offset, length, storedAt));
+        }
+        Files.deleteIfExists(stagedFile);
+        return true;
+    }
+
+    @Override
+    public boolean exists(String fileName) throws IOException {
+        return entries.containsKey(fileName) || looseStorage.exists(fileName);
+    }
+
+    @Override
+    public StoredImage open(String fileName) throws IOException {
+        StoredImage image = entries.get(fileName);
+        return image != null ? image : looseStorage.open(fileName);
+    }
+
+    public int getPackedCount() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try (pack; indexChannel; looseStorage) {
+            index = null;
+        }
+    }
+
+    private void load() {
+        long count = index.getLong(COUNT_POSITION);
+        int maxRecords = (index.capacity() - HEADER_BYTES) / RECORD_BYTES;
+        while (recordCount < Math.min(count, maxRecords)) {
+            int position = HEADER_BYTES + recordCount * RECORD_BYTES;
+            int nameLength = index.getShort(position);
+            long offset = index.getLong(position + OFFSET_POSITION);
+            long length = index.getLong(position + LENGTH_POSITION);
+            // A record torn by a crash ends the index; the next store overwrites it
+            if (nameLength <= 0 || nameLength > MAX_NAME_BYTES || offset < 0 || length < 0 || offset + length > packSize) {
+                break;
+            }
+            byte[] name = new byte[nameLength];
+            index.get(position + 2, name);
+            entries.put(new String(name, StandardCharsets.UTF_8),
+                    new PackedImage(packFile, pack, offset, length, index.getLong(position + STORED_AT_POSITION)));
+            recordCount++;
+        }
+    }
+
+    private void appendRecord(byte[] name, long offset, long length, long storedAt) throws IOException {
+        int position = HEADER_BYTES + recordCount * RECORD_BYTES;
+        if (position + RECORD_BYTES > index.capacity()) {
+            index = map(capacity(recordCount * 2));
+        }
+        index.putShort(position, (short) name.length);
+        index.put(position + 2, new byte[MAX_NAME_BYTES]);
+        index.put(position + 2, name);
+        index.putLong(position + OFFSET_POSITION, offset);
+        index.putLong(position + LENGTH_POSITION, length);
+        index.putLong(position + STORED_AT_POSITION, storedAt);
+        index.putLong(COUNT_POSITION, recordCount + 1);
+        index.force();
+        recordCount++;
+    }
+
+    private MappedByteBuffer map(long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Image pack index is full");
+        }
+        return indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private static long capacity(int records) {
+        return HEADER_BYTES + (long) Math.max(records, 1) * RECORD_BYTES;
+    }
+
+    // Positional reads on the shared channel are thread-safe, so concurrent requests need no lock
+    private record PackedImage(Path file, FileChannel pack, long offset, long size, long lastModified) implements StoredImage {
+
+        @Override
+        public void transferTo(long start, long end, WritableByteChannel target) throws IOException {
+            LocalFileImage.transfer(pack, offset + start, offset + end, target);
+        }
+    }
+}
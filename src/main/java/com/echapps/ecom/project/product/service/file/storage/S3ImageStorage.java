@@ -0,0 +1,165 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Stores images as objects in an S3-compatible bucket, addressed path-style (endpoint/bucket/key) so
+ * it works against MinIO and other self-hosted stores as well as AWS. Requests go through the JDK
+ * HTTP client, signed with {@link S3RequestSigner}. Reads are ranged GETs, so a byte range request
+ * only fetches the bytes it needs.
+ */
+public class S3ImageStorage implements ImageStorage {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String bucket;
+    private final String prefix;
+    private final S3RequestSigner signer;
+
+    public S3ImageStorage(HttpClient httpClient, URI endpoint, String bucket, String prefix, S3RequestSigner signer) {
+        this.httpClient = httpClient;
+        this.endpoint = endpoint;
+        this.bucket = bucket;
+        this.prefix = prefix;
+        this.signer = signer;
+    }
+
+    @Override
+    public boolean store(String fileName, Path stagedFile) throws IOException {
+        if (exists(fileName)) {
+            Files.deleteIfExists(stagedFile);
+            return false;
+        }
+        URI uri = objectUri(fileName);
+        HttpRequest request = signer.sign(HttpRequest.newBuilder(uri)
+                        .timeout(REQUEST_TIMEOUT)
+                        .PUT(HttpRequest.BodyPublishers.ofFile(stagedFile)),
+                "PUT", uri, S3RequestSigner.UNSIGNED_PAYLOAD).build();
+        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IOException("S3 PUT of " + fileName + " failed with status " + response.statusCode());
+        }
+        Files.deleteIfExists(stagedFile);
+        return true;
+    }
+
+    @Override
+    public boolean exists(String fileName) throws IOException {
+        return open(fileName) != null;
+    }
+
+    @Override
+    public StoredImage open(String fileName) throws IOException {
+        URI uri = objectUri(fileName);
+        HttpRequest request = signer.sign(HttpRequest.newBuilder(uri)
+                        .timeout(REQUEST_TIMEOUT)
+                        .method("HEAD", HttpRequest.BodyPublishers.noBody()),
+                "HEAD", uri, S3RequestSigner.EMPTY_PAYLOAD).build();
+        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("S3 HEAD of " + fileName + " failed with status " + response.statusCode());
+        }
+        HttpHeaders headers = response.headers();
+        long size = headers.firstValueAsLong("Content-Length")
+                .orElseThrow(() -> new IOException("S3 HEAD of " + fileName + " returned no Content-Length"));
+        long lastModified = headers.firstValue("Last-Modified")
+                .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli())
+                .orElse(0L);
+        return new S3Image(uri, size, lastModified);
+    }
+
+    URI objectUri(String fileName) {
+        StringBuilder path = new StringBuilder(endpoint.getRawPath().replaceAll("/+$", ""))
+                .append('/').append(S3RequestSigner.encodeSegment(bucket));
+        for (String segment : (prefix + fileName).split("/")) {
+            if (!segment.isEmpty()) {
+                path.append('/').append(S3RequestSigner.encodeSegment(segment));
+            }
+        }
+        return endpoint.resolve(path.toString());
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> bodyHandler) throws IOException {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during S3 " + request.method() + " of " + request.uri());
+        }
+    }
+
+    private class S3Image implements StoredImage {
+        private final URI uri;
+        private final long size;
+        private final long lastModified;
+
+        S3Image(URI uri, long size, long lastModified) {
+            this.uri = uri;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public Path file() {
+            return null;
+        }
+
+        @Override
+        public long offset() {
+            return 0;
+        }
+
+        @Override
+        public void transferTo(long start, long end, WritableByteChannel target) throws IOException {
+            if (start >= end) {
+                return;
+            }
+            HttpRequest request = signer.sign(HttpRequest.newBuilder(uri)
+                            .timeout(REQUEST_TIMEOUT)
+                            .header("Range", "bytes=" + start + "-" + (end - 1))
+                            .GET(),
+                    "GET", uri, S3RequestSigner.EMPTY_PAYLOAD).build();
+            HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                boolean partial = response.statusCode() == 206;
+                boolean whole = response.statusCode() == 200 && start == 0 && end == size;
+                if (!partial && !whole) {
+                    throw new IOException("S3 GET of " + uri.getPath() + " failed with status " + response.statusCode());
+                }
+                // Not closed: the target belongs to the caller
+                long transferred = body.transferTo(Channels.newOutputStream(target));
+                if (transferred != end - start) {
+                    throw new IOException("S3 GET of " + uri.getPath() + " returned " + transferred + " of " + (end - start) + " bytes");
+                }
+            }
+        }
+    }
+}
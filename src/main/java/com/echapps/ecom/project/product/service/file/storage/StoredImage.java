@@ -0,0 +1,29 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+public interface StoredImage {
+
+    long size();
+
+    // Epoch millis
+    long lastModified();
+
+    // Local file holding the bytes from offset() on, so they can be sent with sendfile; null for remote storage
+    Path file();
+
+    long offset();
+
+    // Writes the bytes from start (inclusive) to end (exclusive)
+    void transferTo(long start, long end, WritableByteChannel target) throws IOException;
+
+    default byte[] readAllBytes() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) size());
+        transferTo(0, size(), Channels.newChannel(bytes));
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import com.echapps.ecom.project.exceptions.APIException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV: a header row naming the columns, then one product per record. Fields may be quoted,
+ * with doubled quotes for a literal quote, and quoted fields may span lines.
+ */
+class CsvProductImportReader extends ProductImportReader {
+
+    private final List<String> columns;
+    private boolean unterminatedQuote;
+    private boolean recordTooLong;
+
+    CsvProductImportReader(InputStream body) throws IOException {
+        super(body);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new APIException("CSV import is empty: a header row is required");
+        }
+        if (recordTooLong) {
+            throw new APIException("CSV header is longer than " + MAX_ROW_CHARS + " characters");
+        }
+        // A byte order mark some spreadsheet exports write before the header
+        if (!header.isEmpty() && header.getFirst().startsWith("\uFEFF")) {
+            header.set(0, header.getFirst().substring(1));
+        }
+        this.columns = header.stream().map(String::trim).toList();
+        List<String> missing = FIELDS.stream().filter(column -> !columns.contains(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new APIException("CSV header is missing columns: " + missing);
+        }
+    }
+
+    @Override
+    ImportRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.getFirst().isBlank() && !unterminatedQuote && !recordTooLong);
+        rowNumber++;
+        if (recordTooLong) {
+            return rowTooLong();
+        }
+        if (unterminatedQuote) {
+            return ImportRow.failed(rowNumber, "Unterminated quoted field");
+        }
+        if (record.size() != columns.size()) {
+            return ImportRow.failed(rowNumber, "Expected " + columns.size() + " fields but found " + record.size());
+        }
+        Map<String, Object> fields = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            fields.put(columns.get(i), record.get(i));
+        }
+        return ImportRow.parsed(rowNumber, fields);
+    }
+
+    // Null at the end of the body. Past MAX_ROW_CHARS the record is still parsed to its end, so the next one
+    // starts in the right place, but nothing more is kept
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean fieldEmpty = true;
+        boolean quoted = false;
+        boolean read = false;
+        int recordChars = 0;
+        recordTooLong = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (++recordChars > MAX_ROW_CHARS && !recordTooLong) {
+                recordTooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            if (quoted) {
+                if (c != '"') {
+                    append(field, c);
+                    fieldEmpty = false;
+                    continue;
+                }
+                reader.mark(1);
+                int next = reader.read();
+                if (next == '"') {
+                    append(field, '"');
+                    fieldEmpty = false;
+                } else {
+                    quoted = false;
+                    if (next != -1) {
+                        reader.reset();
+                    }
+                }
+            } else if (c == '"' && fieldEmpty) {
+                quoted = true;
+            } else if (c == ',') {
+                if (!recordTooLong) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                fieldEmpty = true;
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                append(field, c);
+                fieldEmpty = false;
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        unterminatedQuote = quoted;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void append(StringBuilder field, int c) {
+        if (!recordTooLong) {
+            field.append((char) c);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import java.util.Map;
+
+/**
+ * One data row of an import: its field values by column name (strings for CSV, JSON values for
+ * NDJSON), or the reason it could not be parsed.
+ */
+record ImportRow(long rowNumber, Map<String, Object> fields, String error) {
+
+    static ImportRow parsed(long rowNumber, Map<String, Object> fields) {
+        return new ImportRow(rowNumber, fields, null);
+    }
+
+    static ImportRow failed(long rowNumber, String error) {
+        return new ImportRow(rowNumber, Map.of(), error);
+    }
+}
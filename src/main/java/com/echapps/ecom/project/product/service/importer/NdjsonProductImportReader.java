@@ -0,0 +1,85 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.StreamReadConstraints;
+import tools.jackson.core.exc.StreamConstraintsException;
+import tools.jackson.core.json.JsonFactory;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+// Newline-delimited JSON: one product object per line; blank lines are skipped
+class NdjsonProductImportReader extends ProductImportReader {
+    // A product is one flat object: deeper nesting or longer numbers than this are rejected while parsing
+    private static final int MAX_NESTING_DEPTH = 8;
+    private static final int MAX_NUMBER_LENGTH = 64;
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder(JsonFactory.builder()
+                    .streamReadConstraints(StreamReadConstraints.builder()
+                            .maxStringLength(MAX_ROW_CHARS)
+                            .maxNestingDepth(MAX_NESTING_DEPTH)
+                            .maxNumberLength(MAX_NUMBER_LENGTH)
+                            .build())
+                    .build())
+            .build();
+
+    private boolean lineTooLong;
+
+    NdjsonProductImportReader(InputStream body) {
+        super(body);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    ImportRow next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank() && !lineTooLong);
+        rowNumber++;
+        if (lineTooLong) {
+            return rowTooLong();
+        }
+        Object value;
+        try {
+            value = OBJECT_MAPPER.readValue(line, Object.class);
+        } catch (StreamConstraintsException e) {
+            return ImportRow.failed(rowNumber, "JSON nesting or number too large");
+        } catch (JacksonException e) {
+            return ImportRow.failed(rowNumber, "Malformed JSON");
+        }
+        if (!(value instanceof Map)) {
+            return ImportRow.failed(rowNumber, "Expected a JSON object");
+        }
+        return ImportRow.parsed(rowNumber, (Map<String, Object>) value);
+    }
+
+    // Null at the end of the body. Like BufferedReader.readLine, but a line past MAX_ROW_CHARS is read to its
+    // end without being kept
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        lineTooLong = false;
+        boolean read = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (c == '\n') {
+                break;
+            }
+            if (line.length() < MAX_ROW_CHARS) {
+                line.append((char) c);
+            } else {
+                lineTooLong = true;
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        return lineTooLong ? "" : line.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import com.echapps.ecom.project.exceptions.APIException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+public enum ProductImportFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    ProductImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ProductImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                for (ProductImportFormat format : values()) {
+                    if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Reported as unsupported below
+            }
+        }
+        throw new APIException("Unsupported import content type: " + contentType + ". Supported types: text/csv, application/x-ndjson");
+    }
+}
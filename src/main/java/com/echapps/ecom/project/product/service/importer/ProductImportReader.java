@@ -0,0 +1,47 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Reads an import body one row at a time, so only the current row is held in memory however large
+ * the body is, and a row is never held beyond MAX_ROW_CHARS. A row that cannot be parsed is returned
+ * as a failed row rather than ending the import.
+ */
+abstract class ProductImportReader implements Closeable {
+    static final List<String> FIELDS = List.of("categoryId", "productName", "description", "quantity", "price", "discount");
+    // Longest row held in memory; a longer one is read to its end without being kept and returned as a failed row
+    static final int MAX_ROW_CHARS = 64 * 1024;
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    protected final BufferedReader reader;
+    protected long rowNumber;
+
+    protected ProductImportReader(InputStream body) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), BUFFER_CHARS);
+    }
+
+    static ProductImportReader open(InputStream body, ProductImportFormat format) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvProductImportReader(body);
+            case NDJSON -> new NdjsonProductImportReader(body);
+        };
+    }
+
+    // Null at the end of the body
+    abstract ImportRow next() throws IOException;
+
+    protected ImportRow rowTooLong() {
+        return ImportRow.failed(rowNumber, "Row is longer than " + MAX_ROW_CHARS + " characters");
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,10 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import com.echapps.ecom.project.product.dto.response.ProductImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+    ProductImportResponse importProducts(InputStream body, ProductImportFormat format) throws IOException;
+}
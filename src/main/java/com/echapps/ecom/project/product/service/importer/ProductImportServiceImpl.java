@@ -0,0 +1,307 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ProductImportError;
+import com.echapps.ecom.project.product.dto.response.ProductImportResponse;
+import com.echapps.ecom.project.product.mapper.ProductMapper;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.service.ProductCatalogVersion;
+import com.echapps.ecom.project.product.service.ProductCountCache;
+import com.echapps.ecom.project.product.service.search.ProductNameSuggester;
+import com.echapps.ecom.project.product.service.search.ProductSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates products in bulk from a streamed CSV or NDJSON body. Rows are validated as they are read:
+ * the names already taken in a category are loaded into a hash set the first time the category
+ * appears, so duplicate checks cost one query per category instead of loading the category's
+ * products per row. Valid rows are inserted in chunks, each chunk in its own transaction and sent
+ * as JDBC batches, so memory stays flat and a failure only affects its chunk. When a chunk fails
+ * it is retried row by row, so the error is reported against the rows that caused it.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+    private static final String DEFAULT_IMAGE = "default.png";
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductNameSuggester productNameSuggester;
+    private final ProductCountCache productCountCache;
+    private final ProductCatalogVersion productCatalogVersion;
+    private final TransactionOperations transactionOperations;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    @Autowired
+    public ProductImportServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository,
+                                    ProductMapper productMapper, EntityManager entityManager,
+                                    ProductSearchIndex productSearchIndex, ProductNameSuggester productNameSuggester,
+                                    ProductCountCache productCountCache, ProductCatalogVersion productCatalogVersion,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${spring.app.productImport.chunkSize:500}") int chunkSize,
+                                    @Value("${spring.app.productImport.maxErrors:1000}") int maxErrors) {
+        this(categoryRepository, productRepository, productMapper, entityManager, productSearchIndex, productNameSuggester,
+                productCountCache, productCatalogVersion, new TransactionTemplate(transactionManager), chunkSize, maxErrors);
+    }
+
+    ProductImportServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository,
+                             ProductMapper productMapper, EntityManager entityManager,
+                             ProductSearchIndex productSearchIndex, ProductNameSuggester productNameSuggester,
+                             ProductCountCache productCountCache, ProductCatalogVersion productCatalogVersion,
+                             TransactionOperations transactionOperations, int chunkSize, int maxErrors) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative");
+        }
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.entityManager = entityManager;
+        this.productSearchIndex = productSearchIndex;
+        this.productNameSuggester = productNameSuggester;
+        this.productCountCache = productCountCache;
+        this.productCatalogVersion = productCatalogVersion;
+        this.transactionOperations = transactionOperations;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public ProductImportResponse importProducts(InputStream body, ProductImportFormat format) throws IOException {
+        ImportRun run = new ImportRun();
+        try (ProductImportReader reader = ProductImportReader.open(body, format)) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                run.totalRows++;
+                PendingRow pending = validate(row, run);
+                if (pending == null) {
+                    continue;
+                }
+                run.chunk.add(pending);
+                if (run.chunk.size() == chunkSize) {
+                    insertChunk(run);
+                }
+            }
+            if (!run.chunk.isEmpty()) {
+                insertChunk(run);
+            }
+        } finally {
+            // Also after a failure part way through: the chunks already committed stay imported
+            if (run.importedCount > 0) {
+                productCountCache.refresh();
+            }
+            logger.debug("Product import: {} rows, {} imported, {} failed", run.totalRows, run.importedCount, run.failedCount);
+        }
+        return new ProductImportResponse(run.totalRows, run.importedCount, run.failedCount, run.errors,
+                run.failedCount > run.errors.size());
+    }
+
+    private PendingRow validate(ImportRow row, ImportRun run) {
+        if (row.error() != null) {
+            run.fail(row.rowNumber(), null, row.error());
+            return null;
+        }
+        Map<String, Object> fields = row.fields();
+        String productName = fields.get("productName") == null ? null : fields.get("productName").toString().trim();
+        try {
+            Long categoryId = longField(fields, "categoryId");
+            if (productName == null || productName.length() < 3) {
+                throw new InvalidRowException("Product name must be at least 3 characters long");
+            }
+            String description = fields.get("description") == null ? "" : fields.get("description").toString().trim();
+            if (description.length() < 6) {
+                throw new InvalidRowException("Product description must be at least 6 characters long");
+            }
+            Integer quantity = Math.toIntExact(longField(fields, "quantity"));
+            Double price = doubleField(fields, "price");
+            Double discount = doubleField(fields, "discount");
+            if (quantity < 0) {
+                throw new InvalidRowException("quantity must not be negative");
+            }
+            if (price < 0) {
+                throw new InvalidRowException("price must not be negative");
+            }
+            if (discount < 0 || discount > 100) {
+                throw new InvalidRowException("discount must be between 0 and 100");
+            }
+
+            Set<String> names = run.unknownCategories.contains(categoryId) ? null
+                    : run.namesByCategory.computeIfAbsent(categoryId, this::loadProductNames);
+            if (names == null) {
+                run.unknownCategories.add(categoryId);
+                throw new InvalidRowException("Category not found with categoryId : " + categoryId);
+            }
+            // Case-insensitive like addProduct; adding the name also catches duplicates within the import
+            if (!names.add(nameKey(productName))) {
+                throw new InvalidRowException("Product with name " + productName + " already exists in category " + categoryId);
+            }
+            double specialPrice = price - ((discount * 0.01) * price);
+            return new PendingRow(row.rowNumber(), categoryId,
+                    new ProductRequest(null, productName, DEFAULT_IMAGE, description, quantity, price, discount, specialPrice));
+        } catch (InvalidRowException e) {
+            run.fail(row.rowNumber(), productName, e.getMessage());
+            return null;
+        } catch (ArithmeticException e) {
+            run.fail(row.rowNumber(), productName, "quantity is out of range");
+            return null;
+        }
+    }
+
+    // Null for an unknown category, which computeIfAbsent leaves unmapped
+    private Set<String> loadProductNames(Long categoryId) {
+        if (!categoryRepository.existsById(categoryId)) {
+            return null;
+        }
+        Set<String> names = new HashSet<>();
+        for (String name : productRepository.findProductNamesByCategoryId(categoryId)) {
+            names.add(nameKey(name));
+        }
+        return names;
+    }
+
+    private void insertChunk(ImportRun run) {
+        List<PendingRow> chunk = List.copyOf(run.chunk);
+        run.chunk.clear();
+        List<ProductRequest> saved;
+        try {
+            saved = transactionOperations.execute(status -> persist(chunk));
+        } catch (RuntimeException e) {
+            logger.warn("Product import chunk of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+            saved = new ArrayList<>();
+            for (PendingRow row : chunk) {
+                try {
+                    saved.addAll(transactionOperations.execute(status -> persist(List.of(row))));
+                } catch (RuntimeException rowException) {
+                    run.namesByCategory.get(row.categoryId()).remove(nameKey(row.product().getProductName()));
+                    run.fail(row.rowNumber(), row.product().getProductName(), "Product could not be saved: " + rootMessage(rowException));
+                }
+            }
+        }
+        for (ProductRequest product : saved) {
+            productSearchIndex.index(product);
+            productNameSuggester.index(product);
+        }
+        run.importedCount += saved.size();
+    }
+
+    // Builds fresh entities on every call, so a chunk can be retried after its transaction rolled back
+    private List<ProductRequest> persist(List<PendingRow> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+        List<Product> products = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            Product product = productMapper.toProduct(row.product());
+            product.setCategory(entityManager.getReference(Category.class, row.categoryId()));
+            entityManager.persist(product);
+            products.add(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        productCatalogVersion.changed();
+        return products.stream().map(productMapper::toProductRequest).toList();
+    }
+
+    private static Long longField(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (value instanceof Number number) {
+            if (number.doubleValue() != Math.rint(number.doubleValue())) {
+                throw new InvalidRowException(name + " must be a whole number");
+            }
+            return number.longValue();
+        }
+        if (value instanceof String text && !text.isBlank()) {
+            try {
+                return Long.valueOf(text.trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidRowException(name + " must be a whole number");
+            }
+        }
+        throw new InvalidRowException(value == null || value.toString().isBlank() ? name + " is required" : name + " must be a whole number");
+    }
+
+    private static Double doubleField(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        double parsed;
+        if (value instanceof Number number) {
+            parsed = number.doubleValue();
+        } else if (value instanceof String text && !text.isBlank()) {
+            try {
+                parsed = Double.parseDouble(text.trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidRowException(name + " must be a number");
+            }
+        } else {
+            throw new InvalidRowException(value == null || value.toString().isBlank() ? name + " is required" : name + " must be a number");
+        }
+        if (!Double.isFinite(parsed)) {
+            throw new InvalidRowException(name + " must be a number");
+        }
+        return parsed;
+    }
+
+    private static String nameKey(String productName) {
+        return productName.toLowerCase(Locale.ROOT);
+    }
+
+    private static String rootMessage(Throwable throwable) {
+        Throwable root = throwable;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record PendingRow(long rowNumber, Long categoryId, ProductRequest product) {
+    }
+
+    // A rejected row; carries only the message, so no stack trace is filled in per row
+    private static final class InvalidRowException extends RuntimeException {
+        InvalidRowException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private final class ImportRun {
+        private final Map<Long, Set<String>> namesByCategory = new HashMap<>();
+        private final Set<Long> unknownCategories = new HashSet<>();
+        private final List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        private final List<ProductImportError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedCount;
+        private long failedCount;
+
+        private void fail(long rowNumber, String productName, String message) {
+            failedCount++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportError(rowNumber, productName, message));
+            }
+        }
+    }
+}
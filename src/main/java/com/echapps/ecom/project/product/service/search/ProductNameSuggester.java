@@ -0,0 +1,182 @@
+package com.echapps.ecom.project.product.service.search;
+
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ProductSuggestion;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory typeahead over product names. Names are kept in sorted maps keyed by their normalized
+ * text, so the suggestions for a prefix are a range scan that stops after the first N entries:
+ * O(log n + N), lock-free for readers and without any database access. Names starting with the
+ * prefix come first, then names with a later word starting with it, each alphabetically. Like the
+ * search index, a rebuild fills new maps off to the side, replays the changes made while it ran
+ * and then swaps them in, so a product deleted or renamed meanwhile does not come back.
+ */
+@Component
+public class ProductNameSuggester {
+    private static final Logger logger = LoggerFactory.getLogger(ProductNameSuggester.class);
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+
+    // Serializes index, remove and the swap; readers never take it
+    private final Object lock = new Object();
+    // Replaced as a whole by rebuild
+    private volatile Dictionary dictionary = new Dictionary();
+    // Guarded by the lock. While a rebuild runs: products changed since it started (null = removed), replayed before the swap
+    private Map<Long, ProductRequest> changedDuringRebuild;
+
+    public ProductNameSuggester(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        synchronized (lock) {
+            changedDuringRebuild = new HashMap<>();
+        }
+
+        Dictionary rebuilt = new Dictionary();
+        try {
+            long lastProductId = 0L;
+            List<ProductRequest> batch;
+            do {
+                batch = productRepository.findProductRequestsAfter(lastProductId, Limit.of(REBUILD_BATCH_SIZE));
+                batch.forEach(rebuilt::index);
+                if (!batch.isEmpty()) {
+                    lastProductId = batch.getLast().getProductId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                changedDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (lock) {
+            // A batch may have been read before a concurrent change was committed, so the change wins
+            changedDuringRebuild.forEach((productId, product) -> {
+                if (product == null) {
+                    rebuilt.remove(productId);
+                } else {
+                    rebuilt.index(product);
+                }
+            });
+            changedDuringRebuild = null;
+            dictionary = rebuilt;
+        }
+        logger.debug("Product name suggestions rebuilt: {} products in {} ms", rebuilt.keysByProduct.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Adds or replaces the product's name
+    public void index(ProductRequest product) {
+        synchronized (lock) {
+            dictionary.index(product);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(product.getProductId(), product);
+            }
+        }
+    }
+
+    public void remove(Long productId) {
+        synchronized (lock) {
+            dictionary.remove(productId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(productId, null);
+            }
+        }
+    }
+
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Dictionary dictionary = this.dictionary;
+        Map<Long, ProductSuggestion> suggestions = new LinkedHashMap<>();
+        collect(dictionary.names, normalizedPrefix, limit, suggestions);
+        if (suggestions.size() < limit) {
+            collect(dictionary.wordStarts, normalizedPrefix, limit, suggestions);
+        }
+        return List.copyOf(suggestions.values());
+    }
+
+    private void collect(ConcurrentSkipListMap<String, ProductSuggestion> keys, String prefix, int limit,
+                         Map<Long, ProductSuggestion> suggestions) {
+        for (ProductSuggestion suggestion : keys.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            suggestions.putIfAbsent(suggestion.getProductId(), suggestion);
+            if (suggestions.size() >= limit) {
+                return;
+            }
+        }
+    }
+
+    // Lower-cased, punctuation treated as spaces, single spaces between words
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim();
+    }
+
+    // One complete set of suggestions: the sorted maps and the keys of each product always change together
+    private static final class Dictionary {
+        // "normalized name \0 id" -> suggestion
+        private final ConcurrentSkipListMap<String, ProductSuggestion> names = new ConcurrentSkipListMap<>();
+        // "normalized name from its 2nd, 3rd, ... word \0 id" -> suggestion
+        private final ConcurrentSkipListMap<String, ProductSuggestion> wordStarts = new ConcurrentSkipListMap<>();
+        // productId -> the keys it was added under, to remove them on update/delete
+        private final Map<Long, List<String>> keysByProduct = new HashMap<>();
+
+        void index(ProductRequest product) {
+            Long productId = product.getProductId();
+            remove(productId);
+            String name = normalize(product.getProductName());
+            if (name.isEmpty()) {
+                return;
+            }
+
+            ProductSuggestion suggestion = new ProductSuggestion(productId, product.getProductName());
+            List<String> keys = new ArrayList<>();
+            String nameKey = name + KEY_SEPARATOR + productId;
+            names.put(nameKey, suggestion);
+            keys.add(nameKey);
+            for (int space = name.indexOf(' '); space >= 0; space = name.indexOf(' ', space + 1)) {
+                String wordKey = name.substring(space + 1) + KEY_SEPARATOR + productId;
+                wordStarts.put(wordKey, suggestion);
+                keys.add(wordKey);
+            }
+            keysByProduct.put(productId, List.copyOf(keys));
+        }
+
+        void remove(Long productId) {
+            List<String> keys = keysByProduct.remove(productId);
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                names.remove(key);
+                wordStarts.remove(key);
+            }
+        }
+    }
+}
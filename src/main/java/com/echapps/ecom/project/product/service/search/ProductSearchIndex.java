@@ -0,0 +1,340 @@
+package com.echapps.ecom.project.product.service.search;
+
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product names and descriptions, used by keyword search instead of
+ * a LIKE '%keyword%' scan. Every query word must match a whole word or a word prefix. Hits are ranked
+ * with BM25: name matches weigh more than description matches, and prefix matches less than whole
+ * words. The index is rebuilt from the database on startup and kept current by the product service.
+ * A rebuild fills a new index off to the side and swaps it in under the write lock, so searches see
+ * either the old or the new index in full; changes made while it runs are replayed onto the new one.
+ * Matches can also be ordered by a product column the index keeps per document, so a sorted page
+ * never needs more than its own ids from the database.
+ */
+@Component
+public class ProductSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Columns kept per document for sorted listings. Every product write re-indexes them; stock levels change at
+    // checkout without passing through the index, so quantity is not one of them.
+    private static final Set<String> SORT_KEYS = Set.of("productId", "productName", "price", "discount", "specialPrice");
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by the lock; replaced as a whole by rebuild
+    private Segment segment = new Segment();
+    // While a rebuild runs: products changed since it started (null = removed), replayed before the swap
+    private Map<Long, ProductRequest> changedDuringRebuild;
+
+    // Until the first rebuild has finished, keyword search falls back to the database
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            // Keyset batches of projections: no entities, no OFFSET, and searches keep using the old index meanwhile
+            long lastProductId = 0L;
+            List<ProductRequest> batch;
+            do {
+                batch = productRepository.findProductRequestsAfter(lastProductId, Limit.of(REBUILD_BATCH_SIZE));
+                batch.forEach(rebuilt::index);
+                if (!batch.isEmpty()) {
+                    lastProductId = batch.getLast().getProductId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // A batch may have been read before a concurrent change was committed, so the change wins
+            changedDuringRebuild.forEach((productId, product) -> {
+                if (product == null) {
+                    rebuilt.remove(productId);
+                } else {
+                    rebuilt.index(product);
+                }
+            });
+            changedDuringRebuild = null;
+            segment = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ready = true;
+        logger.debug("Product search index rebuilt: {} products in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Adds or replaces the product in the index
+    public void index(ProductRequest product) {
+        lock.writeLock().lock();
+        try {
+            segment.index(product);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(product.getProductId(), product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(productId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(productId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of matching product ids, best match first (ties by id), together with the total
+     * number of matches.
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(score(query).entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+        List<Long> page = ranked.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new SearchHits(page, ranked.size());
+    }
+
+    public static boolean isSortKey(String sortBy) {
+        return SORT_KEYS.contains(sortBy);
+    }
+
+    /**
+     * Returns one page of matching product ids ordered by a product column (see {@link #isSortKey}), ties by id,
+     * together with the total number of matches. Products without a value for the column come last either way,
+     * as in the keyset listings.
+     */
+    public SearchHits searchSorted(String query, String sortBy, boolean ascending, int offset, int limit) {
+        if (!isSortKey(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort property for search: " + sortBy);
+        }
+        Comparator<IndexedProduct> order = order(sortBy, ascending).thenComparing(IndexedProduct::productId);
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+
+        lock.readLock().lock();
+        try {
+            Segment segment = this.segment;
+            Map<Long, Double> scores = segment.score(queryTerms);
+            List<Long> page = scores.keySet().stream()
+                    .map(segment.documents::get)
+                    .sorted(order)
+                    .skip(offset)
+                    .limit(limit)
+                    .map(IndexedProduct::productId)
+                    .toList();
+            return new SearchHits(page, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Comparator<IndexedProduct> order(String sortBy, boolean ascending) {
+        return switch (sortBy) {
+            case "productId" -> ascending
+                    ? Comparator.comparing(IndexedProduct::productId)
+                    : Comparator.comparing(IndexedProduct::productId).reversed();
+            case "productName" -> nullsLast(IndexedProduct::nameKey, ascending);
+            case "price" -> nullsLast(IndexedProduct::price, ascending);
+            case "discount" -> nullsLast(IndexedProduct::discount, ascending);
+            default -> nullsLast(IndexedProduct::specialPrice, ascending);
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<IndexedProduct> nullsLast(Function<IndexedProduct, T> key, boolean ascending) {
+        return Comparator.comparing(key, Comparator.nullsLast(ascending ? Comparator.<T>naturalOrder() : Comparator.<T>reverseOrder()));
+    }
+
+    private Map<Long, Double> score(String query) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            return segment.score(queryTerms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased runs of letters and digits
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    public record SearchHits(List<Long> productIds, long totalHits) {
+    }
+
+    // One complete index: postings, documents and their total length always change together
+    private static final class Segment {
+        // term -> (productId -> weighted term frequency); sorted so a prefix lookup is a range scan
+        private final TreeMap<String, Map<Long, Double>> postings = new TreeMap<>();
+        // productId -> its indexed terms (to unindex them on update/delete), weighted length and sort keys
+        private final Map<Long, IndexedProduct> documents = new HashMap<>();
+        private double totalLength;
+
+        // productId -> BM25 score of every product matching all query words
+        Map<Long, Double> score(Set<String> queryTerms) {
+            if (queryTerms.isEmpty() || documents.isEmpty()) {
+                return Map.of();
+            }
+            double averageLength = totalLength / documents.size();
+
+            Map<Long, Double> scores = null;
+            for (String term : queryTerms) {
+                Map<Long, Double> termScores = new HashMap<>();
+                Map<Long, Double> exactPostings = postings.get(term);
+                if (exactPostings != null) {
+                    addScores(termScores, exactPostings, 1.0, averageLength);
+                }
+                NavigableMap<String, Map<Long, Double>> prefixed = postings.subMap(term, false, term + Character.MAX_VALUE, false);
+                for (Map<Long, Double> prefixPostings : prefixed.values()) {
+                    addScores(termScores, prefixPostings, PREFIX_MATCH_WEIGHT, averageLength);
+                }
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((productId, score) -> score + termScores.get(productId));
+                }
+                if (scores.isEmpty()) {
+                    return Map.of();
+                }
+            }
+            return scores;
+        }
+
+        // BM25 contribution of one term; a document keeps its best-scoring form of each query word
+        void addScores(Map<Long, Double> termScores, Map<Long, Double> termPostings, double weight, double averageLength) {
+            int documentCount = documents.size();
+            int documentFrequency = termPostings.size();
+            double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            termPostings.forEach((productId, termFrequency) -> {
+                double length = documents.get(productId).length();
+                double score = weight * idf * termFrequency * (BM25_K1 + 1)
+                        / (termFrequency + BM25_K1 * (1 - BM25_B + BM25_B * length / averageLength));
+                termScores.merge(productId, score, Math::max);
+            });
+        }
+
+        void index(ProductRequest product) {
+            Long productId = product.getProductId();
+            remove(productId);
+
+            Map<String, Double> termFrequencies = new HashMap<>();
+            tokenize(product.getProductName()).forEach(term -> termFrequencies.merge(term, NAME_WEIGHT, Double::sum));
+            tokenize(product.getDescription()).forEach(term -> termFrequencies.merge(term, DESCRIPTION_WEIGHT, Double::sum));
+            if (termFrequencies.isEmpty()) {
+                return;
+            }
+
+            double length = 0;
+            for (Map.Entry<String, Double> entry : termFrequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(productId, entry.getValue());
+                length += entry.getValue();
+            }
+            String nameKey = product.getProductName() == null ? null : product.getProductName().toLowerCase(Locale.ROOT);
+            documents.put(productId, new IndexedProduct(productId, Set.copyOf(termFrequencies.keySet()), length,
+                    nameKey, product.getPrice(), product.getDiscount(), product.getSpecialPrice()));
+            totalLength += length;
+        }
+
+        void remove(Long productId) {
+            IndexedProduct indexed = documents.remove(productId);
+            if (indexed == null) {
+                return;
+            }
+            for (String term : indexed.terms()) {
+                Map<Long, Double> termPostings = postings.get(term);
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= indexed.length();
+        }
+    }
+
+    // The sort keys are compared in memory; product names case-insensitively, as the database collation does
+    private record IndexedProduct(Long productId, Set<String> terms, double length,
+                                  String nameKey, Double price, Double discount, Double specialPrice) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.echapps.ecom.project.security.controller;
+
+import com.echapps.ecom.project.security.response.UserDetailsCacheStats;
+import com.echapps.ecom.project.security.services.UserDetailsCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+public class UserDetailsCacheController {
+
+    private final UserDetailsCache userDetailsCache;
+
+    public UserDetailsCacheController(UserDetailsCache userDetailsCache) {
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @GetMapping("/admin/users/cache-stats")
+    @Operation(summary = "Get user details cache statistics", description = "Retrieve the hit, miss and eviction counts and the hit ratio of the user details cache used by the JWT filter.")
+    @Tag(name = "Authentication APIs", description = "APIs for user authentication and session management")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the cache statistics"),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+    })
+    public ResponseEntity<UserDetailsCacheStats> getUserDetailsCacheStats() {
+        return new ResponseEntity<>(userDetailsCache.getStats(), HttpStatus.OK);
+    }
+}
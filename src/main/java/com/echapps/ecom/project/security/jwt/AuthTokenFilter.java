@@ -1,6 +1,9 @@
 package com.echapps.ecom.project.security.jwt;
 
+import com.echapps.ecom.project.security.services.UserDetailsCache;
+import com.echapps.ecom.project.security.services.UserDetailsImpl;
 import com.echapps.ecom.project.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,6 +29,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -34,12 +40,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             logger.debug("Attempting to parse JWT from request");
             String jwt = parseJwt(request);
-                if (jwt != null && jwtUtils.validateToken(jwt)) {
-                    String username = jwtUtils.getUserNameFromJwt(jwt);
+                Claims claims = jwt != null ? jwtUtils.parseClaims(jwt) : null;
+                if (claims != null) {
+                    String username = claims.getSubject();
                     logger.debug("JWT is valid. Username extracted: {}", username);
 
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    logger.debug("UserDetails loaded for username: {}", username);
+                    UserDetails userDetails = jwtUtils.isStatelessClaims() ? jwtUtils.getUserDetailsFromClaims(claims) : null;
+                    if (userDetails != null) {
+                        logger.debug("UserDetails built from JWT claims for username: {}", username);
+                    } else {
+                        userDetails = userDetailsCache.get(username,
+                                name -> (UserDetailsImpl) userDetailsService.loadUserByUsername(name));
+                        logger.debug("UserDetails loaded for username: {} (cache hits: {}, misses: {})",
+                                username, userDetailsCache.getHitCount(), userDetailsCache.getMissCount());
+                    }
 
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
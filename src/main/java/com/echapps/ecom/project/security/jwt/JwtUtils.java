@@ -1,29 +1,42 @@
 package com.echapps.ecom.project.security.jwt;
 
 import com.echapps.ecom.project.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.RequiredTypeException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
 import javax.crypto.SecretKey;
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    // Claim names used when the token carries the principal (stateless claims mode)
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_ROLES = "roles";
+
     @Value("${spring.app.jwtExpirationInMs}")
     private int jwtExpirationInMs;
 
@@ -33,6 +46,32 @@ public class JwtUtils {
     @Value("${spring.ecom.app.jwtCookieName}")
     private String jtwCookie;
 
+    // When enabled, tokens carry user id, email and roles so requests can be authenticated without a user lookup
+    @Value("${spring.app.jwtStatelessClaims:false}")
+    private boolean statelessClaims;
+
+    // Maximum number of verified tokens kept in memory; 0 disables claim caching (revocation still applies)
+    @Value("${spring.app.jwtTokenCache.maxSize:10000}")
+    private int tokenCacheMaxSize;
+
+    // Maximum number of revoked (signed-out) tokens remembered until they expire
+    @Value("${spring.app.jwtTokenCache.maxRevoked:100000}")
+    private int maxRevokedTokens;
+
+    // Built once from the secret; both are immutable and safe to share across request threads
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokenCache = new VerifiedTokenCache(tokenCacheMaxSize, maxRevokedTokens, jwtExpirationInMs);
+    }
+
     // 1. Get JWT from the request header
     public String getJwtFromRequestHeader(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
@@ -54,7 +93,9 @@ public class JwtUtils {
     }
 
     public ResponseCookie generateJwtCookie(UserDetailsImpl userDetails) {
-        String jwt = generateTokenFromUsername(userDetails.getUsername());
+        String jwt = statelessClaims
+                ? generateTokenFromUserDetails(userDetails)
+                : generateTokenFromUsername(userDetails.getUsername());
         return ResponseCookie.from(jtwCookie, jwt)
                 .path("/api/v1")
                 .maxAge(24 * 60 * 60) // 1 day
@@ -74,32 +115,101 @@ public class JwtUtils {
                 .subject(userName)
                 .issuedAt(new Date())
                 .expiration(new Date(new Date().getTime() + jwtExpirationInMs))
-                .signWith(key())
+                .signWith(signingKey)
+                .compact();
+    }
+
+    // 2b. Generating Token carrying the principal (id, email, roles) alongside the username
+    public String generateTokenFromUserDetails(UserDetailsImpl userDetails) {
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return Jwts.builder()
+                .subject(userDetails.getUsername())
+                .claim(CLAIM_USER_ID, userDetails.getId())
+                .claim(CLAIM_EMAIL, userDetails.getEmail())
+                .claim(CLAIM_ROLES, roles)
+                .issuedAt(new Date())
+                .expiration(new Date(new Date().getTime() + jwtExpirationInMs))
+                .signWith(signingKey)
                 .compact();
     }
 
+    public boolean isStatelessClaims() {
+        return statelessClaims;
+    }
+
+    // 3b. Building the principal from verified claims; null when the token only carries a subject
+    //     or a claim has an unexpected type
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Long userId;
+        String email;
+        List<?> roles;
+        try {
+            userId = claims.get(CLAIM_USER_ID, Long.class);
+            email = claims.get(CLAIM_EMAIL, String.class);
+            roles = claims.get(CLAIM_ROLES, List.class);
+        } catch (RequiredTypeException e) {
+            logger.error("JWT principal claims are malformed: {}", e.getMessage());
+            return null;
+        }
+        if (userId == null || email == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new UserDetailsImpl(userId, claims.getSubject(), email, null, authorities);
+    }
+
     // 3. Getting Username from JWT
     public String getUserNameFromJwt(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build().parseSignedClaims(token)
+        return jwtParser.parseSignedClaims(token)
                 .getPayload().getSubject();
     }
 
-    // 4. Generate Signing Key
+    // 4. Signing Key (decoded once at startup)
     public Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        return signingKey;
     }
 
-    // 5. Validate JWT
-    public boolean validateToken(String authToken) {
-        try {
-            System.out.println("Validating token: " + authToken);
-            Jwts.parser()
-                    .verifyWith((SecretKey) key())
-                    .build().parseSignedClaims(authToken);
+    // 5. Verify the JWT once and return its claims, or null when the token is not valid or revoked.
+    //    Tokens seen before are answered from the verified-token cache without re-verifying the signature.
+    public Claims parseClaims(String authToken) {
+        String tokenHash = verifiedTokenCache.hash(authToken);
+        if (verifiedTokenCache.isRevoked(tokenHash)) {
+            logger.debug("JWT token has been revoked");
+            return null;
+        }
+        Claims cached = verifiedTokenCache.get(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = verifyClaims(authToken);
+        if (claims != null && !verifiedTokenCache.put(tokenHash, claims)) {
+            logger.debug("JWT token was revoked while it was being verified");
+            return null;
+        }
+        return claims;
+    }
 
-            return true;
+    // 6. Revoke a token (e.g. on sign-out) so it is rejected until it expires
+    public void revokeToken(String authToken) {
+        if (authToken == null) {
+            return;
+        }
+        Claims claims = verifyClaims(authToken);
+        if (claims != null) {
+            verifiedTokenCache.revoke(verifiedTokenCache.hash(authToken), claims.getExpiration());
+        }
+    }
+
+    private Claims verifyClaims(String authToken) {
+        try {
+            return jwtParser.parseSignedClaims(authToken).getPayload();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -108,7 +218,13 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT token verification failed: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
     }
 }
@@ -0,0 +1,155 @@
+package com.echapps.ecom.project.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrent cache from token hash (SHA-256) to the claims of an already verified JWT, so a token sent
+ * repeatedly is only HMAC-verified and parsed once. Each entry lives until the token's own expiry and
+ * the cache is bounded by size; a size of 0 disables claim caching but keeps revocation working.
+ * Revoked tokens are remembered until they expire, but never longer than the maximum token lifetime,
+ * and at most maxRevoked of them are kept.
+ */
+class VerifiedTokenCache {
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final int maxSize;
+    private final int maxRevoked;
+    private final long maxTokenLifetimeMs;
+    private final LongSupplier clock;
+    private final Map<String, CachedClaims> verified = new ConcurrentHashMap<>();
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxSize, int maxRevoked, long maxTokenLifetimeMs) {
+        this(maxSize, maxRevoked, maxTokenLifetimeMs, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxSize, int maxRevoked, long maxTokenLifetimeMs, LongSupplier clock) {
+        if (maxRevoked <= 0 || maxTokenLifetimeMs <= 0) {
+            throw new IllegalArgumentException("maxRevoked and maxTokenLifetimeMs must be positive");
+        }
+        this.maxSize = maxSize;
+        this.maxRevoked = maxRevoked;
+        this.maxTokenLifetimeMs = maxTokenLifetimeMs;
+        this.clock = clock;
+    }
+
+    String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    // Returns the cached claims for a still-valid token, or null when it must be verified.
+    // Callers check isRevoked first: a hit alone does not prove the token was not revoked since.
+    Claims get(String tokenHash) {
+        CachedClaims cached = verified.get(tokenHash);
+        if (cached == null) {
+            return null;
+        }
+        if (clock.getAsLong() >= cached.expiresAt()) {
+            verified.remove(tokenHash, cached);
+            return null;
+        }
+        return cached.claims();
+    }
+
+    boolean isRevoked(String tokenHash) {
+        Long expiresAt = revoked.get(tokenHash);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (clock.getAsLong() >= expiresAt) {
+            revoked.remove(tokenHash, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    // Caches freshly verified claims; returns false when the token was revoked in the meantime
+    boolean put(String tokenHash, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (maxSize <= 0 || expiration == null) {
+            return !isRevoked(tokenHash);
+        }
+        if (verified.size() >= maxSize) {
+            evict();
+        }
+        // revoke() records the revocation before removing the verified entry, and both this compute and
+        // that remove lock the same key: either the revocation is seen here, or it removes what we insert
+        CachedClaims cached = verified.compute(tokenHash, (hash, existing) ->
+                isRevoked(hash) ? null : new CachedClaims(claims, expiration.getTime()));
+        return cached != null;
+    }
+
+    void revoke(String tokenHash, Date expiration) {
+        long now = clock.getAsLong();
+        long retainUntil = now + maxTokenLifetimeMs;
+        if (expiration != null) {
+            retainUntil = Math.min(retainUntil, expiration.getTime());
+        }
+        revoked.put(tokenHash, retainUntil);
+        verified.remove(tokenHash);
+        if (revoked.size() > maxRevoked) {
+            trimRevoked(now);
+        }
+    }
+
+    int size() {
+        return verified.size();
+    }
+
+    int revokedSize() {
+        return revoked.size();
+    }
+
+    // Drop expired entries (and stale revocations) first; if still full, drop arbitrary entries to make room
+    private void evict() {
+        long now = clock.getAsLong();
+        verified.values().removeIf(cached -> now >= cached.expiresAt());
+        revoked.values().removeIf(expiresAt -> now >= expiresAt);
+
+        Iterator<String> keys = verified.keySet().iterator();
+        while (verified.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    // Drop stale revocations; if still over the bound, forget the ones that expire soonest
+    private synchronized void trimRevoked(long now) {
+        revoked.values().removeIf(expiresAt -> now >= expiresAt);
+        int excess = revoked.size() - maxRevoked;
+        if (excess <= 0) {
+            return;
+        }
+        logger.warn("Revoked token list is full ({} entries); forgetting the {} revocations closest to expiry", maxRevoked, excess);
+        revoked.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(revoked::remove);
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.echapps.ecom.project.security.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserDetailsCacheStats {
+
+    @Schema(description = "Number of cached users", example = "350")
+    private Long size;
+
+    @Schema(description = "Authenticated requests whose user was served from the cache", example = "9500")
+    private long hitCount;
+
+    @Schema(description = "Authenticated requests that had to load the user and its roles", example = "500")
+    private long missCount;
+
+    @Schema(description = "Entries dropped because they expired or the cache was full", example = "40")
+    private long evictionCount;
+
+    @Schema(description = "hitCount / (hitCount + missCount)", example = "0.95")
+    private double hitRatio;
+}
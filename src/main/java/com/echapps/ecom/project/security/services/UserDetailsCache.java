@@ -0,0 +1,151 @@
+package com.echapps.ecom.project.security.services;
+
+import com.echapps.ecom.project.security.response.UserDetailsCacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-evicting in-process cache of {@link UserDetailsImpl} keyed by username.
+ * Used by the JWT filter so an authenticated request does not reload the user and its roles
+ * from the database on every call. Entries are dropped when they expire, when the cache is
+ * full (least recently used first) or when the user or its roles are updated/deleted.
+ */
+@Component
+public class UserDetailsCache {
+    private static final Logger logger = LoggerFactory.getLogger(UserDetailsCache.class);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Bumped under the lock by every invalidation; a load only caches its result when no
+    // invalidation happened while it ran, so a stale row read cannot overwrite an eviction
+    private long generation;
+
+    // Access-ordered so the eldest entry is always the least recently used one
+    private final LinkedHashMap<String, CachedUserDetails> entries;
+
+    @Autowired
+    public UserDetailsCache(@Value("${spring.app.userDetailsCache.maxSize:10000}") int maxSize,
+                            @Value("${spring.app.userDetailsCache.ttlSeconds:300}") long ttlSeconds) {
+        this(maxSize, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    UserDetailsCache(int maxSize, long ttlNanos, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUserDetails> eldest) {
+                boolean full = size() > UserDetailsCache.this.maxSize;
+                if (full) {
+                    evictions.increment();
+                }
+                return full;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached user for the given username, loading (and caching) it with the given
+     * loader on a miss or after the entry has expired. The loader runs outside the cache lock;
+     * if any invalidation happens while it runs, the loaded user is returned but not cached.
+     */
+    public UserDetailsImpl get(String username, Function<String, UserDetailsImpl> loader) {
+        long now = clock.getAsLong();
+        long loadGeneration;
+        synchronized (entries) {
+            CachedUserDetails cached = entries.get(username);
+            if (cached != null) {
+                if (now - cached.loadedAt() < ttlNanos) {
+                    hits.increment();
+                    return cached.userDetails();
+                }
+                entries.remove(username);
+                evictions.increment();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        UserDetailsImpl userDetails = loader.apply(username);
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(username, new CachedUserDetails(userDetails, now));
+            }
+        }
+        logger.debug("UserDetails cache miss for username: {}", username);
+        return userDetails;
+    }
+
+    public void invalidate(String username) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(username);
+        }
+    }
+
+    // Usernames can change, so invalidation by id scans the (bounded) entries
+    public void invalidateUser(Long userId) {
+        synchronized (entries) {
+            generation++;
+            entries.values().removeIf(cached -> cached.userDetails().getId().equals(userId));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public UserDetailsCacheStats getStats() {
+        return new UserDetailsCacheStats((long) size(), getHitCount(), getMissCount(), getEvictionCount(), getHitRatio());
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record CachedUserDetails(UserDetailsImpl userDetails, long loadedAt) {
+    }
+}
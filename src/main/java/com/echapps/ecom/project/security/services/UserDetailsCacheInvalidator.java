@@ -0,0 +1,44 @@
+package com.echapps.ecom.project.security.services;
+
+import com.echapps.ecom.project.user.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on {@link User}: drops the cached {@link UserDetailsImpl} whenever a user
+ * row is updated (password, username, email) or deleted. Hibernate resolves this listener from
+ * the Spring context, so the cache is injected like any other bean. Role changes only touch the
+ * user_role join table and are reported by {@link UserRoleChangeListener} instead.
+ * The entry is dropped again once the transaction completes, because a request that loads the
+ * user between the flush and the commit still reads the old row.
+ */
+@Component
+public class UserDetailsCacheInvalidator {
+
+    private final UserDetailsCache userDetailsCache;
+
+    public UserDetailsCacheInvalidator(UserDetailsCache userDetailsCache) {
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        invalidate(user.getUserId());
+    }
+
+    public void invalidate(Long userId) {
+        userDetailsCache.invalidateUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userDetailsCache.invalidateUser(userId);
+                }
+            });
+        }
+    }
+}
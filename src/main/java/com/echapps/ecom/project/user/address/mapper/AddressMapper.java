@@ -0,0 +1,40 @@
+package com.echapps.ecom.project.user.address.mapper;
+
+import com.echapps.ecom.project.user.address.dto.request.AddressDTO;
+import com.echapps.ecom.project.user.model.Address;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AddressMapper {
+
+    public AddressDTO toAddressDTO(Address address) {
+        if (address == null) {
+            return null;
+        }
+
+        return new AddressDTO(
+                address.getAddressId(),
+                address.getStreet(),
+                address.getCity(),
+                address.getState(),
+                address.getCountry(),
+                address.getPostalCode()
+        );
+    }
+
+    public Address toAddress(AddressDTO addressDTO) {
+        if (addressDTO == null) {
+            return null;
+        }
+
+        Address address = new Address(
+                addressDTO.getStreet(),
+                addressDTO.getCity(),
+                addressDTO.getState(),
+                addressDTO.getCountry(),
+                addressDTO.getPostalCode()
+        );
+        address.setAddressId(addressDTO.getAddressId());
+        return address;
+    }
+}
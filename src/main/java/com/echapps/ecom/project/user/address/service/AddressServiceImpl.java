@@ -2,31 +2,31 @@ package com.echapps.ecom.project.user.address.service;
 
 import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
 import com.echapps.ecom.project.user.address.dto.request.AddressDTO;
+import com.echapps.ecom.project.user.address.mapper.AddressMapper;
 import com.echapps.ecom.project.user.model.Address;
 import com.echapps.ecom.project.user.model.User;
 import com.echapps.ecom.project.user.repository.AddressRepository;
 import com.echapps.ecom.project.user.repository.UserRepository;
 import org.springframework.stereotype.Service;
-import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
 @Service
 public class AddressServiceImpl implements AddressService {
 
-    private final ObjectMapper mapper;
+    private final AddressMapper addressMapper;
     private final AddressRepository addressRepository;
     private final UserRepository userRepository;
 
-    public AddressServiceImpl(ObjectMapper mapper, AddressRepository addressRepository, UserRepository userRepository) {
-        this.mapper = mapper;
+    public AddressServiceImpl(AddressMapper addressMapper, AddressRepository addressRepository, UserRepository userRepository) {
+        this.addressMapper = addressMapper;
         this.addressRepository = addressRepository;
         this.userRepository = userRepository;
     }
 
     @Override
     public AddressDTO createAddress(AddressDTO addressDTO, User currentUser) {
-        Address newAddress = mapper.convertValue(addressDTO, Address.class);
+        Address newAddress = addressMapper.toAddress(addressDTO);
 
         List<Address> addressList = currentUser.getAddresses();
         addressList.add(newAddress);
@@ -36,7 +36,7 @@ public class AddressServiceImpl implements AddressService {
         Address savedAddress = addressRepository.save(newAddress);
 
         // return the saved address as a DTO
-        return mapper.convertValue(savedAddress, AddressDTO.class);
+        return addressMapper.toAddressDTO(savedAddress);
 
     }
 
@@ -45,7 +45,7 @@ public class AddressServiceImpl implements AddressService {
             List<Address> addresses = addressRepository.findAll();
             return addresses
                     .stream()
-                    .map(address -> mapper.convertValue(address, AddressDTO.class))
+                    .map(addressMapper::toAddressDTO)
                     .toList();
     }
 
@@ -54,7 +54,7 @@ public class AddressServiceImpl implements AddressService {
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address ", "addressId", addressId));
 
-        return mapper.convertValue(address, AddressDTO.class);
+        return addressMapper.toAddressDTO(address);
     }
 
     @Override
@@ -62,7 +62,7 @@ public class AddressServiceImpl implements AddressService {
         List<Address> addresses = currentUser.getAddresses();
         return addresses
                 .stream()
-                .map(address -> mapper.convertValue(address, AddressDTO.class))
+                .map(addressMapper::toAddressDTO)
                 .toList();
     }
 
@@ -84,7 +84,7 @@ public class AddressServiceImpl implements AddressService {
         user.getAddresses().add(updatedAddress);
         userRepository.save(user);
 
-        return mapper.convertValue(updatedAddress, AddressDTO.class);
+        return addressMapper.toAddressDTO(updatedAddress);
     }
 
     @Override
@@ -97,6 +97,6 @@ public class AddressServiceImpl implements AddressService {
         userRepository.save(user);
 
         addressRepository.delete(addressToDelete);
-        return mapper.convertValue(addressToDelete, AddressDTO.class);
+        return addressMapper.toAddressDTO(addressToDelete);
     }
 }
@@ -2,6 +2,7 @@ package com.echapps.ecom.project.user.model;
 
 import com.echapps.ecom.project.cart.model.Cart;
 import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.security.services.UserDetailsCacheInvalidator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -14,6 +15,7 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@EntityListeners(UserDetailsCacheInvalidator.class)
 @Data
 @NoArgsConstructor
 @Table(name = "users", uniqueConstraints = {
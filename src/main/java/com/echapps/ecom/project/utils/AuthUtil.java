@@ -1,5 +1,6 @@
 package com.echapps.ecom.project.utils;
 
+import com.echapps.ecom.project.security.services.UserDetailsImpl;
 import com.echapps.ecom.project.user.model.User;
 import com.echapps.ecom.project.user.repository.UserRepository;
 import org.springframework.security.core.Authentication;
@@ -15,18 +16,21 @@ public class AuthUtil {
         this.userRepository = userRepository;
     }
 
+    // Id and email come from the authenticated principal (JWT claims or cached UserDetails), no query needed
     public String getLoggedInUserEmail() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getEmail();
+        UserDetailsImpl principal = getLoggedInPrincipal();
+        if (principal != null && principal.getEmail() != null) {
+            return principal.getEmail();
+        }
+        return getLoggedInUser().getEmail();
     }
 
     public Long getLoggedInUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getUserId();
+        UserDetailsImpl principal = getLoggedInPrincipal();
+        if (principal != null && principal.getId() != null) {
+            return principal.getId();
+        }
+        return getLoggedInUser().getUserId();
     }
 
     public User getLoggedInUser() {
@@ -35,5 +39,17 @@ public class AuthUtil {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    // Uninitialized reference for setting associations (e.g. a new cart's owner) without loading the user
+    public User getLoggedInUserReference() {
+        return userRepository.getReferenceById(getLoggedInUserId());
+    }
+
+    private UserDetailsImpl getLoggedInPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return userDetails;
+        }
+        return null;
+    }
 
 }
@@ -0,0 +1,30 @@
+package com.echapps.ecom.project.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Responses for the public catalog GETs, which carry a strong ETag derived from the catalog version.
+ * Browsers and CDNs may store them but must revalidate on every use, so an unchanged catalog costs a
+ * 304 without a body.
+ */
+public final class CatalogResponses {
+
+    private static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private CatalogResponses() {
+    }
+
+    public static String eTag(long catalogVersion) {
+        return Long.toHexString(catalogVersion);
+    }
+
+    public static <T> ResponseEntity<T> withETag(HttpStatus status, String eTag, T body) {
+        return ResponseEntity.status(status).eTag(eTag).cacheControl(CATALOG_CACHE_CONTROL).body(body);
+    }
+
+    public static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CATALOG_CACHE_CONTROL).build();
+    }
+}
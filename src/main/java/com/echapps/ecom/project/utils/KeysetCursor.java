@@ -0,0 +1,91 @@
+package com.echapps.ecom.project.utils;
+
+import com.echapps.ecom.project.exceptions.APIException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque cursor tokens for keyset pagination. A token holds the sort key values of the last row
+ * of a page (the requested sort property plus the id as a tie-breaker), so the next page is read
+ * with a seek predicate on those values instead of an OFFSET. A sort key without a value is written
+ * as its name alone ({@code price&productId=7}), so it decodes back to null rather than to the text "null".
+ */
+public final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Sort for a keyset listing: the requested property, followed by the id in the same direction
+     * so the order is total. Only properties listed in {@code sortKeys} can be used.
+     */
+    public static Sort sort(String sortBy, String sortOrder, String idProperty, Map<String, Function<String, Object>> sortKeys) {
+        if (!sortKeys.containsKey(sortBy)) {
+            throw new APIException("Sorting by " + sortBy + " is not supported with cursor pagination. Supported fields: " + sortKeys.keySet());
+        }
+        Sort.Direction direction = sortOrder.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, sortBy);
+        return sortBy.equals(idProperty) ? sort : sort.and(Sort.by(direction, idProperty));
+    }
+
+    public static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded as a cursor");
+        }
+        StringJoiner joiner = new StringJoiner("&");
+        keysetPosition.getKeys().forEach((key, value) -> {
+            String encodedKey = URLEncoder.encode(key, StandardCharsets.UTF_8);
+            joiner.add(value == null ? encodedKey : encodedKey + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode} for the given sort. A blank cursor is the first page.
+     * Values are converted back to the property types with {@code sortKeys} and a key without a value
+     * decodes to null; tampered tokens or tokens issued for a different sort are rejected.
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort, Map<String, Function<String, Object>> sortKeys) {
+        if (isFirstPage(cursor)) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String pair : decoded.split("&")) {
+                int separator = pair.indexOf('=');
+                String key = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+                Function<String, Object> parser = sortKeys.get(key);
+                if (parser == null || keys.containsKey(key)) {
+                    throw new APIException("Invalid cursor: " + cursor);
+                }
+                keys.put(key, separator < 0 ? null : parser.apply(URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8)));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Invalid cursor: " + cursor);
+        }
+
+        Set<String> sortProperties = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (!keys.keySet().equals(sortProperties)) {
+            throw new APIException("Cursor does not match the requested sort: " + cursor);
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,177 @@
+package com.echapps.ecom.project.cart.controller;
+
+import com.echapps.ecom.project.cart.mapper.CartMapper;
+import com.echapps.ecom.project.cart.model.Cart;
+import com.echapps.ecom.project.cart.model.CartItem;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
+import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.security.services.UserDetailsImpl;
+import com.echapps.ecom.project.user.model.User;
+import com.echapps.ecom.project.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the optimistic-lock retry on cart updates (@RetryOnOptimisticLock).
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Spring Boot @SpringBootTest + MockMvc
+ * Rationale:
+ * - The retry and transaction proxies and GlobalExceptionHandler only take part in a full context
+ * - A second writer commits a change to the same cart line in its own transaction while the request's
+ *   transaction is still open, so the request flushes a stale @Version exactly as with two real clients
+ * - The CartMapper spy is the hook: it runs after the line was read and before the request commits
+ *
+ * Test Coverage:
+ * - One conflicting write: the update is retried in a new transaction and succeeds, and neither write is lost
+ * - A conflict on every attempt: the retries run out and the client gets a 409
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:cartretry;LOCK_TIMEOUT=30000")
+@DisplayName("Cart Optimistic Lock Retry Integration Tests")
+class CartOptimisticLockRetryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoSpyBean
+    private CartMapper cartMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate otherClient;
+    private Product product;
+    private CartItem line;
+
+    @BeforeEach
+    void setUp() {
+        otherClient = new TransactionTemplate(transactionManager);
+        otherClient.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(new Category(null, "Retry " + suffix, null));
+        Product newProduct = new Product();
+        newProduct.setProductName("Contended Product");
+        newProduct.setDescription("Updated from two tabs");
+        newProduct.setImage("default.png");
+        newProduct.setQuantity(100);
+        newProduct.setPrice(10.0);
+        newProduct.setDiscount(0.0);
+        newProduct.setSpecialPrice(10.0);
+        newProduct.setCategory(category);
+        product = productRepository.save(newProduct);
+
+        User user = userRepository.save(new User("retry" + suffix, "retry" + suffix + "@example.com", "password"));
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartRepository.save(cart);
+        line = cartItemRepository.save(new CartItem(null, cart, product, 1, 0.0, 10.0));
+
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // The other client adds one more unit to the same line and commits before the request does
+    private void concurrentIncrement() {
+        otherClient.executeWithoutResult(status -> {
+            CartItem item = cartItemRepository.findById(line.getCartItemId()).orElseThrow();
+            item.setQuantity(item.getQuantity() + 1);
+        });
+    }
+
+    private int lineQuantity() {
+        return cartItemRepository.findById(line.getCartItemId()).orElseThrow().getQuantity();
+    }
+
+    @Test
+    @DisplayName("Should retry a stale cart update in a new transaction and keep both writes")
+    void shouldRetryAfterConcurrentUpdate() throws Exception {
+        // Arrange: only the first attempt races with the other client
+        boolean[] raced = {false};
+        doAnswer(invocation -> {
+            if (!raced[0]) {
+                raced[0] = true;
+                concurrentIncrement();
+            }
+            return invocation.callRealMethod();
+        }).when(cartMapper).toCartDTO(any(Cart.class));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/carts/products/{productId}/quantity/{operation}", product.getProductId(), "add"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].quantity").value(3));
+
+        verify(cartMapper, times(2)).toCartDTO(any(Cart.class));
+        assertEquals(3, lineQuantity());
+    }
+
+    @Test
+    @DisplayName("Should answer 409 once every retry hit a stale version")
+    void shouldReturnConflictWhenRetriesAreExhausted() throws Exception {
+        // Arrange: every attempt races with the other client
+        doAnswer(invocation -> {
+            concurrentIncrement();
+            return invocation.callRealMethod();
+        }).when(cartMapper).toCartDTO(any(Cart.class));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/carts/products/{productId}/quantity/{operation}", product.getProductId(), "add"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("The resource was modified concurrently. Please retry the request."));
+
+        // The first attempt and three retries, none of which committed
+        verify(cartMapper, times(4)).toCartDTO(any(Cart.class));
+        assertEquals(1 + 4, lineQuantity());
+    }
+}
@@ -0,0 +1,194 @@
+package com.echapps.ecom.project.cart.service;
+
+import com.echapps.ecom.project.cart.dto.response.CartRepricingJobResponse;
+import com.echapps.ecom.project.cart.dto.response.CartRepricingJobResponse.Status;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CartRepricingServiceImpl.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) with Mockito
+ * Rationale:
+ * - The repository is mocked so the chunking loop can be driven chunk by chunk
+ * - Jobs run on a deferred executor and without transactions, so the tests are deterministic
+ *
+ * Test Coverage:
+ * - Keyset chunking and progress accounting
+ * - Superseding a running job, failure reporting, unknown jobs
+ * - Finished jobs are forgotten after the retention period, running ones are kept
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartRepricingServiceImpl Unit Tests")
+class CartRepricingServiceImplTest {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final Duration RETENTION = Duration.ofMinutes(10);
+
+    private final MutableClock clock = new MutableClock();
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+
+    private CartRepricingServiceImpl cartRepricingService;
+
+    @BeforeEach
+    void setUp() {
+        cartRepricingService = new CartRepricingServiceImpl(cartItemRepository,
+                TransactionOperations.withoutTransaction(), scheduled::add, 2, RETENTION, clock);
+    }
+
+    private void runScheduled() {
+        List<Runnable> jobs = new ArrayList<>(scheduled);
+        scheduled.clear();
+        jobs.forEach(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should return immediately with a pending job")
+    void shouldReturnPendingJob() {
+        CartRepricingJobResponse job = cartRepricingService.scheduleRepricing(PRODUCT_ID, 899.0);
+
+        assertEquals(Status.PENDING, job.getStatus());
+        assertEquals(899.0, job.getPrice());
+        assertEquals(1, scheduled.size());
+        verifyNoInteractions(cartItemRepository);
+    }
+
+    @Test
+    @DisplayName("Should reprice cart items in keyset chunks and report progress")
+    void shouldRepriceInChunks() {
+        when(cartItemRepository.countByProductId(PRODUCT_ID)).thenReturn(3L);
+        when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 0L, Limit.of(2))).thenReturn(List.of(4L, 9L));
+        when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 9L, Limit.of(2))).thenReturn(List.of(15L));
+        when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 15L, Limit.of(2))).thenReturn(List.of());
+        when(cartItemRepository.updateProductPriceInRange(PRODUCT_ID, 899.0, 4L, 9L)).thenReturn(2);
+        when(cartItemRepository.updateProductPriceInRange(PRODUCT_ID, 899.0, 15L, 15L)).thenReturn(1);
+
+        cartRepricingService.scheduleRepricing(PRODUCT_ID, 899.0);
+        runScheduled();
+
+        CartRepricingJobResponse job = cartRepricingService.getRepricingJob(PRODUCT_ID);
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertEquals(3L, job.getTotalItems());
+        assertEquals(3L, job.getProcessedItems());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    @DisplayName("Should stop a job once a newer price for the same product has been scheduled")
+    void shouldSupersedeOlderJob() {
+        when(cartItemRepository.countByProductId(PRODUCT_ID)).thenReturn(0L);
+        when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 0L, Limit.of(2))).thenReturn(List.of());
+
+        cartRepricingService.scheduleRepricing(PRODUCT_ID, 899.0);
+        Runnable olderJob = scheduled.removeFirst();
+        cartRepricingService.scheduleRepricing(PRODUCT_ID, 799.0);
+
+        olderJob.run();
+        runScheduled();
+
+        CartRepricingJobResponse job = cartRepricingService.getRepricingJob(PRODUCT_ID);
+        assertEquals(799.0, job.getPrice());
+        assertEquals(Status.COMPLETED, job.getStatus());
+        verify(cartItemRepository, times(1)).findCartItemIdsByProductIdAfter(anyLong(), anyLong(), any());
+        verify(cartItemRepository, never()).updateProductPriceInRange(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should mark the job as failed when a chunk fails")
+    void shouldReportFailure() {
+        when(cartItemRepository.countByProductId(PRODUCT_ID)).thenReturn(2L);
+        when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 0L, Limit.of(2)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        cartRepricingService.scheduleRepricing(PRODUCT_ID, 899.0);
+        runScheduled();
+
+        CartRepricingJobResponse job = cartRepricingService.getRepricingJob(PRODUCT_ID);
+        assertEquals(Status.FAILED, job.getStatus());
+        assertEquals("timeout", job.getError());
+        assertEquals(0L, job.getProcessedItems());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when no job exists for the product")
+    void shouldThrowWhenJobNotFound() {
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
+                cartRepricingService.getRepricingJob(42L));
+        assertEquals("Cart repricing job not found with productId : 42", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should forget a finished job once the retention period has passed")
+    void shouldPruneFinishedJobsAfterRetention() {
+        when(cartItemRepository.countByProductId(PRODUCT_ID)).thenReturn(0L);
+        when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 0L, Limit.of(2))).thenReturn(List.of());
+        cartRepricingService.scheduleRepricing(PRODUCT_ID, 899.0);
+        runScheduled();
+
+        clock.advance(RETENTION);
+        assertEquals(Status.COMPLETED, cartRepricingService.getRepricingJob(PRODUCT_ID).getStatus());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThrows(ResourceNotFoundException.class, () -> cartRepricingService.getRepricingJob(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("Should keep a job that has not finished, however old it is")
+    void shouldKeepUnfinishedJobs() {
+        cartRepricingService.scheduleRepricing(PRODUCT_ID, 899.0);
+
+        clock.advance(RETENTION.multipliedBy(10));
+        cartRepricingService.scheduleRepricing(2L, 10.0);
+
+        assertEquals(Status.PENDING, cartRepricingService.getRepricingJob(PRODUCT_ID).getStatus());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
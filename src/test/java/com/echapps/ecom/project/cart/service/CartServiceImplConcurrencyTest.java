@@ -0,0 +1,129 @@
+package com.echapps.ecom.project.cart.service;
+
+import com.echapps.ecom.project.cart.model.Cart;
+import com.echapps.ecom.project.cart.model.CartItem;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
+import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.security.services.UserDetailsImpl;
+import com.echapps.ecom.project.user.model.User;
+import com.echapps.ecom.project.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency test for CartServiceImpl.updateProductQuantityInCart.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Spring Boot @SpringBootTest
+ * Rationale:
+ * - A lost update can only be observed with real concurrent transactions, so each update runs in its own
+ *   service transaction against H2 (no test-level @Transactional)
+ * - A dedicated in-memory database keeps the committed fixtures away from the other test classes
+ * - A latch releases all updates at once to maximise contention on the single cart line
+ *
+ * Test Coverage:
+ * - Concurrent +1 updates of the same cart line are never lost: the final quantity is 1 plus the number
+ *   of updates that returned successfully, and any update that gave up failed with an optimistic lock error
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:cartconcurrency;LOCK_TIMEOUT=30000")
+@DisplayName("CartServiceImpl Concurrency Tests")
+class CartServiceImplConcurrencyTest {
+
+    private static final int UPDATES = 100;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Test
+    @DisplayName("Should not lose quantity updates made concurrently on the same cart line")
+    void shouldNotLoseConcurrentQuantityUpdates() throws Exception {
+        Category category = categoryRepository.save(new Category(null, "Concurrency", null));
+        Product product = new Product();
+        product.setProductName("Busy Product");
+        product.setDescription("Added from many tabs at once");
+        product.setImage("default.png");
+        product.setQuantity(UPDATES * 2);
+        product.setPrice(10.0);
+        product.setDiscount(0.0);
+        product.setSpecialPrice(10.0);
+        product.setCategory(category);
+        Product sku = productRepository.save(product);
+
+        User user = userRepository.save(new User("shopper", "shopper@example.com", "password"));
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartRepository.save(cart);
+        CartItem line = cartItemRepository.save(new CartItem(null, cart, sku, 1, 0.0, 10.0));
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null, List.of());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < UPDATES; i++) {
+            results.add(executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                start.await();
+                try {
+                    cartService.updateProductQuantityInCart(sku.getProductId(), 1);
+                    return true;
+                } catch (OptimisticLockingFailureException e) {
+                    return false;
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }));
+        }
+
+        start.countDown();
+        int successfulUpdates = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(60, TimeUnit.SECONDS)) {
+                successfulUpdates++;
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int finalQuantity = cartItemRepository.findById(line.getCartItemId()).orElseThrow().getQuantity();
+        assertTrue(successfulUpdates > 0);
+        assertEquals(1 + successfulUpdates, finalQuantity, "lost " + (1 + successfulUpdates - finalQuantity) + " updates");
+    }
+}
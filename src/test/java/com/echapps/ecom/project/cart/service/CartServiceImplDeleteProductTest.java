@@ -0,0 +1,141 @@
+package com.echapps.ecom.project.cart.service;
+
+import com.echapps.ecom.project.cart.model.Cart;
+import com.echapps.ecom.project.cart.model.CartItem;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
+import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.user.model.User;
+import com.echapps.ecom.project.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for CartServiceImpl.deleteProductFromAllCarts against the embedded database.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Spring Boot @SpringBootTest
+ * Rationale:
+ * - The delete is built on keyset id queries and bulk JPQL deletes, so it is verified against a real (H2) database
+ * - The chunk size is lowered to 2 so a handful of carts already spans several chunks, including a partial last one
+ * - @Transactional rolls back all fixtures after each test
+ *
+ * Test Coverage:
+ * - A product in more carts than one chunk is removed from every cart, and the returned count matches
+ * - Lines for other products stay in place and the cart totals follow the remaining lines
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.app.cartItems.bulkChunkSize=" + CartServiceImplDeleteProductTest.CHUNK_SIZE)
+@DisplayName("CartServiceImpl Delete Product Integration Tests")
+class CartServiceImplDeleteProductTest {
+
+    static final int CHUNK_SIZE = 2;
+    private static final int CARTS = CHUNK_SIZE * 2 + 1;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // ---------------------------------------------------------------------------
+    // Helper builders
+    // ---------------------------------------------------------------------------
+
+    private Product saveProduct(Category category, String name, double price) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("A valid description for testing");
+        product.setImage("default.png");
+        product.setQuantity(100);
+        product.setPrice(price);
+        product.setDiscount(0.0);
+        product.setSpecialPrice(price);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    // ===========================================================================
+    // deleteProductFromAllCarts
+    // ===========================================================================
+
+    @Test
+    @DisplayName("Should remove the product from every cart across several chunks and keep other lines")
+    void shouldRemoveProductFromEveryCartAcrossChunks() {
+        // Arrange: every cart holds the deleted product and one line of another product
+        Category category = categoryRepository.save(new Category(null, "Bulk Delete", null));
+        Product discontinued = saveProduct(category, "Discontinued Product", 10.0);
+        Product kept = saveProduct(category, "Kept Product", 4.0);
+
+        List<Long> cartIds = new ArrayList<>();
+        for (int i = 0; i < CARTS; i++) {
+            User user = userRepository.save(new User("bulkdelete" + i, "bulkdelete" + i + "@example.com", "password"));
+            Cart cart = new Cart();
+            cart.setUser(user);
+            cart = cartRepository.save(cart);
+            cartItemRepository.save(new CartItem(null, cart, discontinued, 2, 0.0, 10.0));
+            cartItemRepository.save(new CartItem(null, cart, kept, 1, 0.0, 4.0));
+            cartIds.add(cart.getCartId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        assertTrue(cartItemRepository.countByProductId(discontinued.getProductId()) > CHUNK_SIZE);
+
+        // Act
+        int deleted = cartService.deleteProductFromAllCarts(discontinued.getProductId());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(CARTS, deleted);
+        assertEquals(0, cartItemRepository.countByProductId(discontinued.getProductId()));
+        assertEquals(CARTS, cartItemRepository.countByProductId(kept.getProductId()));
+        cartIds.forEach(cartId -> {
+            Cart cart = cartRepository.findById(cartId).orElseThrow();
+            assertEquals(1, cart.getCartItems().size());
+            assertEquals(kept.getProductId(), cart.getCartItems().getFirst().getProduct().getProductId());
+            assertEquals(4.0, cart.getTotalPrice());
+        });
+    }
+
+    @Test
+    @DisplayName("Should return zero when the product is in no cart")
+    void shouldReturnZeroWhenProductIsInNoCart() {
+        // Arrange
+        Category category = categoryRepository.save(new Category(null, "Bulk Delete Empty", null));
+        Product product = saveProduct(category, "Unsold Product", 10.0);
+        entityManager.flush();
+
+        // Act & Assert
+        assertEquals(0, cartService.deleteProductFromAllCarts(product.getProductId()));
+    }
+}
@@ -0,0 +1,380 @@
+package com.echapps.ecom.project.cart.service;
+
+import com.echapps.ecom.project.cart.dto.request.CartDTO;
+import com.echapps.ecom.project.cart.mapper.CartMapper;
+import com.echapps.ecom.project.cart.model.Cart;
+import com.echapps.ecom.project.cart.model.CartItem;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
+import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.exceptions.APIException;
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.mapper.ProductMapper;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.repository.ProductSummary;
+import com.echapps.ecom.project.product.service.cache.ProductCache;
+import com.echapps.ecom.project.user.model.User;
+import com.echapps.ecom.project.utils.AuthUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CartServiceImpl.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Mockito
+ * Rationale:
+ * - Mockito isolates the service from the repositories, the product cache and the logged-in user
+ * - CartMapper and ProductMapper are plain hand-written mappers, so the real instances are used and
+ *   results are asserted on the mapped CartDTO, including the derived cart total
+ * - Nested test classes organize tests by method
+ *
+ * Test Coverage:
+ * - addProductToCart, updateProductQuantityInCart, deleteProductFromCart, getCart: happy paths and validation errors
+ * - deleteProductFromAllCarts: keyset chunks until no ids are left
+ * - Cart.getTotalPrice: BigDecimal sum of the lines, rounded half-up to cents
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CartServiceImpl Unit Tests")
+class CartServiceImplTest {
+
+    private static final String EMAIL = "user1@example.com";
+    private static final Long CART_ID = 10L;
+    private static final Long PRODUCT_ID = 1L;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private AuthUtil authUtil;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final CartMapper cartMapper = new CartMapper(new ProductMapper());
+
+    private CartServiceImpl cartService;
+
+    @BeforeEach
+    void setUp() {
+        cartService = new CartServiceImpl(cartRepository, authUtil, productRepository, cartItemRepository, cartMapper,
+                productCache, transactionManager, 2);
+    }
+
+    private static ProductSummary summary() {
+        return new ProductSummary(PRODUCT_ID, "Laptop", "laptop.png", 1000.0, 10.0, 900.0);
+    }
+
+    private static Product product() {
+        Product product = new Product();
+        product.setProductId(PRODUCT_ID);
+        product.setProductName("Laptop");
+        return product;
+    }
+
+    private static Cart cartWithItem(int quantity) {
+        Cart cart = new Cart(CART_ID, new User(), new ArrayList<>());
+        cart.getCartItems().add(new CartItem(100L, cart, product(), quantity, 10.0, 900.0));
+        return cart;
+    }
+
+    @Nested
+    @DisplayName("addProductToCart")
+    class AddProductToCartTests {
+
+        @Test
+        @DisplayName("Should create the cart and add a line priced from the product cache")
+        void shouldCreateCartAndAddLine() {
+            // Arrange
+            Cart newCart = new Cart(CART_ID, new User(), new ArrayList<>());
+            when(authUtil.getLoggedInUserEmail()).thenReturn(EMAIL);
+            when(cartRepository.findCartByEmail(EMAIL)).thenReturn(null);
+            when(cartRepository.save(any(Cart.class))).thenReturn(newCart);
+            when(productCache.getProduct(PRODUCT_ID)).thenReturn(summary());
+            when(productRepository.findQuantityByProductId(PRODUCT_ID)).thenReturn(Optional.of(5));
+            when(productRepository.getReferenceById(PRODUCT_ID)).thenReturn(product());
+
+            // Act
+            CartDTO result = cartService.addProductToCart(PRODUCT_ID, 2);
+
+            // Assert
+            ArgumentCaptor<CartItem> saved = ArgumentCaptor.forClass(CartItem.class);
+            verify(cartItemRepository).save(saved.capture());
+            assertEquals(2, saved.getValue().getQuantity());
+            assertEquals(900.0, saved.getValue().getProductPrice());
+            assertEquals(10.0, saved.getValue().getDiscount());
+            assertEquals(CART_ID, result.getCartId());
+            assertEquals(1800.0, result.getTotalPrice());
+            assertEquals(2, result.getProducts().getFirst().getQuantity());
+        }
+
+        @Test
+        @DisplayName("Should reject a product that is already in the cart")
+        void shouldRejectDuplicateLine() {
+            // Arrange
+            Cart cart = cartWithItem(1);
+            when(authUtil.getLoggedInUserEmail()).thenReturn(EMAIL);
+            when(cartRepository.findCartByEmail(EMAIL)).thenReturn(cart);
+            when(productCache.getProduct(PRODUCT_ID)).thenReturn(summary());
+            when(productRepository.findQuantityByProductId(PRODUCT_ID)).thenReturn(Optional.of(5));
+            when(cartItemRepository.findCartItemByProductIdAndCartId(CART_ID, PRODUCT_ID)).thenReturn(cart.getCartItems().getFirst());
+
+            // Act & Assert
+            APIException exception = assertThrows(APIException.class, () -> cartService.addProductToCart(PRODUCT_ID, 1));
+            assertTrue(exception.getMessage().contains("already in the cart"));
+            verify(cartItemRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a quantity above the current stock")
+        void shouldRejectQuantityAboveStock() {
+            // Arrange
+            when(authUtil.getLoggedInUserEmail()).thenReturn(EMAIL);
+            when(cartRepository.findCartByEmail(EMAIL)).thenReturn(new Cart(CART_ID, new User(), new ArrayList<>()));
+            when(productCache.getProduct(PRODUCT_ID)).thenReturn(summary());
+            when(productRepository.findQuantityByProductId(PRODUCT_ID)).thenReturn(Optional.of(1));
+
+            // Act & Assert
+            APIException exception = assertThrows(APIException.class, () -> cartService.addProductToCart(PRODUCT_ID, 2));
+            assertEquals("Not enough stock for Laptop. Available quantity: 1", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should reject an out-of-stock product")
+        void shouldRejectOutOfStockProduct() {
+            // Arrange
+            when(authUtil.getLoggedInUserEmail()).thenReturn(EMAIL);
+            when(cartRepository.findCartByEmail(EMAIL)).thenReturn(new Cart(CART_ID, new User(), new ArrayList<>()));
+            when(productCache.getProduct(PRODUCT_ID)).thenReturn(summary());
+            when(productRepository.findQuantityByProductId(PRODUCT_ID)).thenReturn(Optional.of(0));
+
+            // Act & Assert
+            APIException exception = assertThrows(APIException.class, () -> cartService.addProductToCart(PRODUCT_ID, 1));
+            assertEquals("Laptop is out of stock.", exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("updateProductQuantityInCart")
+    class UpdateProductQuantityInCartTests {
+
+        private Cart stubCart(int quantity) {
+            Cart cart = cartWithItem(quantity);
+            when(authUtil.getLoggedInUserEmail()).thenReturn(EMAIL);
+            when(cartRepository.findCartByEmail(EMAIL)).thenReturn(cart);
+            when(cartRepository.findById(CART_ID)).thenReturn(Optional.of(cart));
+            when(productCache.getProduct(PRODUCT_ID)).thenReturn(summary());
+            when(productRepository.findQuantityByProductId(PRODUCT_ID)).thenReturn(Optional.of(5));
+            when(cartItemRepository.findCartItemByProductIdAndCartId(CART_ID, PRODUCT_ID)).thenReturn(cart.getCartItems().getFirst());
+            return cart;
+        }
+
+        @Test
+        @DisplayName("Should add the delta to the line quantity")
+        void shouldIncreaseQuantity() {
+            // Arrange
+            stubCart(1);
+
+            // Act
+            CartDTO result = cartService.updateProductQuantityInCart(PRODUCT_ID, 1);
+
+            // Assert
+            assertEquals(2, result.getProducts().getFirst().getQuantity());
+            assertEquals(1800.0, result.getTotalPrice());
+            verify(cartItemRepository).save(any(CartItem.class));
+        }
+
+        @Test
+        @DisplayName("Should remove the line when the quantity drops to zero")
+        void shouldRemoveLineAtZero() {
+            // Arrange
+            Cart cart = stubCart(1);
+
+            // Act
+            CartDTO result = cartService.updateProductQuantityInCart(PRODUCT_ID, -1);
+
+            // Assert
+            assertTrue(cart.getCartItems().isEmpty());
+            assertTrue(result.getProducts().isEmpty());
+            assertEquals(0.0, result.getTotalPrice());
+            verify(cartItemRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a delta that would make the quantity negative")
+        void shouldRejectNegativeQuantity() {
+            // Arrange
+            stubCart(1);
+
+            // Act & Assert
+            APIException exception = assertThrows(APIException.class, () -> cartService.updateProductQuantityInCart(PRODUCT_ID, -2));
+            assertEquals("Quantity cannot be negative. Current quantity: 1", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should reject a product that is not in the cart")
+        void shouldRejectMissingLine() {
+            // Arrange
+            Cart cart = new Cart(CART_ID, new User(), new ArrayList<>());
+            when(authUtil.getLoggedInUserEmail()).thenReturn(EMAIL);
+            when(cartRepository.findCartByEmail(EMAIL)).thenReturn(cart);
+            when(cartRepository.findById(CART_ID)).thenReturn(Optional.of(cart));
+            when(productCache.getProduct(PRODUCT_ID)).thenReturn(summary());
+            when(productRepository.findQuantityByProductId(PRODUCT_ID)).thenReturn(Optional.of(5));
+
+            // Act & Assert
+            APIException exception = assertThrows(APIException.class, () -> cartService.updateProductQuantityInCart(PRODUCT_ID, 1));
+            assertTrue(exception.getMessage().contains("is not in the cart"));
+        }
+    }
+
+    @Nested
+    @DisplayName("deleteProductFromCart")
+    class DeleteProductFromCartTests {
+
+        @Test
+        @DisplayName("Should remove the line from the cart")
+        void shouldRemoveLine() {
+            // Arrange
+            Cart cart = cartWithItem(2);
+            when(cartRepository.findById(CART_ID)).thenReturn(Optional.of(cart));
+            when(cartItemRepository.findCartItemByProductIdAndCartId(CART_ID, PRODUCT_ID)).thenReturn(cart.getCartItems().getFirst());
+
+            // Act
+            String result = cartService.deleteProductFromCart(CART_ID, PRODUCT_ID);
+
+            // Assert
+            assertEquals("Product Laptop has been removed from the cart.", result);
+            assertTrue(cart.getCartItems().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when the cart does not exist")
+        void shouldThrowWhenCartMissing() {
+            // Arrange
+            when(cartRepository.findById(CART_ID)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(ResourceNotFoundException.class, () -> cartService.deleteProductFromCart(CART_ID, PRODUCT_ID));
+        }
+    }
+
+    @Nested
+    @DisplayName("getCart")
+    class GetCartTests {
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when the user has no such cart")
+        void shouldThrowWhenCartMissing() {
+            // Arrange
+            when(cartRepository.findCartByEmailAndCartId(EMAIL, CART_ID)).thenReturn(null);
+
+            // Act & Assert
+            ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> cartService.getCart(EMAIL, CART_ID));
+            assertTrue(exception.getMessage().contains("cartId"));
+        }
+    }
+
+    @Nested
+    @DisplayName("deleteProductFromAllCarts")
+    class DeleteProductFromAllCartsTests {
+
+        @Test
+        @DisplayName("Should delete one id range per chunk until no ids are left")
+        void shouldDeleteChunkByChunk() {
+            // Arrange
+            when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 0L, Limit.of(2))).thenReturn(List.of(3L, 7L));
+            when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 7L, Limit.of(2))).thenReturn(List.of(9L));
+            when(cartItemRepository.findCartItemIdsByProductIdAfter(PRODUCT_ID, 9L, Limit.of(2))).thenReturn(List.of());
+            when(cartItemRepository.deleteByProductIdInRange(PRODUCT_ID, 3L, 7L)).thenReturn(2);
+            when(cartItemRepository.deleteByProductIdInRange(PRODUCT_ID, 9L, 9L)).thenReturn(1);
+
+            // Act
+            int deleted = cartService.deleteProductFromAllCarts(PRODUCT_ID);
+
+            // Assert
+            assertEquals(3, deleted);
+            verify(cartItemRepository, times(2)).deleteByProductIdInRange(eq(PRODUCT_ID), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cart.getTotalPrice")
+    class TotalPriceTests {
+
+        private Cart cartOf(CartItem... items) {
+            Cart cart = new Cart(CART_ID, new User(), new ArrayList<>());
+            for (CartItem item : items) {
+                item.setCart(cart);
+                cart.getCartItems().add(item);
+            }
+            return cart;
+        }
+
+        @Test
+        @DisplayName("Should be 0.0 for an empty cart")
+        void shouldBeZeroForEmptyCart() {
+            assertEquals(0.0, cartOf().getTotalPrice());
+        }
+
+        @Test
+        @DisplayName("Should sum price times quantity without binary floating-point drift")
+        void shouldSumExactly() {
+            // 0.1 + 0.2 is 0.30000000000000004 in double arithmetic
+            Cart cart = cartOf(new CartItem(null, null, null, 1, 0.0, 0.1), new CartItem(null, null, null, 1, 0.0, 0.2));
+
+            assertEquals(0.3, cart.getTotalPrice());
+        }
+
+        @Test
+        @DisplayName("Should multiply by quantity before rounding")
+        void shouldMultiplyByQuantity() {
+            Cart cart = cartOf(new CartItem(null, null, null, 3, 0.0, 19.99), new CartItem(null, null, null, 7, 0.0, 0.1));
+
+            assertEquals(60.67, cart.getTotalPrice());
+        }
+
+        @Test
+        @DisplayName("Should round half-up to cents")
+        void shouldRoundHalfUpToCents() {
+            assertEquals(20.0, cartOf(new CartItem(null, null, null, 1, 0.0, 19.995)).getTotalPrice());
+            assertEquals(1.0, cartOf(new CartItem(null, null, null, 1, 0.0, 1.004)).getTotalPrice());
+            assertEquals(0.02, cartOf(new CartItem(null, null, null, 3, 0.0, 0.0083)).getTotalPrice());
+        }
+
+        @Test
+        @DisplayName("Should skip lines without a price or quantity")
+        void shouldSkipIncompleteLines() {
+            Cart cart = cartOf(new CartItem(null, null, null, null, 0.0, 5.0),
+                    new CartItem(null, null, null, 2, 0.0, null),
+                    new CartItem(null, null, null, 2, 0.0, 2.5));
+
+            assertEquals(5.0, cart.getTotalPrice());
+        }
+    }
+}
@@ -23,6 +23,8 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -30,6 +32,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -61,9 +64,11 @@ class CategoryControllerTest {
                 AppConstants.SORT_BY_CATEGORY_ID,
                 AppConstants.ASC_SORT_DIRECTION))
                 .thenReturn(categoryResponse);
+        when(categoryService.getCategoriesVersion()).thenReturn(0x1fL);
 
         mockMvc.perform(get("/api/v1/public/categories"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1f\""))
                 .andExpect(jsonPath("$.content[0].categoryId").value(1))
                 .andExpect(jsonPath("$.content[0].categoryName").value("Electronics"))
                 .andExpect(jsonPath("$.content[1].categoryId").value(2))
@@ -77,6 +82,18 @@ class CategoryControllerTest {
         verify(categoryService).getAllCategories(0, 50, "categoryId", "asc");
     }
 
+    @Test
+    void getAllCategoriesShouldReturnNotModifiedWithoutBuildingThePageWhenETagMatches() throws Exception {
+        when(categoryService.getCategoriesVersion()).thenReturn(0x1fL);
+
+        mockMvc.perform(get("/api/v1/public/categories").header("If-None-Match", "\"1f\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1f\""));
+
+        verify(categoryService).getCategoriesVersion();
+        verify(categoryService, never()).getAllCategories(any(), any(), any(), any());
+    }
+
     @Test
     void getAllCategoriesShouldForwardExplicitPaginationAndSortingParameters() throws Exception {
         CategoryRequest accessories = new CategoryRequest(11L, "Accessories");
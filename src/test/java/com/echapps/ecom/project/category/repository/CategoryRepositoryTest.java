@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -174,6 +175,15 @@ class CategoryRepositoryTest {
             assertEquals("Home Updated", updated.getCategoryName());
             assertEquals(1, categoryRepository.count());
         }
+
+        @Test
+        @DisplayName("Should reject a name that differs from an existing one only in case")
+        void shouldRejectNameDifferingOnlyInCase() {
+            categoryRepository.save(new Category(null, "Books", null));
+
+            assertThrows(DataIntegrityViolationException.class, () ->
+                    categoryRepository.save(new Category(null, "BOOKS", null)));
+        }
     }
 
     @Nested
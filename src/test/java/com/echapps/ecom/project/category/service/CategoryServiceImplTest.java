@@ -2,19 +2,22 @@ package com.echapps.ecom.project.category.service;
 
 import com.echapps.ecom.project.category.dto.request.CategoryRequest;
 import com.echapps.ecom.project.category.dto.response.CategoryResponse;
+import com.echapps.ecom.project.category.mapper.CategoryMapper;
 import com.echapps.ecom.project.category.model.Category;
 import com.echapps.ecom.project.category.repository.CategoryRepository;
 import com.echapps.ecom.project.exceptions.APIException;
 import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
-import tools.jackson.databind.ObjectMapper;
 
 import java.util.Collections;
 import java.util.List;
@@ -31,14 +34,17 @@ import static org.mockito.Mockito.*;
  * Rationale:
  * - JUnit 5 provides modern testing features with better parameterization and nested tests
  * - Mockito isolates the service from database/repository dependencies
- * - ObjectMapper is mocked to test pure business logic without JSON serialization concerns
+ * - CategoryMapper is a plain hand-written mapper, so the real instance is used and results are asserted on the mapped DTOs
  * - Tests follow the vertical slice architecture by residing in src/test/java/com/echapps/ecom/project/category/service/
  * - Nested test classes organize tests by method, improving readability and maintainability
  *
  * Test Coverage:
  * - Happy paths: successful operations with valid inputs
  * - Edge cases: empty results, null values, boundary conditions
- * - Error cases: exceptions thrown by repository, duplicate checks, not-found scenarios
+ * - Error cases: exceptions thrown by repository, case-insensitive duplicate checks, unique name violations, not-found scenarios
+ * - Category deletes: the products are deleted through the product service before the category
+ * - Catalog cache: pages and duplicate checks served from the real CategoryCatalogCache over the mocked
+ *   repository, rebuilt after writes
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("CategoryServiceImpl Unit Tests")
@@ -47,14 +53,17 @@ class CategoryServiceImplTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    private final CategoryMapper categoryMapper = new CategoryMapper();
+
     @Mock
-    private ObjectMapper objectMapper;
+    private ProductService productService;
 
     private CategoryServiceImpl categoryService;
 
     @BeforeEach
     void setUp() {
-        categoryService = new CategoryServiceImpl(categoryRepository, objectMapper);
+        categoryService = new CategoryServiceImpl(categoryRepository, categoryMapper, new CategoryCatalogCache(categoryRepository, categoryMapper),
+                productService);
     }
 
     @Nested
@@ -72,30 +81,21 @@ class CategoryServiceImplTest {
 
             Category category1 = new Category(1L, "Electronics", null);
             Category category2 = new Category(2L, "Books", null);
-            List<Category> categories = List.of(category1, category2);
-
-            Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
-            Page<Category> categoryPage = new PageImpl<>(categories, pageable, 2);
-
-            CategoryRequest catReq1 = new CategoryRequest(1L, "Electronics");
-            CategoryRequest catReq2 = new CategoryRequest(2L, "Books");
 
-            when(categoryRepository.findAll(pageable)).thenReturn(categoryPage);
-            when(objectMapper.convertValue(category1, CategoryRequest.class)).thenReturn(catReq1);
-            when(objectMapper.convertValue(category2, CategoryRequest.class)).thenReturn(catReq2);
+            when(categoryRepository.findAll()).thenReturn(List.of(category2, category1));
 
             // Act
             CategoryResponse response = categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder);
 
             // Assert
             assertNotNull(response);
-            assertEquals(2, response.getContent().size());
+            assertEquals(List.of(1L, 2L), response.getContent().stream().map(CategoryRequest::getCategoryId).toList());
             assertEquals(0, response.getPageNumber());
             assertEquals(50, response.getPageSize());
             assertEquals(2, response.getTotalElements());
             assertEquals(1, response.getTotalPages());
             assertEquals(true, response.getLastPage());
-            verify(categoryRepository).findAll(any(Pageable.class));
+            verify(categoryRepository, never()).findAll(any(Pageable.class));
         }
 
         @Test
@@ -107,46 +107,30 @@ class CategoryServiceImplTest {
             String sortBy = "categoryName";
             String sortOrder = "desc";
 
-            Category category = new Category(1L, "Fashion", null);
-            List<Category> categories = List.of(category);
-
-            Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-            Page<Category> categoryPage = new PageImpl<>(categories, pageable, 1);
-
-            CategoryRequest catReq = new CategoryRequest(1L, "Fashion");
-
-            when(categoryRepository.findAll(pageable)).thenReturn(categoryPage);
-            when(objectMapper.convertValue(category, CategoryRequest.class)).thenReturn(catReq);
+            when(categoryRepository.findAll()).thenReturn(List.of(
+                    new Category(1L, "Books", null),
+                    new Category(2L, "Fashion", null),
+                    new Category(3L, "electronics", null)));
 
             // Act
             CategoryResponse response = categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder);
 
             // Assert
             assertNotNull(response);
-            assertEquals(1, response.getContent().size());
-            assertEquals("Fashion", response.getContent().get(0).getCategoryName());
-            verify(categoryRepository).findAll(any(Pageable.class));
+            assertEquals(List.of("Fashion", "electronics", "Books"),
+                    response.getContent().stream().map(CategoryRequest::getCategoryName).toList());
         }
 
         @Test
         @DisplayName("Should throw APIException when no categories are found")
         void shouldThrowAPIExceptionWhenNoCategoriesFound() {
             // Arrange
-            Integer pageNumber = 0;
-            Integer pageSize = 50;
-            String sortBy = "categoryId";
-            String sortOrder = "asc";
-
-            Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
-            Page<Category> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-
-            when(categoryRepository.findAll(pageable)).thenReturn(emptyPage);
+            when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
 
             // Act & Assert
             APIException exception = assertThrows(APIException.class, () ->
-                    categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder));
+                    categoryService.getAllCategories(0, 50, "categoryId", "asc"));
             assertEquals("No categories found!", exception.getMessage());
-            verify(categoryRepository).findAll(any(Pageable.class));
         }
 
         @Test
@@ -158,30 +142,74 @@ class CategoryServiceImplTest {
             String sortBy = "categoryId";
             String sortOrder = "asc";
 
-            Category category3 = new Category(3L, "Accessories", null);
-            Category category4 = new Category(4L, "Home", null);
-            List<Category> categories = List.of(category3, category4);
-
-            Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
-            Page<Category> categoryPage = new PageImpl<>(categories, pageable, 5);
-
-            CategoryRequest catReq3 = new CategoryRequest(3L, "Accessories");
-            CategoryRequest catReq4 = new CategoryRequest(4L, "Home");
-
-            when(categoryRepository.findAll(pageable)).thenReturn(categoryPage);
-            when(objectMapper.convertValue(category3, CategoryRequest.class)).thenReturn(catReq3);
-            when(objectMapper.convertValue(category4, CategoryRequest.class)).thenReturn(catReq4);
+            when(categoryRepository.findAll()).thenReturn(List.of(
+                    new Category(1L, "Electronics", null),
+                    new Category(2L, "Books", null),
+                    new Category(3L, "Accessories", null),
+                    new Category(4L, "Home", null),
+                    new Category(5L, "Garden", null)));
 
             // Act
             CategoryResponse response = categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder);
 
             // Assert
+            assertEquals(List.of(3L, 4L), response.getContent().stream().map(CategoryRequest::getCategoryId).toList());
             assertEquals(1, response.getPageNumber());
             assertEquals(2, response.getPageSize());
             assertEquals(5, response.getTotalElements());
             assertEquals(3, response.getTotalPages());
             assertEquals(false, response.getLastPage());
         }
+
+        @Test
+        @DisplayName("Should throw APIException when sorting by an unsupported field")
+        void shouldThrowAPIExceptionForUnsupportedSortField() {
+            when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "Electronics", null)));
+
+            APIException exception = assertThrows(APIException.class, () ->
+                    categoryService.getAllCategories(0, 50, "products", "asc"));
+            assertTrue(exception.getMessage().startsWith("Sorting by products is not supported"));
+        }
+
+        @Test
+        @DisplayName("Should serve repeated requests from the cached catalog")
+        void shouldServeRepeatedRequestsFromCache() {
+            // Arrange
+            when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "Electronics", null)));
+
+            // Act
+            categoryService.getAllCategories(0, 50, "categoryId", "asc");
+            categoryService.getAllCategories(0, 10, "categoryName", "desc");
+
+            // Assert
+            verify(categoryRepository, times(1)).findAll();
+        }
+    }
+
+    @Nested
+    @DisplayName("getCategoriesVersion")
+    class GetCategoriesVersionTests {
+
+        @Test
+        @DisplayName("Should change the version when a write changes the catalog")
+        void shouldChangeVersionAfterWrite() {
+            // Arrange
+            Category sports = new Category(5L, "Sports", null);
+            when(categoryRepository.findAll())
+                    .thenReturn(List.of(new Category(1L, "Electronics", null)))
+                    .thenReturn(List.of(new Category(1L, "Electronics", null), sports));
+            when(categoryRepository.save(new Category(null, "Sports", null))).thenReturn(sports);
+
+            // Act
+            long before = categoryService.getCategoriesVersion();
+            long unchanged = categoryService.getCategoriesVersion();
+            categoryService.createCategory(new CategoryRequest(null, "Sports"));
+            long after = categoryService.getCategoriesVersion();
+
+            // Assert
+            assertEquals(before, unchanged);
+            assertNotEquals(before, after);
+        }
     }
 
     @Nested
@@ -195,12 +223,8 @@ class CategoryServiceImplTest {
             CategoryRequest request = new CategoryRequest(null, "Sports");
             Category categoryToSave = new Category(null, "Sports", null);
             Category savedCategory = new Category(5L, "Sports", null);
-            CategoryRequest response = new CategoryRequest(5L, "Sports");
 
-            when(objectMapper.convertValue(request, Category.class)).thenReturn(categoryToSave);
-            when(categoryRepository.findByCategoryName("Sports")).thenReturn(null);
             when(categoryRepository.save(categoryToSave)).thenReturn(savedCategory);
-            when(objectMapper.convertValue(savedCategory, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.createCategory(request);
@@ -209,8 +233,10 @@ class CategoryServiceImplTest {
             assertNotNull(result);
             assertEquals(5L, result.getCategoryId());
             assertEquals("Sports", result.getCategoryName());
-            verify(categoryRepository).findByCategoryName("Sports");
+            verify(categoryRepository, never()).findByCategoryName(any());
             verify(categoryRepository).save(categoryToSave);
+            // Once to check the name against the catalog, once to rebuild it after the insert
+            verify(categoryRepository, times(2)).findAll();
         }
 
         @Test
@@ -219,19 +245,43 @@ class CategoryServiceImplTest {
             // Arrange
             CategoryRequest request = new CategoryRequest(null, "Electronics");
             Category existingCategory = new Category(1L, "Electronics", null);
-            Category categoryToSave = new Category(null, "Electronics", null);
 
-            when(objectMapper.convertValue(request, Category.class)).thenReturn(categoryToSave);
-            when(categoryRepository.findByCategoryName("Electronics")).thenReturn(existingCategory);
+            when(categoryRepository.findAll()).thenReturn(List.of(existingCategory));
 
             // Act & Assert
             APIException exception = assertThrows(APIException.class, () ->
                     categoryService.createCategory(request));
             assertEquals("Category with name Electronics already exists!", exception.getMessage());
-            verify(categoryRepository).findByCategoryName("Electronics");
             verify(categoryRepository, never()).save(any(Category.class));
         }
 
+        @Test
+        @DisplayName("Should throw APIException when the name differs from an existing one only in case")
+        void shouldThrowAPIExceptionWhenNameDiffersOnlyInCase() {
+            // Arrange
+            CategoryRequest request = new CategoryRequest(null, "ELECTRONICS");
+            when(categoryRepository.findAll()).thenReturn(List.of(new Category(1L, "Electronics", null)));
+
+            // Act & Assert
+            APIException exception = assertThrows(APIException.class, () ->
+                    categoryService.createCategory(request));
+            assertEquals("Category with name ELECTRONICS already exists!", exception.getMessage());
+            verify(categoryRepository, never()).save(any(Category.class));
+        }
+
+        @Test
+        @DisplayName("Should throw APIException when the database rejects a name created meanwhile on another instance")
+        void shouldThrowAPIExceptionWhenUniqueNameIsViolated() {
+            // Arrange
+            CategoryRequest request = new CategoryRequest(null, "Sports");
+            when(categoryRepository.save(any(Category.class))).thenThrow(new DataIntegrityViolationException("uk category_name_key"));
+
+            // Act & Assert
+            APIException exception = assertThrows(APIException.class, () ->
+                    categoryService.createCategory(request));
+            assertEquals("Category with name Sports already exists!", exception.getMessage());
+        }
+
         @Test
         @DisplayName("Should handle null category name gracefully")
         void shouldHandleNullCategoryName() {
@@ -239,12 +289,8 @@ class CategoryServiceImplTest {
             CategoryRequest request = new CategoryRequest(null, null);
             Category categoryToSave = new Category(null, null, null);
             Category savedCategory = new Category(10L, null, null);
-            CategoryRequest response = new CategoryRequest(10L, null);
 
-            when(objectMapper.convertValue(request, Category.class)).thenReturn(categoryToSave);
-            when(categoryRepository.findByCategoryName(null)).thenReturn(null);
             when(categoryRepository.save(categoryToSave)).thenReturn(savedCategory);
-            when(objectMapper.convertValue(savedCategory, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.createCategory(request);
@@ -252,7 +298,6 @@ class CategoryServiceImplTest {
             // Assert
             assertNotNull(result);
             assertEquals(10L, result.getCategoryId());
-            verify(categoryRepository).findByCategoryName(null);
             verify(categoryRepository).save(categoryToSave);
         }
 
@@ -263,12 +308,8 @@ class CategoryServiceImplTest {
             CategoryRequest request = new CategoryRequest(null, "Health & Beauty");
             Category categoryToSave = new Category(null, "Health & Beauty", null);
             Category savedCategory = new Category(11L, "Health & Beauty", null);
-            CategoryRequest response = new CategoryRequest(11L, "Health & Beauty");
 
-            when(objectMapper.convertValue(request, Category.class)).thenReturn(categoryToSave);
-            when(categoryRepository.findByCategoryName("Health & Beauty")).thenReturn(null);
             when(categoryRepository.save(categoryToSave)).thenReturn(savedCategory);
-            when(objectMapper.convertValue(savedCategory, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.createCategory(request);
@@ -284,25 +325,27 @@ class CategoryServiceImplTest {
     class DeleteCategoryTests {
 
         @Test
-        @DisplayName("Should successfully delete an existing category")
+        @DisplayName("Should delete the category's products through the product service, then the category")
         void shouldSuccessfullyDeleteCategory() {
             // Arrange
             Long categoryId = 1L;
             Category category = new Category(1L, "Electronics", null);
-            CategoryRequest response = new CategoryRequest(1L, "Electronics");
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(objectMapper.convertValue(category, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.deleteCategory(categoryId);
 
             // Assert
+            InOrder inOrder = inOrder(productService, categoryRepository);
+            inOrder.verify(productService).deleteProductsByCategory(categoryId);
+            inOrder.verify(categoryRepository).delete(category);
             assertNotNull(result);
             assertEquals(1L, result.getCategoryId());
             assertEquals("Electronics", result.getCategoryName());
             verify(categoryRepository).findById(categoryId);
             verify(categoryRepository).delete(category);
+            verify(categoryRepository).findAll();
         }
 
         @Test
@@ -318,6 +361,7 @@ class CategoryServiceImplTest {
             assertEquals("Category not found with categoryId : 999", exception.getMessage());
             verify(categoryRepository).findById(categoryId);
             verify(categoryRepository, never()).delete(any(Category.class));
+            verifyNoInteractions(productService);
         }
 
         @Test
@@ -332,6 +376,7 @@ class CategoryServiceImplTest {
                     categoryService.deleteCategory(categoryId));
             verify(categoryRepository).findById(null);
             verify(categoryRepository, never()).delete(any(Category.class));
+            verifyNoInteractions(productService);
         }
 
         @Test
@@ -340,10 +385,8 @@ class CategoryServiceImplTest {
             // Arrange
             Long categoryId = 1L;
             Category category = new Category(1L, "First Category", null);
-            CategoryRequest response = new CategoryRequest(1L, "First Category");
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(objectMapper.convertValue(category, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.deleteCategory(categoryId);
@@ -367,12 +410,9 @@ class CategoryServiceImplTest {
             CategoryRequest updateRequest = new CategoryRequest(2L, "Books - Updated");
             Category existingCategory = new Category(2L, "Books", null);
             Category updatedCategory = new Category(2L, "Books - Updated", null);
-            CategoryRequest response = new CategoryRequest(2L, "Books");
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(existingCategory));
-            when(objectMapper.convertValue(updateRequest, Category.class)).thenReturn(updatedCategory);
             when(categoryRepository.save(updatedCategory)).thenReturn(updatedCategory);
-            when(objectMapper.convertValue(existingCategory, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.updateCategory(updateRequest, categoryId);
@@ -401,6 +441,21 @@ class CategoryServiceImplTest {
             verify(categoryRepository, never()).save(any(Category.class));
         }
 
+        @Test
+        @DisplayName("Should throw APIException when renaming to the name of another category")
+        void shouldThrowAPIExceptionWhenRenamingToExistingName() {
+            // Arrange
+            Long categoryId = 2L;
+            CategoryRequest updateRequest = new CategoryRequest(2L, "electronics");
+            when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(new Category(2L, "Books", null)));
+            when(categoryRepository.save(any(Category.class))).thenThrow(new DataIntegrityViolationException("uk category_name_key"));
+
+            // Act & Assert
+            APIException exception = assertThrows(APIException.class, () ->
+                    categoryService.updateCategory(updateRequest, categoryId));
+            assertEquals("Category with name electronics already exists!", exception.getMessage());
+        }
+
         @Test
         @DisplayName("Should update category name to null")
         void shouldUpdateCategoryNameToNull() {
@@ -409,12 +464,9 @@ class CategoryServiceImplTest {
             CategoryRequest updateRequest = new CategoryRequest(3L, null);
             Category existingCategory = new Category(3L, "Fashion", null);
             Category updatedCategory = new Category(3L, null, null);
-            CategoryRequest response = new CategoryRequest(3L, "Fashion");
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(existingCategory));
-            when(objectMapper.convertValue(updateRequest, Category.class)).thenReturn(updatedCategory);
             when(categoryRepository.save(updatedCategory)).thenReturn(updatedCategory);
-            when(objectMapper.convertValue(existingCategory, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.updateCategory(updateRequest, categoryId);
@@ -432,13 +484,10 @@ class CategoryServiceImplTest {
             Long categoryId = 4L;
             CategoryRequest updateRequest = new CategoryRequest(100L, "Updated Name"); // Wrong ID in request
             Category existingCategory = new Category(4L, "Home", null);
-            Category updatedCategory = new Category(100L, "Updated Name", null);
-            CategoryRequest response = new CategoryRequest(4L, "Home");
+            Category updatedCategory = new Category(4L, "Updated Name", null);
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(existingCategory));
-            when(objectMapper.convertValue(updateRequest, Category.class)).thenReturn(updatedCategory);
             when(categoryRepository.save(updatedCategory)).thenReturn(updatedCategory);
-            when(objectMapper.convertValue(existingCategory, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.updateCategory(updateRequest, categoryId);
@@ -446,7 +495,7 @@ class CategoryServiceImplTest {
             // Assert
             assertNotNull(result);
             // The service should set the categoryId to the path variable value
-            verify(categoryRepository).save(any(Category.class));
+            verify(categoryRepository).save(updatedCategory);
         }
 
         @Test
@@ -457,12 +506,9 @@ class CategoryServiceImplTest {
             CategoryRequest updateRequest = new CategoryRequest(5L, "Sports & Outdoors");
             Category existingCategory = new Category(5L, "Sports", null);
             Category updatedCategory = new Category(5L, "Sports & Outdoors", null);
-            CategoryRequest response = new CategoryRequest(5L, "Sports");
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(existingCategory));
-            when(objectMapper.convertValue(updateRequest, Category.class)).thenReturn(updatedCategory);
             when(categoryRepository.save(updatedCategory)).thenReturn(updatedCategory);
-            when(objectMapper.convertValue(existingCategory, CategoryRequest.class)).thenReturn(response);
 
             // Act
             CategoryRequest result = categoryService.updateCategory(updateRequest, categoryId);
@@ -0,0 +1,171 @@
+package com.echapps.ecom.project.order.service;
+
+import com.echapps.ecom.project.cart.model.Cart;
+import com.echapps.ecom.project.cart.model.CartItem;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
+import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.order.dto.request.OrderDTO;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.user.model.Address;
+import com.echapps.ecom.project.user.model.User;
+import com.echapps.ecom.project.user.repository.AddressRepository;
+import com.echapps.ecom.project.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for OrderServiceImpl.placeOrder against the embedded database.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Spring Boot @SpringBootTest
+ * Rationale:
+ * - Checkout is built on bulk JPQL/native statements, so it is verified against a real (H2) database
+ * - Hibernate statistics count the JDBC statements prepared during placeOrder
+ * - @Transactional rolls back all fixtures after each test
+ *
+ * Test Coverage:
+ * - Statement count is the same for a 1-item and a 5-item cart
+ * - Order items are created, stock is decremented and the cart is emptied
+ */
+@SpringBootTest
+@Transactional
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("OrderServiceImpl Checkout Integration Tests")
+class OrderServiceImplCheckoutTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // ---------------------------------------------------------------------------
+    // Helper builders
+    // ---------------------------------------------------------------------------
+
+    private record Checkout(String email, Long addressId, Long cartId, List<Long> productIds) {
+    }
+
+    private Checkout prepareCheckout(String userName, int cartSize) {
+        User user = userRepository.save(new User(userName, userName + "@example.com", "password"));
+        Category category = categoryRepository.save(new Category(null, "Category " + userName, null));
+
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartRepository.save(cart);
+
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < cartSize; i++) {
+            Product product = new Product();
+            product.setProductName(userName + " product " + i);
+            product.setDescription("A valid description for testing");
+            product.setImage("default.png");
+            product.setQuantity(10);
+            product.setPrice(10.0);
+            product.setDiscount(0.0);
+            product.setSpecialPrice(10.0);
+            product.setCategory(category);
+            product = productRepository.save(product);
+            productIds.add(product.getProductId());
+
+            cartItemRepository.save(new CartItem(null, cart, product, 2, 0.0, 10.0));
+        }
+
+        Address address = new Address("Main Street", "Springfield", "State", "Country", "12345");
+        address.setUser(user);
+        address = addressRepository.save(address);
+
+        entityManager.flush();
+        entityManager.clear();
+        return new Checkout(user.getEmail(), address.getAddressId(), cart.getCartId(), productIds);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long countStatementsForCheckout(Checkout checkout) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        orderService.placeOrder(checkout.email(), checkout.addressId(), "card", "stripe", "pg-1", "OK", "Paid");
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // ===========================================================================
+    // placeOrder
+    // ===========================================================================
+
+    @Test
+    @DisplayName("Should issue the same number of SQL statements regardless of cart size")
+    void shouldUseConstantStatementCountRegardlessOfCartSize() {
+        Checkout smallCart = prepareCheckout("smallcart", 1);
+        Checkout largeCart = prepareCheckout("largecart", 5);
+
+        long smallCartStatements = countStatementsForCheckout(smallCart);
+        entityManager.clear();
+        long largeCartStatements = countStatementsForCheckout(largeCart);
+
+        assertTrue(smallCartStatements > 0);
+        assertEquals(smallCartStatements, largeCartStatements);
+    }
+
+    @Test
+    @DisplayName("Should create order items, decrement stock and empty the cart")
+    void shouldCreateOrderItemsDecrementStockAndEmptyCart() {
+        Checkout checkout = prepareCheckout("checkout", 3);
+
+        OrderDTO order = orderService.placeOrder(checkout.email(), checkout.addressId(), "card", "stripe", "pg-1", "OK", "Paid");
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3, order.getOrderItems().size());
+        assertEquals(60.0, order.getTotalAmount());
+        order.getOrderItems().forEach(item -> assertEquals(2, item.getQuantity()));
+        order.getOrderItems().forEach(item -> assertEquals(8, item.getProduct().getQuantity()));
+
+        checkout.productIds().forEach(productId ->
+                assertEquals(8, productRepository.findById(productId).orElseThrow().getQuantity()));
+
+        Cart cart = cartRepository.findById(checkout.cartId()).orElseThrow();
+        assertTrue(cart.getCartItems().isEmpty());
+        assertEquals(0.0, cart.getTotalPrice());
+    }
+}
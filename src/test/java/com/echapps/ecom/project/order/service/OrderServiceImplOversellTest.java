@@ -0,0 +1,151 @@
+package com.echapps.ecom.project.order.service;
+
+import com.echapps.ecom.project.cart.model.Cart;
+import com.echapps.ecom.project.cart.model.CartItem;
+import com.echapps.ecom.project.cart.repository.CartItemRepository;
+import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.exceptions.APIException;
+import com.echapps.ecom.project.order.repository.OrderRepository;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.user.model.Address;
+import com.echapps.ecom.project.user.model.User;
+import com.echapps.ecom.project.user.repository.AddressRepository;
+import com.echapps.ecom.project.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency test for OrderServiceImpl.placeOrder stock reservation.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Spring Boot @SpringBootTest
+ * Rationale:
+ * - Oversell can only be observed with real concurrent transactions, so each order runs in its own
+ *   service transaction against H2 (no test-level @Transactional)
+ * - A dedicated in-memory database keeps the committed fixtures away from the other test classes
+ * - A latch releases all checkouts at once to maximise contention on the single product row
+ *
+ * Test Coverage:
+ * - Hundreds of concurrent one-unit orders against one SKU never drive stock below zero
+ * - Every successful order consumed exactly one unit; every rejected order failed with the stock error
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:oversell;LOCK_TIMEOUT=30000")
+@DisplayName("OrderServiceImpl Oversell Concurrency Tests")
+class OrderServiceImplOversellTest {
+
+    private static final int INITIAL_STOCK = 50;
+    private static final int ORDERS = 200;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private record Checkout(String email, Long addressId) {
+    }
+
+    private Checkout prepareCheckout(int index, Product product) {
+        String userName = "flash" + index;
+        User user = userRepository.save(new User(userName, userName + "@example.com", "password"));
+
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartRepository.save(cart);
+        cartItemRepository.save(new CartItem(null, cart, product, 1, 0.0, product.getSpecialPrice()));
+
+        Address address = new Address("Main Street", "Springfield", "State", "Country", "12345");
+        address.setUser(user);
+        address = addressRepository.save(address);
+        return new Checkout(user.getEmail(), address.getAddressId());
+    }
+
+    @Test
+    @DisplayName("Should never oversell a single SKU under hundreds of concurrent checkouts")
+    void shouldNeverOversellUnderConcurrentCheckouts() throws Exception {
+        Category category = categoryRepository.save(new Category(null, "Flash Sale", null));
+        Product product = new Product();
+        product.setProductName("Limited Edition Sneaker");
+        product.setDescription("Only a few pairs available");
+        product.setImage("default.png");
+        product.setQuantity(INITIAL_STOCK);
+        product.setPrice(100.0);
+        product.setDiscount(0.0);
+        product.setSpecialPrice(100.0);
+        product.setCategory(category);
+        Product sku = productRepository.save(product);
+
+        List<Checkout> checkouts = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            checkouts.add(prepareCheckout(i, sku));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Checkout checkout : checkouts) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.placeOrder(checkout.email(), checkout.addressId(), "card", "stripe", "pg", "OK", "Paid");
+                    return true;
+                } catch (APIException e) {
+                    assertTrue(e.getMessage().startsWith("Not enough stock"));
+                    return false;
+                }
+            }));
+        }
+
+        start.countDown();
+        int successfulOrders = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(60, TimeUnit.SECONDS)) {
+                successfulOrders++;
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int remainingStock = productRepository.findById(sku.getProductId()).orElseThrow().getQuantity();
+        assertTrue(remainingStock >= 0, "stock went negative: " + remainingStock);
+        assertTrue(successfulOrders <= INITIAL_STOCK, "oversold: " + successfulOrders + " orders for " + INITIAL_STOCK + " units");
+        assertEquals(INITIAL_STOCK - remainingStock, successfulOrders);
+        assertEquals(successfulOrders, orderRepository.count());
+    }
+}
@@ -5,7 +5,9 @@ import com.echapps.ecom.project.exceptions.APIException;
 import com.echapps.ecom.project.exceptions.GlobalExceptionHandler;
 import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
 import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
 import com.echapps.ecom.project.product.dto.response.ProductResponse;
+import com.echapps.ecom.project.product.dto.response.ProductSuggestion;
 import com.echapps.ecom.project.product.service.ProductService;
 import com.echapps.ecom.project.security.jwt.AuthTokenFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -25,19 +27,23 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMultipartHttpServletRequestBuilder;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -206,6 +212,26 @@ class ProductControllerTest {
             verify(productService).getAllProducts(0, 50, "productId", "asc");
         }
 
+        @Test
+        void getAllProductsShouldUseCursorPaginationWhenAfterIsPresent() throws Exception {
+            ProductRequest p1 = new ProductRequest(3L, "Monitor", null, "", 2, 200.0, 0.0, 200.0);
+            ProductResponse response = new ProductResponse(List.of(p1), null, 1, null, null, false, "bmV4dA");
+
+            when(productService.scrollAllProducts("cHJldg", 1, "productId", "asc")).thenReturn(response);
+
+            mockMvc.perform(get("/api/v1/public/products")
+                            .param("after",    "cHJldg")
+                            .param("pageSize", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].productName").value("Monitor"))
+                    .andExpect(jsonPath("$.nextCursor").value("bmV4dA"))
+                    .andExpect(jsonPath("$.lastPage").value(false));
+
+            verify(productService).scrollAllProducts("cHJldg", 1, "productId", "asc");
+            verify(productService).getCatalogVersion();
+            verifyNoMoreInteractions(productService);
+        }
+
         @Test
         void getAllProductsShouldReturnBadRequestWhenPageNumberIsNotNumeric() throws Exception {
             mockMvc.perform(get("/api/v1/public/products").param("pageNumber", "abc"))
@@ -359,6 +385,96 @@ class ProductControllerTest {
         }
     }
 
+    // =========================================================================
+    // Conditional GET — ETag / If-None-Match on the public listings
+    // =========================================================================
+
+    @Nested
+    @DisplayName("Conditional GET — ETag / If-None-Match")
+    class ConditionalGet {
+
+        @Test
+        void getAllProductsShouldReturnCatalogETagAndRevalidationCacheControl() throws Exception {
+            ProductResponse response = new ProductResponse(List.of(), 0, 50, 0L, 0, true);
+            when(productService.getCatalogVersion()).thenReturn(0xabcL);
+            when(productService.getAllProducts(0, 50, "productId", "asc")).thenReturn(response);
+
+            mockMvc.perform(get("/api/v1/public/products"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"abc\""))
+                    .andExpect(header().string("Cache-Control", containsString("no-cache")));
+        }
+
+        @Test
+        void getAllProductsShouldReturnNotModifiedWithoutQueryingThePageWhenETagMatches() throws Exception {
+            when(productService.getCatalogVersion()).thenReturn(0xabcL);
+
+            mockMvc.perform(get("/api/v1/public/products").header("If-None-Match", "\"abc\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"abc\""));
+
+            verify(productService).getCatalogVersion();
+            verifyNoMoreInteractions(productService);
+        }
+
+        @Test
+        void getProductsByCategoryShouldReturnNotModifiedWhenETagMatches() throws Exception {
+            when(productService.getCatalogVersion()).thenReturn(0x1L);
+
+            mockMvc.perform(get("/api/v1/public/categories/{categoryId}/products", 1L).header("If-None-Match", "\"1\""))
+                    .andExpect(status().isNotModified());
+
+            verify(productService).getCatalogVersion();
+            verifyNoMoreInteractions(productService);
+        }
+
+        @Test
+        void searchProductsByKeywordShouldReturnPageWhenETagIsStale() throws Exception {
+            ProductRequest p1 = new ProductRequest(8L, "Gaming Mouse", null, "", 4, 49.0, 0.0, 49.0);
+            ProductResponse response = new ProductResponse(List.of(p1), 0, 50, 1L, 1, true);
+            when(productService.getCatalogVersion()).thenReturn(0x2L);
+            when(productService.searchProductsByKeyword("mouse", 0, 50, "productId", "asc")).thenReturn(response);
+
+            mockMvc.perform(get("/api/v1/public/products/keyword/{keyword}", "mouse").header("If-None-Match", "\"1\""))
+                    .andExpect(status().isFound())
+                    .andExpect(header().string("ETag", "\"2\""))
+                    .andExpect(jsonPath("$.content[0].productId").value(8));
+        }
+    }
+
+    // =========================================================================
+    // suggestProductNames — GET /api/v1/public/products/suggestions
+    // =========================================================================
+
+    @Nested
+    @DisplayName("suggestProductNames — GET /api/v1/public/products/suggestions")
+    class SuggestProductNames {
+
+        @Test
+        void suggestProductNamesShouldReturnSuggestionsWithDefaultLimit() throws Exception {
+            when(productService.suggestProductNames("mou", 10))
+                    .thenReturn(List.of(new ProductSuggestion(8L, "Gaming Mouse")));
+
+            mockMvc.perform(get("/api/v1/public/products/suggestions").param("q", "mou"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].productId").value(8))
+                    .andExpect(jsonPath("$[0].productName").value("Gaming Mouse"));
+
+            verify(productService).suggestProductNames("mou", 10);
+        }
+
+        @Test
+        void suggestProductNamesShouldForwardExplicitLimit() throws Exception {
+            when(productService.suggestProductNames("x", 3)).thenReturn(List.of());
+
+            mockMvc.perform(get("/api/v1/public/products/suggestions").param("q", "x").param("limit", "3"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(0));
+
+            verify(productService).suggestProductNames("x", 3);
+        }
+    }
+
     // =========================================================================
     // updateProduct — PUT /api/v1/admin/products/{productId}
     // =========================================================================
@@ -490,20 +606,21 @@ class ProductControllerTest {
     class UpdateProductImage {
 
         @Test
-        void updateProductImageShouldReturnUpdatedProductWithNewImageUrl() throws Exception {
+        void updateProductImageShouldAcceptImageAndReturnPendingUploadJob() throws Exception {
             MockMultipartFile image = new MockMultipartFile("image", "phone.jpg", "image/jpeg", "img-bytes".getBytes());
-            ProductRequest updated  = new ProductRequest(12L, "Phone", "images/phone.jpg", "", 1, 900.0, 0.0, 900.0);
+            ImageUploadJobResponse job = new ImageUploadJobResponse(12L, ImageUploadJobResponse.Status.PENDING, null,
+                    Instant.parse("2026-01-01T00:00:00Z"), null, null);
 
-            when(productService.updateProductImage(12L, image)).thenReturn(updated);
+            when(productService.updateProductImage(12L, image)).thenReturn(job);
 
             MockMultipartHttpServletRequestBuilder request =
                     multipart("/api/v1/admin/products/{productId}/image", 12L).file(image);
             request.with(req -> { req.setMethod("PUT"); return req; });
 
             mockMvc.perform(request)
-                    .andExpect(status().isOk())
+                    .andExpect(status().isAccepted())
                     .andExpect(jsonPath("$.productId").value(12))
-                    .andExpect(jsonPath("$.image").value("images/phone.jpg"));
+                    .andExpect(jsonPath("$.status").value("PENDING"));
 
             verify(productService).updateProductImage(12L, image);
         }
@@ -0,0 +1,82 @@
+package com.echapps.ecom.project.product.mapper;
+
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH micro-benchmark comparing reflective ObjectMapper.convertValue with the
+ * hand-written ProductMapper for a single catalog page of products.
+ *
+ * Not part of the unit test run (no @Test methods). Run it from the IDE via
+ * {@link #main(String[])} or with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.echapps.ecom.project.product.mapper.ProductMapperBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductMapperBenchmark {
+
+    @Param({"50"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ProductMapper productMapper = new ProductMapper();
+
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Product product = new Product();
+            product.setProductId(i);
+            product.setProductName("Product " + i);
+            product.setImage("default.png");
+            product.setDescription("A product description");
+            product.setQuantity(10);
+            product.setPrice(100.0);
+            product.setDiscount(10.0);
+            product.setSpecialPrice(90.0);
+            products.add(product);
+        }
+    }
+
+    @Benchmark
+    public List<ProductRequest> objectMapperConvertValue() {
+        List<ProductRequest> content = new ArrayList<>(products.size());
+        for (Product product : products) {
+            content.add(objectMapper.convertValue(product, ProductRequest.class));
+        }
+        return content;
+    }
+
+    @Benchmark
+    public List<ProductRequest> handWrittenMapper() {
+        List<ProductRequest> content = new ArrayList<>(products.size());
+        for (Product product : products) {
+            content.add(productMapper.toProductRequest(product));
+        }
+        return content;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProductMapperBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.echapps.ecom.project.product.mapper;
+
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ProductImageUrls;
+import com.echapps.ecom.project.product.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductMapper.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter)
+ * Rationale:
+ * - ProductMapper has no dependencies, so it is instantiated directly without Mockito or a Spring context
+ * - Tests follow the vertical slice architecture by residing in src/test/java/com/echapps/ecom/project/product/mapper/
+ *
+ * Test Coverage:
+ * - Entity to DTO and DTO to entity copy every field
+ * - Null input returns null
+ * - Image URLs derived from the image name, with and without renditions
+ */
+@DisplayName("ProductMapper Unit Tests")
+class ProductMapperTest {
+
+    private final ProductMapper productMapper = new ProductMapper();
+
+    @Test
+    @DisplayName("Should copy every field from Product to ProductRequest")
+    void shouldMapProductToProductRequest() {
+        Product product = new Product();
+        product.setProductId(1L);
+        product.setProductName("Laptop");
+        product.setImage("laptop.png");
+        product.setDescription("A product description");
+        product.setQuantity(5);
+        product.setPrice(1000.0);
+        product.setDiscount(10.0);
+        product.setSpecialPrice(900.0);
+
+        ProductRequest result = productMapper.toProductRequest(product);
+
+        assertEquals(1L, result.getProductId());
+        assertEquals("Laptop", result.getProductName());
+        assertEquals("laptop.png", result.getImage());
+        assertEquals("A product description", result.getDescription());
+        assertEquals(5, result.getQuantity());
+        assertEquals(1000.0, result.getPrice());
+        assertEquals(10.0, result.getDiscount());
+        assertEquals(900.0, result.getSpecialPrice());
+    }
+
+    @Test
+    @DisplayName("Should copy every field from ProductRequest to Product")
+    void shouldMapProductRequestToProduct() {
+        ProductRequest request = new ProductRequest(2L, "Phone", "phone.png", "A phone", 3, 500.0, 20.0, 400.0);
+
+        Product result = productMapper.toProduct(request);
+
+        assertEquals(2L, result.getProductId());
+        assertEquals("Phone", result.getProductName());
+        assertEquals("phone.png", result.getImage());
+        assertEquals("A phone", result.getDescription());
+        assertEquals(3, result.getQuantity());
+        assertEquals(500.0, result.getPrice());
+        assertEquals(20.0, result.getDiscount());
+        assertEquals(400.0, result.getSpecialPrice());
+        assertNull(result.getCategory());
+    }
+
+    @Test
+    @DisplayName("Should return null for null input")
+    void shouldReturnNullForNullInput() {
+        assertNull(productMapper.toProductRequest(null));
+        assertNull(productMapper.toProduct(null));
+    }
+
+    @Test
+    @DisplayName("Should expose rendition URLs derived from a content-addressed image name")
+    void shouldExposeRenditionUrls() {
+        String contentHash = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+        ProductRequest request = new ProductRequest(3L, "Tablet", contentHash + ".png", null, 1, 300.0, 0.0, 300.0);
+
+        ProductImageUrls images = request.getImages();
+
+        assertEquals("/images/" + contentHash + ".png", images.original());
+        assertEquals("/images/" + contentHash + "_medium.jpg", images.medium());
+        assertEquals("/images/" + contentHash + "_thumb.jpg", images.thumbnail());
+    }
+
+    @Test
+    @DisplayName("Should point every URL at the original for images stored without renditions")
+    void shouldFallBackToOriginalForLegacyImages() {
+        ProductRequest request = new ProductRequest(4L, "Mouse", "default.png", null, 1, 20.0, 0.0, 20.0);
+
+        ProductImageUrls images = request.getImages();
+
+        assertEquals(new ProductImageUrls("/images/default.png", "/images/default.png", "/images/default.png"), images);
+    }
+}
@@ -2,22 +2,31 @@ package com.echapps.ecom.project.product.repository;
 
 import com.echapps.ecom.project.category.model.Category;
 import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
 import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.utils.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,6 +43,8 @@ import static org.junit.jupiter.api.Assertions.*;
  *
  * Test Coverage:
  * - Custom queries: findByCategoryOrderByPriceAsc, findByProductNameLikeIgnoreCase
+ * - Catalog projections: findAllProductRequests, findProductRequestsByCategory, findProductRequestsByProductNameLikeIgnoreCase
+ * - Cursor pagination: scrollProductRequests* with ties and products without a value for the sort key
  * - Inherited JPA operations: findAll(Pageable), findById, save, deleteById
  * - Edge cases: empty results, category isolation, pagination, case-insensitive matching
  */
@@ -509,4 +520,183 @@ class ProductRepositoryTest {
             assertEquals(0, productRepository.count());
         }
     }
+
+    // ===========================================================================
+    // Cursor pagination -> scrollProductRequests / scrollProductRequestsByCategory (..., KeysetScrollPosition, Sort, Limit)
+    // ===========================================================================
+
+    @Nested
+    @DisplayName("Cursor pagination -> Window<ProductRequest>")
+    class KeysetScrollTests {
+
+        private final Sort priceThenId = Sort.by("price").ascending().and(Sort.by("productId").ascending());
+        private final Map<String, Function<String, Object>> sortKeys = Map.of("price", Double::valueOf, "productId", Long::valueOf);
+
+        // Walks every page, carrying the position over as an opaque cursor like a client does
+        private List<String> scrollAllNames(Sort sort, int pageSize) {
+            List<String> names = new ArrayList<>();
+            String cursor = null;
+            Window<ProductRequest> window;
+            do {
+                window = productRepository.scrollProductRequests(KeysetCursor.decode(cursor, sort, sortKeys), sort, Limit.of(pageSize));
+                window.forEach(product -> names.add(product.getProductName()));
+                cursor = window.isEmpty() ? cursor : KeysetCursor.encode(window.positionAt(window.size() - 1));
+            } while (window.hasNext());
+            return names;
+        }
+
+        @Test
+        @DisplayName("Should walk every product exactly once across pages, including ties on the sort key")
+        void shouldWalkAllProductsWithoutDuplicates() {
+            productRepository.save(buildProduct("Alpha", 10.0, null));
+            productRepository.save(buildProduct("Bravo", 10.0, null));
+            productRepository.save(buildProduct("Charlie", 10.0, null));
+            productRepository.save(buildProduct("Delta", 20.0, null));
+            productRepository.save(buildProduct("Echo", 5.0, null));
+
+            List<String> names = new ArrayList<>();
+            KeysetScrollPosition position = ScrollPosition.keyset();
+            Window<ProductRequest> window;
+            do {
+                window = productRepository.scrollProductRequests(position, priceThenId, Limit.of(2));
+                window.forEach(product -> names.add(product.getProductName()));
+                position = window.isEmpty() ? position : (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            } while (window.hasNext());
+
+            assertEquals(List.of("Echo", "Alpha", "Bravo", "Charlie", "Delta"), names);
+        }
+
+        @Test
+        @DisplayName("Should resume after a cursor round-tripped through its opaque token")
+        void shouldResumeFromEncodedCursor() {
+            productRepository.save(buildProduct("Alpha", 10.0, null));
+            productRepository.save(buildProduct("Bravo", 20.0, null));
+            productRepository.save(buildProduct("Charlie", 30.0, null));
+
+            Window<ProductRequest> first = productRepository.scrollProductRequests(ScrollPosition.keyset(), priceThenId, Limit.of(1));
+            String cursor = KeysetCursor.encode(first.positionAt(0));
+
+            Window<ProductRequest> second = productRepository.scrollProductRequests(KeysetCursor.decode(cursor, priceThenId, sortKeys), priceThenId, Limit.of(1));
+
+            assertEquals("Bravo", second.getContent().getFirst().getProductName());
+            assertTrue(second.hasNext());
+        }
+
+        @Test
+        @DisplayName("Should list products without a price last and page through them in either direction")
+        void shouldScrollPastProductsWithoutSortValue() {
+            productRepository.save(buildProduct("Alpha", 10.0, null));
+            productRepository.save(buildProduct("Bravo", null, null));
+            productRepository.save(buildProduct("Charlie", 20.0, null));
+            productRepository.save(buildProduct("Delta", null, null));
+            productRepository.save(buildProduct("Echo", 10.0, null));
+
+            assertEquals(List.of("Alpha", "Echo", "Charlie", "Bravo", "Delta"), scrollAllNames(priceThenId, 2));
+            assertEquals(List.of("Alpha", "Echo", "Charlie", "Bravo", "Delta"), scrollAllNames(priceThenId, 1));
+
+            Sort priceThenIdDescending = Sort.by("price").descending().and(Sort.by("productId").descending());
+            assertEquals(List.of("Charlie", "Echo", "Alpha", "Delta", "Bravo"), scrollAllNames(priceThenIdDescending, 2));
+        }
+
+        @Test
+        @DisplayName("Should only return products of the given category")
+        void shouldScrollWithinCategory() {
+            Category electronics = saveCategory("Electronics");
+            Category books = saveCategory("Books");
+            productRepository.save(buildProduct("Laptop", 999.0, electronics));
+            productRepository.save(buildProduct("Novel", 15.0, books));
+
+            Window<ProductRequest> window = productRepository.scrollProductRequestsByCategory(electronics, ScrollPosition.keyset(), priceThenId, Limit.of(10));
+
+            assertEquals(1, window.size());
+            assertEquals("Laptop", window.getContent().getFirst().getProductName());
+            assertFalse(window.hasNext());
+        }
+
+        @Test
+        @DisplayName("Should only return products whose name matches the keyword, ignoring case")
+        void shouldScrollByKeyword() {
+            productRepository.save(buildProduct("Gaming Laptop", 999.0, null));
+            productRepository.save(buildProduct("Laptop Stand", 25.0, null));
+            productRepository.save(buildProduct("Novel", 15.0, null));
+
+            Window<ProductRequest> window = productRepository.scrollProductRequestsByProductNameLikeIgnoreCase("%LAPTOP%", ScrollPosition.keyset(), priceThenId, Limit.of(10));
+
+            assertEquals(List.of("Laptop Stand", "Gaming Laptop"), window.map(ProductRequest::getProductName).getContent());
+        }
+    }
+
+    // ===========================================================================
+    // Catalog projections -> ProductRequest constructor expressions
+    // ===========================================================================
+
+    @Nested
+    @DisplayName("Catalog projections -> ProductRequest")
+    class ProductRequestProjectionTests {
+
+        @Test
+        @DisplayName("Should project every catalog column from findAllProductRequests")
+        void shouldProjectAllColumns() {
+            Product saved = productRepository.save(buildProduct("Laptop", 999.0, null));
+
+            Page<ProductRequest> page = productRepository.findAllProductRequests(PageRequest.of(0, 10));
+
+            assertEquals(1, page.getTotalElements());
+            ProductRequest projected = page.getContent().get(0);
+            assertEquals(saved.getProductId(), projected.getProductId());
+            assertEquals("Laptop", projected.getProductName());
+            assertEquals("default.png", projected.getImage());
+            assertEquals("A valid description for testing", projected.getDescription());
+            assertEquals(10, projected.getQuantity());
+            assertEquals(999.0, projected.getPrice());
+            assertEquals(0.0, projected.getDiscount());
+            assertEquals(999.0, projected.getSpecialPrice());
+        }
+
+        @Test
+        @DisplayName("Should apply Pageable sort and report totals for findAllProductRequests")
+        void shouldApplySortAndPagination() {
+            productRepository.save(buildProduct("Phone",  699.0, null));
+            productRepository.save(buildProduct("Laptop", 999.0, null));
+            productRepository.save(buildProduct("Mouse",   30.0, null));
+
+            Page<ProductRequest> page = productRepository.findAllProductRequests(
+                    PageRequest.of(0, 2, Sort.by("price").descending()));
+
+            assertEquals(3, page.getTotalElements());
+            assertEquals(2, page.getTotalPages());
+            assertEquals("Laptop", page.getContent().get(0).getProductName());
+            assertEquals("Phone",  page.getContent().get(1).getProductName());
+        }
+
+        @Test
+        @DisplayName("Should only project products in the given category, ordered by price ascending")
+        void shouldProjectProductsByCategory() {
+            Category electronics = saveCategory("Electronics");
+            Category books       = saveCategory("Books");
+            productRepository.save(buildProduct("Laptop", 999.0, electronics));
+            productRepository.save(buildProduct("Mouse",   30.0, electronics));
+            productRepository.save(buildProduct("Java Guide", 50.0, books));
+
+            Page<ProductRequest> page = productRepository.findProductRequestsByCategory(
+                    electronics, PageRequest.of(0, 10));
+
+            assertEquals(2, page.getTotalElements());
+            assertEquals("Mouse",  page.getContent().get(0).getProductName());
+            assertEquals("Laptop", page.getContent().get(1).getProductName());
+        }
+
+        @Test
+        @DisplayName("Should match keyword case-insensitively in the projected search")
+        void shouldProjectProductsByKeyword() {
+            productRepository.save(buildProduct("Laptop Pro", 1200.0, null));
+            productRepository.save(buildProduct("Keyboard",     80.0, null));
+
+            Page<ProductRequest> page = productRepository.findProductRequestsByProductNameLikeIgnoreCase(
+                    "%laptop%", PageRequest.of(0, 10));
+
+            assertEquals(1, page.getTotalElements());
+            assertEquals("Laptop Pro", page.getContent().get(0).getProductName());
+        }
+    }
 }
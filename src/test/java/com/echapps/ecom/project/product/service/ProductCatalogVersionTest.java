@@ -0,0 +1,96 @@
+package com.echapps.ecom.project.product.service;
+
+import com.echapps.ecom.project.product.repository.CatalogVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for ProductCatalogVersion against the embedded database.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Spring Boot @SpringBootTest
+ * Rationale:
+ * - The version is a shared database row, so it is verified against a real (H2) database
+ * - Two ProductCatalogVersion instances over the same database stand for two application instances
+ * - No class-level @Transactional: the tests commit and roll back their own transactions
+ *
+ * Test Coverage:
+ * - The row is created on startup, and creating it again leaves the version alone
+ * - A change made through one instance is read by the other
+ * - A change commits and rolls back with the transaction of the catalog write
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@DisplayName("ProductCatalogVersion Integration Tests")
+class ProductCatalogVersionTest {
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ProductCatalogVersion instanceA;
+    private ProductCatalogVersion instanceB;
+
+    @BeforeEach
+    void setUp() {
+        instanceA = new ProductCatalogVersion(catalogVersionRepository, transactionManager);
+        instanceB = new ProductCatalogVersion(catalogVersionRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should create the version row on startup and keep its version when created again")
+    void shouldCreateRowOnStartup() {
+        // Arrange
+        assertTrue(catalogVersionRepository.existsById(ProductCatalogVersion.PRODUCTS));
+        long version = instanceA.get();
+
+        // Act
+        instanceA.createIfMissing();
+
+        // Assert
+        assertEquals(version, instanceA.get());
+    }
+
+    @Test
+    @DisplayName("Should let every instance read a change made through another")
+    void shouldShareVersionBetweenInstances() {
+        // Arrange
+        long before = instanceB.get();
+
+        // Act
+        instanceA.changed();
+
+        // Assert
+        assertEquals(before + 1, instanceB.get());
+        assertEquals(instanceA.get(), instanceB.get());
+    }
+
+    @Test
+    @DisplayName("Should commit and roll back the change with the transaction of the catalog write")
+    void shouldFollowTheWriteTransaction() {
+        // Arrange
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long before = instanceB.get();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            instanceA.changed();
+            status.setRollbackOnly();
+        });
+        long afterRollback = instanceB.get();
+        transactionTemplate.executeWithoutResult(status -> instanceA.changed());
+
+        // Assert
+        assertEquals(before, afterRollback);
+        assertEquals(before + 1, instanceB.get());
+    }
+}
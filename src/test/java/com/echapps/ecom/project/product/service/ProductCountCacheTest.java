@@ -0,0 +1,74 @@
+package com.echapps.ecom.project.product.service;
+
+import com.echapps.ecom.project.product.repository.CategoryProductCount;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ProductCountCache.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) with Mockito
+ * Rationale:
+ * - The GROUP BY query is mocked, so the snapshot logic is tested without a database
+ *
+ * Test Coverage:
+ * - Per-category and total counts, products without a category
+ * - Lazy first load and explicit refresh
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCountCache Unit Tests")
+class ProductCountCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCountCache productCountCache;
+
+    @BeforeEach
+    void setUp() {
+        productCountCache = new ProductCountCache(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should expose per-category counts and a total that includes uncategorised products")
+    void shouldExposeCategoryAndTotalCounts() {
+        when(productRepository.countProductsByCategory()).thenReturn(List.of(
+                new CategoryProductCount(1L, 40L),
+                new CategoryProductCount(2L, 55L),
+                new CategoryProductCount(null, 5L)));
+
+        assertEquals(40L, productCountCache.getCategoryCount(1L));
+        assertEquals(55L, productCountCache.getCategoryCount(2L));
+        assertEquals(0L, productCountCache.getCategoryCount(3L));
+        assertEquals(100L, productCountCache.getTotalCount());
+        verify(productRepository, times(1)).countProductsByCategory();
+    }
+
+    @Test
+    @DisplayName("Should serve the last snapshot until the next refresh")
+    void shouldServeSnapshotUntilRefresh() {
+        when(productRepository.countProductsByCategory())
+                .thenReturn(List.of(new CategoryProductCount(1L, 10L)))
+                .thenReturn(List.of(new CategoryProductCount(1L, 12L)));
+
+        assertEquals(10L, productCountCache.getCategoryCount(1L));
+        assertEquals(10L, productCountCache.getCategoryCount(1L));
+
+        productCountCache.refresh();
+
+        assertEquals(12L, productCountCache.getCategoryCount(1L));
+        verify(productRepository, times(2)).countProductsByCategory();
+    }
+}
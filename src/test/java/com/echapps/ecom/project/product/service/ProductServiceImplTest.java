@@ -1,35 +1,42 @@
 package com.echapps.ecom.project.product.service;
 
-import com.echapps.ecom.project.cart.dto.request.CartDTO;
-import com.echapps.ecom.project.cart.model.Cart;
-import com.echapps.ecom.project.cart.model.CartItem;
-import com.echapps.ecom.project.cart.repository.CartRepository;
+import com.echapps.ecom.project.cart.service.CartRepricingService;
 import com.echapps.ecom.project.cart.service.CartService;
 import com.echapps.ecom.project.category.model.Category;
 import com.echapps.ecom.project.category.repository.CategoryRepository;
 import com.echapps.ecom.project.exceptions.APIException;
 import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.dto.request.CountMode;
 import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
 import com.echapps.ecom.project.product.dto.response.ProductResponse;
+import com.echapps.ecom.project.product.dto.response.ProductSuggestion;
+import com.echapps.ecom.project.product.mapper.ProductMapper;
 import com.echapps.ecom.project.product.model.Product;
 import com.echapps.ecom.project.product.repository.ProductRepository;
-import com.echapps.ecom.project.product.service.file.FileService;
+import com.echapps.ecom.project.product.service.cache.ProductCache;
+import com.echapps.ecom.project.product.service.file.ImageUploadService;
+import com.echapps.ecom.project.product.service.search.ProductNameSuggester;
+import com.echapps.ecom.project.product.service.search.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
-import tools.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,15 +51,15 @@ import static org.mockito.Mockito.*;
  * Rationale:
  * - JUnit 5 provides modern testing features with better parameterization and nested tests
  * - Mockito isolates the service from database/repository and file system dependencies
- * - ObjectMapper is mocked to test pure business logic without JSON serialization concerns
+ * - ProductMapper is a plain hand-written mapper, so the real instance is used and results are asserted on the mapped DTOs
  * - Tests follow the vertical slice architecture by residing in src/test/java/com/echapps/ecom/project/product/service/
  * - Nested test classes organize tests by method, improving readability and maintainability
- * - ReflectionTestUtils injects the @Value("${project.image}") path field without a Spring context
  *
  * Test Coverage:
  * - Happy paths: successful operations with valid inputs
  * - Edge cases: empty results, null values, boundary conditions
  * - Error cases: exceptions thrown by repository, duplicate checks, not-found scenarios
+ * - Deletes: carts are purged first, and purged again for one retry when a cart item was added meanwhile
  * - Special price calculation: verified through the product saved to the repository
  */
 @ExtendWith(MockitoExtension.class)
@@ -66,16 +73,30 @@ class ProductServiceImplTest {
     private ProductRepository productRepository;
 
     @Mock
-    private FileService fileService;
+    private ImageUploadService imageUploadService;
+
+    private final ProductMapper productMapper = new ProductMapper();
 
     @Mock
-    private ObjectMapper objectMapper;
+    private CartService cartService;
 
     @Mock
-    private CartRepository cartRepository;
+    private CartRepricingService cartRepricingService;
 
     @Mock
-    private CartService cartService;
+    private ProductCountCache productCountCache;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductNameSuggester productNameSuggester;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductCatalogVersion productCatalogVersion;
 
     private ProductServiceImpl productService;
 
@@ -84,12 +105,16 @@ class ProductServiceImplTest {
         productService = new ProductServiceImpl(
                 categoryRepository,
                 productRepository,
-                fileService,
-                objectMapper,
-                cartRepository,
-                cartService
+                imageUploadService,
+                productMapper,
+                cartService,
+                cartRepricingService,
+                productCountCache,
+                productSearchIndex,
+                productNameSuggester,
+                productCache,
+                productCatalogVersion
         );
-        ReflectionTestUtils.setField(productService, "path", "images/");
     }
 
     // ---------------------------------------------------------------------------
@@ -134,15 +159,11 @@ class ProductServiceImplTest {
             Category category = buildCategory(categoryId, "Electronics");
 
             ProductRequest request = buildProductRequest(null, "Laptop", 1000.0, 10.0, null);
-            Product productToSave = buildProduct(null, "Laptop", 1000.0, 10.0, null);
             Product savedProduct = buildProduct(1L, "Laptop", 1000.0, 10.0, category);
             savedProduct.setSpecialPrice(900.0);
-            ProductRequest expectedResponse = buildProductRequest(1L, "Laptop", 1000.0, 10.0, 900.0);
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(objectMapper.convertValue(request, Product.class)).thenReturn(productToSave);
             when(productRepository.save(any(Product.class))).thenReturn(savedProduct);
-            when(objectMapper.convertValue(savedProduct, ProductRequest.class)).thenReturn(expectedResponse);
 
             // Act
             ProductRequest result = productService.addProduct(request, categoryId);
@@ -201,24 +222,17 @@ class ProductServiceImplTest {
             Category category = buildCategory(categoryId, "Electronics");
 
             ProductRequest request = buildProductRequest(null, "Phone", 500.0, 20.0, null);
-            Product productToSave = new Product();
-            productToSave.setProductName("Phone");
-            productToSave.setPrice(500.0);
-            productToSave.setDiscount(20.0);
             // specialPrice: 500 - (20 * 0.01 * 500) = 500 - 100 = 400
             Product savedProduct = buildProduct(2L, "Phone", 500.0, 20.0, category);
             savedProduct.setSpecialPrice(400.0);
-            ProductRequest expectedResponse = buildProductRequest(2L, "Phone", 500.0, 20.0, 400.0);
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(objectMapper.convertValue(request, Product.class)).thenReturn(productToSave);
             when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
                 Product saved = invocation.getArgument(0);
                 assertEquals("default.png", saved.getImage());
                 assertEquals(400.0, saved.getSpecialPrice());
                 return savedProduct;
             });
-            when(objectMapper.convertValue(savedProduct, ProductRequest.class)).thenReturn(expectedResponse);
 
             // Act
             ProductRequest result = productService.addProduct(request, categoryId);
@@ -237,14 +251,10 @@ class ProductServiceImplTest {
             Category category = new Category(categoryId, "Electronics", new ArrayList<>(List.of(existingProduct)));
 
             ProductRequest request = buildProductRequest(null, "Laptop", 1000.0, 10.0, null);
-            Product productToSave = buildProduct(null, "Laptop", 1000.0, 10.0, null);
             Product savedProduct = buildProduct(2L, "Laptop", 1000.0, 10.0, category);
-            ProductRequest expectedResponse = buildProductRequest(2L, "Laptop", 1000.0, 10.0, 900.0);
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(objectMapper.convertValue(request, Product.class)).thenReturn(productToSave);
             when(productRepository.save(any(Product.class))).thenReturn(savedProduct);
-            when(objectMapper.convertValue(savedProduct, ProductRequest.class)).thenReturn(expectedResponse);
 
             // Act
             ProductRequest result = productService.addProduct(request, categoryId);
@@ -273,20 +283,14 @@ class ProductServiceImplTest {
             String sortBy = "productId";
             String sortOrder = "asc";
 
-            Category category = buildCategory(1L, "Electronics");
-            Product product1 = buildProduct(1L, "Laptop", 1000.0, 10.0, category);
-            Product product2 = buildProduct(2L, "Phone", 500.0, 5.0, category);
-            List<Product> products = List.of(product1, product2);
+            ProductRequest product1 = buildProductRequest(1L, "Laptop", 1000.0, 10.0, null);
+            ProductRequest product2 = buildProductRequest(2L, "Phone", 500.0, 5.0, null);
+            List<ProductRequest> products = List.of(product1, product2);
 
             Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
-            Page<Product> productPage = new PageImpl<>(products, pageable, 2);
+            Page<ProductRequest> productPage = new PageImpl<>(products, pageable, 2);
 
-            ProductRequest pr1 = buildProductRequest(1L, "Laptop", 1000.0, 10.0, 900.0);
-            ProductRequest pr2 = buildProductRequest(2L, "Phone", 500.0, 5.0, 475.0);
-
-            when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
-            when(objectMapper.convertValue(product1, ProductRequest.class)).thenReturn(pr1);
-            when(objectMapper.convertValue(product2, ProductRequest.class)).thenReturn(pr2);
+            when(productRepository.findAllProductRequests(any(Pageable.class))).thenReturn(productPage);
 
             // Act
             ProductResponse response = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder);
@@ -299,7 +303,7 @@ class ProductServiceImplTest {
             assertEquals(2L, response.getTotalElements());
             assertEquals(1, response.getTotalPages());
             assertTrue(response.getLastPage());
-            verify(productRepository).findAll(any(Pageable.class));
+            verify(productRepository).findAllProductRequests(any(Pageable.class));
         }
 
         @Test
@@ -311,17 +315,13 @@ class ProductServiceImplTest {
             String sortBy = "price";
             String sortOrder = "desc";
 
-            Category category = buildCategory(1L, "Electronics");
-            Product product = buildProduct(1L, "Laptop", 1000.0, 10.0, category);
-            List<Product> products = List.of(product);
+            ProductRequest product = buildProductRequest(1L, "Laptop", 1000.0, 10.0, null);
+            List<ProductRequest> products = List.of(product);
 
             Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).descending());
-            Page<Product> productPage = new PageImpl<>(products, pageable, 1);
+            Page<ProductRequest> productPage = new PageImpl<>(products, pageable, 1);
 
-            ProductRequest pr = buildProductRequest(1L, "Laptop", 1000.0, 10.0, 900.0);
-
-            when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
-            when(objectMapper.convertValue(product, ProductRequest.class)).thenReturn(pr);
+            when(productRepository.findAllProductRequests(any(Pageable.class))).thenReturn(productPage);
 
             // Act
             ProductResponse response = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder);
@@ -342,15 +342,15 @@ class ProductServiceImplTest {
             String sortOrder = "asc";
 
             Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
-            Page<Product> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            Page<ProductRequest> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-            when(productRepository.findAll(any(Pageable.class))).thenReturn(emptyPage);
+            when(productRepository.findAllProductRequests(any(Pageable.class))).thenReturn(emptyPage);
 
             // Act & Assert
             APIException exception = assertThrows(APIException.class, () ->
                     productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder));
             assertEquals("No products found!", exception.getMessage());
-            verify(productRepository).findAll(any(Pageable.class));
+            verify(productRepository).findAllProductRequests(any(Pageable.class));
         }
 
         @Test
@@ -362,20 +362,14 @@ class ProductServiceImplTest {
             String sortBy = "productId";
             String sortOrder = "asc";
 
-            Category category = buildCategory(1L, "Electronics");
-            Product product3 = buildProduct(3L, "Headphones", 150.0, 0.0, category);
-            Product product4 = buildProduct(4L, "Keyboard", 80.0, 5.0, category);
-            List<Product> products = List.of(product3, product4);
+            ProductRequest product3 = buildProductRequest(3L, "Headphones", 150.0, 0.0, null);
+            ProductRequest product4 = buildProductRequest(4L, "Keyboard", 80.0, 5.0, null);
+            List<ProductRequest> products = List.of(product3, product4);
 
             Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
-            Page<Product> productPage = new PageImpl<>(products, pageable, 5);
+            Page<ProductRequest> productPage = new PageImpl<>(products, pageable, 5);
 
-            ProductRequest pr3 = buildProductRequest(3L, "Headphones", 150.0, 0.0, 150.0);
-            ProductRequest pr4 = buildProductRequest(4L, "Keyboard", 80.0, 5.0, 76.0);
-
-            when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
-            when(objectMapper.convertValue(product3, ProductRequest.class)).thenReturn(pr3);
-            when(objectMapper.convertValue(product4, ProductRequest.class)).thenReturn(pr4);
+            when(productRepository.findAllProductRequests(any(Pageable.class))).thenReturn(productPage);
 
             // Act
             ProductResponse response = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder);
@@ -404,11 +398,8 @@ class ProductServiceImplTest {
             Long productId = 1L;
             Category category = buildCategory(1L, "Electronics");
             Product product = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
-            ProductRequest expectedResponse = buildProductRequest(productId, "Laptop", 1000.0, 10.0, 900.0);
 
             when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(cartRepository.findCartsByProductId(productId)).thenReturn(Collections.emptyList());
-            when(objectMapper.convertValue(product, ProductRequest.class)).thenReturn(expectedResponse);
 
             // Act
             ProductRequest result = productService.deleteProduct(productId);
@@ -419,6 +410,7 @@ class ProductServiceImplTest {
             assertEquals("Laptop", result.getProductName());
             verify(productRepository).findById(productId);
             verify(productRepository).deleteById(productId);
+            verify(productCache).invalidate(productId);
         }
 
         @Test
@@ -443,23 +435,18 @@ class ProductServiceImplTest {
             Long productId = 1L;
             Category category = buildCategory(1L, "Electronics");
             Product product = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
-            ProductRequest expectedResponse = buildProductRequest(productId, "Laptop", 1000.0, 10.0, 900.0);
-
-            Cart cart1 = new Cart(10L, null, new ArrayList<>(), 900.0);
-            Cart cart2 = new Cart(20L, null, new ArrayList<>(), 1800.0);
-            List<Cart> carts = List.of(cart1, cart2);
 
             when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(cartRepository.findCartsByProductId(productId)).thenReturn(carts);
-            when(objectMapper.convertValue(product, ProductRequest.class)).thenReturn(expectedResponse);
+            when(cartService.deleteProductFromAllCarts(productId)).thenReturn(2);
 
             // Act
             productService.deleteProduct(productId);
 
             // Assert
-            verify(cartService).deleteProductFromCart(10L, productId);
-            verify(cartService).deleteProductFromCart(20L, productId);
-            verify(productRepository).deleteById(productId);
+            InOrder inOrder = inOrder(cartService, productRepository);
+            inOrder.verify(cartService).deleteProductFromAllCarts(productId);
+            inOrder.verify(productRepository).deleteById(productId);
+            verify(cartService, never()).deleteProductFromCart(any(), any());
         }
 
         @Test
@@ -469,19 +456,82 @@ class ProductServiceImplTest {
             Long productId = 5L;
             Category category = buildCategory(2L, "Books");
             Product product = buildProduct(productId, "Java Guide", 50.0, 0.0, category);
-            ProductRequest expectedResponse = buildProductRequest(productId, "Java Guide", 50.0, 0.0, 50.0);
 
             when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(cartRepository.findCartsByProductId(productId)).thenReturn(Collections.emptyList());
-            when(objectMapper.convertValue(product, ProductRequest.class)).thenReturn(expectedResponse);
 
             // Act
             productService.deleteProduct(productId);
 
             // Assert
-            verify(cartService, never()).deleteProductFromCart(any(), any());
+            verify(cartService).deleteProductFromAllCarts(productId);
             verify(productRepository).deleteById(productId);
         }
+
+        @Test
+        @DisplayName("Should purge carts again and retry once when an item was added to a cart after the purge")
+        void shouldRetryDeleteAfterCartItemAddedMeanwhile() {
+            // Arrange
+            Long productId = 6L;
+            Product product = buildProduct(productId, "Monitor", 300.0, 0.0, buildCategory(1L, "Electronics"));
+
+            when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+            doThrow(new DataIntegrityViolationException("fk cart_items product_id"))
+                    .doNothing()
+                    .when(productRepository).deleteById(productId);
+
+            // Act
+            productService.deleteProduct(productId);
+
+            // Assert
+            verify(cartService, times(2)).deleteProductFromAllCarts(productId);
+            verify(productRepository, times(2)).deleteById(productId);
+            verify(productSearchIndex).remove(productId);
+        }
+
+        @Test
+        @DisplayName("Should fail without touching the caches when the retried delete fails as well")
+        void shouldFailWhenRetriedDeleteFails() {
+            // Arrange
+            Long productId = 7L;
+            Product product = buildProduct(productId, "Webcam", 80.0, 0.0, buildCategory(1L, "Electronics"));
+
+            when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+            doThrow(new DataIntegrityViolationException("fk cart_items product_id"))
+                    .when(productRepository).deleteById(productId);
+
+            // Act & Assert
+            assertThrows(DataIntegrityViolationException.class, () -> productService.deleteProduct(productId));
+            verify(productRepository, times(2)).deleteById(productId);
+            verifyNoInteractions(productCatalogVersion, productCache, productSearchIndex, productNameSuggester);
+        }
+
+        @Test
+        @DisplayName("Should delete every product of a category through the product delete path, skipping one already gone")
+        void shouldDeleteProductsByCategory() {
+            // Arrange
+            Category category = buildCategory(1L, "Electronics");
+            Product laptop = buildProduct(1L, "Laptop", 1000.0, 10.0, category);
+            Product phone = buildProduct(3L, "Phone", 500.0, 0.0, category);
+
+            when(productRepository.findProductIdsByCategoryId(1L)).thenReturn(List.of(1L, 2L, 3L));
+            when(productRepository.findById(1L)).thenReturn(Optional.of(laptop));
+            when(productRepository.findById(2L)).thenReturn(Optional.empty());
+            when(productRepository.findById(3L)).thenReturn(Optional.of(phone));
+
+            // Act
+            productService.deleteProductsByCategory(1L);
+
+            // Assert
+            for (Long productId : List.of(1L, 3L)) {
+                verify(cartService).deleteProductFromAllCarts(productId);
+                verify(productRepository).deleteById(productId);
+                verify(productCache).invalidate(productId);
+                verify(productSearchIndex).remove(productId);
+                verify(productNameSuggester).remove(productId);
+            }
+            verify(productRepository, never()).deleteById(2L);
+            verify(productSearchIndex, never()).remove(2L);
+        }
     }
 
     // ===========================================================================
@@ -503,16 +553,14 @@ class ProductServiceImplTest {
             String sortOrder = "asc";
 
             Category category = buildCategory(categoryId, "Electronics");
-            Product product = buildProduct(1L, "Laptop", 1000.0, 10.0, category);
-            List<Product> products = List.of(product);
+            ProductRequest product = buildProductRequest(1L, "Laptop", 1000.0, 10.0, null);
+            List<ProductRequest> products = List.of(product);
 
             Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
-            Page<Product> productPage = new PageImpl<>(products, pageable, 1);
-            ProductRequest pr = buildProductRequest(1L, "Laptop", 1000.0, 10.0, 900.0);
+            Page<ProductRequest> productPage = new PageImpl<>(products, pageable, 1);
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(productRepository.findByCategoryOrderByPriceAsc(eq(category), any(Pageable.class))).thenReturn(productPage);
-            when(objectMapper.convertValue(product, ProductRequest.class)).thenReturn(pr);
+            when(productRepository.findProductRequestsByCategory(eq(category), any(Pageable.class))).thenReturn(productPage);
 
             // Act
             ProductResponse response = productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
@@ -522,7 +570,7 @@ class ProductServiceImplTest {
             assertEquals(1, response.getContent().size());
             assertEquals("Laptop", response.getContent().get(0).getProductName());
             verify(categoryRepository).findById(categoryId);
-            verify(productRepository).findByCategoryOrderByPriceAsc(eq(category), any(Pageable.class));
+            verify(productRepository).findProductRequestsByCategory(eq(category), any(Pageable.class));
         }
 
         @Test
@@ -536,7 +584,7 @@ class ProductServiceImplTest {
             ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
                     productService.searchByCategory(categoryId, 0, 10, "price", "asc"));
             assertEquals("Category not found with categoryId : 999", exception.getMessage());
-            verify(productRepository, never()).findByCategoryOrderByPriceAsc(any(), any());
+            verify(productRepository, never()).findProductRequestsByCategory(any(), any());
         }
 
         @Test
@@ -547,10 +595,10 @@ class ProductServiceImplTest {
             Category category = buildCategory(categoryId, "Toys");
 
             Pageable pageable = PageRequest.of(0, 10, Sort.by("price").ascending());
-            Page<Product> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            Page<ProductRequest> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(productRepository.findByCategoryOrderByPriceAsc(eq(category), any(Pageable.class))).thenReturn(emptyPage);
+            when(productRepository.findProductRequestsByCategory(eq(category), any(Pageable.class))).thenReturn(emptyPage);
 
             // Act & Assert
             APIException exception = assertThrows(APIException.class, () ->
@@ -564,16 +612,14 @@ class ProductServiceImplTest {
             // Arrange
             Long categoryId = 1L;
             Category category = buildCategory(categoryId, "Electronics");
-            Product product = buildProduct(1L, "Laptop", 1000.0, 10.0, category);
-            List<Product> products = List.of(product);
+            ProductRequest product = buildProductRequest(1L, "Laptop", 1000.0, 10.0, null);
+            List<ProductRequest> products = List.of(product);
 
             Pageable pageable = PageRequest.of(0, 10, Sort.by("price").descending());
-            Page<Product> productPage = new PageImpl<>(products, pageable, 1);
-            ProductRequest pr = buildProductRequest(1L, "Laptop", 1000.0, 10.0, 900.0);
+            Page<ProductRequest> productPage = new PageImpl<>(products, pageable, 1);
 
             when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
-            when(productRepository.findByCategoryOrderByPriceAsc(eq(category), any(Pageable.class))).thenReturn(productPage);
-            when(objectMapper.convertValue(product, ProductRequest.class)).thenReturn(pr);
+            when(productRepository.findProductRequestsByCategory(eq(category), any(Pageable.class))).thenReturn(productPage);
 
             // Act
             ProductResponse response = productService.searchByCategory(categoryId, 0, 10, "price", "desc");
@@ -602,16 +648,13 @@ class ProductServiceImplTest {
             String sortBy = "productName";
             String sortOrder = "asc";
 
-            Category category = buildCategory(1L, "Electronics");
-            Product product = buildProduct(1L, "Laptop Pro", 1200.0, 15.0, category);
-            List<Product> products = List.of(product);
+            ProductRequest product = buildProductRequest(1L, "Laptop Pro", 1200.0, 15.0, null);
+            List<ProductRequest> products = List.of(product);
 
             Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(sortBy).ascending());
-            Page<Product> productPage = new PageImpl<>(products, pageable, 1);
-            ProductRequest pr = buildProductRequest(1L, "Laptop Pro", 1200.0, 15.0, 1020.0);
+            Page<ProductRequest> productPage = new PageImpl<>(products, pageable, 1);
 
-            when(productRepository.findByProductNameLikeIgnoreCase(eq("%Laptop%"), any(Pageable.class))).thenReturn(productPage);
-            when(objectMapper.convertValue(product, ProductRequest.class)).thenReturn(pr);
+            when(productRepository.findProductRequestsByProductNameLikeIgnoreCase(eq("%Laptop%"), any(Pageable.class))).thenReturn(productPage);
 
             // Act
             ProductResponse response = productService.searchProductsByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder);
@@ -620,7 +663,7 @@ class ProductServiceImplTest {
             assertNotNull(response);
             assertEquals(1, response.getContent().size());
             assertEquals("Laptop Pro", response.getContent().get(0).getProductName());
-            verify(productRepository).findByProductNameLikeIgnoreCase(eq("%Laptop%"), any(Pageable.class));
+            verify(productRepository).findProductRequestsByProductNameLikeIgnoreCase(eq("%Laptop%"), any(Pageable.class));
         }
 
         @Test
@@ -630,9 +673,9 @@ class ProductServiceImplTest {
             String keyword = "xyznotfound";
 
             Pageable pageable = PageRequest.of(0, 10, Sort.by("productName").ascending());
-            Page<Product> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
+            Page<ProductRequest> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
 
-            when(productRepository.findByProductNameLikeIgnoreCase(eq("%xyznotfound%"), any(Pageable.class))).thenReturn(emptyPage);
+            when(productRepository.findProductRequestsByProductNameLikeIgnoreCase(eq("%xyznotfound%"), any(Pageable.class))).thenReturn(emptyPage);
 
             // Act & Assert
             APIException exception = assertThrows(APIException.class, () ->
@@ -645,22 +688,19 @@ class ProductServiceImplTest {
         void shouldWrapKeywordWithWildcards() {
             // Arrange
             String keyword = "phone";
-            Category category = buildCategory(1L, "Electronics");
-            Product product = buildProduct(1L, "Smartphone", 600.0, 10.0, category);
-            List<Product> products = List.of(product);
+            ProductRequest product = buildProductRequest(1L, "Smartphone", 600.0, 10.0, null);
+            List<ProductRequest> products = List.of(product);
 
             Pageable pageable = PageRequest.of(0, 10, Sort.by("productId").ascending());
-            Page<Product> productPage = new PageImpl<>(products, pageable, 1);
-            ProductRequest pr = buildProductRequest(1L, "Smartphone", 600.0, 10.0, 540.0);
+            Page<ProductRequest> productPage = new PageImpl<>(products, pageable, 1);
 
-            when(productRepository.findByProductNameLikeIgnoreCase(eq("%phone%"), any(Pageable.class))).thenReturn(productPage);
-            when(objectMapper.convertValue(product, ProductRequest.class)).thenReturn(pr);
+            when(productRepository.findProductRequestsByProductNameLikeIgnoreCase(eq("%phone%"), any(Pageable.class))).thenReturn(productPage);
 
             // Act
             productService.searchProductsByKeyword(keyword, 0, 10, "productId", "asc");
 
             // Assert
-            verify(productRepository).findByProductNameLikeIgnoreCase(eq("%phone%"), any(Pageable.class));
+            verify(productRepository).findProductRequestsByProductNameLikeIgnoreCase(eq("%phone%"), any(Pageable.class));
         }
 
         @Test
@@ -668,19 +708,14 @@ class ProductServiceImplTest {
         void shouldReturnResultsWithDescendingSort() {
             // Arrange
             String keyword = "pro";
-            Category category = buildCategory(1L, "Electronics");
-            Product product1 = buildProduct(1L, "Laptop Pro", 1200.0, 10.0, category);
-            Product product2 = buildProduct(2L, "Phone Pro", 800.0, 5.0, category);
-            List<Product> products = List.of(product1, product2);
+            ProductRequest product1 = buildProductRequest(1L, "Laptop Pro", 1200.0, 10.0, null);
+            ProductRequest product2 = buildProductRequest(2L, "Phone Pro", 800.0, 5.0, null);
+            List<ProductRequest> products = List.of(product1, product2);
 
             Pageable pageable = PageRequest.of(0, 10, Sort.by("price").descending());
-            Page<Product> productPage = new PageImpl<>(products, pageable, 2);
-            ProductRequest pr1 = buildProductRequest(1L, "Laptop Pro", 1200.0, 10.0, 1080.0);
-            ProductRequest pr2 = buildProductRequest(2L, "Phone Pro", 800.0, 5.0, 760.0);
+            Page<ProductRequest> productPage = new PageImpl<>(products, pageable, 2);
 
-            when(productRepository.findByProductNameLikeIgnoreCase(eq("%pro%"), any(Pageable.class))).thenReturn(productPage);
-            when(objectMapper.convertValue(product1, ProductRequest.class)).thenReturn(pr1);
-            when(objectMapper.convertValue(product2, ProductRequest.class)).thenReturn(pr2);
+            when(productRepository.findProductRequestsByProductNameLikeIgnoreCase(eq("%pro%"), any(Pageable.class))).thenReturn(productPage);
 
             // Act
             ProductResponse response = productService.searchProductsByKeyword("pro", 0, 10, "price", "desc");
@@ -691,6 +726,376 @@ class ProductServiceImplTest {
         }
     }
 
+    // ===========================================================================
+    // searchProductsByKeyword with the search index
+    // ===========================================================================
+
+    @Nested
+    @DisplayName("searchProductsByKeyword with the search index")
+    class SearchIndexTests {
+
+        @Test
+        @DisplayName("Should return products in the order ranked by the search index with its hit count when sorted by relevance")
+        void shouldReturnProductsInIndexOrder() {
+            // Arrange
+            ProductRequest phone = buildProductRequest(7L, "Phone", 500.0, 0.0, 500.0);
+            ProductRequest case_ = buildProductRequest(3L, "Phone Case", 20.0, 0.0, 20.0);
+
+            when(productSearchIndex.isReady()).thenReturn(true);
+            when(productSearchIndex.search("phone", 0, 2)).thenReturn(new ProductSearchIndex.SearchHits(List.of(7L, 3L), 5));
+            when(productRepository.findProductRequestsByProductIdIn(List.of(7L, 3L))).thenReturn(List.of(case_, phone));
+
+            // Act
+            ProductResponse response = productService.searchProductsByKeyword("phone", 0, 2, "relevance", "asc");
+
+            // Assert
+            assertEquals(List.of(7L, 3L), response.getContent().stream().map(ProductRequest::getProductId).toList());
+            assertEquals(5L, response.getTotalElements());
+            assertEquals(3, response.getTotalPages());
+            assertFalse(response.getLastPage());
+            verify(productRepository, never()).findProductRequestsByProductNameLikeIgnoreCase(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should throw APIException when the index has no hits")
+        void shouldThrowAPIExceptionWhenIndexHasNoHits() {
+            when(productSearchIndex.isReady()).thenReturn(true);
+            when(productSearchIndex.search("xyz", 0, 10)).thenReturn(new ProductSearchIndex.SearchHits(List.of(), 0));
+
+            APIException exception = assertThrows(APIException.class, () ->
+                    productService.searchProductsByKeyword("xyz", 0, 10, "relevance", "asc"));
+            assertEquals("No products found with keyword: xyz", exception.getMessage());
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("Should fetch only the page of ids the index ordered by the requested column, with the index hit count")
+        void shouldSortIndexMatchesByRequestedColumn() {
+            // Arrange
+            ProductRequest phone = buildProductRequest(7L, "Phone", 500.0, 0.0, 500.0);
+            ProductRequest charger = buildProductRequest(4L, "Phone Charger", 30.0, 0.0, 30.0);
+
+            when(productSearchIndex.isReady()).thenReturn(true);
+            when(productSearchIndex.searchSorted("phone", "price", false, 2, 2)).thenReturn(new ProductSearchIndex.SearchHits(List.of(7L, 4L), 5));
+            when(productRepository.findProductRequestsByProductIdIn(List.of(7L, 4L))).thenReturn(List.of(charger, phone));
+
+            // Act
+            ProductResponse response = productService.searchProductsByKeyword("phone", 1, 2, "price", "desc");
+
+            // Assert
+            assertEquals(List.of(7L, 4L), response.getContent().stream().map(ProductRequest::getProductId).toList());
+            assertEquals(5L, response.getTotalElements());
+            assertEquals(3, response.getTotalPages());
+            assertFalse(response.getLastPage());
+            verify(productSearchIndex, never()).search(any(), anyInt(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should sort by quantity in the database, as stock changes at checkout without the index")
+        void shouldSortByQuantityInDatabase() {
+            // Arrange
+            Pageable expectedPage = PageRequest.of(0, 10, Sort.by("quantity").ascending());
+            when(productSearchIndex.isReady()).thenReturn(true);
+            when(productRepository.findProductRequestsByProductNameLikeIgnoreCase("%phone%", expectedPage))
+                    .thenReturn(new PageImpl<>(List.of(buildProductRequest(7L, "Phone", 500.0, 0.0, 500.0)), expectedPage, 1));
+
+            // Act
+            ProductResponse response = productService.searchProductsByKeyword("phone", 0, 10, "quantity", "asc");
+
+            // Assert
+            assertEquals(1L, response.getTotalElements());
+            verify(productSearchIndex, never()).searchSorted(any(), any(), anyBoolean(), anyInt(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should sort by id when relevance is requested before the index is ready")
+        void shouldFallBackToIdOrderForRelevanceBeforeIndexIsReady() {
+            // Arrange
+            Pageable expectedPage = PageRequest.of(0, 10, Sort.by("productId").ascending());
+            when(productRepository.findProductRequestsByProductNameLikeIgnoreCase("%phone%", expectedPage))
+                    .thenReturn(new PageImpl<>(List.of(buildProductRequest(7L, "Phone", 500.0, 0.0, 500.0)), expectedPage, 1));
+
+            // Act
+            ProductResponse response = productService.searchProductsByKeyword("phone", 0, 10, "relevance", "asc");
+
+            // Assert
+            assertEquals(1L, response.getTotalElements());
+        }
+
+        @Test
+        @DisplayName("Should index a product when it is added")
+        void shouldIndexAddedProduct() {
+            // Arrange
+            Long categoryId = 1L;
+            Category category = buildCategory(categoryId, "Electronics");
+            ProductRequest request = buildProductRequest(null, "Tablet", 300.0, 0.0, null);
+            Product saved = buildProduct(9L, "Tablet", 300.0, 0.0, category);
+
+            when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+            when(productRepository.save(any(Product.class))).thenReturn(saved);
+
+            // Act
+            productService.addProduct(request, categoryId);
+
+            // Assert
+            verify(productSearchIndex).index(argThat(p -> p.getProductId().equals(9L) && p.getProductName().equals("Tablet")));
+            verify(productNameSuggester).index(argThat(p -> p.getProductId().equals(9L) && p.getProductName().equals("Tablet")));
+        }
+
+        @Test
+        @DisplayName("Should remove a product from the index when it is deleted")
+        void shouldRemoveDeletedProductFromIndex() {
+            Long productId = 1L;
+            Product product = buildProduct(productId, "Laptop", 1000.0, 10.0, buildCategory(1L, "Electronics"));
+            when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+            productService.deleteProduct(productId);
+
+            verify(productSearchIndex).remove(productId);
+            verify(productNameSuggester).remove(productId);
+        }
+
+        @Test
+        @DisplayName("Should read the shared catalog version without a product query and change it with the search mode")
+        void shouldReadSharedCatalogVersion() {
+            // Arrange
+            when(productCatalogVersion.get()).thenReturn(41L);
+            when(productSearchIndex.isReady()).thenReturn(false, false, true);
+
+            // Act
+            long initial = productService.getCatalogVersion();
+            long unchanged = productService.getCatalogVersion();
+            long afterIndexReady = productService.getCatalogVersion();
+
+            // Assert
+            assertEquals(initial, unchanged);
+            assertNotEquals(initial, afterIndexReady);
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("Should change the catalog version when a product is added, updated or deleted")
+        void shouldChangeCatalogVersionOnProductWrites() {
+            // Arrange
+            Category category = buildCategory(1L, "Electronics");
+            Product laptop = buildProduct(1L, "Laptop", 1000.0, 10.0, category);
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+            when(productRepository.save(any(Product.class))).thenReturn(laptop);
+            when(productRepository.findById(1L)).thenReturn(Optional.of(laptop));
+
+            // Act & Assert
+            productService.addProduct(buildProductRequest(null, "Laptop", 1000.0, 10.0, null), 1L);
+            verify(productCatalogVersion, times(1)).changed();
+            productService.updateProduct(buildProductRequest(null, "Laptop Pro", 1200.0, 10.0, null), 1L);
+            verify(productCatalogVersion, times(2)).changed();
+            productService.deleteProduct(1L);
+            verify(productCatalogVersion, times(3)).changed();
+        }
+
+        @Test
+        @DisplayName("Should return name suggestions from memory with the limit capped")
+        void shouldSuggestProductNamesWithCappedLimit() {
+            List<ProductSuggestion> suggestions = List.of(new ProductSuggestion(1L, "Laptop"));
+            when(productNameSuggester.suggest("lap", 20)).thenReturn(suggestions);
+
+            assertEquals(suggestions, productService.suggestProductNames("lap", 500));
+            verifyNoInteractions(productRepository);
+        }
+    }
+
+    // ===========================================================================
+    // getAllProducts / searchByCategory with a CountMode
+    // ===========================================================================
+
+    @Nested
+    @DisplayName("getAllProducts / searchByCategory with CountMode")
+    class CountModeTests {
+
+        @Test
+        @DisplayName("Should skip the count query and leave totals empty with CountMode.NONE")
+        void shouldSkipCountWithNone() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 1, Sort.by("productId").ascending());
+            Slice<ProductRequest> slice = new SliceImpl<>(List.of(buildProductRequest(1L, "Laptop", 1000.0, 10.0, 900.0)), pageable, true);
+            when(productRepository.findAllProductRequestSlice(any(Pageable.class))).thenReturn(slice);
+
+            // Act
+            ProductResponse response = productService.getAllProducts(0, 1, "productId", "asc", CountMode.NONE);
+
+            // Assert
+            assertEquals(1, response.getContent().size());
+            assertFalse(response.getLastPage());
+            assertNull(response.getTotalElements());
+            assertNull(response.getTotalPages());
+            verify(productRepository, never()).findAllProductRequests(any(Pageable.class));
+            verifyNoInteractions(productCountCache);
+        }
+
+        @Test
+        @DisplayName("Should report the cached category count with CountMode.APPROXIMATE")
+        void shouldUseCachedCategoryCountWithApproximate() {
+            // Arrange
+            Long categoryId = 1L;
+            Category category = buildCategory(categoryId, "Electronics");
+            Pageable pageable = PageRequest.of(0, 10, Sort.by("productId").ascending());
+            Slice<ProductRequest> slice = new SliceImpl<>(List.of(buildProductRequest(1L, "Laptop", 1000.0, 10.0, 900.0)), pageable, true);
+
+            when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
+            when(productRepository.findProductRequestSliceByCategory(eq(category), any(Pageable.class))).thenReturn(slice);
+            when(productCountCache.getCategoryCount(categoryId)).thenReturn(95L);
+
+            // Act
+            ProductResponse response = productService.searchByCategory(categoryId, 0, 10, "productId", "asc", CountMode.APPROXIMATE);
+
+            // Assert
+            assertEquals(95L, response.getTotalElements());
+            assertEquals(10, response.getTotalPages());
+            verify(productRepository, never()).findProductRequestsByCategory(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should use the exact page query with CountMode.EXACT")
+        void shouldUseExactCountWithExact() {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10, Sort.by("productId").ascending());
+            Page<ProductRequest> page = new PageImpl<>(List.of(buildProductRequest(1L, "Laptop", 1000.0, 10.0, 900.0)), pageable, 1);
+            when(productRepository.findAllProductRequests(any(Pageable.class))).thenReturn(page);
+
+            // Act
+            ProductResponse response = productService.getAllProducts(0, 10, "productId", "asc", CountMode.EXACT);
+
+            // Assert
+            assertEquals(1L, response.getTotalElements());
+            verify(productRepository, never()).findAllProductRequestSlice(any(Pageable.class));
+        }
+    }
+
+    // ===========================================================================
+    // scrollAllProducts / scrollByCategory (cursor pagination)
+    // ===========================================================================
+
+    @Nested
+    @DisplayName("scrollAllProducts / scrollByCategory")
+    class ScrollProductsTests {
+
+        private Window<ProductRequest> window(List<ProductRequest> products, boolean hasNext) {
+            return Window.from(products, index -> ScrollPosition.forward(Map.of(
+                    "price", products.get(index).getPrice(),
+                    "productId", products.get(index).getProductId())), hasNext);
+        }
+
+        @Test
+        @DisplayName("Should return the first page with a cursor for the next one and no totals")
+        void shouldReturnFirstPageWithNextCursor() {
+            // Arrange
+            ProductRequest mouse = buildProductRequest(1L, "Mouse", 20.0, 0.0, 20.0);
+            ProductRequest keyboard = buildProductRequest(2L, "Keyboard", 50.0, 0.0, 50.0);
+            Sort expectedSort = Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "productId"));
+
+            when(productRepository.scrollProductRequests(ScrollPosition.keyset(), expectedSort, Limit.of(2)))
+                    .thenReturn(window(List.of(mouse, keyboard), true));
+
+            // Act
+            ProductResponse response = productService.scrollAllProducts("", 2, "price", "asc");
+
+            // Assert
+            assertEquals(2, response.getContent().size());
+            assertEquals("Mouse", response.getContent().get(0).getProductName());
+            assertFalse(response.getLastPage());
+            assertNotNull(response.getNextCursor());
+            assertNull(response.getTotalElements());
+            assertNull(response.getTotalPages());
+            verify(productRepository, never()).findAllProductRequests(any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("Should seek past the position encoded in the cursor")
+        void shouldSeekPastCursorPosition() {
+            // Arrange
+            ProductRequest keyboard = buildProductRequest(2L, "Keyboard", 50.0, 0.0, 50.0);
+            ProductRequest monitor = buildProductRequest(3L, "Monitor", 200.0, 0.0, 200.0);
+
+            when(productRepository.scrollProductRequests(any(KeysetScrollPosition.class), any(Sort.class), eq(Limit.of(2))))
+                    .thenReturn(window(List.of(keyboard), true))
+                    .thenReturn(window(List.of(monitor), false));
+
+            String cursor = productService.scrollAllProducts("", 2, "price", "asc").getNextCursor();
+
+            // Act
+            ProductResponse response = productService.scrollAllProducts(cursor, 2, "price", "asc");
+
+            // Assert
+            verify(productRepository).scrollProductRequests(eq(ScrollPosition.forward(Map.of("price", 50.0, "productId", 2L))), any(Sort.class), eq(Limit.of(2)));
+            assertEquals("Monitor", response.getContent().get(0).getProductName());
+            assertTrue(response.getLastPage());
+            assertNull(response.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should carry a missing sort value through the cursor as null, not as the text \"null\"")
+        void shouldRoundTripNullSortValueInCursor() {
+            // Arrange
+            ProductRequest unpriced = buildProductRequest(4L, "Prototype", null, 0.0, null);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("price", null);
+            keys.put("productId", 4L);
+            when(productRepository.scrollProductRequests(any(KeysetScrollPosition.class), any(Sort.class), eq(Limit.of(1))))
+                    .thenReturn(Window.from(List.of(unpriced), index -> ScrollPosition.forward(keys), true))
+                    .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset()));
+
+            String cursor = productService.scrollAllProducts("", 1, "price", "asc").getNextCursor();
+
+            // Act
+            productService.scrollAllProducts(cursor, 1, "price", "asc");
+
+            // Assert
+            verify(productRepository).scrollProductRequests(eq(ScrollPosition.forward(keys)), any(Sort.class), eq(Limit.of(1)));
+        }
+
+        @Test
+        @DisplayName("Should reject a cursor issued for a different sort")
+        void shouldRejectCursorForDifferentSort() {
+            // Arrange
+            when(productRepository.scrollProductRequests(any(KeysetScrollPosition.class), any(Sort.class), any(Limit.class)))
+                    .thenReturn(window(List.of(buildProductRequest(2L, "Keyboard", 50.0, 0.0, 50.0)), true));
+            String priceCursor = productService.scrollAllProducts("", 1, "price", "asc").getNextCursor();
+
+            // Act & Assert
+            assertThrows(APIException.class, () ->
+                    productService.scrollAllProducts(priceCursor, 1, "productName", "asc"));
+        }
+
+        @Test
+        @DisplayName("Should throw APIException when sorting by an unsupported field")
+        void shouldThrowAPIExceptionForUnsupportedSortField() {
+            APIException exception = assertThrows(APIException.class, () ->
+                    productService.scrollAllProducts("", 10, "description", "asc"));
+            assertTrue(exception.getMessage().contains("description"));
+            verifyNoInteractions(productRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw APIException when the first page is empty")
+        void shouldThrowAPIExceptionWhenFirstPageIsEmpty() {
+            when(productRepository.scrollProductRequests(any(KeysetScrollPosition.class), any(Sort.class), any(Limit.class)))
+                    .thenReturn(Window.from(List.of(), index -> ScrollPosition.keyset()));
+
+            APIException exception = assertThrows(APIException.class, () ->
+                    productService.scrollAllProducts("", 10, "productId", "asc"));
+            assertEquals("No products found!", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when scrolling a category that does not exist")
+        void shouldThrowResourceNotFoundExceptionForUnknownCategory() {
+            when(categoryRepository.findById(99L)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () ->
+                    productService.scrollByCategory(99L, "", 10, "productId", "asc"));
+            verify(productRepository, never()).scrollProductRequestsByCategory(any(), any(), any(), any());
+        }
+    }
+
     // ===========================================================================
     // updateProduct
     // ===========================================================================
@@ -708,22 +1113,12 @@ class ProductServiceImplTest {
             Product existingProduct = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
 
             ProductRequest updateRequest = buildProductRequest(productId, "Laptop V2", 1100.0, 15.0, null);
-            Product mappedProduct = new Product();
-            mappedProduct.setProductName("Laptop V2");
-            mappedProduct.setDescription("A product description");
-            mappedProduct.setQuantity(10);
-            mappedProduct.setPrice(1100.0);
-            mappedProduct.setDiscount(15.0);
 
             Product updatedProduct = buildProduct(productId, "Laptop V2", 1100.0, 15.0, category);
             updatedProduct.setSpecialPrice(935.0);
-            ProductRequest expectedResponse = buildProductRequest(productId, "Laptop V2", 1100.0, 15.0, 935.0);
 
             when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
-            when(objectMapper.convertValue(updateRequest, Product.class)).thenReturn(mappedProduct);
             when(productRepository.save(existingProduct)).thenReturn(updatedProduct);
-            when(cartRepository.findCartsByProductId(productId)).thenReturn(Collections.emptyList());
-            when(objectMapper.convertValue(updatedProduct, ProductRequest.class)).thenReturn(expectedResponse);
 
             // Act
             ProductRequest result = productService.updateProduct(updateRequest, productId);
@@ -774,41 +1169,28 @@ class ProductServiceImplTest {
         }
 
         @Test
-        @DisplayName("Should update all carts containing the product after updating")
-        void shouldUpdateCartsAfterProductUpdate() {
+        @DisplayName("Should schedule repricing of the carts containing the product after updating")
+        void shouldScheduleCartRepricingAfterProductUpdate() {
             // Arrange
             Long productId = 1L;
             Category category = buildCategory(1L, "Electronics");
             Product existingProduct = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
 
             ProductRequest updateRequest = buildProductRequest(productId, "Laptop Pro", 1200.0, 10.0, null);
-            Product mappedProduct = new Product();
-            mappedProduct.setProductName("Laptop Pro");
-            mappedProduct.setDescription("A product description");
-            mappedProduct.setQuantity(10);
-            mappedProduct.setPrice(1200.0);
-            mappedProduct.setDiscount(10.0);
 
             Product updatedProduct = buildProduct(productId, "Laptop Pro", 1200.0, 10.0, category);
-            ProductRequest expectedResponse = buildProductRequest(productId, "Laptop Pro", 1200.0, 10.0, 1080.0);
-
-            CartItem cartItem = new CartItem();
-            cartItem.setProduct(existingProduct);
-            Cart cart = new Cart(10L, null, List.of(cartItem), 900.0);
-            CartDTO cartDTO = new CartDTO(10L, 900.0, new ArrayList<>());
+            updatedProduct.setSpecialPrice(1080.0);
 
             when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
-            when(objectMapper.convertValue(updateRequest, Product.class)).thenReturn(mappedProduct);
             when(productRepository.save(existingProduct)).thenReturn(updatedProduct);
-            when(cartRepository.findCartsByProductId(productId)).thenReturn(List.of(cart));
-            when(objectMapper.convertValue(cart, CartDTO.class)).thenReturn(cartDTO);
-            when(objectMapper.convertValue(updatedProduct, ProductRequest.class)).thenReturn(expectedResponse);
 
             // Act
             productService.updateProduct(updateRequest, productId);
 
             // Assert
-            verify(cartService).updateProductInCarts(10L, productId);
+            verify(cartRepricingService).scheduleRepricing(productId, 1080.0);
+            verifyNoInteractions(cartService);
+            verify(productCache).invalidate(productId);
         }
 
         @Test
@@ -820,27 +1202,17 @@ class ProductServiceImplTest {
             Product existingProduct = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
 
             ProductRequest updateRequest = buildProductRequest(productId, "Gaming Laptop", 2000.0, 25.0, null);
-            Product mappedProduct = new Product();
-            mappedProduct.setProductName("Gaming Laptop");
-            mappedProduct.setDescription("A product description");
-            mappedProduct.setQuantity(10);
-            mappedProduct.setPrice(2000.0);
-            mappedProduct.setDiscount(25.0);
 
             // specialPrice: 2000 - (25 * 0.01 * 2000) = 2000 - 500 = 1500
             Product updatedProduct = buildProduct(productId, "Gaming Laptop", 2000.0, 25.0, category);
             updatedProduct.setSpecialPrice(1500.0);
-            ProductRequest expectedResponse = buildProductRequest(productId, "Gaming Laptop", 2000.0, 25.0, 1500.0);
 
             when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
-            when(objectMapper.convertValue(updateRequest, Product.class)).thenReturn(mappedProduct);
             when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
                 Product saved = invocation.getArgument(0);
                 assertEquals(1500.0, saved.getSpecialPrice());
                 return updatedProduct;
             });
-            when(cartRepository.findCartsByProductId(productId)).thenReturn(Collections.emptyList());
-            when(objectMapper.convertValue(updatedProduct, ProductRequest.class)).thenReturn(expectedResponse);
 
             // Act
             ProductRequest result = productService.updateProduct(updateRequest, productId);
@@ -859,34 +1231,26 @@ class ProductServiceImplTest {
     class UpdateProductImageTests {
 
         @Test
-        @DisplayName("Should successfully update the product image")
-        void shouldSuccessfullyUpdateProductImage() throws IOException {
+        @DisplayName("Should hand the image to the upload pipeline and return its pending job")
+        void shouldSubmitImageToUploadPipeline() throws IOException {
             // Arrange
             Long productId = 1L;
-            Category category = buildCategory(1L, "Electronics");
-            Product product = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
-            String newImageName = "laptop-new.png";
-            Product updatedProduct = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
-            updatedProduct.setImage(newImageName);
-            ProductRequest expectedResponse = buildProductRequest(productId, "Laptop", 1000.0, 10.0, 900.0);
-            expectedResponse.setImage(newImageName);
-
             MultipartFile mockFile = mock(MultipartFile.class);
+            ImageUploadJobResponse job = new ImageUploadJobResponse(productId, ImageUploadJobResponse.Status.PENDING,
+                    null, Instant.now(), null, null);
 
-            when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(fileService.uploadImage("images/", mockFile)).thenReturn(newImageName);
-            when(productRepository.save(product)).thenReturn(updatedProduct);
-            when(objectMapper.convertValue(updatedProduct, ProductRequest.class)).thenReturn(expectedResponse);
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(imageUploadService.submitImage(productId, mockFile)).thenReturn(job);
 
             // Act
-            ProductRequest result = productService.updateProductImage(productId, mockFile);
+            ImageUploadJobResponse result = productService.updateProductImage(productId, mockFile);
 
             // Assert
-            assertNotNull(result);
-            assertEquals(newImageName, result.getImage());
-            verify(productRepository).findById(productId);
-            verify(fileService).uploadImage("images/", mockFile);
-            verify(productRepository).save(product);
+            assertSame(job, result);
+            verify(imageUploadService).submitImage(productId, mockFile);
+            verify(productRepository, never()).save(any(Product.class));
+            // The row is updated and the cache invalidated by the pipeline once the image is processed
+            verifyNoInteractions(productCache);
         }
 
         @Test
@@ -896,65 +1260,31 @@ class ProductServiceImplTest {
             Long productId = 999L;
             MultipartFile mockFile = mock(MultipartFile.class);
 
-            when(productRepository.findById(productId)).thenReturn(Optional.empty());
+            when(productRepository.existsById(productId)).thenReturn(false);
 
             // Act & Assert
             ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
                     productService.updateProductImage(productId, mockFile));
             assertEquals("Product not found with productId : 999", exception.getMessage());
-            verify(productRepository).findById(productId);
-            verify(fileService, never()).uploadImage(any(), any());
-            verify(productRepository, never()).save(any(Product.class));
+            verify(productRepository).existsById(productId);
+            verifyNoInteractions(imageUploadService);
         }
 
         @Test
-        @DisplayName("Should propagate IOException when file upload fails")
+        @DisplayName("Should propagate IOException when staging the upload fails")
         void shouldPropagateIOExceptionWhenFileUploadFails() throws IOException {
             // Arrange
             Long productId = 1L;
-            Category category = buildCategory(1L, "Electronics");
-            Product product = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
             MultipartFile mockFile = mock(MultipartFile.class);
 
-            when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(fileService.uploadImage("images/", mockFile)).thenThrow(new IOException("Disk full"));
+            when(productRepository.existsById(productId)).thenReturn(true);
+            when(imageUploadService.submitImage(productId, mockFile)).thenThrow(new IOException("Disk full"));
 
             // Act & Assert
             IOException exception = assertThrows(IOException.class, () ->
                     productService.updateProductImage(productId, mockFile));
             assertEquals("Disk full", exception.getMessage());
-            verify(fileService).uploadImage("images/", mockFile);
-            verify(productRepository, never()).save(any(Product.class));
-        }
-
-        @Test
-        @DisplayName("Should set the returned filename from FileService onto the product before saving")
-        void shouldSetReturnedFilenameOntoProduct() throws IOException {
-            // Arrange
-            Long productId = 1L;
-            Category category = buildCategory(1L, "Electronics");
-            Product product = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
-            String uploadedFileName = "abc123-laptop.jpg";
-            Product savedProduct = buildProduct(productId, "Laptop", 1000.0, 10.0, category);
-            savedProduct.setImage(uploadedFileName);
-            ProductRequest expectedResponse = buildProductRequest(productId, "Laptop", 1000.0, 10.0, 900.0);
-
-            MultipartFile mockFile = mock(MultipartFile.class);
-
-            when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-            when(fileService.uploadImage("images/", mockFile)).thenReturn(uploadedFileName);
-            when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
-                Product saved = invocation.getArgument(0);
-                assertEquals(uploadedFileName, saved.getImage());
-                return savedProduct;
-            });
-            when(objectMapper.convertValue(savedProduct, ProductRequest.class)).thenReturn(expectedResponse);
-
-            // Act
-            productService.updateProductImage(productId, mockFile);
-
-            // Assert
-            verify(productRepository).save(argThat(p -> uploadedFileName.equals(p.getImage())));
+            verify(imageUploadService).submitImage(productId, mockFile);
         }
     }
 }
@@ -0,0 +1,128 @@
+package com.echapps.ecom.project.product.service.cache;
+
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.dto.response.ProductCacheStats;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.repository.ProductSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for InMemoryProductCache.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) with Mockito
+ * Rationale:
+ * - The cache is plain Java; only the projection query of the repository is mocked
+ * - A manual clock drives TTL expiry deterministically instead of sleeping
+ *
+ * Test Coverage:
+ * - Hit/miss accounting and hit ratio, unknown products
+ * - TTL expiry, LRU size bound, invalidation
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryProductCache Unit Tests")
+class InMemoryProductCacheTest {
+
+    private static final long TTL_NANOS = 1_000L;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private InMemoryProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new InMemoryProductCache(productRepository, 2, TTL_NANOS, clock::get);
+    }
+
+    private ProductSummary summary(long id) {
+        return new ProductSummary(id, "Product " + id, "default.png", 100.0, 10.0, 90.0);
+    }
+
+    @Test
+    @DisplayName("Should load on the first lookup and serve later lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        when(productRepository.findSummaryByProductId(1L)).thenReturn(Optional.of(summary(1L)));
+
+        ProductSummary first = cache.getProduct(1L);
+        ProductSummary second = cache.getProduct(1L);
+
+        assertSame(first, second);
+        verify(productRepository, times(1)).findSummaryByProductId(1L);
+        ProductCacheStats stats = cache.getStats();
+        assertEquals("memory", stats.getBackend());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0.5, stats.getHitRatio());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for an unknown product and cache nothing")
+    void shouldThrowForUnknownProduct() {
+        when(productRepository.findSummaryByProductId(9L)).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> cache.getProduct(9L));
+
+        assertEquals("Product not found with productId : 9", exception.getMessage());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should reload an entry once its TTL has elapsed")
+    void shouldReloadExpiredEntry() {
+        when(productRepository.findSummaryByProductId(1L)).thenReturn(Optional.of(summary(1L)));
+
+        cache.getProduct(1L);
+        clock.addAndGet(TTL_NANOS);
+        cache.getProduct(1L);
+
+        verify(productRepository, times(2)).findSummaryByProductId(1L);
+        assertEquals(1, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        when(productRepository.findSummaryByProductId(1L)).thenReturn(Optional.of(summary(1L)));
+        when(productRepository.findSummaryByProductId(2L)).thenReturn(Optional.of(summary(2L)));
+        when(productRepository.findSummaryByProductId(3L)).thenReturn(Optional.of(summary(3L)));
+
+        cache.getProduct(1L);
+        cache.getProduct(2L);
+        cache.getProduct(1L);
+        cache.getProduct(3L);
+        cache.getProduct(1L);
+        cache.getProduct(2L);
+
+        assertEquals(2, cache.size());
+        verify(productRepository, times(1)).findSummaryByProductId(1L);
+        verify(productRepository, times(2)).findSummaryByProductId(2L);
+    }
+
+    @Test
+    @DisplayName("Should reload a product after it has been invalidated")
+    void shouldReloadAfterInvalidation() {
+        when(productRepository.findSummaryByProductId(1L))
+                .thenReturn(Optional.of(summary(1L)))
+                .thenReturn(Optional.of(new ProductSummary(1L, "Renamed", "default.png", 80.0, 0.0, 80.0)));
+
+        cache.getProduct(1L);
+        cache.invalidate(1L);
+
+        assertEquals("Renamed", cache.getProduct(1L).productName());
+    }
+}
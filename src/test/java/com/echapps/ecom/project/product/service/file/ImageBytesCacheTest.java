@@ -0,0 +1,75 @@
+package com.echapps.ecom.project.product.service.file;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ImageBytesCache.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter)
+ * Rationale:
+ * - The cache is plain in-memory Java with no dependencies, so it is instantiated directly
+ *
+ * Test Coverage:
+ * - Hits and misses, the per-entry size limit
+ * - Least recently used eviction by total bytes, replacing an entry
+ */
+@DisplayName("ImageBytesCache Unit Tests")
+class ImageBytesCacheTest {
+
+    @Test
+    @DisplayName("Should return cached bytes and count hits and misses")
+    void shouldCountHitsAndMisses() {
+        ImageBytesCache cache = new ImageBytesCache(100, 50);
+        byte[] content = new byte[10];
+
+        assertNull(cache.get("a.png"));
+        cache.put("a.png", content);
+
+        assertSame(content, cache.get("a.png"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache an image larger than the per-entry limit")
+    void shouldSkipLargeEntries() {
+        ImageBytesCache cache = new ImageBytesCache(100, 50);
+
+        cache.put("big.png", new byte[51]);
+
+        assertFalse(cache.accepts(51));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used images once the total size is exceeded")
+    void shouldEvictLeastRecentlyUsed() {
+        ImageBytesCache cache = new ImageBytesCache(100, 50);
+        cache.put("a.png", new byte[40]);
+        cache.put("b.png", new byte[40]);
+        cache.get("a.png");
+
+        cache.put("c.png", new byte[40]);
+
+        assertNotNull(cache.get("a.png"));
+        assertNull(cache.get("b.png"));
+        assertNotNull(cache.get("c.png"));
+        assertEquals(80, cache.getTotalBytes());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Should account for the new size when an image is replaced")
+    void shouldReplaceEntry() {
+        ImageBytesCache cache = new ImageBytesCache(100, 50);
+        cache.put("a.png", new byte[40]);
+
+        cache.put("a.png", new byte[10]);
+
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.getTotalBytes());
+    }
+}
@@ -0,0 +1,115 @@
+package com.echapps.ecom.project.product.service.file;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JMH benchmark of images served per second by 8 concurrent clients sharing one ImageServingServiceImpl.
+ *
+ * - readAllBytesPerRequest: the naive handler, reading the whole file from disk into the heap on every request
+ * - smallImageFromMemory: a 16 KB content-addressed image answered from the in-memory LRU
+ * - largeImageTransferTo: a 512 KB image streamed with FileChannel.transferTo, when the container has no sendfile
+ * - largeImageSendfileHandOff: the same image handed to the container's sendfile; only the handler cost is
+ *   measured, the copy itself happens in the kernel
+ * - revalidationNotModified: a conditional request answered with 304
+ *
+ * Not part of the unit test run (no @Test methods). Run it from the IDE via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ImageServingBenchmark {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String SMALL_IMAGE = HASH + "_thumb.jpg";
+    private static final String LARGE_IMAGE = HASH + ".jpg";
+
+    private Path imageDir;
+    private ImageServingServiceImpl imageServingService;
+
+    @Setup
+    public void setUp() throws IOException {
+        imageDir = Files.createTempDirectory("image-serving-benchmark");
+        Random random = new Random(42);
+        byte[] small = new byte[16 * 1024];
+        byte[] large = new byte[512 * 1024];
+        random.nextBytes(small);
+        random.nextBytes(large);
+        Files.write(imageDir.resolve(SMALL_IMAGE), small);
+        Files.write(imageDir.resolve(LARGE_IMAGE), large);
+        imageServingService = new ImageServingServiceImpl(imageDir.toString(), new FileServiceImpl(), new ImageBytesCache(32 * 1024 * 1024, 64 * 1024));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(imageDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private MockHttpServletResponse serve(String fileName, MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageServingService.serveImage(fileName, request, response);
+        return response;
+    }
+
+    @Benchmark
+    public int readAllBytesPerRequest() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        byte[] content = Files.readAllBytes(imageDir.resolve(SMALL_IMAGE));
+        response.getOutputStream().write(content);
+        return response.getContentLength();
+    }
+
+    @Benchmark
+    public int smallImageFromMemory() throws IOException {
+        return serve(SMALL_IMAGE, new MockHttpServletRequest("GET", "/images/" + SMALL_IMAGE)).getContentLength();
+    }
+
+    @Benchmark
+    public int largeImageTransferTo() throws IOException {
+        return serve(LARGE_IMAGE, new MockHttpServletRequest("GET", "/images/" + LARGE_IMAGE)).getContentLength();
+    }
+
+    @Benchmark
+    public Object largeImageSendfileHandOff() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + LARGE_IMAGE);
+        request.setAttribute(ImageServingServiceImpl.SENDFILE_SUPPORT_ATTRIBUTE, Boolean.TRUE);
+        serve(LARGE_IMAGE, request);
+        return request.getAttribute(ImageServingServiceImpl.SENDFILE_FILENAME_ATTRIBUTE);
+    }
+
+    @Benchmark
+    public int revalidationNotModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + LARGE_IMAGE);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"");
+        return serve(LARGE_IMAGE, request).getStatus();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ImageServingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,305 @@
+package com.echapps.ecom.project.product.service.file;
+
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.service.file.storage.DirectoryImageStorage;
+import com.echapps.ecom.project.product.service.file.storage.PackFileImageStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ImageServingServiceImpl.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + @TempDir + Spring mock servlet objects
+ * Rationale:
+ * - Images are real files in an isolated temp directory, served into a MockHttpServletResponse
+ * - No Spring context is needed: the service only uses the servlet request and response
+ *
+ * Test Coverage:
+ * - Full responses, content type and caching headers for content-addressed and other names
+ * - If-None-Match, single byte ranges, If-Range, unsatisfiable ranges
+ * - The in-memory LRU for small images, sendfile hand-off for large ones, unknown and unsafe names
+ * - Images packed into a shared file by the pack storage backend
+ */
+@DisplayName("ImageServingServiceImpl Unit Tests")
+class ImageServingServiceImplTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String CONTENT_ADDRESSED = HASH + ".png";
+
+    @TempDir
+    Path imageDir;
+
+    private final byte[] content = new byte[1000];
+
+    private ImageBytesCache imageBytesCache;
+    private ImageServingServiceImpl imageServingService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(imageDir.resolve(CONTENT_ADDRESSED), content);
+        Files.write(imageDir.resolve("default.png"), content);
+        imageBytesCache = new ImageBytesCache(64 * 1024, 4 * 1024);
+        imageServingService = new ImageServingServiceImpl(imageDir.toString(), new FileServiceImpl(), imageBytesCache);
+    }
+
+    private MockHttpServletResponse serve(String fileName, MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        imageServingService.serveImage(fileName, request, response);
+        return response;
+    }
+
+    @Nested
+    @DisplayName("Full responses")
+    class FullResponseTests {
+
+        @Test
+        @DisplayName("Should serve a content-addressed image with an immutable Cache-Control and its hash as ETag")
+        void shouldServeContentAddressedImage() throws IOException {
+            // Act
+            MockHttpServletResponse response = serve(CONTENT_ADDRESSED, new MockHttpServletRequest("GET", "/images/" + CONTENT_ADDRESSED));
+
+            // Assert
+            assertEquals(200, response.getStatus());
+            assertEquals("image/png", response.getContentType());
+            assertEquals(1000, response.getContentLengthLong());
+            assertArrayEquals(content, response.getContentAsByteArray());
+            assertEquals("\"" + HASH + "\"", response.getHeader(HttpHeaders.ETAG));
+            assertEquals("max-age=31536000, public, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+            assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        }
+
+        @Test
+        @DisplayName("Should make clients revalidate images whose name does not identify their content")
+        void shouldRevalidateOtherImages() throws IOException {
+            // Act
+            MockHttpServletResponse response = serve("default.png", new MockHttpServletRequest("GET", "/images/default.png"));
+
+            // Assert
+            assertEquals(200, response.getStatus());
+            assertArrayEquals(content, response.getContentAsByteArray());
+            assertEquals("no-cache, public", response.getHeader(HttpHeaders.CACHE_CONTROL));
+            assertNotNull(response.getHeader(HttpHeaders.ETAG));
+            assertEquals(0, imageBytesCache.size(), "Only content-addressed images are cached");
+        }
+
+        @Test
+        @DisplayName("Should send headers but no body for a HEAD request")
+        void shouldSendNoBodyForHead() throws IOException {
+            // Act
+            MockHttpServletResponse response = serve(CONTENT_ADDRESSED, new MockHttpServletRequest("HEAD", "/images/" + CONTENT_ADDRESSED));
+
+            // Assert
+            assertEquals(1000, response.getContentLengthLong());
+            assertEquals(0, response.getContentAsByteArray().length);
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException for a missing image or a name that is not a plain file name")
+        void shouldRejectUnknownNames() {
+            assertThrows(ResourceNotFoundException.class, () -> serve("missing.png", new MockHttpServletRequest()));
+            assertThrows(ResourceNotFoundException.class, () -> serve("..%2Fsecret.png", new MockHttpServletRequest()));
+            assertThrows(ResourceNotFoundException.class, () -> serve("../secret.png", new MockHttpServletRequest()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional and range requests")
+    class ConditionalRequestTests {
+
+        @Test
+        @DisplayName("Should answer 304 with no body when If-None-Match holds the current ETag")
+        void shouldReturnNotModified() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + CONTENT_ADDRESSED);
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"" + HASH + "\"");
+
+            // Act
+            MockHttpServletResponse response = serve(CONTENT_ADDRESSED, request);
+
+            // Assert
+            assertEquals(304, response.getStatus());
+            assertEquals(0, response.getContentAsByteArray().length);
+        }
+
+        @Test
+        @DisplayName("Should answer 206 with the requested bytes and a Content-Range")
+        void shouldServeByteRange() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/default.png");
+            request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+            // Act
+            MockHttpServletResponse response = serve("default.png", request);
+
+            // Assert
+            assertEquals(206, response.getStatus());
+            assertEquals("bytes 100-199/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+            assertEquals(100, response.getContentLengthLong());
+            assertArrayEquals(Arrays.copyOfRange(content, 100, 200), response.getContentAsByteArray());
+        }
+
+        @Test
+        @DisplayName("Should serve a range of a cached image from memory")
+        void shouldServeRangeFromCache() throws IOException {
+            // Arrange
+            serve(CONTENT_ADDRESSED, new MockHttpServletRequest("GET", "/images/" + CONTENT_ADDRESSED));
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + CONTENT_ADDRESSED);
+            request.addHeader(HttpHeaders.RANGE, "bytes=-10");
+
+            // Act
+            MockHttpServletResponse response = serve(CONTENT_ADDRESSED, request);
+
+            // Assert
+            assertEquals(206, response.getStatus());
+            assertEquals("bytes 990-999/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+            assertArrayEquals(Arrays.copyOfRange(content, 990, 1000), response.getContentAsByteArray());
+        }
+
+        @Test
+        @DisplayName("Should send the whole image when If-Range does not match the current ETag")
+        void shouldIgnoreRangeWhenIfRangeDoesNotMatch() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + CONTENT_ADDRESSED);
+            request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+            request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+            // Act
+            MockHttpServletResponse response = serve(CONTENT_ADDRESSED, request);
+
+            // Assert
+            assertEquals(200, response.getStatus());
+            assertEquals(1000, response.getContentAsByteArray().length);
+        }
+
+        @Test
+        @DisplayName("Should answer 416 for a range starting past the end of the image")
+        void shouldRejectUnsatisfiableRange() throws IOException {
+            // Arrange
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/default.png");
+            request.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+
+            // Act
+            MockHttpServletResponse response = serve("default.png", request);
+
+            // Assert
+            assertEquals(416, response.getStatus());
+            assertEquals("bytes */1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        }
+
+        @Test
+        @DisplayName("Should parse open, suffix, clamped, malformed and multiple ranges")
+        void shouldParseRanges() {
+            assertArrayEquals(new long[]{500, 1000}, ImageServingServiceImpl.parseRange("bytes=500-", 1000));
+            assertArrayEquals(new long[]{900, 1000}, ImageServingServiceImpl.parseRange("bytes=-100", 1000));
+            assertArrayEquals(new long[]{0, 1000}, ImageServingServiceImpl.parseRange("bytes=0-5000", 1000));
+            assertEquals(0, ImageServingServiceImpl.parseRange("bytes=0-1,5-9", 1000).length);
+            assertEquals(0, ImageServingServiceImpl.parseRange("items=0-1", 1000).length);
+            assertEquals(0, ImageServingServiceImpl.parseRange("bytes=9-5", 1000).length);
+            assertNull(ImageServingServiceImpl.parseRange("bytes=-0", 1000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Transfer strategy")
+    class TransferTests {
+
+        @Test
+        @DisplayName("Should keep serving a small content-addressed image from memory")
+        void shouldServeSmallImageFromMemory() throws IOException {
+            // Arrange
+            serve(CONTENT_ADDRESSED, new MockHttpServletRequest("GET", "/images/" + CONTENT_ADDRESSED));
+            Files.delete(imageDir.resolve(CONTENT_ADDRESSED));
+
+            // Act
+            MockHttpServletResponse response = serve(CONTENT_ADDRESSED, new MockHttpServletRequest("GET", "/images/" + CONTENT_ADDRESSED));
+
+            // Assert
+            assertArrayEquals(content, response.getContentAsByteArray());
+            assertEquals(1, imageBytesCache.getHitCount());
+        }
+
+        @Test
+        @DisplayName("Should hand a large image to the container's sendfile instead of writing it")
+        void shouldUseSendfileForLargeImages() throws IOException {
+            // Arrange
+            String largeImage = HASH + "_medium.jpg";
+            Files.write(imageDir.resolve(largeImage), new byte[8 * 1024]);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + largeImage);
+            request.setAttribute(ImageServingServiceImpl.SENDFILE_SUPPORT_ATTRIBUTE, Boolean.TRUE);
+            request.addHeader(HttpHeaders.RANGE, "bytes=1024-");
+
+            // Act
+            MockHttpServletResponse response = serve(largeImage, request);
+
+            // Assert
+            assertEquals(206, response.getStatus());
+            assertEquals("image/jpeg", response.getContentType());
+            assertEquals(0, response.getContentAsByteArray().length);
+            assertEquals(imageDir.resolve(largeImage).toAbsolutePath().toString(),
+                    request.getAttribute(ImageServingServiceImpl.SENDFILE_FILENAME_ATTRIBUTE));
+            assertEquals(1024L, request.getAttribute(ImageServingServiceImpl.SENDFILE_START_ATTRIBUTE));
+            assertEquals(8192L, request.getAttribute(ImageServingServiceImpl.SENDFILE_END_ATTRIBUTE));
+            assertEquals(0, imageBytesCache.size());
+        }
+
+        @Test
+        @DisplayName("Should shift the sendfile range by the image's offset when it is packed with others")
+        void shouldUseSendfileForPackedImages() throws IOException {
+            // Arrange
+            Path packDir = imageDir.resolve("packed");
+            FileService packedFileService = new FileServiceImpl(root -> new PackFileImageStorage(root, 64 * 1024, new DirectoryImageStorage(root, 2)));
+            String first = HASH + "_thumb.jpg";
+            String second = HASH + "_medium.jpg";
+            packedFileService.storeUpload(packDir.toString(), Files.write(packedFileService.createStagedFile(packDir.toString()), new byte[3000]), first);
+            packedFileService.storeUpload(packDir.toString(), Files.write(packedFileService.createStagedFile(packDir.toString()), content), second);
+            imageServingService = new ImageServingServiceImpl(packDir.toString(), packedFileService, new ImageBytesCache(0, 0));
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + second);
+            request.setAttribute(ImageServingServiceImpl.SENDFILE_SUPPORT_ATTRIBUTE, Boolean.TRUE);
+            request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+
+            // Act
+            MockHttpServletResponse response = serve(second, request);
+
+            // Assert
+            assertEquals(206, response.getStatus());
+            assertEquals(packDir.resolve(PackFileImageStorage.PACK_FILE).toAbsolutePath().toString(),
+                    request.getAttribute(ImageServingServiceImpl.SENDFILE_FILENAME_ATTRIBUTE));
+            assertEquals(3100L, request.getAttribute(ImageServingServiceImpl.SENDFILE_START_ATTRIBUTE));
+            assertEquals(3200L, request.getAttribute(ImageServingServiceImpl.SENDFILE_END_ATTRIBUTE));
+        }
+
+        @Test
+        @DisplayName("Should stream a packed image from its offset when the container has no sendfile")
+        void shouldStreamPackedImages() throws IOException {
+            // Arrange
+            Path packDir = imageDir.resolve("packed");
+            FileService packedFileService = new FileServiceImpl(root -> new PackFileImageStorage(root, 64 * 1024, new DirectoryImageStorage(root, 2)));
+            packedFileService.storeUpload(packDir.toString(), Files.write(packedFileService.createStagedFile(packDir.toString()), new byte[3000]), "first.png");
+            packedFileService.storeUpload(packDir.toString(), Files.write(packedFileService.createStagedFile(packDir.toString()), content), "second.png");
+            imageServingService = new ImageServingServiceImpl(packDir.toString(), packedFileService, imageBytesCache);
+
+            // Act
+            MockHttpServletResponse response = serve("second.png", new MockHttpServletRequest("GET", "/images/second.png"));
+
+            // Assert
+            assertEquals(200, response.getStatus());
+            assertArrayEquals(content, response.getContentAsByteArray());
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.echapps.ecom.project.product.service.file;
+
+import com.echapps.ecom.project.exceptions.APIException;
+import com.echapps.ecom.project.exceptions.ResourceNotFoundException;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse;
+import com.echapps.ecom.project.product.dto.response.ImageUploadJobResponse.Status;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.service.ProductCatalogVersion;
+import com.echapps.ecom.project.product.service.cache.ProductCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImageUploadServiceImpl.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Mockito + @TempDir
+ * Rationale:
+ * - A real FileServiceImpl writes into an isolated temp directory, so staging and the atomic move are exercised for real
+ * - The repository and product cache are mocked; jobs run on a deferred executor and without transactions
+ *
+ * Test Coverage:
+ * - Staging on submit, processing on the worker, product row update and cache invalidation
+ * - Content-addressed names, thumbnail and medium renditions, deduplication of identical uploads
+ * - Size and signature validation, undecodable images, a full queue
+ * - Superseded uploads, uploads submitted while an older one updates the product, products deleted during processing
+ * - Unknown jobs, finished jobs forgotten after the retention period
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageUploadServiceImpl Unit Tests")
+class ImageUploadServiceImplTest {
+
+    private static final Long PRODUCT_ID = 1L;
+    private static final Duration RETENTION = Duration.ofMinutes(10);
+
+    @TempDir
+    Path imageDir;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductCatalogVersion productCatalogVersion;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+
+    private final MutableClock clock = new MutableClock();
+
+    private ImageUploadServiceImpl imageUploadService;
+
+    @BeforeEach
+    void setUp() {
+        imageUploadService = new ImageUploadServiceImpl(new FileServiceImpl(), productRepository, productCache,
+                productCatalogVersion, TransactionOperations.withoutTransaction(), scheduled::add, imageDir.toString(), 64 * 1024,
+                RETENTION, clock);
+    }
+
+    private void runScheduled() {
+        List<Runnable> jobs = new ArrayList<>(scheduled);
+        scheduled.clear();
+        jobs.forEach(Runnable::run);
+    }
+
+    private static MockMultipartFile png(String originalName) throws IOException {
+        return png(originalName, 1000, 500);
+    }
+
+    private static MockMultipartFile png(String originalName, int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", bytes);
+        return new MockMultipartFile("image", originalName, "image/png", bytes.toByteArray());
+    }
+
+    private static String sha256(byte[] bytes) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    private List<Path> filesInImageDir() throws IOException {
+        try (Stream<Path> files = Files.list(imageDir)) {
+            return files.toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should stage the upload and return a pending job without touching the product")
+    void shouldStageUploadAndReturnPendingJob() throws IOException {
+        // Act
+        ImageUploadJobResponse job = imageUploadService.submitImage(PRODUCT_ID, png("photo.png"));
+
+        // Assert
+        assertEquals(Status.PENDING, job.getStatus());
+        assertNull(job.getImage());
+        assertEquals(1, scheduled.size());
+        assertEquals(1, filesInImageDir().size(), "The upload should be staged before the request returns");
+        verifyNoInteractions(productRepository, productCache);
+    }
+
+    @Test
+    @DisplayName("Should store the image under its content hash, point the product at it, invalidate the cache and change the catalog version")
+    void shouldCompleteUpload() throws Exception {
+        // Arrange
+        MockMultipartFile image = png("photo.png");
+        String contentHash = sha256(image.getBytes());
+        when(productRepository.updateImage(eq(PRODUCT_ID), anyString())).thenReturn(1);
+
+        // Act
+        imageUploadService.submitImage(PRODUCT_ID, image);
+        runScheduled();
+
+        // Assert
+        ImageUploadJobResponse job = imageUploadService.getImageUploadJob(PRODUCT_ID);
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertNotNull(job.getFinishedAt());
+        assertEquals(contentHash + ".png", job.getImage());
+        assertArrayEquals(image.getBytes(), Files.readAllBytes(imageDir.resolve(job.getImage())));
+        verify(productRepository).updateImage(PRODUCT_ID, job.getImage());
+        verify(productCache).invalidate(PRODUCT_ID);
+        verify(productCatalogVersion).changed();
+    }
+
+    @Test
+    @DisplayName("Should render JPEG thumbnail and medium renditions that keep the aspect ratio")
+    void shouldRenderRenditions() throws Exception {
+        // Arrange
+        MockMultipartFile image = png("photo.png");
+        String contentHash = sha256(image.getBytes());
+        when(productRepository.updateImage(eq(PRODUCT_ID), anyString())).thenReturn(1);
+
+        // Act
+        imageUploadService.submitImage(PRODUCT_ID, image);
+        runScheduled();
+
+        // Assert
+        BufferedImage medium = ImageIO.read(imageDir.resolve(contentHash + "_medium.jpg").toFile());
+        BufferedImage thumbnail = ImageIO.read(imageDir.resolve(contentHash + "_thumb.jpg").toFile());
+        assertEquals(640, medium.getWidth());
+        assertEquals(320, medium.getHeight());
+        assertEquals(200, thumbnail.getWidth());
+        assertEquals(100, thumbnail.getHeight());
+        assertEquals(3, filesInImageDir().size());
+    }
+
+    @Test
+    @DisplayName("Should not upscale images smaller than a rendition")
+    void shouldNotUpscaleSmallImages() {
+        BufferedImage scaled = ImageUploadServiceImpl.scaleToFit(new BufferedImage(120, 80, BufferedImage.TYPE_INT_ARGB), 200);
+
+        assertEquals(120, scaled.getWidth());
+        assertEquals(80, scaled.getHeight());
+    }
+
+    @Test
+    @DisplayName("Should reuse the stored files, without rendering again, when the same image is uploaded twice")
+    void shouldDeduplicateIdenticalUploads() throws Exception {
+        // Arrange
+        FileService fileService = spy(new FileServiceImpl());
+        imageUploadService = new ImageUploadServiceImpl(fileService, productRepository, productCache,
+                productCatalogVersion, TransactionOperations.withoutTransaction(), scheduled::add, imageDir.toString(), 64 * 1024,
+                RETENTION, clock);
+        MockMultipartFile image = png("photo.png");
+        when(productRepository.updateImage(anyLong(), anyString())).thenReturn(1);
+
+        // Act
+        imageUploadService.submitImage(1L, image);
+        imageUploadService.submitImage(2L, image);
+        runScheduled();
+
+        // Assert
+        String first = imageUploadService.getImageUploadJob(1L).getImage();
+        assertEquals(first, imageUploadService.getImageUploadJob(2L).getImage());
+        assertEquals(3, filesInImageDir().size(), "One original and two renditions, shared by both products");
+        String contentHash = sha256(image.getBytes());
+        verify(fileService, times(1)).storeUpload(eq(imageDir.toString()), any(), eq(contentHash + "_thumb.jpg"));
+        verify(fileService, times(1)).storeUpload(eq(imageDir.toString()), any(), eq(contentHash + "_medium.jpg"));
+    }
+
+    @Test
+    @DisplayName("Should name the stored file after the detected type, not the client's file name")
+    void shouldUseDetectedExtension() throws IOException {
+        // Arrange
+        when(productRepository.updateImage(eq(PRODUCT_ID), anyString())).thenReturn(1);
+
+        // Act
+        imageUploadService.submitImage(PRODUCT_ID, png("photo.html"));
+        runScheduled();
+
+        // Assert
+        assertTrue(imageUploadService.getImageUploadJob(PRODUCT_ID).getImage().endsWith(".png"));
+    }
+
+    @Test
+    @DisplayName("Should reject an image larger than the maximum size before staging it")
+    void shouldRejectOversizedImage() throws IOException {
+        // Arrange
+        MockMultipartFile image = new MockMultipartFile("image", "big.png", "image/png", new byte[64 * 1024 + 1]);
+
+        // Act & Assert
+        APIException exception = assertThrows(APIException.class, () -> imageUploadService.submitImage(PRODUCT_ID, image));
+        assertEquals("Image exceeds the maximum size of 65536 bytes", exception.getMessage());
+        assertTrue(filesInImageDir().isEmpty());
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject content that is not a supported image and delete the staged file")
+    void shouldRejectUnsupportedContent() throws IOException {
+        // Arrange
+        MockMultipartFile image = new MockMultipartFile("image", "photo.jpg", "image/jpeg", "<html></html>".getBytes());
+
+        // Act & Assert
+        APIException exception = assertThrows(APIException.class, () -> imageUploadService.submitImage(PRODUCT_ID, image));
+        assertEquals("Unsupported image type. Supported types: [JPEG, PNG, GIF]", exception.getMessage());
+        assertTrue(filesInImageDir().isEmpty());
+        assertTrue(scheduled.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail the job and clean up when a file with an image signature does not decode")
+    void shouldFailUndecodableImage() throws IOException {
+        // Arrange
+        byte[] truncated = Arrays.copyOf(png("photo.png").getBytes(), 20);
+
+        // Act
+        imageUploadService.submitImage(PRODUCT_ID, new MockMultipartFile("image", "photo.png", "image/png", truncated));
+        runScheduled();
+
+        // Assert
+        ImageUploadJobResponse job = imageUploadService.getImageUploadJob(PRODUCT_ID);
+        assertEquals(Status.FAILED, job.getStatus());
+        assertNotNull(job.getError());
+        assertTrue(filesInImageDir().isEmpty());
+        verifyNoInteractions(productRepository, productCache);
+    }
+
+    @Test
+    @DisplayName("Should let a newer upload supersede an older one still waiting for a worker")
+    void shouldSupersedeOlderUpload() throws Exception {
+        // Arrange
+        MockMultipartFile second = png("second.png", 300, 300);
+        when(productRepository.updateImage(eq(PRODUCT_ID), anyString())).thenReturn(1);
+
+        // Act
+        imageUploadService.submitImage(PRODUCT_ID, png("first.png"));
+        imageUploadService.submitImage(PRODUCT_ID, second);
+        runScheduled();
+
+        // Assert
+        ImageUploadJobResponse job = imageUploadService.getImageUploadJob(PRODUCT_ID);
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertEquals(sha256(second.getBytes()) + ".png", job.getImage());
+        assertEquals(3, filesInImageDir().size(), "Only the newer image and its renditions should be stored");
+        verify(productRepository, times(1)).updateImage(eq(PRODUCT_ID), anyString());
+    }
+
+    @Test
+    @DisplayName("Should accept a newer upload while an older one is updating the product, and apply it afterwards")
+    void shouldAcceptUploadWhileOlderOneUpdatesProduct() throws Exception {
+        // Arrange
+        MockMultipartFile second = png("second.png", 300, 300);
+        List<String> images = new ArrayList<>();
+        when(productRepository.updateImage(eq(PRODUCT_ID), anyString())).thenAnswer(invocation -> {
+            if (images.isEmpty()) {
+                imageUploadService.submitImage(PRODUCT_ID, second);
+            }
+            images.add(invocation.getArgument(1));
+            return 1;
+        });
+
+        // Act
+        imageUploadService.submitImage(PRODUCT_ID, png("first.png"));
+        runScheduled();
+        runScheduled();
+
+        // Assert
+        String secondImage = sha256(second.getBytes()) + ".png";
+        assertEquals(2, images.size());
+        assertEquals(secondImage, images.get(1), "The newer image should be written last");
+        ImageUploadJobResponse job = imageUploadService.getImageUploadJob(PRODUCT_ID);
+        assertEquals(Status.COMPLETED, job.getStatus());
+        assertEquals(secondImage, job.getImage());
+    }
+
+    @Test
+    @DisplayName("Should fail, keeping the shareable stored files, when the product was deleted during processing")
+    void shouldFailWhenProductWasDeleted() throws IOException {
+        // Arrange
+        when(productRepository.updateImage(eq(PRODUCT_ID), anyString())).thenReturn(0);
+
+        // Act
+        imageUploadService.submitImage(PRODUCT_ID, png("photo.png"));
+        runScheduled();
+
+        // Assert
+        ImageUploadJobResponse job = imageUploadService.getImageUploadJob(PRODUCT_ID);
+        assertEquals(Status.FAILED, job.getStatus());
+        assertEquals("Product was deleted during the upload", job.getError());
+        assertNull(job.getImage());
+        verifyNoInteractions(productCache, productCatalogVersion);
+    }
+
+    @Test
+    @DisplayName("Should fail the job and delete the staged file when the queue is full")
+    void shouldFailWhenQueueIsFull() throws IOException {
+        // Arrange
+        imageUploadService = new ImageUploadServiceImpl(new FileServiceImpl(), productRepository, productCache,
+                productCatalogVersion, TransactionOperations.withoutTransaction(),
+                runnable -> { throw new RejectedExecutionException(); },
+                imageDir.toString(), 64 * 1024, RETENTION, clock);
+
+        // Act
+        ImageUploadJobResponse job = imageUploadService.submitImage(PRODUCT_ID, png("photo.png"));
+
+        // Assert
+        assertEquals(Status.FAILED, job.getStatus());
+        assertEquals("Image processing queue is full", job.getError());
+        assertTrue(filesInImageDir().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException for a product without uploads")
+    void shouldThrowForUnknownJob() {
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> imageUploadService.getImageUploadJob(42L));
+        assertEquals("Image upload not found with productId : 42", exception.getMessage());
+        verify(productRepository, never()).updateImage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should forget a finished job once it is older than the retention period")
+    void shouldPruneFinishedJobsAfterRetention() throws IOException {
+        when(productRepository.updateImage(eq(PRODUCT_ID), anyString())).thenReturn(1);
+        imageUploadService.submitImage(PRODUCT_ID, png("photo.png"));
+        runScheduled();
+
+        clock.advance(RETENTION);
+        assertEquals(Status.COMPLETED, imageUploadService.getImageUploadJob(PRODUCT_ID).getStatus());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThrows(ResourceNotFoundException.class, () -> imageUploadService.getImageUploadJob(PRODUCT_ID));
+    }
+
+    @Test
+    @DisplayName("Should keep a job that has not finished, however old it is")
+    void shouldKeepUnfinishedJobs() throws IOException {
+        imageUploadService.submitImage(PRODUCT_ID, png("photo.png"));
+
+        clock.advance(RETENTION.multipliedBy(10));
+        imageUploadService.submitImage(2L, png("other.png"));
+
+        assertEquals(Status.PENDING, imageUploadService.getImageUploadJob(PRODUCT_ID).getStatus());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DirectoryImageStorage.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + @TempDir
+ * Rationale:
+ * - The storage only touches the filesystem, so it runs against an isolated temp directory
+ *
+ * Test Coverage:
+ * - Flat layout: store, open, dedupe by name, missing names
+ * - Sharded layout: nested shard directories, files written before sharding was turned on
+ */
+@DisplayName("DirectoryImageStorage Unit Tests")
+class DirectoryImageStorageTest {
+
+    @TempDir
+    Path root;
+
+    private Path staged(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(root, ".upload-", ".tmp"), content);
+    }
+
+    @Nested
+    @DisplayName("Flat layout")
+    class FlatTests {
+
+        @Test
+        @DisplayName("Should move the staged file into the root and open it")
+        void shouldStoreAndOpen() throws IOException {
+            // Arrange
+            DirectoryImageStorage storage = new DirectoryImageStorage(root, 0);
+            Path staged = staged("png data");
+
+            // Act
+            boolean stored = storage.store("abc.png", staged);
+            StoredImage image = storage.open("abc.png");
+
+            // Assert
+            assertTrue(stored);
+            assertFalse(Files.exists(staged));
+            assertTrue(Files.exists(root.resolve("abc.png")));
+            assertEquals(8, image.size());
+            assertEquals(root.resolve("abc.png"), image.file());
+            assertArrayEquals("png data".getBytes(), image.readAllBytes());
+        }
+
+        @Test
+        @DisplayName("Should keep the stored file and drop the staged one when the name is taken")
+        void shouldDeduplicate() throws IOException {
+            // Arrange
+            DirectoryImageStorage storage = new DirectoryImageStorage(root, 0);
+            storage.store("abc.png", staged("first"));
+            Path staged = staged("second");
+
+            // Act
+            boolean stored = storage.store("abc.png", staged);
+
+            // Assert
+            assertFalse(stored);
+            assertFalse(Files.exists(staged));
+            assertArrayEquals("first".getBytes(), storage.open("abc.png").readAllBytes());
+        }
+
+        @Test
+        @DisplayName("Should return null and false for a name that is not stored")
+        void shouldReportMissing() throws IOException {
+            DirectoryImageStorage storage = new DirectoryImageStorage(root, 0);
+
+            assertNull(storage.open("missing.png"));
+            assertFalse(storage.exists("missing.png"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Sharded layout")
+    class ShardedTests {
+
+        @Test
+        @DisplayName("Should store the file two shard directories below the root")
+        void shouldStoreInShardDirectories() throws IOException {
+            // Arrange
+            DirectoryImageStorage storage = new DirectoryImageStorage(root, 2);
+
+            // Act
+            storage.store("abc.png", staged("png data"));
+
+            // Assert
+            Path file = storage.shardedPath("abc.png");
+            assertTrue(Files.exists(file));
+            assertEquals(root, file.getParent().getParent().getParent());
+            assertTrue(file.getParent().getFileName().toString().matches("[0-9a-f]{2}"));
+            assertFalse(Files.exists(root.resolve("abc.png")));
+            assertEquals(file, storage.open("abc.png").file());
+        }
+
+        @Test
+        @DisplayName("Should retry creating a shard directory after an earlier attempt failed")
+        void shouldRetryFailedShardDirectory() throws IOException {
+            // Arrange
+            DirectoryImageStorage storage = new DirectoryImageStorage(root, 2);
+            Path shard = storage.shardedPath("abc.png").getParent();
+            Files.createDirectories(shard.getParent());
+            Files.writeString(shard, "not a directory");
+            assertThrows(IOException.class, () -> storage.store("abc.png", staged("png data")));
+            Files.delete(shard);
+
+            // Act
+            boolean stored = storage.store("abc.png", staged("png data"));
+
+            // Assert
+            assertTrue(stored);
+            assertTrue(Files.exists(storage.shardedPath("abc.png")));
+        }
+
+        @Test
+        @DisplayName("Should spread names over different shards")
+        void shouldSpreadNames() throws IOException {
+            DirectoryImageStorage storage = new DirectoryImageStorage(root, 2);
+
+            assertNotEquals(storage.shardedPath("a.png").getParent(), storage.shardedPath("b.png").getParent());
+        }
+
+        @Test
+        @DisplayName("Should still find and dedupe files stored flat before sharding was turned on")
+        void shouldFallBackToFlatFiles() throws IOException {
+            // Arrange
+            Files.writeString(root.resolve("legacy.png"), "old");
+            DirectoryImageStorage storage = new DirectoryImageStorage(root, 2);
+            Path staged = staged("old");
+
+            // Act
+            boolean stored = storage.store("legacy.png", staged);
+
+            // Assert
+            assertFalse(stored);
+            assertFalse(Files.exists(staged));
+            assertFalse(Files.exists(storage.shardedPath("legacy.png")));
+            assertTrue(storage.exists("legacy.png"));
+            assertEquals(root.resolve("legacy.png"), storage.open("legacy.png").file());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.echapps.ecom.project.product.service.file.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PackFileImageStorage.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + @TempDir
+ * Rationale:
+ * - The pack and its memory-mapped index are real files in an isolated temp directory, so reopening
+ *   the storage exercises the index exactly as a restart would
+ *
+ * Test Coverage:
+ * - Small images packed back to back, ranges read from the pack, dedupe
+ * - Large images and over-long names delegated to the loose storage
+ * - Reloading the index after a restart, growing the index, a record torn by a crash
+ */
+@DisplayName("PackFileImageStorage Unit Tests")
+class PackFileImageStorageTest {
+
+    private static final int MAX_PACKED_BYTES = 1024;
+
+    @TempDir
+    Path root;
+
+    private PackFileImageStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = open(4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        storage.close();
+    }
+
+    private PackFileImageStorage open(int initialRecords) throws IOException {
+        return new PackFileImageStorage(root, MAX_PACKED_BYTES, new DirectoryImageStorage(root, 2), initialRecords);
+    }
+
+    private Path staged(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(root, ".upload-", ".tmp"), content);
+    }
+
+    private static byte[] bytes(int length, int seed) {
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++) {
+            content[i] = (byte) (i + seed);
+        }
+        return content;
+    }
+
+    @Nested
+    @DisplayName("Packing")
+    class PackingTests {
+
+        @Test
+        @DisplayName("Should append small images to the pack file and read them back from their offsets")
+        void shouldPackSmallImages() throws IOException {
+            // Arrange
+            byte[] first = bytes(300, 1);
+            byte[] second = bytes(500, 2);
+            Path staged = staged(first);
+
+            // Act
+            assertTrue(storage.store("first.png", staged));
+            assertTrue(storage.store("second.png", staged(second)));
+
+            // Assert
+            assertFalse(Files.exists(staged));
+            assertEquals(800, Files.size(root.resolve(PackFileImageStorage.PACK_FILE)));
+            StoredImage image = storage.open("second.png");
+            assertEquals(root.resolve(PackFileImageStorage.PACK_FILE), image.file());
+            assertEquals(300, image.offset());
+            assertEquals(500, image.size());
+            assertArrayEquals(second, image.readAllBytes());
+            assertArrayEquals(first, storage.open("first.png").readAllBytes());
+            assertEquals(2, storage.getPackedCount());
+        }
+
+        @Test
+        @DisplayName("Should read a byte range of a packed image")
+        void shouldReadRange() throws IOException {
+            // Arrange
+            byte[] content = bytes(500, 3);
+            storage.store("a.png", staged(bytes(100, 0)));
+            storage.store("b.png", staged(content));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // Act
+            storage.open("b.png").transferTo(10, 20, Channels.newChannel(out));
+
+            // Assert
+            assertArrayEquals(Arrays.copyOfRange(content, 10, 20), out.toByteArray());
+        }
+
+        @Test
+        @DisplayName("Should not append an image whose name is already packed")
+        void shouldDeduplicate() throws IOException {
+            // Arrange
+            storage.store("a.png", staged(bytes(100, 0)));
+            Path staged = staged(bytes(100, 0));
+
+            // Act
+            boolean stored = storage.store("a.png", staged);
+
+            // Assert
+            assertFalse(stored);
+            assertFalse(Files.exists(staged));
+            assertEquals(100, Files.size(root.resolve(PackFileImageStorage.PACK_FILE)));
+        }
+
+        @Test
+        @DisplayName("Should store large images and over-long names as loose files")
+        void shouldDelegateLargeImages() throws IOException {
+            // Arrange
+            byte[] large = bytes(MAX_PACKED_BYTES + 1, 4);
+            String longName = "x".repeat(PackFileImageStorage.MAX_NAME_BYTES) + ".png";
+
+            // Act
+            storage.store("large.png", staged(large));
+            storage.store(longName, staged(bytes(10, 5)));
+
+            // Assert
+            assertEquals(0, Files.size(root.resolve(PackFileImageStorage.PACK_FILE)));
+            assertEquals(0, storage.getPackedCount());
+            StoredImage image = storage.open("large.png");
+            assertEquals(0, image.offset());
+            assertNotEquals(root.resolve(PackFileImageStorage.PACK_FILE), image.file());
+            assertArrayEquals(large, image.readAllBytes());
+            assertTrue(storage.exists(longName));
+        }
+
+        @Test
+        @DisplayName("Should return null for a name that is neither packed nor loose")
+        void shouldReportMissing() throws IOException {
+            assertNull(storage.open("missing.png"));
+            assertFalse(storage.exists("missing.png"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Index")
+    class IndexTests {
+
+        @Test
+        @DisplayName("Should find packed images again after the storage is reopened")
+        void shouldReloadIndex() throws IOException {
+            // Arrange
+            byte[] content = bytes(200, 6);
+            storage.store("a.png", staged(bytes(100, 0)));
+            storage.store("b.png", staged(content));
+            storage.close();
+
+            // Act
+            storage = open(4);
+
+            // Assert
+            assertEquals(2, storage.getPackedCount());
+            assertEquals(100, storage.open("b.png").offset());
+            assertArrayEquals(content, storage.open("b.png").readAllBytes());
+        }
+
+        @Test
+        @DisplayName("Should grow the index past its initial capacity")
+        void shouldGrowIndex() throws IOException {
+            // Act
+            for (int i = 0; i < 10; i++) {
+                storage.store(i + ".png", staged(bytes(10, i)));
+            }
+            storage.close();
+            storage = open(4);
+
+            // Assert
+            assertEquals(10, storage.getPackedCount());
+            assertArrayEquals(bytes(10, 9), storage.open("9.png").readAllBytes());
+        }
+
+        @Test
+        @DisplayName("Should drop a record pointing past the end of the pack and overwrite it on the next store")
+        void shouldIgnoreTornRecord() throws IOException {
+            // Arrange
+            storage.store("a.png", staged(bytes(100, 0)));
+            storage.store("b.png", staged(bytes(100, 1)));
+            storage.close();
+            // Simulates a crash that kept the index record but lost the pack data it points to
+            try (FileChannel pack = FileChannel.open(root.resolve(PackFileImageStorage.PACK_FILE), StandardOpenOption.WRITE)) {
+                pack.truncate(150);
+            }
+
+            // Act
+            storage = open(4);
+            storage.store("c.png", staged(bytes(100, 2)));
+            storage.close();
+            storage = open(4);
+
+            // Assert
+            assertNotNull(storage.open("a.png"));
+            assertNull(storage.open("b.png"));
+            assertEquals(150, storage.open("c.png").offset());
+            assertArrayEquals(bytes(100, 2), storage.open("c.png").readAllBytes());
+        }
+
+        @Test
+        @DisplayName("Should refuse to open a file that is not an image pack index")
+        void shouldRejectForeignIndex() throws IOException {
+            // Arrange
+            storage.close();
+            Path other = Files.createDirectory(root.resolve("other"));
+            Files.write(other.resolve(PackFileImageStorage.INDEX_FILE), bytes(64, 0));
+
+            // Act & Assert
+            assertThrows(IOException.class, () -> new PackFileImageStorage(other, MAX_PACKED_BYTES, new DirectoryImageStorage(other, 2)));
+            storage = open(4);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import com.echapps.ecom.project.exceptions.APIException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CSV and NDJSON import readers.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter)
+ * Rationale:
+ * - The readers only parse a stream, so they are fed in-memory bodies directly
+ *
+ * Test Coverage:
+ * - CSV quoting (separators, doubled quotes and line breaks inside quotes), CRLF, byte order mark, blank lines
+ * - Row numbers, unterminated quotes, empty bodies
+ * - NDJSON objects and blank lines
+ * - Over-long rows, deep nesting and long numbers are returned as failed rows
+ */
+@DisplayName("ProductImportReader Unit Tests")
+class ProductImportReaderTest {
+
+    private static final String HEADER = "categoryId,productName,description,quantity,price,discount";
+
+    private static ProductImportReader reader(String body, ProductImportFormat format) throws IOException {
+        return ProductImportReader.open(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    @Test
+    @DisplayName("Should read quoted CSV fields containing separators, quotes and line breaks")
+    void shouldReadQuotedCsvFields() throws IOException {
+        // Arrange
+        ProductImportReader reader = reader("\uFEFF" + HEADER + "\r\n1,\"Desk, oak\",\"Two\r\nlines with \"\"quotes\"\"\",3,250,0\r\n", ProductImportFormat.CSV);
+
+        // Act
+        ImportRow row = reader.next();
+
+        // Assert
+        assertEquals(1, row.rowNumber());
+        assertNull(row.error());
+        assertEquals("1", row.fields().get("categoryId"));
+        assertEquals("Desk, oak", row.fields().get("productName"));
+        assertEquals("Two\r\nlines with \"quotes\"", row.fields().get("description"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should skip blank lines without counting them as rows")
+    void shouldSkipBlankLines() throws IOException {
+        // Arrange
+        ProductImportReader reader = reader(HEADER + "\n\n1,Phone,Flagship phone,1,2,0\n\n2,Tablet,Large tablet,1,2,0", ProductImportFormat.CSV);
+
+        // Act
+        ImportRow first = reader.next();
+        ImportRow second = reader.next();
+
+        // Assert
+        assertEquals(1, first.rowNumber());
+        assertEquals(2, second.rowNumber());
+        assertEquals("Tablet", second.fields().get("productName"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should return a failed row for a quote left open at the end of the body")
+    void shouldFailUnterminatedQuote() throws IOException {
+        // Arrange
+        ProductImportReader reader = reader(HEADER + "\n1,\"Phone,Flagship phone,1,2,0\n", ProductImportFormat.CSV);
+
+        // Act
+        ImportRow row = reader.next();
+
+        // Assert
+        assertEquals("Unterminated quoted field", row.error());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV body without a header row")
+    void shouldRejectEmptyCsv() {
+        APIException exception = assertThrows(APIException.class, () -> reader("", ProductImportFormat.CSV));
+
+        assertEquals("CSV import is empty: a header row is required", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should read one JSON object per NDJSON line")
+    void shouldReadNdjsonObjects() throws IOException {
+        // Arrange
+        ProductImportReader reader = reader("{\"categoryId\": 3, \"productName\": \"Phone\", \"price\": 9.5}\n\n", ProductImportFormat.NDJSON);
+
+        // Act
+        ImportRow row = reader.next();
+
+        // Assert
+        assertEquals(1, row.rowNumber());
+        assertEquals(3, row.fields().get("categoryId"));
+        assertEquals(9.5, row.fields().get("price"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should return a failed row for an over-long CSV record and read on from the next one")
+    void shouldFailOverLongCsvRecord() throws IOException {
+        // Arrange
+        String longDescription = "\"" + "x\n".repeat(ProductImportReader.MAX_ROW_CHARS) + "\"";
+        ProductImportReader reader = reader(HEADER + "\n1,Phone," + longDescription + ",1,2,0\n2,Tablet,Large tablet,1,2,0\n", ProductImportFormat.CSV);
+
+        // Act
+        ImportRow first = reader.next();
+        ImportRow second = reader.next();
+
+        // Assert
+        assertEquals(1, first.rowNumber());
+        assertEquals("Row is longer than " + ProductImportReader.MAX_ROW_CHARS + " characters", first.error());
+        assertEquals(2, second.rowNumber());
+        assertEquals("Tablet", second.fields().get("productName"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should return a failed row for an over-long NDJSON line and read on from the next one")
+    void shouldFailOverLongNdjsonLine() throws IOException {
+        // Arrange
+        String longLine = "{\"productName\": \"" + "x".repeat(ProductImportReader.MAX_ROW_CHARS) + "\"}";
+        ProductImportReader reader = reader(longLine + "\n{\"productName\": \"Phone\"}\n", ProductImportFormat.NDJSON);
+
+        // Act
+        ImportRow first = reader.next();
+        ImportRow second = reader.next();
+
+        // Assert
+        assertEquals("Row is longer than " + ProductImportReader.MAX_ROW_CHARS + " characters", first.error());
+        assertEquals(2, second.rowNumber());
+        assertEquals("Phone", second.fields().get("productName"));
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should return a failed row for NDJSON nested deeper than a product object")
+    void shouldFailDeeplyNestedNdjson() throws IOException {
+        // Arrange
+        ProductImportReader reader = reader("{\"productName\": " + "[".repeat(100) + "]".repeat(100) + "}\n", ProductImportFormat.NDJSON);
+
+        // Act
+        ImportRow row = reader.next();
+
+        // Assert
+        assertEquals("JSON nesting or number too large", row.error());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,374 @@
+package com.echapps.ecom.project.product.service.importer;
+
+import com.echapps.ecom.project.category.model.Category;
+import com.echapps.ecom.project.category.repository.CategoryRepository;
+import com.echapps.ecom.project.exceptions.APIException;
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ProductImportResponse;
+import com.echapps.ecom.project.product.mapper.ProductMapper;
+import com.echapps.ecom.project.product.model.Product;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import com.echapps.ecom.project.product.service.ProductCatalogVersion;
+import com.echapps.ecom.project.product.service.ProductCountCache;
+import com.echapps.ecom.project.product.service.search.ProductNameSuggester;
+import com.echapps.ecom.project.product.service.search.ProductSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductImportServiceImpl.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Mockito
+ * Rationale:
+ * - The repositories, EntityManager and search components are mocked; the mocked EntityManager records
+ *   persisted products and hands out ids, so chunking and flushes can be asserted without a database
+ * - Chunks run without transactions via TransactionOperations.withoutTransaction()
+ *
+ * Test Coverage:
+ * - CSV and NDJSON bodies, special price, default image, search index and count cache updates
+ * - Per-row errors: missing and invalid fields, unknown categories, names taken in the category or earlier in the import
+ * - Chunking by the configured size, a failing chunk retried row by row, the error limit
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductImportServiceImpl Unit Tests")
+class ProductImportServiceImplTest {
+
+    private static final String CSV_HEADER = "categoryId,productName,description,quantity,price,discount\n";
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductNameSuggester productNameSuggester;
+
+    @Mock
+    private ProductCountCache productCountCache;
+
+    @Mock
+    private ProductCatalogVersion productCatalogVersion;
+
+    // Products persisted since the last flush, and every flushed chunk
+    private final List<Product> pending = new ArrayList<>();
+    private final List<List<Product>> flushedChunks = new ArrayList<>();
+    private long nextProductId = 1;
+
+    private ProductImportServiceImpl productImportService;
+
+    @BeforeEach
+    void setUp() {
+        productImportService = service(2, 10);
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+        lenient().when(entityManager.getReference(eq(Category.class), any())).thenAnswer(invocation -> {
+            Category category = new Category();
+            category.setCategoryId(invocation.getArgument(1));
+            return category;
+        });
+        lenient().doAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            product.setProductId(nextProductId++);
+            pending.add(product);
+            return null;
+        }).when(entityManager).persist(any(Product.class));
+        lenient().doAnswer(invocation -> {
+            List<Product> chunk = List.copyOf(pending);
+            pending.clear();
+            if (chunk.stream().anyMatch(product -> product.getProductName().startsWith("Broken"))) {
+                throw new PersistenceException("could not execute batch", new SQLException("Data too long for column 'description'"));
+            }
+            flushedChunks.add(chunk);
+            return null;
+        }).when(entityManager).flush();
+        lenient().when(categoryRepository.existsById(anyLong())).thenAnswer(invocation -> invocation.<Long>getArgument(0) < 100);
+    }
+
+    private ProductImportServiceImpl service(int chunkSize, int maxErrors) {
+        return new ProductImportServiceImpl(categoryRepository, productRepository, new ProductMapper(), entityManager,
+                productSearchIndex, productNameSuggester, productCountCache, productCatalogVersion,
+                TransactionOperations.withoutTransaction(), chunkSize, maxErrors);
+    }
+
+    private ProductImportResponse importCsv(String rows) throws IOException {
+        return productImportService.importProducts(body(CSV_HEADER + rows), ProductImportFormat.CSV);
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Product> flushedProducts() {
+        return flushedChunks.stream().flatMap(List::stream).toList();
+    }
+
+    @Nested
+    @DisplayName("Importing rows")
+    class ImportTests {
+
+        @Test
+        @DisplayName("Should create products from CSV rows with the default image and the discounted special price")
+        void shouldImportCsvRows() throws IOException {
+            // Act
+            ProductImportResponse response = importCsv("1,Phone,Flagship phone,10,900,10\n2,\"Desk, oak\",\"Solid \"\"oak\"\" desk\",3,250.5,0\n");
+
+            // Assert
+            assertEquals(2, response.getTotalRows());
+            assertEquals(2, response.getImportedCount());
+            assertEquals(0, response.getFailedCount());
+            assertTrue(response.getErrors().isEmpty());
+            List<Product> products = flushedProducts();
+            assertEquals("Phone", products.get(0).getProductName());
+            assertEquals(810.0, products.get(0).getSpecialPrice());
+            assertEquals("default.png", products.get(0).getImage());
+            assertEquals(1L, products.get(0).getCategory().getCategoryId());
+            assertEquals("Desk, oak", products.get(1).getProductName());
+            assertEquals("Solid \"oak\" desk", products.get(1).getDescription());
+            verify(session, atLeastOnce()).setJdbcBatchSize(2);
+        }
+
+        @Test
+        @DisplayName("Should create products from NDJSON lines, accepting numbers and numeric strings")
+        void shouldImportNdjsonLines() throws IOException {
+            // Arrange
+            String body = """
+                    {"categoryId": 1, "productName": "Phone", "description": "Flagship phone", "quantity": 10, "price": 900.0, "discount": 10}
+
+                    {"categoryId": "1", "productName": "Tablet", "description": "Large tablet", "quantity": "4", "price": "300", "discount": "0"}
+                    """;
+
+            // Act
+            ProductImportResponse response = productImportService.importProducts(body(body), ProductImportFormat.NDJSON);
+
+            // Assert
+            assertEquals(2, response.getTotalRows());
+            assertEquals(2, response.getImportedCount());
+            assertEquals(List.of("Phone", "Tablet"), flushedProducts().stream().map(Product::getProductName).toList());
+            assertEquals(300.0, flushedProducts().get(1).getSpecialPrice());
+        }
+
+        @Test
+        @DisplayName("Should index every imported product for search and suggestions, refresh the counts once and change the catalog version in each chunk")
+        void shouldIndexImportedProducts() throws IOException {
+            // Act
+            importCsv("1,Phone,Flagship phone,10,900,10\n1,Tablet,Large tablet,4,300,0\n1,Watch,Smart watch,7,199,5\n");
+
+            // Assert
+            verify(productSearchIndex, times(3)).index(any(ProductRequest.class));
+            verify(productNameSuggester, times(3)).index(any(ProductRequest.class));
+            verify(productSearchIndex).index(argThat(product -> product.getProductId() == 3L && product.getProductName().equals("Watch")));
+            verify(productCountCache).refresh();
+            verify(productCatalogVersion, times(2)).changed();
+        }
+
+        @Test
+        @DisplayName("Should insert valid rows in chunks of the configured size, flushing and clearing after each")
+        void shouldInsertInChunks() throws IOException {
+            // Act
+            importCsv("1,Phone,Flagship phone,10,900,10\n1,Tablet,Large tablet,4,300,0\n1,Watch,Smart watch,7,199,5\n");
+
+            // Assert
+            assertEquals(List.of(2, 1), flushedChunks.stream().map(List::size).toList());
+            verify(entityManager, times(2)).clear();
+        }
+
+        @Test
+        @DisplayName("Should not refresh the counts or change the catalog version when nothing was imported")
+        void shouldNotRefreshCountsWithoutImports() throws IOException {
+            // Act
+            ProductImportResponse response = importCsv("");
+
+            // Assert
+            assertEquals(0, response.getTotalRows());
+            verifyNoInteractions(productCountCache, entityManager, productCatalogVersion);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rejecting rows")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject names already taken in the category, ignoring case, with one query per category")
+        void shouldRejectExistingNames() throws IOException {
+            // Arrange
+            when(productRepository.findProductNamesByCategoryId(1L)).thenReturn(List.of("Phone"));
+            when(productRepository.findProductNamesByCategoryId(2L)).thenReturn(List.of());
+
+            // Act
+            ProductImportResponse response = importCsv("1,PHONE,Flagship phone,10,900,10\n2,Phone,Flagship phone,10,900,10\n1,Tablet,Large tablet,4,300,0\n");
+
+            // Assert
+            assertEquals(2, response.getImportedCount());
+            assertEquals(1, response.getFailedCount());
+            assertEquals(1, response.getErrors().get(0).getRowNumber());
+            assertEquals("PHONE", response.getErrors().get(0).getProductName());
+            assertEquals("Product with name PHONE already exists in category 1", response.getErrors().get(0).getMessage());
+            verify(productRepository, times(1)).findProductNamesByCategoryId(1L);
+            verify(categoryRepository, times(1)).existsById(1L);
+        }
+
+        @Test
+        @DisplayName("Should reject a name repeated within the same import")
+        void shouldRejectDuplicateWithinImport() throws IOException {
+            // Arrange
+            when(productRepository.findProductNamesByCategoryId(1L)).thenReturn(List.of());
+
+            // Act
+            ProductImportResponse response = importCsv("1,Phone,Flagship phone,10,900,10\n1,phone,Another phone,1,100,0\n");
+
+            // Assert
+            assertEquals(1, response.getImportedCount());
+            assertEquals(2, response.getErrors().get(0).getRowNumber());
+        }
+
+        @Test
+        @DisplayName("Should reject rows for an unknown category, checking it only once")
+        void shouldRejectUnknownCategory() throws IOException {
+            // Act
+            ProductImportResponse response = importCsv("404,Phone,Flagship phone,10,900,10\n404,Tablet,Large tablet,4,300,0\n");
+
+            // Assert
+            assertEquals(0, response.getImportedCount());
+            assertEquals(2, response.getFailedCount());
+            assertEquals("Category not found with categoryId : 404", response.getErrors().get(1).getMessage());
+            verify(categoryRepository, times(1)).existsById(404L);
+            verify(productRepository, never()).findProductNamesByCategoryId(any());
+        }
+
+        @Test
+        @DisplayName("Should report the first problem of each invalid row and keep importing the valid ones")
+        void shouldReportInvalidFields() throws IOException {
+            // Arrange
+            when(productRepository.findProductNamesByCategoryId(1L)).thenReturn(List.of());
+
+            // Act
+            ProductImportResponse response = importCsv(String.join("\n",
+                    ",Phone,Flagship phone,10,900,10",
+                    "1,Ph,Flagship phone,10,900,10",
+                    "1,Phone,Short,10,900,10",
+                    "1,Phone,Flagship phone,ten,900,10",
+                    "1,Phone,Flagship phone,1.5,900,10",
+                    "1,Phone,Flagship phone,10,-1,10",
+                    "1,Phone,Flagship phone,10,900,150",
+                    "1,Phone,Flagship phone,10,NaN,10",
+                    "1,Phone,Flagship phone,10",
+                    "1,Phone,Flagship phone,10,900,10") + "\n");
+
+            // Assert
+            assertEquals(10, response.getTotalRows());
+            assertEquals(1, response.getImportedCount());
+            assertEquals(List.of(
+                    "categoryId is required",
+                    "Product name must be at least 3 characters long",
+                    "Product description must be at least 6 characters long",
+                    "quantity must be a whole number",
+                    "quantity must be a whole number",
+                    "price must not be negative",
+                    "discount must be between 0 and 100",
+                    "price must be a number",
+                    "Expected 6 fields but found 4"),
+                    response.getErrors().stream().map(error -> error.getMessage()).toList());
+        }
+
+        @Test
+        @DisplayName("Should report malformed NDJSON lines by row")
+        void shouldReportMalformedJson() throws IOException {
+            // Act
+            ProductImportResponse response = productImportService.importProducts(body("{\"categoryId\": 1,\n[1, 2]\n"), ProductImportFormat.NDJSON);
+
+            // Assert
+            assertEquals(2, response.getFailedCount());
+            assertEquals("Malformed JSON", response.getErrors().get(0).getMessage());
+            assertEquals("Expected a JSON object", response.getErrors().get(1).getMessage());
+        }
+
+        @Test
+        @DisplayName("Should count every failed row but list no more than the error limit")
+        void shouldCapErrors() throws IOException {
+            // Arrange
+            productImportService = service(2, 2);
+
+            // Act
+            ProductImportResponse response = importCsv("404,Phone,Flagship phone,10,900,10\n404,Tablet,Large tablet,4,300,0\n404,Watch,Smart watch,7,199,5\n");
+
+            // Assert
+            assertEquals(3, response.getFailedCount());
+            assertEquals(2, response.getErrors().size());
+            assertTrue(response.isErrorsTruncated());
+        }
+
+        @Test
+        @DisplayName("Should reject a CSV header without the required columns before reading any row")
+        void shouldRejectIncompleteHeader() {
+            APIException exception = assertThrows(APIException.class, () -> productImportService.importProducts(
+                    body("categoryId,productName\n1,Phone\n"), ProductImportFormat.CSV));
+
+            assertEquals("CSV header is missing columns: [description, quantity, price, discount]", exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Failing chunks")
+    class ChunkFailureTests {
+
+        @Test
+        @DisplayName("Should retry a failed chunk row by row and report only the rows that fail on their own")
+        void shouldRetryFailedChunkRowByRow() throws IOException {
+            // Arrange
+            when(productRepository.findProductNamesByCategoryId(1L)).thenReturn(List.of());
+
+            // Act
+            ProductImportResponse response = importCsv("1,Phone,Flagship phone,10,900,10\n1,Broken desk,Solid oak desk,3,250,0\n1,Tablet,Large tablet,4,300,0\n");
+
+            // Assert
+            assertEquals(2, response.getImportedCount());
+            assertEquals(1, response.getFailedCount());
+            assertEquals(2, response.getErrors().get(0).getRowNumber());
+            assertEquals("Product could not be saved: Data too long for column 'description'", response.getErrors().get(0).getMessage());
+            assertEquals(List.of("Phone", "Tablet"), flushedProducts().stream().map(Product::getProductName).toList());
+            verify(productSearchIndex, times(2)).index(any(ProductRequest.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should map CSV and NDJSON content types to formats and reject anything else")
+    void shouldResolveFormats() {
+        assertEquals(ProductImportFormat.CSV, ProductImportFormat.fromContentType("text/csv; charset=UTF-8"));
+        assertEquals(ProductImportFormat.NDJSON, ProductImportFormat.fromContentType("application/x-ndjson"));
+        assertThrows(APIException.class, () -> ProductImportFormat.fromContentType("application/json"));
+        assertThrows(APIException.class, () -> ProductImportFormat.fromContentType("not a type"));
+        assertThrows(APIException.class, () -> ProductImportFormat.fromContentType(null));
+    }
+}
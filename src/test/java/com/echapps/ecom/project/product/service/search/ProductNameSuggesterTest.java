@@ -0,0 +1,174 @@
+package com.echapps.ecom.project.product.service.search;
+
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.dto.response.ProductSuggestion;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ProductNameSuggester.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) with Mockito
+ * Rationale:
+ * - The suggester is plain in-memory Java; the repository is only mocked for the startup rebuild
+ * - Nested test classes group tests by concern (matching and order, incremental updates)
+ *
+ * Test Coverage:
+ * - Name-prefix and word-prefix matching, case and punctuation insensitivity
+ * - Name-prefix matches before word matches, limit, no duplicates
+ * - Renaming and removal, rebuild from the database
+ * - Changes made during a rebuild are replayed; a failed rebuild keeps the old names
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductNameSuggester Unit Tests")
+class ProductNameSuggesterTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ProductNameSuggester(productRepository);
+    }
+
+    private ProductRequest product(long id, String name) {
+        return new ProductRequest(id, name, "default.png", "", 10, 100.0, 0.0, 100.0);
+    }
+
+    private List<Long> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::getProductId).toList();
+    }
+
+    @Nested
+    @DisplayName("Matching and order")
+    class MatchingTests {
+
+        @Test
+        @DisplayName("Should match the start of the name and of later words, name matches first")
+        void shouldPreferNamePrefixOverWordPrefix() {
+            suggester.index(product(1L, "Gaming Mouse"));
+            suggester.index(product(2L, "Mouse Pad"));
+            suggester.index(product(3L, "Keyboard"));
+
+            List<ProductSuggestion> suggestions = suggester.suggest("mou", 10);
+
+            assertEquals(List.of(2L, 1L), ids(suggestions));
+            assertEquals("Mouse Pad", suggestions.getFirst().getProductName());
+        }
+
+        @Test
+        @DisplayName("Should ignore case, punctuation and extra spaces in names and prefixes")
+        void shouldNormalizeNamesAndPrefixes() {
+            suggester.index(product(1L, "USB-C  Cable"));
+
+            assertEquals(List.of(1L), ids(suggester.suggest("usb c", 10)));
+            assertEquals(List.of(1L), ids(suggester.suggest("  CAB", 10)));
+        }
+
+        @Test
+        @DisplayName("Should return at most limit suggestions, each product once")
+        void shouldApplyLimitWithoutDuplicates() {
+            suggester.index(product(1L, "Cable Cable"));
+            suggester.index(product(2L, "Cable Tie"));
+            suggester.index(product(3L, "Cable Box"));
+
+            assertEquals(List.of(3L, 1L), ids(suggester.suggest("cable", 2)));
+            assertEquals(3, suggester.suggest("cable", 10).size());
+        }
+
+        @Test
+        @DisplayName("Should return nothing for a blank prefix")
+        void shouldReturnNothingForBlankPrefix() {
+            suggester.index(product(1L, "Laptop"));
+
+            assertTrue(suggester.suggest(" - ", 10).isEmpty());
+            assertTrue(suggester.suggest(null, 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental updates and rebuild")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should suggest only the new name after a rename")
+        void shouldReplaceNameOnReindex() {
+            suggester.index(product(1L, "Old Laptop"));
+            suggester.index(product(1L, "Tablet"));
+
+            assertTrue(suggester.suggest("lap", 10).isEmpty());
+            assertEquals(List.of(1L), ids(suggester.suggest("tab", 10)));
+        }
+
+        @Test
+        @DisplayName("Should stop suggesting a removed product")
+        void shouldRemoveProduct() {
+            suggester.index(product(1L, "Laptop"));
+            suggester.index(product(2L, "Laptop Stand"));
+
+            suggester.remove(1L);
+
+            assertEquals(List.of(2L), ids(suggester.suggest("lap", 10)));
+        }
+
+        @Test
+        @DisplayName("Should load names from the database on rebuild")
+        void shouldRebuildFromDatabase() {
+            when(productRepository.findProductRequestsAfter(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(product(1L, "Laptop"), product(2L, "Mouse")));
+
+            suggester.rebuild();
+
+            assertEquals(List.of(2L), ids(suggester.suggest("m", 10)));
+        }
+
+        @Test
+        @DisplayName("Should replay products renamed or removed while the rebuild was running")
+        void shouldReplayChangesMadeDuringRebuild() {
+            suggester.index(product(1L, "Laptop"));
+            when(productRepository.findProductRequestsAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+                // The batch is read first, then these writes commit before the swap
+                List<ProductRequest> batch = List.of(product(1L, "Laptop"), product(2L, "Mouse"));
+                assertEquals(List.of(1L), ids(suggester.suggest("lap", 10)));
+                suggester.index(product(1L, "Ultrabook"));
+                suggester.remove(2L);
+                suggester.index(product(3L, "Keyboard"));
+                return batch;
+            });
+
+            suggester.rebuild();
+
+            assertEquals(List.of(1L), ids(suggester.suggest("ultra", 10)));
+            assertTrue(suggester.suggest("lap", 10).isEmpty());
+            assertTrue(suggester.suggest("mou", 10).isEmpty());
+            assertEquals(List.of(3L), ids(suggester.suggest("key", 10)));
+        }
+
+        @Test
+        @DisplayName("Should keep the old names when the rebuild fails")
+        void shouldKeepOldNamesWhenRebuildFails() {
+            suggester.index(product(1L, "Laptop"));
+            when(productRepository.findProductRequestsAfter(eq(0L), any(Limit.class))).thenThrow(new IllegalStateException("database down"));
+
+            assertThrows(IllegalStateException.class, () -> suggester.rebuild());
+
+            assertEquals(List.of(1L), ids(suggester.suggest("lap", 10)));
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.echapps.ecom.project.product.service.search;
+
+import com.echapps.ecom.project.product.dto.request.ProductRequest;
+import com.echapps.ecom.project.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ProductSearchIndex.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) with Mockito
+ * Rationale:
+ * - The index is plain in-memory Java; the repository is only mocked for the startup rebuild
+ * - Nested test classes group tests by concern (matching, ranking, incremental updates, rebuild)
+ *
+ * Test Coverage:
+ * - Tokenization, whole-word and prefix matching, all-words semantics
+ * - Ranking of name over description and whole word over prefix, paging
+ * - Re-indexing and removal, rebuild in keyset batches
+ * - Rebuild swaps in a complete index: searches during a rebuild see the old one, and changes made
+ *   meanwhile survive the swap
+ * - Matches ordered by a product column: paging, products without a value, ties, re-indexed values
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductSearchIndex Unit Tests")
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(productRepository);
+    }
+
+    private ProductRequest product(long id, String name, String description) {
+        return new ProductRequest(id, name, "default.png", description, 10, 100.0, 0.0, 100.0);
+    }
+
+    @Nested
+    @DisplayName("Matching")
+    class MatchingTests {
+
+        @Test
+        @DisplayName("Should split text into lower-cased words")
+        void shouldTokenize() {
+            assertEquals(List.of("usb", "c", "cable", "2m"), ProductSearchIndex.tokenize("USB-C  Cable (2m)"));
+            assertTrue(ProductSearchIndex.tokenize("  ").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should match words in the description as well as the name")
+        void shouldMatchDescription() {
+            index.index(product(1L, "Laptop", "Lightweight notebook with a backlit keyboard"));
+            index.index(product(2L, "Mouse", "Wireless optical mouse"));
+
+            assertEquals(List.of(1L), index.search("keyboard", 0, 10).productIds());
+        }
+
+        @Test
+        @DisplayName("Should match word prefixes")
+        void shouldMatchPrefixes() {
+            index.index(product(1L, "Wireless Keyboard", null));
+            index.index(product(2L, "Wired Mouse", null));
+
+            assertEquals(List.of(1L), index.search("wirel", 0, 10).productIds());
+            assertEquals(2, index.search("wir", 0, 10).totalHits());
+        }
+
+        @Test
+        @DisplayName("Should only return products matching every query word")
+        void shouldRequireAllWords() {
+            index.index(product(1L, "Wireless Keyboard", null));
+            index.index(product(2L, "Wireless Mouse", null));
+
+            ProductSearchIndex.SearchHits hits = index.search("wireless mouse", 0, 10);
+
+            assertEquals(List.of(2L), hits.productIds());
+            assertEquals(1, hits.totalHits());
+        }
+
+        @Test
+        @DisplayName("Should return no hits for a blank query")
+        void shouldReturnNoHitsForBlankQuery() {
+            index.index(product(1L, "Laptop", null));
+
+            assertEquals(0, index.search(" - ", 0, 10).totalHits());
+        }
+    }
+
+    @Nested
+    @DisplayName("Ranking")
+    class RankingTests {
+
+        @Test
+        @DisplayName("Should rank a name match above a description match")
+        void shouldRankNameAboveDescription() {
+            index.index(product(1L, "Laptop Sleeve", "Fits any phone or tablet"));
+            index.index(product(2L, "Phone", "Unlocked smartphone"));
+
+            assertEquals(List.of(2L, 1L), index.search("phone", 0, 10).productIds());
+        }
+
+        @Test
+        @DisplayName("Should rank a whole-word match above a prefix match")
+        void shouldRankWholeWordAbovePrefix() {
+            index.index(product(1L, "Phones Bundle", null));
+            index.index(product(2L, "Phone Bundle", null));
+
+            assertEquals(List.of(2L, 1L), index.search("phone", 0, 10).productIds());
+        }
+
+        @Test
+        @DisplayName("Should page through ranked hits and report the total")
+        void shouldPageThroughHits() {
+            LongStream.rangeClosed(1, 5).forEach(id -> index.index(product(id, "Cable " + id, null)));
+
+            ProductSearchIndex.SearchHits secondPage = index.search("cable", 2, 2);
+
+            assertEquals(List.of(3L, 4L), secondPage.productIds());
+            assertEquals(5, secondPage.totalHits());
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental updates and rebuild")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should replace the indexed words when a product is re-indexed")
+        void shouldReplaceWordsOnReindex() {
+            index.index(product(1L, "Laptop", null));
+            index.index(product(1L, "Tablet", null));
+
+            assertEquals(0, index.search("laptop", 0, 10).totalHits());
+            assertEquals(List.of(1L), index.search("tablet", 0, 10).productIds());
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        @DisplayName("Should stop returning a removed product")
+        void shouldRemoveProduct() {
+            index.index(product(1L, "Laptop", null));
+            index.index(product(2L, "Laptop Stand", null));
+
+            index.remove(1L);
+
+            assertEquals(List.of(2L), index.search("laptop", 0, 10).productIds());
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        @DisplayName("Should rebuild from the database in keyset batches and become ready")
+        void shouldRebuildFromDatabase() {
+            when(productRepository.findProductRequestsAfter(eq(0L), any(Limit.class)))
+                    .thenReturn(List.of(product(1L, "Laptop", null), product(2L, "Mouse", null)));
+            index.index(product(99L, "Stale", null));
+
+            assertFalse(index.isReady());
+            index.rebuild();
+
+            assertTrue(index.isReady());
+            assertEquals(2, index.size());
+            assertEquals(0, index.search("stale", 0, 10).totalHits());
+        }
+
+        @Test
+        @DisplayName("Should keep serving the complete old index while a rebuild reads the database")
+        void shouldServeOldIndexDuringRebuild() {
+            index.index(product(1L, "Laptop", null));
+            index.index(product(2L, "Laptop Stand", null));
+            when(productRepository.findProductRequestsAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+                ProductSearchIndex.SearchHits duringRebuild = index.search("laptop", 0, 10);
+                assertEquals(List.of(1L, 2L), duringRebuild.productIds());
+                assertEquals(2, duringRebuild.totalHits());
+                return List.of(product(3L, "Gaming Laptop", null));
+            });
+
+            index.rebuild();
+
+            assertEquals(List.of(3L), index.search("laptop", 0, 10).productIds());
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        @DisplayName("Should replay products added, changed or removed while the rebuild was running")
+        void shouldReplayChangesMadeDuringRebuild() {
+            index.index(product(1L, "Laptop", null));
+            when(productRepository.findProductRequestsAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+                // The batch is read first, then these writes commit before the swap
+                List<ProductRequest> batch = List.of(product(1L, "Laptop", null), product(2L, "Mouse", null));
+                index.index(product(1L, "Ultrabook", null));
+                index.remove(2L);
+                index.index(product(3L, "Keyboard", null));
+                return batch;
+            });
+
+            index.rebuild();
+
+            assertEquals(List.of(1L), index.search("ultrabook", 0, 10).productIds());
+            assertEquals(0, index.search("laptop", 0, 10).totalHits());
+            assertEquals(0, index.search("mouse", 0, 10).totalHits());
+            assertEquals(List.of(3L), index.search("keyboard", 0, 10).productIds());
+            assertEquals(2, index.size());
+        }
+
+        @Test
+        @DisplayName("Should keep the old index when the rebuild fails")
+        void shouldKeepOldIndexWhenRebuildFails() {
+            index.index(product(1L, "Laptop", null));
+            when(productRepository.findProductRequestsAfter(eq(0L), any(Limit.class))).thenThrow(new IllegalStateException("database down"));
+
+            assertThrows(IllegalStateException.class, () -> index.rebuild());
+
+            assertFalse(index.isReady());
+            assertEquals(List.of(1L), index.search("laptop", 0, 10).productIds());
+        }
+
+        @Test
+        @DisplayName("Should continue after the last id of a full batch")
+        void shouldContinueAfterFullBatch() {
+            List<ProductRequest> fullBatch = LongStream.rangeClosed(1, 1000).mapToObj(id -> product(id, "Item", null)).toList();
+            when(productRepository.findProductRequestsAfter(anyLong(), any(Limit.class)))
+                    .thenReturn(fullBatch)
+                    .thenReturn(List.of(product(1001L, "Item", null)));
+
+            index.rebuild();
+
+            assertEquals(1001, index.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sorted by a product column")
+    class SortedSearchTests {
+
+        private ProductRequest priced(long id, String name, Double price) {
+            return new ProductRequest(id, name, "default.png", null, 10, price, 0.0, price);
+        }
+
+        @Test
+        @DisplayName("Should order every match by the column, whatever its rank, and page through them")
+        void shouldOrderMatchesByColumn() {
+            index.index(priced(1L, "Wireless Keyboard", 50.0));
+            index.index(priced(2L, "Wireless Mouse", 20.0));
+            index.index(priced(3L, "Wireless Headset", 80.0));
+            index.index(priced(4L, "Wired Keyboard", 10.0));
+
+            ProductSearchIndex.SearchHits firstPage = index.searchSorted("wireless", "price", true, 0, 2);
+            ProductSearchIndex.SearchHits secondPage = index.searchSorted("wireless", "price", true, 2, 2);
+
+            assertEquals(List.of(2L, 1L), firstPage.productIds());
+            assertEquals(List.of(3L), secondPage.productIds());
+            assertEquals(3, firstPage.totalHits());
+            assertEquals(List.of(3L, 1L, 2L), index.searchSorted("wireless", "price", false, 0, 10).productIds());
+        }
+
+        @Test
+        @DisplayName("Should put products without a value last in either direction and break ties by id")
+        void shouldPutNullsLastAndBreakTiesById() {
+            index.index(priced(1L, "Phone", null));
+            index.index(priced(2L, "Phone Case", 20.0));
+            index.index(priced(3L, "Phone Charger", 20.0));
+            index.index(priced(4L, "Phone Stand", 5.0));
+
+            assertEquals(List.of(4L, 2L, 3L, 1L), index.searchSorted("phone", "price", true, 0, 10).productIds());
+            assertEquals(List.of(2L, 3L, 4L, 1L), index.searchSorted("phone", "price", false, 0, 10).productIds());
+        }
+
+        @Test
+        @DisplayName("Should sort names case-insensitively and follow re-indexed values")
+        void shouldSortNamesAndFollowUpdates() {
+            index.index(priced(1L, "phone stand", 5.0));
+            index.index(priced(2L, "Phone Case", 20.0));
+            index.index(priced(3L, "Phone Charger", 30.0));
+
+            assertEquals(List.of(2L, 3L, 1L), index.searchSorted("phone", "productName", true, 0, 10).productIds());
+
+            index.index(priced(3L, "Phone Charger", 1.0));
+            assertEquals(List.of(3L, 1L, 2L), index.searchSorted("phone", "price", true, 0, 10).productIds());
+        }
+
+        @Test
+        @DisplayName("Should only sort by the columns it keeps")
+        void shouldOnlySortByKeptColumns() {
+            assertTrue(ProductSearchIndex.isSortKey("specialPrice"));
+            assertFalse(ProductSearchIndex.isSortKey("quantity"));
+            assertThrows(IllegalArgumentException.class, () -> index.searchSorted("phone", "quantity", true, 0, 10));
+            assertEquals(0, index.searchSorted(" ", "price", true, 0, 10).totalHits());
+        }
+    }
+}
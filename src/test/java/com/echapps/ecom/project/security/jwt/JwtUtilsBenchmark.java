@@ -0,0 +1,93 @@
+package com.echapps.ecom.project.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH micro-benchmark of tokens verified per second by the JWT filter path.
+ *
+ * - perRequestKeyAndDoubleParse: the previous behaviour, which decoded the secret, built a new key and
+ *   parser on every call, then verified the same token twice (validateToken + getUserNameFromJwt)
+ * - cachedParserSingleParse: JwtUtils.parseClaims with the key and parser built once at startup
+ * - verifiedTokenCacheHit: JwtUtils.parseClaims for a token already in the verified-token cache
+ *
+ * Not part of the unit test run (no @Test methods). Run it from the IDE via {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+    private String jwtSecret;
+    private String token;
+    private JwtUtils jwtUtils;
+    private JwtUtils cachingJwtUtils;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        jwtSecret = Encoders.BASE64.encode(secret);
+
+        jwtUtils = buildJwtUtils(0);
+        cachingJwtUtils = buildJwtUtils(1_000);
+
+        token = jwtUtils.generateTokenFromUsername("user1");
+    }
+
+    private JwtUtils buildJwtUtils(int tokenCacheMaxSize) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", jwtSecret);
+        ReflectionTestUtils.setField(utils, "jwtExpirationInMs", 60 * 60 * 1000);
+        ReflectionTestUtils.setField(utils, "tokenCacheMaxSize", tokenCacheMaxSize);
+        ReflectionTestUtils.setField(utils, "maxRevokedTokens", 1_000);
+        utils.init();
+        return utils;
+    }
+
+    @Benchmark
+    public String perRequestKeyAndDoubleParse() {
+        SecretKey validationKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        Jwts.parser().verifyWith(validationKey).build().parseSignedClaims(token);
+
+        SecretKey subjectKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        return Jwts.parser().verifyWith(subjectKey).build()
+                .parseSignedClaims(token)
+                .getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String cachedParserSingleParse() {
+        Claims claims = jwtUtils.parseClaims(token);
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public String verifiedTokenCacheHit() {
+        Claims claims = cachingJwtUtils.parseClaims(token);
+        return claims.getSubject();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtUtilsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
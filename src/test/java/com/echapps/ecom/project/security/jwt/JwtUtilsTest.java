@@ -0,0 +1,360 @@
+package com.echapps.ecom.project.security.jwt;
+
+import com.echapps.ecom.project.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtUtils.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter)
+ * Rationale:
+ * - JwtUtils only needs its @Value fields, so it is built directly and initialised by calling its
+ *   @PostConstruct method instead of starting a Spring context
+ * - Tokens are signed with a fixed test secret so tampered and foreign-key tokens can be crafted
+ *
+ * Test Coverage:
+ * - @PostConstruct init: signing key derived once from the secret, weak secrets rejected
+ * - parseClaims: valid, expired, bad-signature and malformed tokens, with and without the verified-token cache
+ * - revokeToken: a cached token is rejected afterwards, also with claim caching disabled
+ * - Stateless claims: uid/email/roles round-trip into an equal UserDetailsImpl; missing, mistyped
+ *   or tampered claims are rejected
+ */
+@DisplayName("JwtUtils Unit Tests")
+class JwtUtilsTest {
+
+    private static final String SECRET = Encoders.BASE64.encode(
+            "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = buildJwtUtils(100);
+    }
+
+    private JwtUtils buildJwtUtils(int tokenCacheMaxSize) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationInMs", 60 * 60 * 1000);
+        ReflectionTestUtils.setField(utils, "tokenCacheMaxSize", tokenCacheMaxSize);
+        ReflectionTestUtils.setField(utils, "maxRevokedTokens", 100);
+        utils.init();
+        return utils;
+    }
+
+    private static UserDetailsImpl principal() {
+        return new UserDetailsImpl(42L, "user1", "user1@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_SELLER")));
+    }
+
+    // Re-encodes the payload segment without re-signing, as an attacker editing the token would
+    private static String withPayload(String token, String payloadJson) {
+        String[] parts = token.split("\\.");
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8));
+        return parts[0] + "." + payload + "." + parts[2];
+    }
+
+    private static SecretKey testKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    private static String signedWithTestKey(Claims claims) {
+        return Jwts.builder()
+                .claims(claims)
+                .expiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(testKey())
+                .compact();
+    }
+
+    @Nested
+    @DisplayName("init")
+    class InitTests {
+
+        @Test
+        @DisplayName("Should derive the signing key once from the base64 secret")
+        void shouldBuildSigningKeyFromSecret() {
+            // Act
+            SecretKey key = (SecretKey) jwtUtils.key();
+
+            // Assert
+            assertArrayEquals(testKey().getEncoded(), key.getEncoded());
+            assertSame(key, jwtUtils.key());
+            assertNotNull(ReflectionTestUtils.getField(jwtUtils, "jwtParser"));
+        }
+
+        @Test
+        @DisplayName("Should verify tokens signed with the configured secret by another instance")
+        void shouldShareKeyAcrossInstances() {
+            // Arrange
+            String token = buildJwtUtils(0).generateTokenFromUsername("user1");
+
+            // Act & Assert
+            assertEquals("user1", jwtUtils.getUserNameFromJwt(token));
+        }
+
+        @Test
+        @DisplayName("Should fail at startup when the secret is too short for HMAC-SHA")
+        void shouldRejectWeakSecret() {
+            // Arrange
+            JwtUtils utils = new JwtUtils();
+            ReflectionTestUtils.setField(utils, "jwtSecret", Encoders.BASE64.encode("short".getBytes(StandardCharsets.UTF_8)));
+            Executable init = utils::init;
+
+            // Act & Assert
+            assertThrows(WeakKeyException.class, init);
+        }
+
+        @Test
+        @DisplayName("Should fail at startup when the revoked token bound is not positive")
+        void shouldRejectNonPositiveRevokedBound() {
+            // Arrange
+            JwtUtils utils = new JwtUtils();
+            ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+            ReflectionTestUtils.setField(utils, "jwtExpirationInMs", 60 * 60 * 1000);
+            Executable init = utils::init;
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, init);
+        }
+    }
+
+    @Nested
+    @DisplayName("parseClaims")
+    class ParseClaimsTests {
+
+        @Test
+        @DisplayName("Should return the claims of a valid token")
+        void shouldParseValidToken() {
+            // Arrange
+            String token = jwtUtils.generateTokenFromUsername("user1");
+
+            // Act
+            Claims claims = jwtUtils.parseClaims(token);
+
+            // Assert
+            assertEquals("user1", claims.getSubject());
+            assertTrue(claims.getExpiration().after(new Date()));
+            assertTrue(jwtUtils.validateToken(token));
+        }
+
+        @Test
+        @DisplayName("Should answer a repeated token from the verified-token cache")
+        void shouldServeRepeatedTokenFromCache() {
+            // Arrange
+            String token = jwtUtils.generateTokenFromUsername("user1");
+
+            // Act & Assert
+            assertSame(jwtUtils.parseClaims(token), jwtUtils.parseClaims(token));
+        }
+
+        @Test
+        @DisplayName("Should parse valid tokens with the verified-token cache disabled")
+        void shouldParseWithoutCache() {
+            // Arrange
+            JwtUtils uncached = buildJwtUtils(0);
+            String token = uncached.generateTokenFromUsername("user1");
+
+            // Act & Assert
+            assertEquals("user1", uncached.parseClaims(token).getSubject());
+            assertNotSame(uncached.parseClaims(token), uncached.parseClaims(token));
+        }
+
+        @Test
+        @DisplayName("Should reject an expired token")
+        void shouldRejectExpiredToken() {
+            // Arrange
+            String token = Jwts.builder()
+                    .subject("user1")
+                    .issuedAt(new Date(System.currentTimeMillis() - 120_000L))
+                    .expiration(new Date(System.currentTimeMillis() - 60_000L))
+                    .signWith(testKey())
+                    .compact();
+
+            // Act & Assert
+            assertNull(jwtUtils.parseClaims(token));
+            assertNull(buildJwtUtils(0).parseClaims(token));
+        }
+
+        @Test
+        @DisplayName("Should reject a token signed with a different key")
+        void shouldRejectBadSignature() {
+            // Arrange
+            SecretKey otherKey = Keys.hmacShaKeyFor(
+                    "fedcba9876543210fedcba9876543210fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+            String token = Jwts.builder()
+                    .subject("user1")
+                    .expiration(new Date(System.currentTimeMillis() + 60_000L))
+                    .signWith(otherKey)
+                    .compact();
+
+            // Act & Assert
+            assertNull(jwtUtils.parseClaims(token));
+            assertFalse(jwtUtils.validateToken(token));
+        }
+
+        @Test
+        @DisplayName("Should reject an unsigned token")
+        void shouldRejectUnsignedToken() {
+            // Arrange
+            String token = Jwts.builder()
+                    .subject("user1")
+                    .expiration(new Date(System.currentTimeMillis() + 60_000L))
+                    .compact();
+
+            // Act & Assert
+            assertNull(jwtUtils.parseClaims(token));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed and empty tokens")
+        void shouldRejectMalformedTokens() {
+            assertNull(jwtUtils.parseClaims("not-a-jwt"));
+            assertNull(jwtUtils.parseClaims("a.b.c"));
+            assertNull(jwtUtils.parseClaims(""));
+            assertNull(buildJwtUtils(0).parseClaims("not-a-jwt"));
+        }
+    }
+
+    @Nested
+    @DisplayName("revokeToken")
+    class RevokeTokenTests {
+
+        @Test
+        @DisplayName("Should reject a token that was already in the verified-token cache")
+        void shouldRejectCachedTokenAfterRevoke() {
+            // Arrange
+            String token = jwtUtils.generateTokenFromUsername("user1");
+            assertNotNull(jwtUtils.parseClaims(token));
+
+            // Act
+            jwtUtils.revokeToken(token);
+
+            // Assert
+            assertNull(jwtUtils.parseClaims(token));
+            assertNull(jwtUtils.parseClaims(token));
+        }
+
+        @Test
+        @DisplayName("Should reject a revoked token when claim caching is disabled")
+        void shouldRevokeWithoutCache() {
+            // Arrange
+            JwtUtils uncached = buildJwtUtils(0);
+            String token = uncached.generateTokenFromUsername("user1");
+
+            // Act
+            uncached.revokeToken(token);
+
+            // Assert
+            assertNull(uncached.parseClaims(token));
+        }
+
+        @Test
+        @DisplayName("Should ignore tokens that are missing or invalid")
+        void shouldIgnoreInvalidTokens() {
+            assertDoesNotThrow(() -> jwtUtils.revokeToken(null));
+            assertDoesNotThrow(() -> jwtUtils.revokeToken("not-a-jwt"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Stateless claims")
+    class StatelessClaimsTests {
+
+        @Test
+        @DisplayName("Should rebuild the same principal from the uid, email and roles claims")
+        void shouldRoundTripPrincipalThroughClaims() {
+            // Arrange
+            UserDetailsImpl original = principal();
+            String token = jwtUtils.generateTokenFromUserDetails(original);
+
+            // Act
+            Claims claims = jwtUtils.parseClaims(token);
+            UserDetailsImpl rebuilt = jwtUtils.getUserDetailsFromClaims(claims);
+
+            // Assert
+            assertEquals(original, rebuilt);
+            assertEquals(42L, rebuilt.getId());
+            assertEquals("user1", rebuilt.getUsername());
+            assertEquals("user1@example.com", rebuilt.getEmail());
+            assertNull(rebuilt.getPassword());
+            assertEquals(List.of("ROLE_USER", "ROLE_SELLER"),
+                    rebuilt.getAuthorities().stream().map(Object::toString).toList());
+        }
+
+        @Test
+        @DisplayName("Should not build a principal from a subject-only token")
+        void shouldRejectSubjectOnlyToken() {
+            // Arrange
+            Claims claims = jwtUtils.parseClaims(jwtUtils.generateTokenFromUsername("user1"));
+
+            // Act & Assert
+            assertNotNull(claims);
+            assertNull(jwtUtils.getUserDetailsFromClaims(claims));
+        }
+
+        @Test
+        @DisplayName("Should not build a principal when any of uid, email or roles is missing")
+        void shouldRejectMissingClaims() {
+            // Arrange
+            Claims noUserId = Jwts.claims().subject("user1").add(JwtUtils.CLAIM_EMAIL, "user1@example.com")
+                    .add(JwtUtils.CLAIM_ROLES, List.of("ROLE_USER")).build();
+            Claims noEmail = Jwts.claims().subject("user1").add(JwtUtils.CLAIM_USER_ID, 42L)
+                    .add(JwtUtils.CLAIM_ROLES, List.of("ROLE_USER")).build();
+            Claims noRoles = Jwts.claims().subject("user1").add(JwtUtils.CLAIM_USER_ID, 42L)
+                    .add(JwtUtils.CLAIM_EMAIL, "user1@example.com").build();
+
+            // Act & Assert
+            assertNull(jwtUtils.getUserDetailsFromClaims(jwtUtils.parseClaims(signedWithTestKey(noUserId))));
+            assertNull(jwtUtils.getUserDetailsFromClaims(jwtUtils.parseClaims(signedWithTestKey(noEmail))));
+            assertNull(jwtUtils.getUserDetailsFromClaims(jwtUtils.parseClaims(signedWithTestKey(noRoles))));
+        }
+
+        @Test
+        @DisplayName("Should not build a principal when a claim has the wrong type")
+        void shouldRejectMistypedClaims() {
+            // Arrange
+            Claims stringUserId = Jwts.claims().subject("user1").add(JwtUtils.CLAIM_USER_ID, "42")
+                    .add(JwtUtils.CLAIM_EMAIL, "user1@example.com").add(JwtUtils.CLAIM_ROLES, List.of("ROLE_USER")).build();
+            Claims stringRoles = Jwts.claims().subject("user1").add(JwtUtils.CLAIM_USER_ID, 42L)
+                    .add(JwtUtils.CLAIM_EMAIL, "user1@example.com").add(JwtUtils.CLAIM_ROLES, "ROLE_ADMIN").build();
+
+            // Act & Assert
+            assertNull(jwtUtils.getUserDetailsFromClaims(jwtUtils.parseClaims(signedWithTestKey(stringUserId))));
+            assertNull(jwtUtils.getUserDetailsFromClaims(jwtUtils.parseClaims(signedWithTestKey(stringRoles))));
+        }
+
+        @Test
+        @DisplayName("Should reject a token whose roles claim was edited after signing")
+        void shouldRejectTamperedClaims() {
+            // Arrange
+            String token = jwtUtils.generateTokenFromUserDetails(principal());
+            long exp = jwtUtils.parseClaims(token).getExpiration().getTime() / 1000;
+            String tampered = withPayload(token, "{\"sub\":\"user1\",\"uid\":42,\"email\":\"user1@example.com\","
+                    + "\"roles\":[\"ROLE_ADMIN\"],\"exp\":" + exp + "}");
+
+            // Act & Assert
+            assertNull(jwtUtils.parseClaims(tampered));
+            assertFalse(jwtUtils.validateToken(tampered));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.echapps.ecom.project.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VerifiedTokenCache.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter)
+ * Rationale:
+ * - The cache is plain Java, so it is tested without a Spring context or real signed tokens
+ * - A manual clock drives token expiry deterministically
+ *
+ * Test Coverage:
+ * - Cached claims are returned until the token's exp, then dropped
+ * - Size bound, revocation until expiry
+ * - Revocation racing with a put never leaves the token cached; revocations are bounded in time and count
+ * - A size of 0 caches no claims but still tracks revocations
+ */
+@DisplayName("VerifiedTokenCache Unit Tests")
+class VerifiedTokenCacheTest {
+
+    private static final int MAX_REVOKED = 3;
+    private static final long MAX_LIFETIME_MS = 60_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000L);
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(2, MAX_REVOKED, MAX_LIFETIME_MS, clock::get);
+    }
+
+    private Claims claimsExpiringAt(long expiresAt) {
+        return Jwts.claims().subject("user1").expiration(new Date(expiresAt)).build();
+    }
+
+    @Test
+    @DisplayName("Should return cached claims until the token expires")
+    void shouldReturnClaimsUntilExpiry() {
+        String hash = cache.hash("token-a");
+        Claims claims = claimsExpiringAt(5_000L);
+        cache.put(hash, claims);
+
+        assertSame(claims, cache.get(hash));
+
+        clock.set(5_000L);
+        assertNull(cache.get(hash));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should hash equal tokens to the same key and different tokens to different keys")
+    void shouldHashTokensConsistently() {
+        assertEquals(cache.hash("token-a"), cache.hash("token-a"));
+        assertNotEquals(cache.hash("token-a"), cache.hash("token-b"));
+    }
+
+    @Test
+    @DisplayName("Should stay within its size bound, evicting expired entries first")
+    void shouldStayWithinSizeBound() {
+        cache.put(cache.hash("token-a"), claimsExpiringAt(2_000L));
+        cache.put(cache.hash("token-b"), claimsExpiringAt(9_000L));
+
+        clock.set(2_000L);
+        cache.put(cache.hash("token-c"), claimsExpiringAt(9_000L));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(cache.hash("token-b")));
+        assertNotNull(cache.get(cache.hash("token-c")));
+    }
+
+    @Test
+    @DisplayName("Should drop and refuse to re-cache a revoked token until it expires")
+    void shouldRejectRevokedTokenUntilExpiry() {
+        String hash = cache.hash("token-a");
+        Claims claims = claimsExpiringAt(5_000L);
+        cache.put(hash, claims);
+
+        cache.revoke(hash, claims.getExpiration());
+
+        assertNull(cache.get(hash));
+        assertTrue(cache.isRevoked(hash));
+        cache.put(hash, claims);
+        assertNull(cache.get(hash));
+
+        clock.set(5_000L);
+        assertFalse(cache.isRevoked(hash));
+    }
+
+    @Test
+    @DisplayName("Should refuse to cache a token revoked while it was being verified")
+    void shouldRefusePutAfterRevoke() {
+        String hash = cache.hash("token-a");
+        Claims claims = claimsExpiringAt(5_000L);
+
+        // The filter verified the token, then sign-out revoked it before the filter cached it
+        cache.revoke(hash, claims.getExpiration());
+
+        assertFalse(cache.put(hash, claims));
+        assertNull(cache.get(hash));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should never leave a token cached when revoke and put race")
+    void shouldNotCacheTokenWhenRevokeAndPutInterleave() throws Exception {
+        Claims claims = claimsExpiringAt(5_000L);
+        VerifiedTokenCache racingCache = new VerifiedTokenCache(100_000, 100_000, MAX_LIFETIME_MS, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                String hash = racingCache.hash("token-" + i);
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<Boolean> put = executor.submit(() -> {
+                    start.await();
+                    return racingCache.put(hash, claims);
+                });
+                Future<?> revoke = executor.submit(() -> {
+                    start.await();
+                    racingCache.revoke(hash, claims.getExpiration());
+                    return null;
+                });
+                put.get(5, TimeUnit.SECONDS);
+                revoke.get(5, TimeUnit.SECONDS);
+
+                assertTrue(racingCache.isRevoked(hash));
+                assertNull(racingCache.get(hash), "revoked token still cached after iteration " + i);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should forget a revocation after the maximum token lifetime even if exp is later")
+    void shouldBoundRevocationByMaxLifetime() {
+        String hash = cache.hash("token-a");
+
+        cache.revoke(hash, new Date(Long.MAX_VALUE));
+        clock.addAndGet(MAX_LIFETIME_MS - 1);
+        assertTrue(cache.isRevoked(hash));
+
+        clock.addAndGet(1);
+        assertFalse(cache.isRevoked(hash));
+    }
+
+    @Test
+    @DisplayName("Should keep at most maxRevoked revocations, forgetting those closest to expiry")
+    void shouldBoundRevocationCount() {
+        cache.revoke(cache.hash("token-a"), new Date(2_000L));
+        cache.revoke(cache.hash("token-b"), new Date(4_000L));
+        cache.revoke(cache.hash("token-c"), new Date(5_000L));
+        cache.revoke(cache.hash("token-d"), new Date(3_000L));
+
+        assertEquals(MAX_REVOKED, cache.revokedSize());
+        assertFalse(cache.isRevoked(cache.hash("token-a")));
+        assertTrue(cache.isRevoked(cache.hash("token-b")));
+        assertTrue(cache.isRevoked(cache.hash("token-c")));
+        assertTrue(cache.isRevoked(cache.hash("token-d")));
+    }
+
+    @Test
+    @DisplayName("Should track revocations when claim caching is disabled")
+    void shouldRevokeWithCachingDisabled() {
+        VerifiedTokenCache uncached = new VerifiedTokenCache(0, MAX_REVOKED, MAX_LIFETIME_MS, clock::get);
+        String hash = uncached.hash("token-a");
+        Claims claims = claimsExpiringAt(5_000L);
+
+        assertTrue(uncached.put(hash, claims));
+        assertNull(uncached.get(hash));
+
+        uncached.revoke(hash, claims.getExpiration());
+        assertTrue(uncached.isRevoked(hash));
+        assertFalse(uncached.put(hash, claims));
+    }
+}
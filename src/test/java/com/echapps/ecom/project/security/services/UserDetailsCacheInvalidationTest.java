@@ -0,0 +1,105 @@
+package com.echapps.ecom.project.security.services;
+
+import com.echapps.ecom.project.user.model.AppRole;
+import com.echapps.ecom.project.user.model.Role;
+import com.echapps.ecom.project.user.model.User;
+import com.echapps.ecom.project.user.repository.RoleRepository;
+import com.echapps.ecom.project.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the UserDetailsCache invalidation hooks.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Spring Boot @SpringBootTest
+ * Rationale:
+ * - Invalidation is driven by JPA and Hibernate collection events, which only fire on a real
+ *   flush, so the user is changed in a committed transaction against H2
+ * - The default users created at startup provide the fixtures
+ *
+ * Test Coverage:
+ * - Granting a role (a user_role insert only) drops the cached user
+ * - Updating the user row drops the cached user
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "spring.datasource.url=jdbc:h2:mem:userdetailscache")
+@DisplayName("UserDetailsCache Invalidation Integration Tests")
+class UserDetailsCacheInvalidationTest {
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetailsImpl> loader = username -> {
+        loads.incrementAndGet();
+        return (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+    };
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Should reload the user with its new authorities after a role is granted")
+    void shouldInvalidateOnRoleChange() {
+        // Arrange
+        UserDetailsImpl before = userDetailsCache.get("user1", loader);
+        assertFalse(hasAuthority(before, AppRole.ROLE_ADMIN));
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findByUserName("user1").orElseThrow();
+            Role adminRole = roleRepository.findByRoleName(AppRole.ROLE_ADMIN).orElseThrow();
+            user.getRoles().add(adminRole);
+        });
+        UserDetailsImpl after = userDetailsCache.get("user1", loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertTrue(hasAuthority(after, AppRole.ROLE_ADMIN));
+    }
+
+    @Test
+    @DisplayName("Should reload the user after its row is updated")
+    void shouldInvalidateOnUserUpdate() {
+        // Arrange
+        userDetailsCache.get("seller1", loader);
+
+        // Act
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findByUserName("seller1").orElseThrow().setEmail("seller1@example.org"));
+        UserDetailsImpl after = userDetailsCache.get("seller1", loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals("seller1@example.org", after.getEmail());
+    }
+
+    private static boolean hasAuthority(UserDetailsImpl userDetails, AppRole role) {
+        return userDetails.getAuthorities().stream().anyMatch(authority -> authority.getAuthority().equals(role.name()));
+    }
+}
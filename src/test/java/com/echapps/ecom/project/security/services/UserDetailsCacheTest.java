@@ -0,0 +1,136 @@
+package com.echapps.ecom.project.security.services;
+
+import com.echapps.ecom.project.security.response.UserDetailsCacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UserDetailsCache.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter)
+ * Rationale:
+ * - The cache is plain Java, so it is tested without a Spring context
+ * - A manual clock drives TTL expiry deterministically instead of sleeping
+ *
+ * Test Coverage:
+ * - Hit/miss accounting and loader invocation
+ * - TTL expiry, LRU size bound, invalidation by username and by user id
+ * - Invalidation that races with a load, and the stats snapshot
+ */
+@DisplayName("UserDetailsCache Unit Tests")
+class UserDetailsCacheTest {
+
+    private static final long TTL_NANOS = 1_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetailsImpl> loader = username -> {
+        loads.incrementAndGet();
+        return new UserDetailsImpl((long) username.hashCode(), username, username + "@example.com", "hash", List.of());
+    };
+
+    private UserDetailsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserDetailsCache(2, TTL_NANOS, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should load on the first lookup and serve later lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        UserDetailsImpl first = cache.get("user1", loader);
+        UserDetailsImpl second = cache.get("user1", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    @DisplayName("Should reload an entry once its TTL has elapsed")
+    void shouldReloadExpiredEntry() {
+        cache.get("user1", loader);
+        clock.addAndGet(TTL_NANOS);
+        cache.get("user1", loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        cache.get("user1", loader);
+        cache.get("user2", loader);
+        cache.get("user1", loader);
+        cache.get("user3", loader);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        cache.get("user1", loader);
+        assertEquals(3, loads.get());
+        cache.get("user2", loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should reload after invalidation by username or by user id")
+    void shouldReloadAfterInvalidation() {
+        UserDetailsImpl user1 = cache.get("user1", loader);
+        cache.invalidate("user1");
+        cache.get("user1", loader);
+
+        cache.invalidateUser(user1.getId());
+        cache.get("user1", loader);
+
+        assertEquals(3, loads.get());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache a user whose load overlapped an invalidation")
+    void shouldNotCacheLoadThatRacedWithInvalidation() {
+        // The user row changes (and is invalidated) while the filter is still reading the old one
+        Function<String, UserDetailsImpl> racingLoader = username -> {
+            UserDetailsImpl stale = loader.apply(username);
+            cache.invalidateUser(stale.getId());
+            return stale;
+        };
+
+        cache.get("user1", racingLoader);
+        cache.get("user1", loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should report size and counters in the stats snapshot")
+    void shouldReportStats() {
+        cache.get("user1", loader);
+        cache.get("user1", loader);
+        cache.get("user2", loader);
+        cache.get("user3", loader);
+
+        UserDetailsCacheStats stats = cache.getStats();
+
+        assertEquals(2L, stats.getSize());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(3, stats.getMissCount());
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(0.25, stats.getHitRatio());
+    }
+}
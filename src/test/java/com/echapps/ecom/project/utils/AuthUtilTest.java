@@ -0,0 +1,133 @@
+package com.echapps.ecom.project.utils;
+
+import com.echapps.ecom.project.security.services.UserDetailsImpl;
+import com.echapps.ecom.project.user.model.User;
+import com.echapps.ecom.project.user.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuthUtil.
+ *
+ * Testing Framework Choice: JUnit 5 (Jupiter) + Mockito
+ * Rationale:
+ * - The SecurityContext is populated directly, the same way AuthTokenFilter does it, so no Spring
+ *   context or servlet request is needed
+ * - Mockito stands in for UserRepository and proves which paths skip the user query
+ *
+ * Test Coverage:
+ * - A principal built from stateless JWT claims answers id, email and user reference without a lookup
+ * - Other principals fall back to loading the user by name
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthUtil Unit Tests")
+class AuthUtilTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthUtil authUtil;
+
+    @BeforeEach
+    void setUp() {
+        authUtil = new AuthUtil(userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(UserDetails principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // Claims as they come out of a verified stateless token: uid is parsed back as a number
+    private static UserDetailsImpl principalFromClaims() {
+        var claims = Jwts.claims().subject("user1").add("uid", 42).add("email", "user1@example.com")
+                .add("roles", List.of("ROLE_USER")).build();
+        return new UserDetailsImpl(claims.get("uid", Long.class), claims.getSubject(),
+                claims.get("email", String.class), null, List.of());
+    }
+
+    @Nested
+    @DisplayName("Principal built from JWT claims")
+    class ClaimsPrincipalTests {
+
+        @Test
+        @DisplayName("Should return id and email from the principal without querying the user")
+        void shouldReadIdAndEmailFromPrincipal() {
+            // Arrange
+            authenticate(principalFromClaims());
+
+            // Act & Assert
+            assertEquals(42L, authUtil.getLoggedInUserId());
+            assertEquals("user1@example.com", authUtil.getLoggedInUserEmail());
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        @DisplayName("Should return an uninitialized reference for the principal's id")
+        void shouldReturnReferenceForPrincipalId() {
+            // Arrange
+            authenticate(principalFromClaims());
+            User reference = new User();
+            when(userRepository.getReferenceById(42L)).thenReturn(reference);
+
+            // Act
+            User result = authUtil.getLoggedInUserReference();
+
+            // Assert
+            assertSame(reference, result);
+            verify(userRepository, never()).findByUserName(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Principal without id or email")
+    class FallbackTests {
+
+        @Test
+        @DisplayName("Should load the user by name when the principal is not a UserDetailsImpl")
+        void shouldLoadUserForForeignPrincipal() {
+            // Arrange
+            authenticate(org.springframework.security.core.userdetails.User
+                    .withUsername("user1").password("hash").authorities("ROLE_USER").build());
+            User user = new User("user1", "user1@example.com", "hash");
+            user.setUserId(7L);
+            when(userRepository.findByUserName("user1")).thenReturn(Optional.of(user));
+
+            // Act & Assert
+            assertEquals(7L, authUtil.getLoggedInUserId());
+            assertEquals("user1@example.com", authUtil.getLoggedInUserEmail());
+        }
+
+        @Test
+        @DisplayName("Should fail when the authenticated user no longer exists")
+        void shouldFailWhenUserMissing() {
+            // Arrange
+            authenticate(new UserDetailsImpl(null, "ghost", null, null, List.of()));
+            when(userRepository.findByUserName("ghost")).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(RuntimeException.class, () -> authUtil.getLoggedInUserId());
+        }
+    }
+}